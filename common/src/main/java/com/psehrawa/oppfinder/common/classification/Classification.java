@@ -0,0 +1,88 @@
+package com.psehrawa.oppfinder.common.classification;
+
+import com.psehrawa.oppfinder.common.enums.Industry;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Calibrated confidences for every industry and opportunity type of one document.
+ *
+ * Within a dimension the confidences of all labels sum to at most 1; the remainder is
+ * the probability that none of the labels applies. Labels without any evidence have
+ * confidence 0.
+ */
+public final class Classification {
+
+    private static final Industry[] INDUSTRIES = Industry.values();
+    private static final OpportunityType[] TYPES = OpportunityType.values();
+
+    private final double[] industryConfidence;
+    private final double[] typeConfidence;
+
+    Classification(double[] industryConfidence, double[] typeConfidence) {
+        this.industryConfidence = industryConfidence;
+        this.typeConfidence = typeConfidence;
+    }
+
+    /**
+     * Most likely industry, or {@code fallback} when the text has no industry evidence
+     */
+    public Industry industry(Industry fallback) {
+        int best = argMax(industryConfidence);
+        return best >= 0 ? INDUSTRIES[best] : fallback;
+    }
+
+    /**
+     * Most likely opportunity type, or {@code fallback} when the text has no type evidence
+     */
+    public OpportunityType type(OpportunityType fallback) {
+        int best = argMax(typeConfidence);
+        return best >= 0 ? TYPES[best] : fallback;
+    }
+
+    public double confidence(Industry industry) {
+        return industryConfidence[industry.ordinal()];
+    }
+
+    public double confidence(OpportunityType type) {
+        return typeConfidence[type.ordinal()];
+    }
+
+    /**
+     * Every industry with at least {@code minConfidence}, most likely first
+     */
+    public List<Industry> industries(double minConfidence) {
+        return above(INDUSTRIES, industryConfidence, minConfidence);
+    }
+
+    /**
+     * Every opportunity type with at least {@code minConfidence}, most likely first
+     */
+    public List<OpportunityType> types(double minConfidence) {
+        return above(TYPES, typeConfidence, minConfidence);
+    }
+
+    private static int argMax(double[] confidence) {
+        int best = -1;
+        for (int i = 0; i < confidence.length; i++) {
+            if (confidence[i] > 0 && (best < 0 || confidence[i] > confidence[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static <T extends Enum<T>> List<T> above(T[] labels, double[] confidence, double minConfidence) {
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < labels.length; i++) {
+            if (confidence[i] > 0 && confidence[i] >= minConfidence) {
+                result.add(labels[i]);
+            }
+        }
+        result.sort(Comparator.comparingDouble((T label) -> confidence[label.ordinal()]).reversed());
+        return result;
+    }
+}
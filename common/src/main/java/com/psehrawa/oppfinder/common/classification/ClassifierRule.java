@@ -0,0 +1,31 @@
+package com.psehrawa.oppfinder.common.classification;
+
+import com.psehrawa.oppfinder.common.enums.Industry;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+
+import java.util.List;
+
+/**
+ * Weighted evidence for a label: each keyword found in a document adds {@code weight}
+ * to the label's score. The label is either an {@link Industry} or an {@link OpportunityType}.
+ */
+public record ClassifierRule(Enum<?> label, double weight, List<String> keywords) {
+
+    public ClassifierRule {
+        if (!(label instanceof Industry) && !(label instanceof OpportunityType)) {
+            throw new IllegalArgumentException("Unsupported label: " + label);
+        }
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        keywords = List.copyOf(keywords);
+    }
+
+    public static ClassifierRule industry(Industry industry, double weight, String... keywords) {
+        return new ClassifierRule(industry, weight, List.of(keywords));
+    }
+
+    public static ClassifierRule type(OpportunityType type, double weight, String... keywords) {
+        return new ClassifierRule(type, weight, List.of(keywords));
+    }
+}
@@ -0,0 +1,213 @@
+package com.psehrawa.oppfinder.common.classification;
+
+import com.psehrawa.oppfinder.common.enums.Industry;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import com.psehrawa.oppfinder.common.text.KeywordMatcher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Multi-label industry and opportunity-type classifier shared by all data sources.
+ *
+ * All rule keywords are compiled into one {@link KeywordMatcher}, so a document is
+ * scanned once and every whole-word hit adds its weights to each label it supports.
+ * A keyword counts once per document however often it occurs. Label scores are turned
+ * into confidences with a softmax against a fixed "none of these" score:
+ * {@code p(label) = exp(score / T) / (exp(none / T) + sum exp(score' / T))}, taken over
+ * the labels that have any evidence. The temperature {@code T} and the none score are
+ * tuned on the labeled corpus in the tests.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class OpportunityClassifier {
+
+    public static final String BUNDLED_RULES = "classifier/opportunity-rules.tsv";
+    public static final double DEFAULT_TEMPERATURE = 0.5;
+    public static final double DEFAULT_NONE_SCORE = 0.5;
+
+    private static final Industry[] INDUSTRIES = Industry.values();
+    private static final OpportunityType[] TYPES = OpportunityType.values();
+
+    private final KeywordMatcher matcher;
+    private final int[] keywordLengths;
+    // Label slots and weights per keyword; slot = industry ordinal, or INDUSTRIES.length + type ordinal
+    private final int[][] keywordSlots;
+    private final double[][] keywordWeights;
+    private final double temperature;
+    private final double noneScore;
+
+    public OpportunityClassifier(List<ClassifierRule> rules, double temperature, double noneScore) {
+        if (!(temperature > 0)) {
+            throw new IllegalArgumentException("Temperature must be positive: " + temperature);
+        }
+        this.temperature = temperature;
+        this.noneScore = noneScore;
+
+        Set<String> vocabulary = new LinkedHashSet<>();
+        for (ClassifierRule rule : rules) {
+            vocabulary.addAll(rule.keywords());
+        }
+        this.matcher = new KeywordMatcher(vocabulary);
+
+        int size = matcher.size();
+        this.keywordLengths = new int[size];
+        this.keywordSlots = new int[size][0];
+        this.keywordWeights = new double[size][0];
+        for (int k = 0; k < size; k++) {
+            keywordLengths[k] = matcher.keyword(k).length();
+        }
+        for (ClassifierRule rule : rules) {
+            int slot = rule.label() instanceof Industry industry
+                ? industry.ordinal()
+                : INDUSTRIES.length + rule.label().ordinal();
+            for (String keyword : rule.keywords()) {
+                int k = matcher.indexOf(keyword);
+                if (k < 0) {
+                    continue;
+                }
+                int n = keywordSlots[k].length;
+                keywordSlots[k] = Arrays.copyOf(keywordSlots[k], n + 1);
+                keywordWeights[k] = Arrays.copyOf(keywordWeights[k], n + 1);
+                keywordSlots[k][n] = slot;
+                keywordWeights[k][n] = rule.weight();
+            }
+        }
+    }
+
+    /**
+     * Classifier over the bundled rules with default calibration
+     */
+    public static OpportunityClassifier defaults() {
+        return Defaults.INSTANCE;
+    }
+
+    /**
+     * Rules bundled on the classpath at {@link #BUNDLED_RULES}
+     */
+    public static List<ClassifierRule> bundledRules() {
+        InputStream stream = OpportunityClassifier.class.getClassLoader().getResourceAsStream(BUNDLED_RULES);
+        if (stream == null) {
+            throw new IllegalStateException("Missing classifier rules: " + BUNDLED_RULES);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return parseRules(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse tab-separated rules: dimension ({@code industry} or {@code type}), label,
+     * weight, keywords (separated by '|'). Blank lines and lines starting with '#' are skipped.
+     */
+    public static List<ClassifierRule> parseRules(BufferedReader reader) throws IOException {
+        List<ClassifierRule> rules = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            if (columns.length != 4) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected dimension, label, weight and keywords");
+            }
+            try {
+                String label = columns[1].trim().toUpperCase(Locale.ROOT);
+                Enum<?> value = switch (columns[0].trim().toLowerCase(Locale.ROOT)) {
+                    case "industry" -> Industry.valueOf(label);
+                    case "type" -> OpportunityType.valueOf(label);
+                    default -> throw new IllegalArgumentException("Unknown dimension: " + columns[0].trim());
+                };
+                List<String> keywords = new ArrayList<>();
+                for (String keyword : columns[3].split("\\|")) {
+                    if (!keyword.isBlank()) {
+                        keywords.add(keyword.trim());
+                    }
+                }
+                rules.add(new ClassifierRule(value, Double.parseDouble(columns[2].trim()), keywords));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Classify a document made of several parts, such as a title and a body.
+     * Keywords never span two parts; null parts are ignored.
+     */
+    public Classification classify(CharSequence... parts) {
+        double[] scores = new double[INDUSTRIES.length + TYPES.length];
+        BitSet seen = new BitSet(matcher.size());
+        for (CharSequence part : parts) {
+            if (part == null) {
+                continue;
+            }
+            matcher.match(part, 0, part.length(), (keyword, end) -> {
+                if (seen.get(keyword) || !isWholeWord(part, end - keywordLengths[keyword], end)) {
+                    return;
+                }
+                seen.set(keyword);
+                int[] slots = keywordSlots[keyword];
+                for (int i = 0; i < slots.length; i++) {
+                    scores[slots[i]] += keywordWeights[keyword][i];
+                }
+            });
+        }
+        return new Classification(
+            calibrate(scores, 0, INDUSTRIES.length),
+            calibrate(scores, INDUSTRIES.length, TYPES.length)
+        );
+    }
+
+    private double[] calibrate(double[] scores, int from, int length) {
+        double[] confidence = new double[length];
+        double max = noneScore;
+        for (int i = 0; i < length; i++) {
+            max = Math.max(max, scores[from + i]);
+        }
+        // Shift by the max score so the exponentials cannot overflow
+        double total = Math.exp((noneScore - max) / temperature);
+        for (int i = 0; i < length; i++) {
+            if (scores[from + i] > 0) {
+                confidence[i] = Math.exp((scores[from + i] - max) / temperature);
+                total += confidence[i];
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            confidence[i] /= total;
+        }
+        return confidence;
+    }
+
+    /**
+     * Keyword edges that are letters or digits must not continue into a longer word
+     */
+    private static boolean isWholeWord(CharSequence text, int start, int end) {
+        if (Character.isLetterOrDigit(text.charAt(start)) && start > 0
+                && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        return !(Character.isLetterOrDigit(text.charAt(end - 1)) && end < text.length()
+                && Character.isLetterOrDigit(text.charAt(end)));
+    }
+
+    private static final class Defaults {
+        static final OpportunityClassifier INSTANCE =
+            new OpportunityClassifier(bundledRules(), DEFAULT_TEMPERATURE, DEFAULT_NONE_SCORE);
+    }
+}
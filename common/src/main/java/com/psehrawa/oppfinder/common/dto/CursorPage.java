@@ -0,0 +1,10 @@
+package com.psehrawa.oppfinder.common.dto;
+
+import java.util.List;
+
+/**
+ * A keyset page: pass {@code nextCursor} back to read the next one, null after the
+ * last page. {@code total} is only counted on request, for the first page.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, Long total) {
+}
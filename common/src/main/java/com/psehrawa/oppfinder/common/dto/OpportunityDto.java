@@ -96,5 +96,28 @@ public class OpportunityDto {
     @DecimalMax(value = "100.0", message = "Engagement potential must not exceed 100")
     private BigDecimal engagementPotential;
 
+    /**
+     * Score without the recency factor; {@code score} is derived from it at read time
+     */
+    private BigDecimal baseScore;
+
+    /**
+     * Score while the opportunity is fresh
+     */
+    private BigDecimal peakScore;
+
+    /**
+     * Fingerprint of the scoring inputs the stored score was computed from
+     */
+    private Long scoringInputHash;
+
+    /**
+     * Version of the scoring rules the stored score was computed with
+     */
+    private String rulesVersion;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime scoredAt;
+
     private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.psehrawa.oppfinder.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.psehrawa.oppfinder.common.enums.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An opportunity as lists show it. The description is cut to an excerpt and tags and
+ * metadata are left out; {@code GET /api/v1/opportunities/{id}} returns the full
+ * {@link OpportunityDto}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OpportunitySummaryDto {
+
+    private Long id;
+
+    private String title;
+
+    private String companyName;
+
+    private String description;
+
+    private DataSource source;
+
+    private OpportunityType type;
+
+    private OpportunityStatus status;
+
+    private Country country;
+
+    private Industry industry;
+
+    private FundingStage fundingStage;
+
+    private BigDecimal fundingAmount;
+
+    private CompanySize companySize;
+
+    private String location;
+
+    private String url;
+
+    private BigDecimal score;
+
+    private BigDecimal confidenceScore;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime discoveredAt;
+
+    private Boolean isActive;
+}
@@ -13,6 +13,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -22,15 +23,17 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
+// Portable indexes for schemas Hibernate creates; on Postgres the Flyway migrations
+// make the hot ones partial and covering, and index discovered_at with BRIN
 @Table(name = "opportunities", indexes = {
     @Index(name = "idx_opportunity_source_external_id", columnList = "source, external_id", unique = true),
     @Index(name = "idx_opportunity_type", columnList = "type"),
     @Index(name = "idx_opportunity_country", columnList = "country"),
     @Index(name = "idx_opportunity_industry", columnList = "industry"),
-    @Index(name = "idx_opportunity_score", columnList = "score"),
-    @Index(name = "idx_opportunity_discovered_at", columnList = "discovered_at"),
-    @Index(name = "idx_opportunity_status", columnList = "status"),
-    @Index(name = "idx_opportunity_active", columnList = "is_active")
+    @Index(name = "idx_opportunity_active_peak_score", columnList = "peak_score, discovered_at"),
+    @Index(name = "idx_opportunity_active_discovered", columnList = "discovered_at DESC, id DESC"),
+    @Index(name = "idx_opportunity_rules_version", columnList = "rules_version"),
+    @Index(name = "idx_opportunity_status", columnList = "status")
 })
 @Data
 @NoArgsConstructor
@@ -39,6 +42,8 @@ import java.util.Map;
 @EqualsAndHashCode(callSuper = true)
 public class OpportunityEntity extends BaseEntity {
 
+    public static final int COLLECTION_BATCH_SIZE = 100;
+
     @Column(name = "external_id", nullable = false, length = 255)
     private String externalId;
 
@@ -84,13 +89,17 @@ public class OpportunityEntity extends BaseEntity {
     @Builder.Default
     private BigDecimal score = BigDecimal.ZERO;
 
+    // Collections load lazily for up to COLLECTION_BATCH_SIZE owners in one query, not one per row
     @ElementCollection
-    @CollectionTable(name = "opportunity_tags", joinColumns = @JoinColumn(name = "opportunity_id"))
+    @CollectionTable(name = "opportunity_tags", joinColumns = @JoinColumn(name = "opportunity_id"),
+        indexes = @Index(name = "idx_opportunity_tags_opportunity", columnList = "opportunity_id"))
     @Column(name = "tag")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<String> tags;
 
     @ElementCollection
     @CollectionTable(name = "opportunity_metadata", joinColumns = @JoinColumn(name = "opportunity_id"))
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @MapKeyColumn(name = "metadata_key")
     @Column(name = "metadata_value", columnDefinition = "TEXT")
     private Map<String, String> metadata;
@@ -123,9 +132,28 @@ public class OpportunityEntity extends BaseEntity {
     @Builder.Default
     private BigDecimal confidenceScore = BigDecimal.valueOf(50.0);
 
+    // Without the bonus for recent discoveries, which is added when read
     @Column(name = "engagement_potential", precision = 5, scale = 2)
     private BigDecimal engagementPotential;
 
+    // Time-invariant score parts; the current score is
+    // base + (peak - base) * recency, see RecencyDecay in discovery-service
+    @Column(name = "base_score", precision = 5, scale = 2)
+    private BigDecimal baseScore;
+
+    @Column(name = "peak_score", precision = 5, scale = 2)
+    private BigDecimal peakScore;
+
+    // What the stored score was computed from; a write that changes neither is not rescored
+    @Column(name = "scoring_input_hash")
+    private Long scoringInputHash;
+
+    @Column(name = "rules_version", length = 12)
+    private String rulesVersion;
+
+    @Column(name = "scored_at")
+    private LocalDateTime scoredAt;
+
     @PrePersist
     protected void onCreate() {
         if (discoveredAt == null) {
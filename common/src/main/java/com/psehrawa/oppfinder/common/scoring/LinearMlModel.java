@@ -0,0 +1,99 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Linear {@link MlScoringModel}: intercept plus a coefficient per feature.
+ *
+ * Prediction runs one multiply-add pass per feature over contiguous columns, a loop
+ * the JIT vectorizes; features without a coefficient are skipped.
+ */
+final class LinearMlModel implements MlScoringModel {
+
+    private final String version;
+    private final double intercept;
+    private final int[] features;
+    private final double[] coefficients;
+
+    private LinearMlModel(String version, double intercept, int[] features, double[] coefficients) {
+        this.version = version;
+        this.intercept = intercept;
+        this.features = features;
+        this.coefficients = coefficients;
+    }
+
+    static LinearMlModel parse(String version, List<String[]> lines, List<Integer> lineNumbers) {
+        double intercept = 0.0;
+        double[] byFeature = new double[ScoringFeatures.NAMES.size()];
+        boolean[] seen = new boolean[byFeature.length];
+        for (int i = 1; i < lines.size(); i++) {
+            String[] columns = lines.get(i);
+            try {
+                switch (columns[0]) {
+                    case "intercept" -> {
+                        expect(columns, 2);
+                        intercept = number(columns[1]);
+                    }
+                    case "coefficient" -> {
+                        expect(columns, 3);
+                        int feature = ScoringFeatures.index(columns[1]);
+                        if (seen[feature]) {
+                            throw new IllegalArgumentException("Duplicate coefficient: " + columns[1]);
+                        }
+                        seen[feature] = true;
+                        byFeature[feature] = number(columns[2]);
+                    }
+                    default -> throw new IllegalArgumentException("Unexpected line in linear model: " + columns[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumbers.get(i) + ": " + e.getMessage(), e);
+            }
+        }
+
+        int[] features = new int[byFeature.length];
+        int count = 0;
+        for (int feature = 0; feature < byFeature.length; feature++) {
+            if (byFeature[feature] != 0.0) {
+                features[count++] = feature;
+            }
+        }
+        double[] coefficients = new double[count];
+        for (int i = 0; i < count; i++) {
+            coefficients[i] = byFeature[features[i]];
+        }
+        return new LinearMlModel(version, intercept, Arrays.copyOf(features, count), coefficients);
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public void predict(ScoringFeatures scoringFeatures, double[] predictions) {
+        int size = scoringFeatures.size();
+        Arrays.fill(predictions, 0, size, intercept);
+        for (int f = 0; f < features.length; f++) {
+            double coefficient = coefficients[f];
+            double[] column = scoringFeatures.column(features[f]);
+            for (int i = 0; i < size; i++) {
+                predictions[i] += coefficient * column[i];
+            }
+        }
+    }
+
+    private static void expect(String[] columns, int count) {
+        if (columns.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " columns for " + columns[0]);
+        }
+    }
+
+    private static double number(String value) {
+        double number = Double.parseDouble(value);
+        if (!Double.isFinite(number)) {
+            throw new IllegalArgumentException("Value must be finite: " + value);
+        }
+        return number;
+    }
+}
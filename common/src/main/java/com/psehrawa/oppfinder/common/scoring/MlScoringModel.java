@@ -0,0 +1,82 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Trained model predicting an opportunity's base score, the time-invariant part of the
+ * score (see {@link RecencyDecay}), from its {@link ScoringFeatures}.
+ *
+ * Models are serialized as tab-separated lines, '#' comments and blank lines skipped.
+ * A linear model:
+ * <pre>
+ * model        linear
+ * intercept    12.5
+ * coefficient  funding_stage  0.21
+ * </pre>
+ * A gradient-boosted tree ensemble, whose prediction is the intercept plus one leaf per
+ * tree. Node IDs are per tree, the root is 0 and children have higher IDs than their
+ * parent; a row goes left when its feature value is below the threshold:
+ * <pre>
+ * model      trees
+ * intercept  40.0
+ * tree
+ * split      0  confidence  70.0  1  2
+ * leaf       1  -4.5
+ * leaf       2  6.0
+ * </pre>
+ * As with {@link ScoringRuleSet} the version is a digest of the model text.
+ */
+public sealed interface MlScoringModel permits LinearMlModel, TreeEnsembleMlModel {
+
+    String getVersion();
+
+    /**
+     * Write the predicted base score of every row of {@code features} into {@code predictions}
+     */
+    void predict(ScoringFeatures features, double[] predictions);
+
+    static MlScoringModel parse(BufferedReader reader) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        List<String[]> lines = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            digest.update((line.strip() + "\n").getBytes(StandardCharsets.UTF_8));
+            String[] columns = line.split("\t", -1);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columns[i].trim();
+            }
+            lines.add(columns);
+            lineNumbers.add(lineNumber);
+        }
+        if (lines.isEmpty() || lines.get(0).length != 2 || !lines.get(0)[0].equals("model")) {
+            throw new IllegalArgumentException("Model file must start with a model line");
+        }
+
+        String version = HexFormat.of().formatHex(digest.digest(), 0, 6);
+        String kind = lines.get(0)[1];
+        return switch (kind) {
+            case "linear" -> LinearMlModel.parse(version, lines, lineNumbers);
+            case "trees" -> TreeEnsembleMlModel.parse(version, lines, lineNumbers);
+            default -> throw new IllegalArgumentException("Unknown model kind: " + kind);
+        };
+    }
+}
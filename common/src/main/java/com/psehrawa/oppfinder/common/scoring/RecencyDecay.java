@@ -0,0 +1,116 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The time-dependent part of scoring, applied when an opportunity is read rather than
+ * baked into the stored score.
+ *
+ * Recency is a step function over whole hours since discovery, so a ranking query can
+ * evaluate it exactly with one {@code discovered_at} cutoff per step (see
+ * {@link #cutoff}). The stored base score holds every other factor and the stored peak
+ * score is what the opportunity scores while fresh; the score at any later time is
+ * {@code base + (peak - base) * recency / 100}, capped at 100.
+ */
+public final class RecencyDecay {
+
+    /**
+     * Recency score of an opportunity without a discovery time
+     */
+    public static final double UNKNOWN = 50.0;
+
+    /**
+     * Recency score once an opportunity is older than the last step
+     */
+    public static final double FLOOR = 20.0;
+
+    // Step i applies while hoursAgo <= MAX_HOURS[i]
+    private static final long[] MAX_HOURS = {1, 6, 24, 72, 168, 336, 504, 672};
+    private static final double[] SCORES = {100.0, 90.0, 80.0, 70.0, 60.0, 45.0, 35.0, 25.0};
+
+    private RecencyDecay() {
+    }
+
+    /**
+     * Number of steps before the {@link #FLOOR}
+     */
+    public static int steps() {
+        return MAX_HOURS.length;
+    }
+
+    /**
+     * Recency score (0-100) for step {@code step}
+     */
+    public static double stepScore(int step) {
+        return SCORES[step];
+    }
+
+    /**
+     * Opportunities discovered strictly after this time are in step {@code step} or a
+     * fresher one; equivalent to {@code HOURS.between(discoveredAt, now) <= MAX_HOURS[step]}
+     */
+    public static LocalDateTime cutoff(int step, LocalDateTime now) {
+        return now.minusHours(MAX_HOURS[step] + 1);
+    }
+
+    /**
+     * Recency score (0-100) for whole hours since discovery, truncated like
+     * {@link ChronoUnit#between}
+     */
+    public static double score(long hoursAgo) {
+        for (int step = 0; step < MAX_HOURS.length; step++) {
+            if (hoursAgo <= MAX_HOURS[step]) {
+                return SCORES[step];
+            }
+        }
+        return FLOOR;
+    }
+
+    public static double score(LocalDateTime discoveredAt, LocalDateTime now) {
+        if (discoveredAt == null) {
+            return UNKNOWN;
+        }
+        return score(ChronoUnit.HOURS.between(discoveredAt, now));
+    }
+
+    /**
+     * Current score from the stored base and peak scores, null when either is missing
+     */
+    public static BigDecimal currentScore(BigDecimal baseScore, BigDecimal peakScore,
+                                          LocalDateTime discoveredAt, LocalDateTime now) {
+        if (baseScore == null || peakScore == null) {
+            return null;
+        }
+        double base = baseScore.doubleValue();
+        double score = base + (peakScore.doubleValue() - base) * score(discoveredAt, now) / 100.0;
+        return ScoringKernel.toScore(Math.max(0.0, Math.min(100.0, score)));
+    }
+
+    /**
+     * Engagement potential points for a recent discovery
+     */
+    public static double engagementBonus(LocalDateTime discoveredAt, LocalDateTime now) {
+        if (discoveredAt == null) {
+            return 0.0;
+        }
+        long hoursAgo = ChronoUnit.HOURS.between(discoveredAt, now);
+        if (hoursAgo <= 24) return 15.0;
+        if (hoursAgo <= 72) return 10.0;
+        if (hoursAgo <= 168) return 5.0;
+        return 0.0;
+    }
+
+    /**
+     * Current engagement potential from the stored time-invariant part
+     */
+    public static BigDecimal currentEngagementPotential(BigDecimal basePotential,
+                                                        LocalDateTime discoveredAt, LocalDateTime now) {
+        if (basePotential == null) {
+            return null;
+        }
+        double potential = basePotential.doubleValue() + engagementBonus(discoveredAt, now);
+        return ScoringKernel.toScore(Math.min(100.0, potential));
+    }
+}
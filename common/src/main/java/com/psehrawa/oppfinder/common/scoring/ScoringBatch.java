@@ -0,0 +1,174 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar view of a chunk of opportunities holding only what scoring reads.
+ *
+ * Enums are stored as {@code ordinal + 1} with 0 for null, timestamps as local-time
+ * nanoseconds since the epoch (years 1678 to 2261), GitHub metrics as ints and the
+ * source's own score as a double, with {@link #NO_TIME}, {@link #NO_METRIC} and NaN
+ * marking absent or unparseable values.
+ */
+public final class ScoringBatch {
+
+    public static final long NO_TIME = Long.MIN_VALUE;
+    public static final int NO_METRIC = Integer.MIN_VALUE;
+
+    final int size;
+    final byte[] fundingStage;
+    final byte[] companySize;
+    final byte[] industry;
+    final byte[] source;
+    final byte[] type;
+    final byte[] country;
+    final double[] confidence;
+    final long[] discoveredAt;
+    final boolean[] hasMetadata;
+    final double[] sourceScore;
+    final int[] stars;
+    final int[] forks;
+    final int[] openIssues;
+    final long[] pushedAt;
+
+    public ScoringBatch(int size) {
+        this.size = size;
+        this.fundingStage = new byte[size];
+        this.companySize = new byte[size];
+        this.industry = new byte[size];
+        this.source = new byte[size];
+        this.type = new byte[size];
+        this.country = new byte[size];
+        this.confidence = new double[size];
+        this.discoveredAt = new long[size];
+        this.hasMetadata = new boolean[size];
+        this.sourceScore = new double[size];
+        this.stars = new int[size];
+        this.forks = new int[size];
+        this.openIssues = new int[size];
+        this.pushedAt = new long[size];
+    }
+
+    public static ScoringBatch of(List<OpportunityDto> opportunities) {
+        ScoringBatch batch = new ScoringBatch(opportunities.size());
+        for (int i = 0; i < batch.size; i++) {
+            batch.set(i, opportunities.get(i));
+        }
+        return batch;
+    }
+
+    /**
+     * One batch holding the rows of {@code parts} in order
+     */
+    public static ScoringBatch concat(List<ScoringBatch> parts) {
+        ScoringBatch batch = new ScoringBatch(parts.stream().mapToInt(ScoringBatch::size).sum());
+        int offset = 0;
+        for (ScoringBatch part : parts) {
+            System.arraycopy(part.fundingStage, 0, batch.fundingStage, offset, part.size);
+            System.arraycopy(part.companySize, 0, batch.companySize, offset, part.size);
+            System.arraycopy(part.industry, 0, batch.industry, offset, part.size);
+            System.arraycopy(part.source, 0, batch.source, offset, part.size);
+            System.arraycopy(part.type, 0, batch.type, offset, part.size);
+            System.arraycopy(part.country, 0, batch.country, offset, part.size);
+            System.arraycopy(part.confidence, 0, batch.confidence, offset, part.size);
+            System.arraycopy(part.discoveredAt, 0, batch.discoveredAt, offset, part.size);
+            System.arraycopy(part.hasMetadata, 0, batch.hasMetadata, offset, part.size);
+            System.arraycopy(part.sourceScore, 0, batch.sourceScore, offset, part.size);
+            System.arraycopy(part.stars, 0, batch.stars, offset, part.size);
+            System.arraycopy(part.forks, 0, batch.forks, offset, part.size);
+            System.arraycopy(part.openIssues, 0, batch.openIssues, offset, part.size);
+            System.arraycopy(part.pushedAt, 0, batch.pushedAt, offset, part.size);
+            offset += part.size;
+        }
+        return batch;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Discovery time of row {@code i} in the encoding above
+     */
+    public long discoveredAt(int i) {
+        return discoveredAt[i];
+    }
+
+    /**
+     * Copy the scoring inputs of one opportunity into row {@code i}
+     */
+    public void set(int i, OpportunityDto opportunity) {
+        fundingStage[i] = code(opportunity.getFundingStage());
+        companySize[i] = code(opportunity.getCompanySize());
+        industry[i] = code(opportunity.getIndustry());
+        source[i] = code(opportunity.getSource());
+        type[i] = code(opportunity.getType());
+        country[i] = code(opportunity.getCountry());
+        confidence[i] = opportunity.getConfidenceScore() != null
+            ? opportunity.getConfidenceScore().doubleValue()
+            : Double.NaN;
+        discoveredAt[i] = toNanos(opportunity.getDiscoveredAt());
+
+        Map<String, String> metadata = opportunity.getMetadata();
+        hasMetadata[i] = metadata != null;
+        boolean github = metadata != null && opportunity.getSource() == DataSource.GITHUB;
+        stars[i] = github ? metric(metadata.get("stars")) : NO_METRIC;
+        forks[i] = github ? metric(metadata.get("forks")) : NO_METRIC;
+        openIssues[i] = github ? metric(metadata.get("open_issues")) : NO_METRIC;
+        pushedAt[i] = github ? timestamp(metadata.get("pushed_at")) : NO_TIME;
+        sourceScore[i] = metadata != null && !github
+            ? number(metadata.get(ScoringInputs.SOURCE_SCORE))
+            : Double.NaN;
+    }
+
+    public static long toNanos(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static byte code(Enum<?> value) {
+        return value != null ? (byte) (value.ordinal() + 1) : 0;
+    }
+
+    private static int metric(String value) {
+        if (value == null) {
+            return NO_METRIC;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return NO_METRIC;
+        }
+    }
+
+    private static double number(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            double number = Double.parseDouble(value);
+            return Double.isFinite(number) ? number : Double.NaN;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static long timestamp(String value) {
+        if (value == null) {
+            return NO_TIME;
+        }
+        try {
+            return toNanos(LocalDateTime.parse(value));
+        } catch (RuntimeException e) {
+            return NO_TIME;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import com.psehrawa.oppfinder.common.enums.*;
+import lombok.Getter;
+
+/**
+ * Per-attribute lookup tables of the scoring model, keyed as in the rules file
+ */
+@Getter
+public enum ScoringFactor {
+    FUNDING_STAGE("funding_stage", FundingStage.class),
+    COMPANY_SIZE("company_size", CompanySize.class),
+    INDUSTRY_TREND("industry_trend", Industry.class),
+    DATA_SOURCE("data_source", DataSource.class),
+    TYPE_MULTIPLIER("type_multiplier", OpportunityType.class),
+    COUNTRY_MULTIPLIER("country_multiplier", Country.class);
+
+    private final String key;
+    private final Class<? extends Enum<?>> attribute;
+
+    ScoringFactor(String key, Class<? extends Enum<?>> attribute) {
+        this.key = key;
+        this.attribute = attribute;
+    }
+
+    public static ScoringFactor fromKey(String key) {
+        for (ScoringFactor factor : values()) {
+            if (factor.key.equals(key)) {
+                return factor;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scoring factor: " + key);
+    }
+}
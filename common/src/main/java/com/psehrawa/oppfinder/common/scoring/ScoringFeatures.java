@@ -0,0 +1,99 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import java.util.List;
+
+/**
+ * Dense feature matrix an {@link MlScoringModel} reads, one {@code double[]} column per
+ * feature with a row per opportunity of the {@link ScoringBatch} it was built from.
+ *
+ * Categorical attributes are encoded by their value in the rule tables, so a model is
+ * trained against one rule set. Features are time-invariant (recency stays with the
+ * rules, see {@link RecencyDecay}) and never NaN: absent metrics encode as 0 and a
+ * missing confidence as 50, the value scoring assumes.
+ */
+public final class ScoringFeatures {
+
+    public static final List<String> NAMES = List.of(
+        "funding_stage", "company_size", "industry_trend", "data_source", "social_signals",
+        "confidence", "type_multiplier", "country_multiplier", "log_stars", "log_forks", "has_metadata");
+
+    private final int size;
+    private final double[][] columns;
+
+    private ScoringFeatures(int size) {
+        this.size = size;
+        this.columns = new double[NAMES.size()][size];
+    }
+
+    /**
+     * Build the features of every row of {@code batch} under {@code rules}
+     */
+    public static ScoringFeatures extract(ScoringBatch batch, ScoringRuleSet rules, long nowNanos) {
+        ScoringFeatures features = new ScoringFeatures(batch.size);
+        lookup(features.columns[0], rules.table(ScoringFactor.FUNDING_STAGE), batch.fundingStage);
+        lookup(features.columns[1], rules.table(ScoringFactor.COMPANY_SIZE), batch.companySize);
+        lookup(features.columns[2], rules.table(ScoringFactor.INDUSTRY_TREND), batch.industry);
+        lookup(features.columns[3], rules.table(ScoringFactor.DATA_SOURCE), batch.source);
+        lookup(features.columns[6], rules.table(ScoringFactor.TYPE_MULTIPLIER), batch.type);
+        lookup(features.columns[7], rules.table(ScoringFactor.COUNTRY_MULTIPLIER), batch.country);
+
+        double[] social = features.columns[4];
+        double[] confidence = features.columns[5];
+        double[] logStars = features.columns[8];
+        double[] logForks = features.columns[9];
+        double[] hasMetadata = features.columns[10];
+        for (int i = 0; i < batch.size; i++) {
+            social[i] = ScoringKernel.socialScore(batch, i, nowNanos);
+            confidence[i] = Double.isNaN(batch.confidence[i]) ? 50.0 : batch.confidence[i];
+            logStars[i] = logMetric(batch.stars[i]);
+            logForks[i] = logMetric(batch.forks[i]);
+            hasMetadata[i] = batch.hasMetadata[i] ? 1.0 : 0.0;
+        }
+        return features;
+    }
+
+    /**
+     * Column position of a feature
+     *
+     * @throws IllegalArgumentException for an unknown feature name
+     */
+    public static int index(String name) {
+        int index = NAMES.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown feature: " + name);
+        }
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Values of one feature for every row; callers must not modify it
+     */
+    public double[] column(int feature) {
+        return columns[feature];
+    }
+
+    /**
+     * Feature vector of row {@code i}, in {@link #NAMES} order
+     */
+    public double[] row(int i) {
+        double[] row = new double[columns.length];
+        for (int feature = 0; feature < columns.length; feature++) {
+            row[feature] = columns[feature][i];
+        }
+        return row;
+    }
+
+    private static void lookup(double[] column, double[] table, byte[] codes) {
+        for (int i = 0; i < column.length; i++) {
+            column[i] = table[codes[i]];
+        }
+    }
+
+    private static double logMetric(int value) {
+        return value != ScoringBatch.NO_METRIC ? Math.log1p(Math.max(0, value)) : 0.0;
+    }
+}
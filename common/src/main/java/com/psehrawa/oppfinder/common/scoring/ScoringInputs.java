@@ -0,0 +1,76 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fingerprint of everything the time-invariant score parts are computed from.
+ *
+ * Two opportunities with the same hash get the same base and peak scores under the same
+ * rule set, so a write that leaves the hash and rule version unchanged needs no
+ * rescoring. The factor weights are folded in, so a weight change invalidates every hash.
+ */
+public final class ScoringInputs {
+
+    /**
+     * Metadata key holding the score a data source assigned on its own
+     */
+    public static final String SOURCE_SCORE = "source_score";
+
+    /**
+     * Metadata the social-signals factor reads
+     */
+    public static final List<String> METADATA_KEYS =
+        List.of("stars", "forks", "open_issues", "pushed_at", SOURCE_SCORE);
+
+    private ScoringInputs() {
+    }
+
+    public static long hash(OpportunityDto opportunity, ScoringWeights weights) {
+        StringBuilder inputs = new StringBuilder(128)
+            .append(opportunity.getFundingStage()).append('|')
+            .append(opportunity.getCompanySize()).append('|')
+            .append(opportunity.getIndustry()).append('|')
+            .append(opportunity.getSource()).append('|')
+            .append(opportunity.getType()).append('|')
+            .append(opportunity.getCountry()).append('|')
+            .append(plain(opportunity.getConfidenceScore())).append('|');
+
+        Map<String, String> metadata = opportunity.getMetadata();
+        if (metadata == null) {
+            inputs.append("no-metadata|");
+        } else {
+            for (String key : METADATA_KEYS) {
+                inputs.append(metadata.get(key)).append('|');
+            }
+        }
+
+        inputs.append(weights.getFundingStage()).append('|')
+            .append(weights.getCompanySize()).append('|')
+            .append(weights.getIndustryTrend()).append('|')
+            .append(weights.getSocialSignals()).append('|')
+            .append(weights.getRecency()).append('|')
+            .append(weights.getDataSourceReliability());
+
+        return ByteBuffer.wrap(sha256().digest(inputs.toString().getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "null";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import com.psehrawa.oppfinder.common.enums.DataSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores a {@link ScoringBatch} with per-ordinal lookup tables.
+ *
+ * Tables come from the active {@link ScoringRuleSet} with the factor weights folded in,
+ * and the arithmetic follows the scalar path in discovery-service's
+ * {@code OpportunityScoringService} step by step, so each score is bit-for-bit what
+ * {@code calculateOpportunityScore} computes before rounding, and the base and peak
+ * scores match {@code calculateBaseScore} and {@code calculatePeakScore} the same way.
+ * Batches above {@link #PARALLEL_THRESHOLD} rows are split across the common fork-join pool.
+ */
+public final class ScoringKernel {
+
+    public static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final long NANOS_PER_HOUR = 3_600_000_000_000L;
+    private static final long NANOS_PER_DAY = 24 * NANOS_PER_HOUR;
+
+    private final double[] fundingStage;
+    private final double[] companySize;
+    private final double[] industry;
+    private final double[] source;
+    private final double[] typeMultiplier;
+    private final double[] countryMultiplier;
+    private final double socialWeight;
+    private final double recencyWeight;
+
+    private ScoringKernel(ScoringRuleSet rules, ScoringWeights weights) {
+        this.fundingStage = weighted(rules.table(ScoringFactor.FUNDING_STAGE), weights.getFundingStage());
+        this.companySize = weighted(rules.table(ScoringFactor.COMPANY_SIZE), weights.getCompanySize());
+        this.industry = weighted(rules.table(ScoringFactor.INDUSTRY_TREND), weights.getIndustryTrend());
+        this.source = weighted(rules.table(ScoringFactor.DATA_SOURCE), weights.getDataSourceReliability());
+        this.typeMultiplier = rules.table(ScoringFactor.TYPE_MULTIPLIER);
+        this.countryMultiplier = rules.table(ScoringFactor.COUNTRY_MULTIPLIER);
+        this.socialWeight = weights.getSocialSignals();
+        this.recencyWeight = weights.getRecency();
+    }
+
+    public static ScoringKernel compile(ScoringRuleSet rules, ScoringWeights weights) {
+        return new ScoringKernel(rules, weights);
+    }
+
+    /**
+     * Write the unrounded score of every row of {@code batch} into {@code scores}, and
+     * the base and peak scores into {@code baseScores} and {@code peakScores} unless null
+     */
+    public void score(ScoringBatch batch, long nowNanos, double[] scores, double[] baseScores, double[] peakScores) {
+        Output output = new Output(scores, baseScores, peakScores);
+        if (batch.size <= PARALLEL_THRESHOLD) {
+            score(batch, nowNanos, output, 0, batch.size);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Slice(batch, nowNanos, output, 0, batch.size));
+        }
+    }
+
+    /**
+     * Round a raw score the way it is stored
+     */
+    public static BigDecimal toScore(double score) {
+        return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private void score(ScoringBatch batch, long nowNanos, Output output, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double base = 0.0;
+            base += fundingStage[batch.fundingStage[i]];
+            base += companySize[batch.companySize[i]];
+            base += industry[batch.industry[i]];
+            base += socialScore(batch, i, nowNanos) * socialWeight;
+            double total = base + recencyScore(batch.discoveredAt[i], nowNanos) * recencyWeight;
+            total += source[batch.source[i]];
+            base += source[batch.source[i]];
+
+            double confidence = batch.confidence[i];
+            double multiplier = Double.isNaN(confidence) ? 0.5 : confidence / 100.0;
+            total *= multiplier;
+            total *= typeMultiplier[batch.type[i]];
+            total *= countryMultiplier[batch.country[i]];
+            output.scores[i] = Math.max(0.0, Math.min(100.0, total));
+
+            if (output.baseScores != null) {
+                multiplier *= typeMultiplier[batch.type[i]];
+                multiplier *= countryMultiplier[batch.country[i]];
+                base *= multiplier;
+                output.baseScores[i] = base;
+                output.peakScores[i] = base + 100.0 * recencyWeight * multiplier;
+            }
+        }
+    }
+
+    static double socialScore(ScoringBatch batch, int i, long nowNanos) {
+        if (!batch.hasMetadata[i]) {
+            return 50.0;
+        }
+        if (batch.source[i] != DataSource.GITHUB.ordinal() + 1) {
+            double sourceScore = batch.sourceScore[i];
+            return Double.isNaN(sourceScore) ? 50.0 : Math.max(0.0, Math.min(100.0, sourceScore));
+        }
+
+        double score = 0.0;
+        int stars = batch.stars[i];
+        if (stars != ScoringBatch.NO_METRIC) {
+            score += Math.min(40.0, (stars / 1000.0) * 20);
+        }
+        int forks = batch.forks[i];
+        if (forks != ScoringBatch.NO_METRIC) {
+            score += Math.min(25.0, (forks / 200.0) * 25);
+        }
+        long pushedAt = batch.pushedAt[i];
+        if (pushedAt != ScoringBatch.NO_TIME) {
+            // Activity as of discovery, so base and peak scores do not depend on the clock
+            long asOf = batch.discoveredAt[i] != ScoringBatch.NO_TIME ? batch.discoveredAt[i] : nowNanos;
+            long daysSince = Math.max(0, (asOf - pushedAt) / NANOS_PER_DAY);
+            score += Math.max(0, 20.0 - (daysSince / 30.0) * 20);
+        }
+        int issues = batch.openIssues[i];
+        if (issues != ScoringBatch.NO_METRIC) {
+            if (issues == 0) {
+                score += 15.0;
+            } else {
+                score += Math.max(0, 15.0 - (issues / 100.0) * 15);
+            }
+        }
+        return Math.max(0.0, Math.min(100.0, score));
+    }
+
+    /**
+     * {@link RecencyDecay} score of a discovery time in the {@link ScoringBatch} encoding
+     */
+    public static double recencyScore(long discoveredAt, long nowNanos) {
+        if (discoveredAt == ScoringBatch.NO_TIME) {
+            return RecencyDecay.UNKNOWN;
+        }
+        return RecencyDecay.score((nowNanos - discoveredAt) / NANOS_PER_HOUR);
+    }
+
+    /**
+     * Factor table with the weight folded in, same layout as {@link ScoringRuleSet#table}
+     */
+    private static double[] weighted(double[] table, double weight) {
+        double[] weighted = new double[table.length];
+        for (int i = 0; i < table.length; i++) {
+            weighted[i] = table[i] * weight;
+        }
+        return weighted;
+    }
+
+    private record Output(double[] scores, double[] baseScores, double[] peakScores) {
+    }
+
+    private final class Slice extends RecursiveAction {
+
+        private final ScoringBatch batch;
+        private final long nowNanos;
+        private final Output output;
+        private final int from;
+        private final int to;
+
+        Slice(ScoringBatch batch, long nowNanos, Output output, int from, int to) {
+            this.batch = batch;
+            this.nowNanos = nowNanos;
+            this.output = output;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                score(batch, nowNanos, output, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Slice(batch, nowNanos, output, from, mid),
+                      new Slice(batch, nowNanos, output, mid, to));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable, compiled version of the scoring rule tables.
+ *
+ * Every factor becomes a constant {@code double[]} indexed by {@code ordinal + 1}
+ * (slot 0 for null) and a lookup lambda specialized for the attribute it reads; a
+ * factor whose table holds a single value compiles to a constant. The version is a
+ * digest of the rule text, so identical files always get the same version.
+ */
+public final class ScoringRuleSet {
+
+    public static final String BUNDLED_RULES = "scoring/scoring-rules.tsv";
+
+    private static final String NULL_KEY = "null";
+    private static final String DEFAULT_KEY = "*";
+
+    private final String version;
+    private final double[][] tables;
+    private final ToDoubleFunction<OpportunityDto>[] lookups;
+
+    @SuppressWarnings("unchecked")
+    private ScoringRuleSet(String version, double[][] tables) {
+        this.version = version;
+        this.tables = tables;
+        this.lookups = new ToDoubleFunction[tables.length];
+        for (ScoringFactor factor : ScoringFactor.values()) {
+            lookups[factor.ordinal()] = compile(factor, tables[factor.ordinal()]);
+        }
+    }
+
+    /**
+     * Rules bundled on the classpath at {@link #BUNDLED_RULES}
+     */
+    public static ScoringRuleSet bundled() {
+        return Bundled.INSTANCE;
+    }
+
+    /**
+     * Parse tab-separated rules: factor, key, value. The key is an enum constant,
+     * {@code null} for a missing attribute or {@code *} for constants not listed.
+     * Blank lines and lines starting with '#' are skipped.
+     */
+    public static ScoringRuleSet parse(BufferedReader reader) throws IOException {
+        MessageDigest digest = sha256();
+        Map<ScoringFactor, Map<String, Double>> entries = new EnumMap<>(ScoringFactor.class);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            digest.update((line.strip() + "\n").getBytes(StandardCharsets.UTF_8));
+            String[] columns = line.split("\t", -1);
+            if (columns.length != 3) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected factor, key and value");
+            }
+            try {
+                ScoringFactor factor = ScoringFactor.fromKey(columns[0].trim());
+                String key = columns[1].trim();
+                if (!key.equals(NULL_KEY) && !key.equals(DEFAULT_KEY) && constant(factor, key) == null) {
+                    throw new IllegalArgumentException("Unknown " + factor.getKey() + " key: " + key);
+                }
+                double value = Double.parseDouble(columns[2].trim());
+                if (!Double.isFinite(value) || value < 0) {
+                    throw new IllegalArgumentException("Value must be a non-negative number: " + columns[2].trim());
+                }
+                if (entries.computeIfAbsent(factor, f -> new HashMap<>()).put(key, value) != null) {
+                    throw new IllegalArgumentException("Duplicate " + factor.getKey() + " key: " + key);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        double[][] tables = new double[ScoringFactor.values().length][];
+        for (ScoringFactor factor : ScoringFactor.values()) {
+            tables[factor.ordinal()] = resolve(factor, entries.getOrDefault(factor, Map.of()));
+        }
+        return new ScoringRuleSet(HexFormat.of().formatHex(digest.digest(), 0, 6), tables);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Factor value for the opportunity's attribute
+     */
+    public double score(ScoringFactor factor, OpportunityDto opportunity) {
+        return lookups[factor.ordinal()].applyAsDouble(opportunity);
+    }
+
+    /**
+     * Factor value for an attribute constant, or for a missing attribute when null
+     */
+    public double value(ScoringFactor factor, Enum<?> constant) {
+        return tables[factor.ordinal()][slot(constant)];
+    }
+
+    /**
+     * The factor's table, indexed by {@code ordinal + 1}; callers must not modify it
+     */
+    double[] table(ScoringFactor factor) {
+        return tables[factor.ordinal()];
+    }
+
+    static int slot(Enum<?> constant) {
+        return constant != null ? constant.ordinal() + 1 : 0;
+    }
+
+    private static double[] resolve(ScoringFactor factor, Map<String, Double> entries) {
+        Enum<?>[] constants = factor.getAttribute().getEnumConstants();
+        double[] table = new double[constants.length + 1];
+        table[0] = required(factor, entries, NULL_KEY);
+        for (Enum<?> constant : constants) {
+            Double value = entries.get(constant.name());
+            table[constant.ordinal() + 1] = value != null ? value : required(factor, entries, constant.name());
+        }
+        return table;
+    }
+
+    private static double required(ScoringFactor factor, Map<String, Double> entries, String key) {
+        Double value = entries.get(key);
+        if (value == null && !key.equals(NULL_KEY)) {
+            value = entries.get(DEFAULT_KEY);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("No " + factor.getKey() + " value for " + key);
+        }
+        return value;
+    }
+
+    private static ToDoubleFunction<OpportunityDto> compile(ScoringFactor factor, double[] table) {
+        double first = table[0];
+        boolean constant = true;
+        for (double value : table) {
+            constant &= value == first;
+        }
+        if (constant) {
+            return opportunity -> first;
+        }
+        // One lambda per attribute keeps each getter call site monomorphic
+        return switch (factor) {
+            case FUNDING_STAGE -> opportunity -> table[slot(opportunity.getFundingStage())];
+            case COMPANY_SIZE -> opportunity -> table[slot(opportunity.getCompanySize())];
+            case INDUSTRY_TREND -> opportunity -> table[slot(opportunity.getIndustry())];
+            case DATA_SOURCE -> opportunity -> table[slot(opportunity.getSource())];
+            case TYPE_MULTIPLIER -> opportunity -> table[slot(opportunity.getType())];
+            case COUNTRY_MULTIPLIER -> opportunity -> table[slot(opportunity.getCountry())];
+        };
+    }
+
+    private static Enum<?> constant(ScoringFactor factor, String name) {
+        for (Enum<?> constant : factor.getAttribute().getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Bundled {
+        static final ScoringRuleSet INSTANCE = load();
+
+        private static ScoringRuleSet load() {
+            InputStream stream = ScoringRuleSet.class.getClassLoader().getResourceAsStream(BUNDLED_RULES);
+            if (stream == null) {
+                throw new IllegalStateException("Missing scoring rules: " + BUNDLED_RULES);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                return parse(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
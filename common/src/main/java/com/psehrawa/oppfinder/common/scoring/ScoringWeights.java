@@ -0,0 +1,24 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import lombok.Data;
+
+/**
+ * Weight of each factor in the opportunity score
+ */
+@Data
+public class ScoringWeights {
+    private double fundingStage = 0.25;
+    private double companySize = 0.20;
+    private double industryTrend = 0.20;
+    private double socialSignals = 0.15;
+    private double recency = 0.10;
+    private double dataSourceReliability = 0.10;
+
+    // Validate that weights sum to 1.0
+    public void validate() {
+        double sum = fundingStage + companySize + industryTrend + socialSignals + recency + dataSourceReliability;
+        if (Math.abs(sum - 1.0) > 0.01) {
+            throw new IllegalStateException("Scoring weights must sum to 1.0, current sum: " + sum);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gradient-boosted tree ensemble {@link MlScoringModel}: intercept plus one leaf value
+ * per tree.
+ *
+ * All trees share flat node arrays laid out with each node's children next to each
+ * other, so a step down the tree is {@code child + (value >= threshold ? 1 : 0)}. A
+ * leaf points at itself with an infinite threshold, so every row takes exactly the
+ * tree's depth in steps and the walk has no data-dependent loop exit. Prediction copies
+ * a block of {@link #BLOCK} rows to row-major order and runs every tree over it, keeping
+ * the block's features and the trees' nodes in cache.
+ */
+final class TreeEnsembleMlModel implements MlScoringModel {
+
+    static final int BLOCK = 256;
+
+    private static final int LEAF = -1;
+
+    private final String version;
+    private final double intercept;
+    private final int[] roots;
+    private final int[] depths;
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] child;
+    private final double[] value;
+
+    private TreeEnsembleMlModel(String version, double intercept, int[] roots, int[] depths, int[] feature,
+                                double[] threshold, int[] child, double[] value) {
+        this.version = version;
+        this.intercept = intercept;
+        this.roots = roots;
+        this.depths = depths;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.child = child;
+        this.value = value;
+    }
+
+    static TreeEnsembleMlModel parse(String version, List<String[]> lines, List<Integer> lineNumbers) {
+        double intercept = 0.0;
+        List<Tree> trees = new ArrayList<>();
+        for (int i = 1; i < lines.size(); i++) {
+            String[] columns = lines.get(i);
+            try {
+                switch (columns[0]) {
+                    case "intercept" -> {
+                        expect(columns, 2);
+                        intercept = number(columns[1]);
+                    }
+                    case "tree" -> {
+                        expect(columns, 1);
+                        trees.add(new Tree());
+                    }
+                    case "split" -> {
+                        expect(columns, 6);
+                        Tree tree = tree(trees);
+                        int id = tree.define(columns[1]);
+                        int left = Integer.parseInt(columns[4]);
+                        int right = Integer.parseInt(columns[5]);
+                        if (left <= id || right <= id) {
+                            throw new IllegalArgumentException("Children must have higher IDs than node " + id);
+                        }
+                        tree.feature[id] = ScoringFeatures.index(columns[2]);
+                        tree.threshold[id] = number(columns[3]);
+                        tree.left[id] = left;
+                        tree.right[id] = right;
+                    }
+                    case "leaf" -> {
+                        expect(columns, 3);
+                        Tree tree = tree(trees);
+                        int id = tree.define(columns[1]);
+                        tree.feature[id] = LEAF;
+                        tree.value[id] = number(columns[2]);
+                    }
+                    default -> throw new IllegalArgumentException("Unexpected line in tree model: " + columns[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumbers.get(i) + ": " + e.getMessage(), e);
+            }
+        }
+        if (trees.isEmpty()) {
+            throw new IllegalArgumentException("Tree model has no trees");
+        }
+
+        int nodes = 0;
+        for (int t = 0; t < trees.size(); t++) {
+            nodes += trees.get(t).validate(t);
+        }
+        int[] roots = new int[trees.size()];
+        int[] depths = new int[trees.size()];
+        int[] feature = new int[nodes];
+        double[] threshold = new double[nodes];
+        int[] child = new int[nodes];
+        double[] value = new double[nodes];
+        int next = 0;
+        int[] queue = new int[nodes];
+        int[] depth = new int[nodes];
+        for (int t = 0; t < trees.size(); t++) {
+            Tree tree = trees.get(t);
+            // Breadth-first from the root, placing both children of a split side by side
+            int root = next++;
+            roots[t] = root;
+            queue[root] = 0;
+            for (int slot = root; slot < next; slot++) {
+                int id = queue[slot];
+                if (tree.feature[id] == LEAF) {
+                    threshold[slot] = Double.POSITIVE_INFINITY;
+                    child[slot] = slot;
+                    value[slot] = tree.value[id];
+                } else {
+                    feature[slot] = tree.feature[id];
+                    threshold[slot] = tree.threshold[id];
+                    child[slot] = next;
+                    depth[next] = depth[slot] + 1;
+                    queue[next++] = tree.left[id];
+                    depth[next] = depth[slot] + 1;
+                    queue[next++] = tree.right[id];
+                    depths[t] = Math.max(depths[t], depth[slot] + 1);
+                }
+            }
+        }
+        return new TreeEnsembleMlModel(version, intercept, roots, depths, feature, threshold, child, value);
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public void predict(ScoringFeatures features, double[] predictions) {
+        int size = features.size();
+        double[][] columns = new double[ScoringFeatures.NAMES.size()][];
+        for (int f = 0; f < columns.length; f++) {
+            columns[f] = features.column(f);
+        }
+
+        Arrays.fill(predictions, 0, size, intercept);
+        int width = columns.length;
+        double[] rows = new double[BLOCK * width];
+        for (int from = 0; from < size; from += BLOCK) {
+            int to = Math.min(size, from + BLOCK);
+            for (int f = 0; f < width; f++) {
+                double[] column = columns[f];
+                for (int i = from, offset = f; i < to; i++, offset += width) {
+                    rows[offset] = column[i];
+                }
+            }
+            for (int t = 0; t < roots.length; t++) {
+                int root = roots[t];
+                int depth = depths[t];
+                for (int i = from, offset = 0; i < to; i++, offset += width) {
+                    int node = root;
+                    for (int step = 0; step < depth; step++) {
+                        node = child[node] + (rows[offset + feature[node]] >= threshold[node] ? 1 : 0);
+                    }
+                    predictions[i] += value[node];
+                }
+            }
+        }
+    }
+
+    private static Tree tree(List<Tree> trees) {
+        if (trees.isEmpty()) {
+            throw new IllegalArgumentException("Node before the first tree line");
+        }
+        return trees.get(trees.size() - 1);
+    }
+
+    private static void expect(String[] columns, int count) {
+        if (columns.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " columns for " + columns[0]);
+        }
+    }
+
+    private static double number(String value) {
+        double number = Double.parseDouble(value);
+        if (!Double.isFinite(number)) {
+            throw new IllegalArgumentException("Value must be finite: " + value);
+        }
+        return number;
+    }
+
+    /**
+     * One tree while parsing, nodes indexed by their ID
+     */
+    private static final class Tree {
+
+        private int size;
+        private boolean[] defined = new boolean[8];
+        private int[] feature = new int[8];
+        private double[] threshold = new double[8];
+        private int[] left = new int[8];
+        private int[] right = new int[8];
+        private double[] value = new double[8];
+
+        int define(String idColumn) {
+            int id = Integer.parseInt(idColumn);
+            if (id < 0) {
+                throw new IllegalArgumentException("Negative node ID: " + id);
+            }
+            if (id >= defined.length) {
+                int capacity = Math.max(id + 1, defined.length * 2);
+                defined = Arrays.copyOf(defined, capacity);
+                feature = Arrays.copyOf(feature, capacity);
+                threshold = Arrays.copyOf(threshold, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                value = Arrays.copyOf(value, capacity);
+            }
+            if (defined[id]) {
+                throw new IllegalArgumentException("Duplicate node ID: " + id);
+            }
+            defined[id] = true;
+            size = Math.max(size, id + 1);
+            return id;
+        }
+
+        /**
+         * Check every node ID up to the highest is defined, every child exists and every
+         * node but the root is the child of exactly one split
+         *
+         * @return number of nodes
+         */
+        int validate(int index) {
+            if (size == 0) {
+                throw new IllegalArgumentException("Tree " + index + " has no nodes");
+            }
+            int[] parents = new int[size];
+            for (int id = 0; id < size; id++) {
+                if (!defined[id]) {
+                    throw new IllegalArgumentException("Tree " + index + " is missing node " + id);
+                }
+                if (feature[id] != LEAF) {
+                    if (left[id] >= size || right[id] >= size) {
+                        throw new IllegalArgumentException("Tree " + index + " node " + id + " has an undefined child");
+                    }
+                    parents[left[id]]++;
+                    parents[right[id]]++;
+                }
+            }
+            for (int id = 1; id < size; id++) {
+                if (parents[id] != 1) {
+                    throw new IllegalArgumentException("Tree " + index + " node " + id + " has " + parents[id] + " parents");
+                }
+            }
+            return size;
+        }
+    }
+}
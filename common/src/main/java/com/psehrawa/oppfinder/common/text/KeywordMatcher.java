@@ -0,0 +1,203 @@
+package com.psehrawa.oppfinder.common.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+
+/**
+ * Aho-Corasick automaton over a fixed keyword vocabulary.
+ *
+ * Finds every vocabulary keyword occurring as a substring of the input in a
+ * single left-to-right pass, which gives the same answers as calling
+ * {@code text.toLowerCase().contains(keyword)} once per keyword.
+ *
+ * Failure links are folded into a dense transition table over the characters that
+ * occur in the vocabulary (every other character shares one class), so each input
+ * character costs one class lookup and one table read.
+ */
+public final class KeywordMatcher {
+
+    private final String[] keywords;
+    private final Map<String, Integer> keywordIndex;
+
+    // Character classes: ASCII by table (already lowercased), the rest by sorted lookup
+    private final int[] asciiClasses;
+    private final char[] otherChars;
+    private final int[] otherClasses;
+
+    // transitions[state * width + class] is the next state
+    private final int width;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    public KeywordMatcher(Collection<String> vocabulary) {
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String keyword : vocabulary) {
+            if (keyword != null && !keyword.isEmpty()) {
+                unique.add(keyword.toLowerCase(Locale.ROOT));
+            }
+        }
+        this.keywords = unique.toArray(new String[0]);
+        this.keywordIndex = new HashMap<>();
+        for (int i = 0; i < keywords.length; i++) {
+            keywordIndex.put(keywords[i], i);
+        }
+
+        // Class 0 is any character outside the vocabulary
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (String keyword : keywords) {
+            for (char c : keyword.toCharArray()) {
+                alphabet.add(c);
+            }
+        }
+        Map<Character, Integer> classes = new HashMap<>();
+        for (char c : alphabet) {
+            classes.put(c, classes.size() + 1);
+        }
+        this.width = classes.size() + 1;
+        this.asciiClasses = new int[128];
+        for (char c = 0; c < 128; c++) {
+            asciiClasses[c] = classes.getOrDefault(Character.toLowerCase(c), 0);
+        }
+        List<Character> nonAscii = alphabet.stream().filter(c -> c >= 128).toList();
+        this.otherChars = new char[nonAscii.size()];
+        this.otherClasses = new int[nonAscii.size()];
+        for (int i = 0; i < otherChars.length; i++) {
+            otherChars[i] = nonAscii.get(i);
+            otherClasses[i] = classes.get(otherChars[i]);
+        }
+
+        // Build the trie with growable per-state edge maps keyed by class
+        List<Map<Integer, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminals = new ArrayList<>();
+        trie.add(new HashMap<>());
+        terminals.add(new ArrayList<>());
+        for (int k = 0; k < keywords.length; k++) {
+            int state = 0;
+            for (char c : keywords[k].toCharArray()) {
+                int cls = classes.get(c);
+                Integer next = trie.get(state).get(cls);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    terminals.add(new ArrayList<>());
+                    trie.get(state).put(cls, next);
+                }
+                state = next;
+            }
+            terminals.get(state).add(k);
+        }
+
+        // Breadth-first: a missing edge goes where the failure state goes on the same
+        // class, and outputs inherit from the failure state
+        int states = trie.size();
+        this.transitions = new int[states * width];
+        this.outputs = new int[states][];
+        int[] failure = new int[states];
+        outputs[0] = toArray(terminals.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> edge : trie.get(0).entrySet()) {
+            int target = edge.getValue();
+            transitions[edge.getKey()] = target;
+            outputs[target] = toArray(terminals.get(target));
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fallbackRow = failure[state] * width;
+            for (int cls = 0; cls < width; cls++) {
+                Integer target = trie.get(state).get(cls);
+                if (target == null) {
+                    transitions[state * width + cls] = transitions[fallbackRow + cls];
+                    continue;
+                }
+                failure[target] = transitions[fallbackRow + cls];
+                outputs[target] = merge(toArray(terminals.get(target)), outputs[failure[target]]);
+                transitions[state * width + cls] = target;
+                queue.add(target);
+            }
+        }
+    }
+
+    /**
+     * Number of distinct keywords in the vocabulary
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * Index of a keyword in the vocabulary, or -1 if it is not part of it
+     */
+    public int indexOf(String keyword) {
+        Integer index = keywordIndex.get(keyword.toLowerCase(Locale.ROOT));
+        return index != null ? index : -1;
+    }
+
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * Scan {@code text[from, to)} and set the bit of every keyword found.
+     * Characters are lowercased on the fly, so callers need not copy the text.
+     */
+    public void match(CharSequence text, int from, int to, BitSet hits) {
+        match(text, from, to, (keyword, end) -> hits.set(keyword));
+    }
+
+    /**
+     * Scan {@code text[from, to)} and report every keyword occurrence with its end offset
+     */
+    public void match(CharSequence text, int from, int to, MatchListener listener) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = transitions[state * width + classOf(text.charAt(i))];
+            for (int keyword : outputs[state]) {
+                listener.onMatch(keyword, i + 1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface MatchListener {
+
+        /**
+         * Called for keyword {@code keyword} occurring at {@code text[end - length, end)}
+         */
+        void onMatch(int keyword, int end);
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        char lower = Character.toLowerCase(c);
+        if (lower < 128) {
+            return asciiClasses[lower];
+        }
+        int i = Arrays.binarySearch(otherChars, lower);
+        return i >= 0 ? otherClasses[i] : 0;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (inherited.length == 0) return own;
+        if (own.length == 0) return inherited;
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+}
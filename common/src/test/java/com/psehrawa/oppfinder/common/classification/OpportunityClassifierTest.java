@@ -0,0 +1,142 @@
+package com.psehrawa.oppfinder.common.classification;
+
+import com.psehrawa.oppfinder.common.enums.Industry;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class OpportunityClassifierTest {
+
+    private static final String CORPUS = "/classifier/labeled-corpus.csv";
+
+    private final OpportunityClassifier classifier = OpportunityClassifier.defaults();
+
+    @ParameterizedTest
+    @CsvFileSource(resources = CORPUS, delimiter = '|', numLinesToSkip = 1)
+    void classify_ShouldMatchLabeledCorpus(String text, String industry, String type) {
+        // When
+        Classification result = classifier.classify(text);
+
+        // Then
+        assertThat(result.industry(null)).isEqualTo(label(Industry.class, industry));
+        assertThat(result.type(null)).isEqualTo(label(OpportunityType.class, type));
+    }
+
+    @Test
+    void confidences_ShouldBeCalibratedOnCorpus() throws IOException {
+        // Given
+        double confidenceSum = 0;
+        int correct = 0;
+        int predictions = 0;
+
+        // When
+        try (InputStream stream = getClass().getResourceAsStream(CORPUS);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\\|");
+                Classification result = classifier.classify(columns[0]);
+                Industry industry = result.industry(null);
+                if (industry != null) {
+                    confidenceSum += result.confidence(industry);
+                    correct += industry == label(Industry.class, columns[1]) ? 1 : 0;
+                    predictions++;
+                }
+                OpportunityType type = result.type(null);
+                if (type != null) {
+                    confidenceSum += result.confidence(type);
+                    correct += type == label(OpportunityType.class, columns[2]) ? 1 : 0;
+                    predictions++;
+                }
+            }
+        }
+
+        // Then
+        assertThat(confidenceSum / predictions).isCloseTo((double) correct / predictions, within(0.15));
+    }
+
+    @Test
+    void classify_ShouldOnlyMatchWholeWords() {
+        // When
+        Classification result = classifier.classify("Maintaining the email client, said the vendor");
+
+        // Then
+        assertThat(result.industry(Industry.ENTERPRISE_SOFTWARE)).isEqualTo(Industry.ENTERPRISE_SOFTWARE);
+        assertThat(result.confidence(Industry.ARTIFICIAL_INTELLIGENCE)).isZero();
+    }
+
+    @Test
+    void classify_ShouldScoreEveryLabelAcrossParts() {
+        // When
+        Classification result = classifier.classify(
+            "Crypto payments startup raised a seed round",
+            null,
+            "r/fintech"
+        );
+
+        // Then
+        assertThat(result.industries(0.01)).containsExactly(Industry.FINTECH, Industry.BLOCKCHAIN);
+        assertThat(result.type(OpportunityType.TECHNOLOGY_TREND)).isEqualTo(OpportunityType.STARTUP_FUNDING);
+        double total = 0;
+        for (Industry industry : Industry.values()) {
+            total += result.confidence(industry);
+        }
+        assertThat(total).isLessThan(1.0);
+    }
+
+    @Test
+    void classify_MoreEvidence_ShouldRaiseConfidence() {
+        // When
+        double weak = classifier.classify("a health app").confidence(Industry.HEALTHTECH);
+        double strong = classifier.classify("a telehealth app for patients and clinical teams").confidence(Industry.HEALTHTECH);
+
+        // Then
+        assertThat(weak).isPositive();
+        assertThat(strong).isGreaterThan(weak);
+    }
+
+    @Test
+    void customRules_ShouldReplaceBundledRules() throws IOException {
+        // Given
+        List<ClassifierRule> rules = OpportunityClassifier.parseRules(new BufferedReader(new StringReader(
+            "# custom\nindustry\tGAMING\t1.0\tspeedrun|speed run\ntype\tTECHNOLOGY_TREND\t1.0\tmeta\n")));
+
+        // When
+        Classification result = new OpportunityClassifier(rules, 1.0, 1.0).classify("The speedrun meta shifted");
+
+        // Then
+        assertThat(result.industry(null)).isEqualTo(Industry.GAMING);
+        assertThat(result.type(null)).isEqualTo(OpportunityType.TECHNOLOGY_TREND);
+        assertThat(result.confidence(Industry.GAMING)).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void parseRules_ShouldReportLineOfInvalidRule() {
+        assertThatThrownBy(() -> OpportunityClassifier.parseRules(new BufferedReader(new StringReader(
+            "industry\tFINTECH\t1.0\tpayments\nindustry\tNOT_AN_INDUSTRY\t1.0\tfoo\n"))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Line 2:");
+        assertThatThrownBy(() -> OpportunityClassifier.parseRules(new BufferedReader(new StringReader(
+            "type\tPARTNERSHIP\t-1\tpartner\n"))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Line 1:");
+    }
+
+    private static <E extends Enum<E>> E label(Class<E> type, String value) {
+        return "NONE".equals(value) ? null : Enum.valueOf(type, value);
+    }
+}
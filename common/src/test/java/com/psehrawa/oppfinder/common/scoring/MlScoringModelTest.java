@@ -0,0 +1,135 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MlScoringModelTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private static final String LINEAR = """
+        # Trained on the bundled rules
+        model\tlinear
+        intercept\t5.0
+        coefficient\tfunding_stage\t0.5
+        coefficient\tconfidence\t0.25
+        coefficient\tlog_stars\t2.0
+        """;
+
+    private static final String TREES = """
+        model\ttrees
+        intercept\t40.0
+        tree
+        split\t0\tconfidence\t70.0\t1\t2
+        leaf\t1\t-10.0
+        split\t2\tfunding_stage\t80.0\t3\t4
+        leaf\t3\t5.0
+        leaf\t4\t15.0
+        tree
+        leaf\t0\t2.5
+        """;
+
+    @Test
+    void predict_LinearModel_ShouldMatchFeatureVectors() throws IOException {
+        // Given
+        MlScoringModel model = parse(LINEAR);
+        List<OpportunityDto> opportunities = List.of(
+            opportunity(FundingStage.SERIES_A, 90, Map.of("stars", "999")),
+            opportunity(null, null, null));
+        ScoringFeatures features = ScoringFeatures.extract(
+            ScoringBatch.of(opportunities), ScoringRuleSet.bundled(), ScoringBatch.toNanos(NOW));
+
+        // When
+        double[] predictions = new double[opportunities.size()];
+        model.predict(features, predictions);
+
+        // Then
+        for (int i = 0; i < opportunities.size(); i++) {
+            double[] row = features.row(i);
+            double expected = 5.0 + 0.5 * row[ScoringFeatures.index("funding_stage")]
+                + 0.25 * row[ScoringFeatures.index("confidence")]
+                + 2.0 * row[ScoringFeatures.index("log_stars")];
+            assertThat(predictions[i]).isCloseTo(expected, within(1e-9));
+        }
+        assertThat(features.row(0)[ScoringFeatures.index("log_stars")]).isCloseTo(Math.log(1000), within(1e-9));
+        // Missing confidence is read as 50, missing metadata as no stars
+        assertThat(features.row(1)[ScoringFeatures.index("confidence")]).isEqualTo(50.0);
+        assertThat(predictions[1]).isCloseTo(5.0 + 0.5 * 50.0 + 0.25 * 50.0, within(1e-9));
+    }
+
+    @Test
+    void predict_TreeModel_ShouldSumOneLeafPerTree() throws IOException {
+        // Given
+        MlScoringModel model = parse(TREES);
+        List<OpportunityDto> opportunities = List.of(
+            opportunity(FundingStage.SEED, 60, null),
+            opportunity(FundingStage.SEED, 90, null),
+            opportunity(FundingStage.SERIES_C, 90, null));
+        ScoringFeatures features = ScoringFeatures.extract(
+            ScoringBatch.of(opportunities), ScoringRuleSet.bundled(), ScoringBatch.toNanos(NOW));
+
+        // When
+        double[] predictions = new double[opportunities.size()];
+        model.predict(features, predictions);
+
+        // Then
+        assertThat(predictions).containsExactly(32.5, 47.5, 57.5);
+    }
+
+    @Test
+    void parse_ShouldVersionByContent() throws IOException {
+        // When
+        MlScoringModel model = parse(LINEAR);
+        MlScoringModel reformatted = parse("\n# Comments do not change the version\n" + LINEAR);
+
+        // Then
+        assertThat(model.getVersion()).hasSize(12).isEqualTo(reformatted.getVersion());
+        assertThat(parse(TREES).getVersion()).isNotEqualTo(model.getVersion());
+    }
+
+    @Test
+    void parse_InvalidModel_ShouldThrow() {
+        // When & Then
+        assertThatThrownBy(() -> parse("intercept\t1.0\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("model line");
+        assertThatThrownBy(() -> parse("model\tlinear\ncoefficient\tpopularity\t1.0\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Line 2")
+            .hasMessageContaining("popularity");
+        assertThatThrownBy(() -> parse("model\ttrees\ntree\nsplit\t0\tconfidence\t50\t1\t2\nleaf\t1\t1.0\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("undefined child");
+        assertThatThrownBy(() -> parse("model\ttrees\ntree\nsplit\t1\tconfidence\t50\t0\t2\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("higher IDs");
+    }
+
+    private static MlScoringModel parse(String text) throws IOException {
+        return MlScoringModel.parse(new BufferedReader(new StringReader(text)));
+    }
+
+    private static OpportunityDto opportunity(FundingStage fundingStage, Integer confidence, Map<String, String> metadata) {
+        return OpportunityDto.builder()
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .fundingStage(fundingStage)
+            .confidenceScore(confidence != null ? BigDecimal.valueOf(confidence) : null)
+            .discoveredAt(NOW.minusHours(3))
+            .metadata(metadata)
+            .build();
+    }
+}
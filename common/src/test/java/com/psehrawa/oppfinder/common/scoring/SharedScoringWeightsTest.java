@@ -0,0 +1,32 @@
+package com.psehrawa.oppfinder.common.scoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedScoringWeightsTest {
+
+    @Test
+    void sharedWeights_ShouldBindAlikeForBothServices() throws IOException {
+        // Given
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+            .load("scoring-weights", new ClassPathResource("scoring/scoring-weights.yml"));
+        Binder binder = new Binder(ConfigurationPropertySources.from(sources));
+
+        // When
+        ScoringWeights discovery = binder.bind("oppfinder.discovery.scoring.weights", ScoringWeights.class).get();
+        ScoringWeights intelligence = binder.bind("oppfinder.intelligence.scoring.weights", ScoringWeights.class).get();
+
+        // Then
+        assertThat(discovery.getFundingStage()).isEqualTo(0.3);
+        assertThat(intelligence).isEqualTo(discovery);
+    }
+}
@@ -0,0 +1,124 @@
+package com.psehrawa.oppfinder.discovery.service.datasource;
+
+import com.psehrawa.oppfinder.common.classification.Classification;
+import com.psehrawa.oppfinder.common.classification.ClassifierRule;
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
+import com.psehrawa.oppfinder.common.enums.Industry;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Industry and type classification of typical posts. The per-source chains of
+ * {@code contains} checks stop at the first of a few dozen keywords; the shared
+ * classifier scores every label from the full rule set in one scan, and
+ * {@code containsPerRule} is what the full rule set costs with one scan per keyword.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OpportunityClassifierBenchmark {
+
+    private static final String[][] POSTS = {
+        {"Just joined a stealth AI startup as #15. We just closed $40M Series B led by Sequoia. " +
+         "Building next-gen AI infrastructure. Hiring across all engineering roles. TC packages are insane!",
+         "Startups"},
+        {"CloudNative revenue just crossed $100M ARR. Growing 300% YoY. Opening offices in NYC and London. " +
+         "Hiring 200+ engineers this quarter. Stock options still attractive.",
+         "High Growth"},
+        {"ChainBridge building institutional crypto infrastructure. $45M in funding, blue-chip VCs. " +
+         "Solving real problems, not another DeFi clone. Hiring security and backend engineers.",
+         "Recently Funded"},
+        {"MedConnect raised $60M Series C. Building AI-powered diagnostic tools. " +
+         "FDA approval expected Q1. This could be the next big healthtech IPO. Hiring ML engineers aggressively.",
+         "Unicorns"},
+        {"Major competitor laying off 30% next week. Their best engineers looking for jobs. " +
+         "Our company ready to hire their A-players. Referral bonus increased to $20K.",
+         "Tech Companies"}
+    };
+
+    private final OpportunityClassifier classifier = OpportunityClassifier.defaults();
+    private final List<ClassifierRule> rules = OpportunityClassifier.bundledRules();
+
+    @Benchmark
+    public void legacyContainsChains(Blackhole blackhole) {
+        for (String[] post : POSTS) {
+            String content = post[0].toLowerCase();
+            String context = post[1].toLowerCase();
+            blackhole.consume(legacyType(content));
+            blackhole.consume(legacyIndustry(content, context));
+        }
+    }
+
+    @Benchmark
+    public void classifier(Blackhole blackhole) {
+        for (String[] post : POSTS) {
+            Classification classification = classifier.classify(post[0], post[1]);
+            blackhole.consume(classification.type(OpportunityType.TECHNOLOGY_TREND));
+            blackhole.consume(classification.industry(Industry.ENTERPRISE_SOFTWARE));
+        }
+    }
+
+    @Benchmark
+    public void containsPerRule(Blackhole blackhole) {
+        for (String[] post : POSTS) {
+            String text = post[0].toLowerCase() + " " + post[1].toLowerCase();
+            double score = 0;
+            for (ClassifierRule rule : rules) {
+                for (String keyword : rule.keywords()) {
+                    if (text.contains(keyword)) {
+                        score += rule.weight();
+                    }
+                }
+            }
+            blackhole.consume(score);
+        }
+    }
+
+    private static OpportunityType legacyType(String content) {
+        if (content.contains("funding") || content.contains("investment") || content.contains("raised") || content.contains("round")) {
+            return OpportunityType.STARTUP_FUNDING;
+        } else if (content.contains("launch") || content.contains("released") || content.contains("announcing")) {
+            return OpportunityType.PRODUCT_LAUNCH;
+        } else if (content.contains("hiring") || content.contains("looking for") || content.contains("cofounder")) {
+            return OpportunityType.JOB_POSTING_SIGNAL;
+        } else if (content.contains("partnership") || content.contains("collaboration")) {
+            return OpportunityType.PARTNERSHIP;
+        } else if (content.contains("acquisition") || content.contains("acquired")) {
+            return OpportunityType.ACQUISITION_TARGET;
+        } else if (content.contains("trend") || content.contains("future") || content.contains("innovation")) {
+            return OpportunityType.TECHNOLOGY_TREND;
+        }
+        return OpportunityType.TECHNOLOGY_TREND;
+    }
+
+    private static Industry legacyIndustry(String content, String context) {
+        String text = content + " " + context;
+        if (text.contains("ai") || text.contains("artificial") || text.contains("machine learning") || text.contains("ml")) {
+            return Industry.ARTIFICIAL_INTELLIGENCE;
+        } else if (text.contains("fintech") || text.contains("finance") || text.contains("banking") || text.contains("payment")) {
+            return Industry.FINTECH;
+        } else if (text.contains("health") || text.contains("medical") || text.contains("healthcare")) {
+            return Industry.HEALTHTECH;
+        } else if (text.contains("education") || text.contains("edtech") || text.contains("learning")) {
+            return Industry.EDTECH;
+        } else if (text.contains("saas") || text.contains("software") || text.contains("app")) {
+            return Industry.ENTERPRISE_SOFTWARE;
+        } else if (text.contains("security") || text.contains("cyber")) {
+            return Industry.CYBERSECURITY;
+        } else if (text.contains("blockchain") || text.contains("crypto")) {
+            return Industry.BLOCKCHAIN;
+        } else if (text.contains("ecommerce") || text.contains("e-commerce") || text.contains("retail")) {
+            return Industry.ECOMMERCE;
+        }
+        return Industry.ENTERPRISE_SOFTWARE;
+    }
+}
@@ -0,0 +1,125 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.MlScoringModel;
+import com.psehrawa.oppfinder.common.scoring.ScoringBatch;
+import com.psehrawa.oppfinder.common.scoring.ScoringFeatures;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-opportunity cost of ML scoring on a chunk of the default batch size: feature
+ * extraction, then inference with a linear model and with a 50-tree, depth-4 ensemble.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MlScoringBenchmark {
+
+    private static final int ROWS = 500;
+
+    private final ScoringRuleSet rules = ScoringRuleSet.bundled();
+    private final long now = ScoringBatch.toNanos(LocalDateTime.of(2024, 6, 1, 12, 0));
+    private final double[] predictions = new double[ROWS];
+    private ScoringBatch batch;
+    private ScoringFeatures features;
+    private MlScoringModel linear;
+    private MlScoringModel trees;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        List<OpportunityDto> opportunities = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            opportunities.add(OpportunityDto.builder()
+                .fundingStage(pick(random, FundingStage.values()))
+                .companySize(pick(random, CompanySize.values()))
+                .industry(pick(random, Industry.values()))
+                .source(pick(random, DataSource.values()))
+                .type(pick(random, OpportunityType.values()))
+                .country(pick(random, Country.values()))
+                .metadata(random.nextBoolean()
+                    ? Map.of("stars", String.valueOf(random.nextInt(5000)), "forks", String.valueOf(random.nextInt(900)))
+                    : null)
+                .discoveredAt(LocalDateTime.of(2024, 6, 1, 12, 0).minusHours(random.nextInt(2000)))
+                .build());
+        }
+        batch = ScoringBatch.of(opportunities);
+        features = ScoringFeatures.extract(batch, rules, now);
+
+        StringBuilder model = new StringBuilder("model\tlinear\nintercept\t4.0\n");
+        for (String feature : ScoringFeatures.NAMES) {
+            model.append("coefficient\t").append(feature).append('\t').append(random.nextDouble()).append('\n');
+        }
+        linear = parse(model.toString());
+        trees = parse(randomTrees(random, 50, 4));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ScoringFeatures extractFeatures() {
+        return ScoringFeatures.extract(batch, rules, now);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] linearModel() {
+        linear.predict(features, predictions);
+        return predictions;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] treeEnsemble() {
+        trees.predict(features, predictions);
+        return predictions;
+    }
+
+    /**
+     * Complete trees splitting on random features, as a trained model of that shape would
+     */
+    private static String randomTrees(Random random, int count, int depth) {
+        StringBuilder model = new StringBuilder("model\ttrees\nintercept\t40.0\n");
+        int splits = (1 << depth) - 1;
+        for (int t = 0; t < count; t++) {
+            model.append("tree\n");
+            for (int id = 0; id < splits; id++) {
+                String feature = ScoringFeatures.NAMES.get(random.nextInt(ScoringFeatures.NAMES.size()));
+                model.append("split\t").append(id).append('\t').append(feature).append('\t')
+                    .append(random.nextDouble() * 80).append('\t')
+                    .append(2 * id + 1).append('\t').append(2 * id + 2).append('\n');
+            }
+            for (int id = splits; id < 2 * splits + 1; id++) {
+                model.append("leaf\t").append(id).append('\t').append(random.nextDouble() - 0.5).append('\n');
+            }
+        }
+        return model.toString();
+    }
+
+    private static MlScoringModel parse(String model) throws IOException {
+        return MlScoringModel.parse(new BufferedReader(new StringReader(model)));
+    }
+
+    private static <E> E pick(Random random, E[] values) {
+        int i = random.nextInt(values.length + 1);
+        return i < values.length ? values[i] : null;
+    }
+}
@@ -0,0 +1,209 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.ScoringFactor;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factor lookups for a mixed set of opportunities: the hard-coded switches the
+ * scoring service used before against the compiled bundled rule set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoringRulesBenchmark {
+
+    private final ScoringRuleSet rules = ScoringRuleSet.bundled();
+    private OpportunityDto[] opportunities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        opportunities = new OpportunityDto[1024];
+        for (int i = 0; i < opportunities.length; i++) {
+            opportunities[i] = OpportunityDto.builder()
+                .fundingStage(pick(random, FundingStage.values()))
+                .companySize(pick(random, CompanySize.values()))
+                .industry(pick(random, Industry.values()))
+                .source(pick(random, DataSource.values()))
+                .type(pick(random, OpportunityType.values()))
+                .country(pick(random, Country.values()))
+                .build();
+        }
+    }
+
+    @Benchmark
+    public double legacySwitches() {
+        double total = 0;
+        for (OpportunityDto opportunity : opportunities) {
+            double score = calculateFundingStageScore(opportunity.getFundingStage())
+                + calculateCompanySizeScore(opportunity.getCompanySize())
+                + calculateIndustryTrendScore(opportunity.getIndustry())
+                + calculateDataSourceScore(opportunity.getSource());
+            total += score * getTypeMultiplier(opportunity.getType()) * getCountryMultiplier(opportunity.getCountry());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double compiledRules() {
+        ScoringRuleSet rules = this.rules;
+        double total = 0;
+        for (OpportunityDto opportunity : opportunities) {
+            double score = rules.score(ScoringFactor.FUNDING_STAGE, opportunity)
+                + rules.score(ScoringFactor.COMPANY_SIZE, opportunity)
+                + rules.score(ScoringFactor.INDUSTRY_TREND, opportunity)
+                + rules.score(ScoringFactor.DATA_SOURCE, opportunity);
+            total += score * rules.score(ScoringFactor.TYPE_MULTIPLIER, opportunity)
+                * rules.score(ScoringFactor.COUNTRY_MULTIPLIER, opportunity);
+        }
+        return total;
+    }
+
+    private static <E> E pick(Random random, E[] values) {
+        int i = random.nextInt(values.length + 1);
+        return i < values.length ? values[i] : null;
+    }
+
+    private static double calculateFundingStageScore(FundingStage fundingStage) {
+        if (fundingStage == null) return 50.0;
+
+        return switch (fundingStage) {
+            case PRE_SEED -> 60.0;
+            case SEED -> 75.0;
+            case SERIES_A -> 85.0;
+            case SERIES_B -> 90.0;
+            case SERIES_C -> 95.0;
+            case SERIES_D_PLUS -> 90.0;
+            case IPO -> 70.0;
+            case ACQUISITION -> 60.0;
+            case PRIVATE_EQUITY -> 80.0;
+            case DEBT_FINANCING -> 65.0;
+            case GRANT -> 70.0;
+            case CROWDFUNDING -> 55.0;
+            case REVENUE_BASED -> 75.0;
+            case UNKNOWN -> 50.0;
+        };
+    }
+
+    private static double calculateCompanySizeScore(CompanySize companySize) {
+        if (companySize == null) return 50.0;
+
+        return switch (companySize) {
+            case STARTUP -> 85.0;
+            case SMALL -> 80.0;
+            case MEDIUM -> 75.0;
+            case LARGE -> 60.0;
+            case ENTERPRISE -> 40.0;
+            case UNKNOWN -> 50.0;
+        };
+    }
+
+    private static double calculateIndustryTrendScore(Industry industry) {
+        if (industry == null) return 50.0;
+
+        return switch (industry) {
+            case ARTIFICIAL_INTELLIGENCE -> 95.0;
+            case FINTECH -> 90.0;
+            case HEALTHTECH -> 88.0;
+            case CYBERSECURITY -> 85.0;
+            case BLOCKCHAIN -> 82.0;
+            case CLOUD_COMPUTING -> 85.0;
+            case IOT -> 80.0;
+            case EDTECH -> 78.0;
+            case DEVOPS -> 75.0;
+            case DATA_ANALYTICS -> 83.0;
+            case MOBILE_TECHNOLOGY -> 70.0;
+            case WEB_DEVELOPMENT -> 65.0;
+            case ENTERPRISE_SOFTWARE -> 75.0;
+            case CONSUMER_SOFTWARE -> 70.0;
+            case GAMING -> 68.0;
+            case ECOMMERCE -> 72.0;
+            case AUTONOMOUS_VEHICLES -> 88.0;
+            case VIRTUAL_REALITY -> 80.0;
+            case RENEWABLE_ENERGY -> 85.0;
+            case BIOTECHNOLOGY -> 87.0;
+            case ROBOTICS -> 84.0;
+            case AEROSPACE -> 78.0;
+            default -> 60.0;
+        };
+    }
+
+    private static double calculateDataSourceScore(DataSource source) {
+        if (source == null) return 50.0;
+
+        return switch (source) {
+            case GITHUB -> 85.0;
+            case CRUNCHBASE_PRO -> 95.0;
+            case CRUNCHBASE_BASIC -> 80.0;
+            case SEC_EDGAR -> 90.0;
+            case LINKEDIN_API -> 75.0;
+            case HACKER_NEWS -> 70.0;
+            case PRODUCT_HUNT -> 75.0;
+            case REDDIT -> 60.0;
+            case TWITTER_API -> 65.0;
+            case NEWS_API -> 70.0;
+            case GOOGLE_TRENDS -> 60.0;
+            case USPTO_PATENT -> 85.0;
+            case PITCHBOOK -> 95.0;
+            case OWLER -> 80.0;
+            case ANGELLIST -> 85.0;
+            case YOUTUBE_API -> 55.0;
+            case BLIND -> 80.0;
+            case QUORA -> 65.0;
+        };
+    }
+
+    private static double getTypeMultiplier(OpportunityType type) {
+        if (type == null) return 1.0;
+
+        return switch (type) {
+            case STARTUP_FUNDING -> 1.2;
+            case ACQUISITION_TARGET -> 1.15;
+            case TECHNOLOGY_TREND -> 1.1;
+            case MARKET_EXPANSION -> 1.1;
+            case PRODUCT_LAUNCH -> 1.05;
+            case PARTNERSHIP -> 1.0;
+            case JOB_POSTING_SIGNAL -> 0.9;
+            case PATENT_FILING -> 0.95;
+            case CONFERENCE_ANNOUNCEMENT -> 0.8;
+            case REGULATORY_CHANGE -> 0.9;
+            case COMPETITOR_ANALYSIS -> 0.85;
+            case TECHNOLOGY_ADOPTION -> 1.0;
+        };
+    }
+
+    private static double getCountryMultiplier(Country country) {
+        if (country == null) return 1.0;
+
+        return switch (country) {
+            case US -> 1.1;
+            case GB -> 1.05;
+            case CA -> 1.02;
+            case AU -> 1.0;
+            case DE -> 1.05;
+            case FR -> 1.03;
+            case IN -> 1.08;
+            case SG -> 1.06;
+            case JP -> 1.04;
+            case CN -> 1.08;
+            case IL -> 1.1;
+            case IE -> 1.05;
+            case NL -> 1.03;
+            case SE -> 1.04;
+            case CH -> 1.06;
+            default -> 1.0;
+        };
+    }
+}
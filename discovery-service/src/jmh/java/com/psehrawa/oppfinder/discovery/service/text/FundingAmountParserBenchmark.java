@@ -0,0 +1,77 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Funding amount extraction over typical posts: the regex, substring and
+ * BigDecimal approach the sources used before, against the scanning parser.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FundingAmountParserBenchmark {
+
+    private static final Pattern LEGACY_FUNDING_AMOUNT = Pattern.compile(
+        "\\$([0-9]+(?:\\.[0-9]+)?)[MBK](?:illion)?", Pattern.CASE_INSENSITIVE
+    );
+
+    private static final String[] POSTS = {
+        "Just joined a stealth AI startup as #15. We just closed $40M Series B led by Sequoia. " +
+        "Building next-gen AI infrastructure. Hiring across all engineering roles. TC packages are insane!",
+        "CloudNative revenue just crossed $100M ARR. Growing 300% YoY. Opening offices in NYC and London. " +
+        "Hiring 200+ engineers this quarter. Stock options still attractive.",
+        "CodeStream seeing crazy adoption - 50k developers in 3 months. Just raised $25M Series A. " +
+        "Building the future of collaborative coding. Great time to join!",
+        "Small team achieved SOTA results on major benchmark. Google and Meta recruiters circling. " +
+        "Raising $100M at $1B valuation. Join before it becomes impossible to get in.",
+        "Major competitor laying off 30% next week. Their best engineers looking for jobs. " +
+        "Our company ready to hire their A-players. Referral bonus increased to $20K."
+    };
+
+    private final FundingAmountParser parser = new FundingAmountParser();
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String post : POSTS) {
+            blackhole.consume(legacyExtract(post));
+        }
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        for (String post : POSTS) {
+            parser.reset(post);
+            blackhole.consume(parser.find() ? parser.amountCents() : FundingAmountParser.NOT_FOUND);
+        }
+        parser.reset(null);
+    }
+
+    private static BigDecimal legacyExtract(String content) {
+        Matcher matcher = LEGACY_FUNDING_AMOUNT.matcher(content);
+        if (!matcher.find()) {
+            return null;
+        }
+        String unit = matcher.group(0).toUpperCase();
+        double amount = Double.parseDouble(matcher.group(1));
+        if (unit.contains("B")) {
+            amount *= 1_000_000_000;
+        } else if (unit.contains("M")) {
+            amount *= 1_000_000;
+        } else if (unit.contains("K")) {
+            amount *= 1_000;
+        }
+        return BigDecimal.valueOf(amount);
+    }
+}
@@ -1,39 +1,123 @@
 package com.psehrawa.oppfinder.discovery.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
+import com.psehrawa.oppfinder.discovery.service.AnalyticsService;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheInvalidationBus;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheProperties;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheRefresher;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheWeigher;
+import com.psehrawa.oppfinder.discovery.service.cache.CompactCacheSerializer;
+import com.psehrawa.oppfinder.discovery.service.cache.TwoTierCache;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    static final List<String> CACHE_NAMES = List.of(
+        "opportunities",
+        "opportunityById",
+        "discoveryHealth",
+        "dataSources",
+        "searchResults",
+        "trendingOpportunities",
+        "analytics"
+    );
+
+    private static final String L2_ENABLED = "oppfinder.discovery.cache.l2-enabled";
+
+    /**
+     * Each cache in a replica's Caffeine cache (L1) in front of Redis (L2), shared by every
+     * replica, or in Caffeine alone when the L2 is disabled. Each L1 has its own policy:
+     * a byte budget or entry count, a TTL, and for caches with a {@link CacheRefresher},
+     * refresh-ahead that answers reads from the old entry while it reloads.
+     */
     @Bean
     @Profile("!test")
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-            "opportunities",
-            "opportunityById",
-            "discoveryHealth",
-            "dataSources",
-            "searchResults",
-            "trendingOpportunities"
-        );
-        
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-            .maximumSize(10_000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .recordStats());
-            
+    public CacheManager cacheManager(CacheProperties properties, ObjectProvider<CacheInvalidationBus> busProvider,
+                                     ObjectProvider<RedisConnectionFactory> connectionFactory,
+                                     ObjectProvider<CacheRefresher> refreshers) {
+        CacheInvalidationBus bus = properties.isL2Enabled() ? busProvider.getIfAvailable() : null;
+        Map<String, Cache> shared = bus != null ? sharedCaches(properties, connectionFactory.getObject()) : Map.of();
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(CACHE_NAMES.stream()
+            .map(name -> {
+                Caffeine<Object, Object> local = localPolicy(properties, name);
+                CacheRefresher refresher = properties.refreshAfterWrite(name) != null ? refresher(name, refreshers) : null;
+                if (bus == null) {
+                    return refresher != null
+                        ? new CaffeineCache(name, local.build(refresher::recompute))
+                        : new CaffeineCache(name, local.build());
+                }
+                TwoTierCache cache = new TwoTierCache(name, local, shared.get(name), bus, refresher);
+                bus.register(cache);
+                return cache;
+            })
+            .toList());
         return cacheManager;
     }
-    
+
+    /**
+     * Caffeine statistics of each two-tier cache's L1 as {@code cache.*} meters, as Spring
+     * Boot binds them for plain Caffeine caches
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    @Bean
+    @Profile("!test")
+    @ConditionalOnProperty(name = L2_ENABLED, havingValue = "true", matchIfMissing = true)
+    public CacheInvalidationBus cacheInvalidationBus(RedisConnectionFactory connectionFactory,
+                                                     CacheGenerations generations) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(new StringRedisTemplate(connectionFactory), generations);
+        bus.start();
+        return bus;
+    }
+
+    @Bean
+    @Profile("!test")
+    @ConditionalOnProperty(name = L2_ENABLED, havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   CacheInvalidationBus bus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
     @Bean
     @Profile("test")
     public CacheManager testCacheManager() {
@@ -43,4 +127,71 @@ public class CacheConfig {
             .expireAfterWrite(1, TimeUnit.MINUTES));
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    private static Caffeine<Object, Object> localPolicy(CacheProperties properties, String name) {
+        Caffeine<Object, Object> local = Caffeine.newBuilder()
+            .expireAfterWrite(properties.l1Ttl(name))
+            .recordStats();
+        DataSize budget = properties.l1MaximumWeight(name);
+        if (budget != null) {
+            local.maximumWeight(budget.toBytes()).weigher(new CacheWeigher());
+        } else {
+            local.maximumSize(properties.l1MaximumSize(name));
+        }
+        Duration refreshAfterWrite = properties.refreshAfterWrite(name);
+        if (refreshAfterWrite != null) {
+            local.refreshAfterWrite(refreshAfterWrite);
+        }
+        return local;
+    }
+
+    /**
+     * The refresher of {@code name}, looked up on first reload, as refreshers are services
+     * that may themselves depend on caching
+     */
+    private static CacheRefresher refresher(String name, ObjectProvider<CacheRefresher> refreshers) {
+        return new CacheRefresher() {
+            @Override
+            public String cacheName() {
+                return name;
+            }
+
+            @Override
+            public Object recompute(Object key) {
+                return refreshers.orderedStream()
+                    .filter(refresher -> refresher.cacheName().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No refresher for cache " + name))
+                    .recompute(key);
+            }
+        };
+    }
+
+    /**
+     * The types cached in Redis; a value of any other type stays in the replica's L1
+     */
+    private static CompactCacheSerializer valueSerializer() {
+        return new CompactCacheSerializer()
+            .register("opportunity", OpportunityDto.class)
+            .registerPage("summaries", OpportunitySummaryDto.class)
+            .register("dashboard", AnalyticsService.DashboardAnalytics.class)
+            .registerList("timeSeries", AnalyticsService.TimeSeriesData.class);
+    }
+
+    /**
+     * The L2 caches: binary values under {@code oppfinder:cache:<name>::}, each with its
+     * configured TTL
+     */
+    private static Map<String, Cache> sharedCaches(CacheProperties properties, RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+            .prefixCacheNameWith("oppfinder:cache:")
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer()));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+            .withInitialCacheConfigurations(CACHE_NAMES.stream()
+                .collect(Collectors.toMap(Function.identity(), name -> defaults.entryTtl(properties.l2Ttl(name)))))
+            .disableCreateOnMissingCache()
+            .build();
+        redisCacheManager.initializeCaches();
+        return CACHE_NAMES.stream().collect(Collectors.toMap(Function.identity(), redisCacheManager::getCache));
+    }
+}
@@ -0,0 +1,34 @@
+package com.psehrawa.oppfinder.discovery.config;
+
+import com.psehrawa.oppfinder.common.classification.ClassifierRule;
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@Configuration
+@Slf4j
+public class ClassifierConfig {
+
+    @Bean
+    public OpportunityClassifier opportunityClassifier(ClassifierProperties properties) throws IOException {
+        List<ClassifierRule> rules;
+        if (StringUtils.hasText(properties.getRulesPath())) {
+            try (BufferedReader reader = Files.newBufferedReader(Path.of(properties.getRulesPath()), StandardCharsets.UTF_8)) {
+                rules = OpportunityClassifier.parseRules(reader);
+            }
+            log.info("Loaded {} classifier rules from {}", rules.size(), properties.getRulesPath());
+        } else {
+            rules = OpportunityClassifier.bundledRules();
+        }
+        return new OpportunityClassifier(rules, properties.getTemperature(), properties.getNoneScore());
+    }
+}
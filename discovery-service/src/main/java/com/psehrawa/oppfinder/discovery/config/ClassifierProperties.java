@@ -0,0 +1,30 @@
+package com.psehrawa.oppfinder.discovery.config;
+
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the industry and opportunity-type classifier
+ */
+@Configuration
+@ConfigurationProperties(prefix = "oppfinder.discovery.classifier")
+@Data
+public class ClassifierProperties {
+
+    /**
+     * Local rules file; when unset the rules bundled with the common module are used
+     */
+    private String rulesPath;
+
+    /**
+     * Softmax temperature; higher values spread confidence across more labels
+     */
+    private double temperature = OpportunityClassifier.DEFAULT_TEMPERATURE;
+
+    /**
+     * Score of the implicit "none of these" label that evidence has to beat
+     */
+    private double noneScore = OpportunityClassifier.DEFAULT_NONE_SCORE;
+}
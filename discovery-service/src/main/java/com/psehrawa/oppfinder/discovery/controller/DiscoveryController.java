@@ -5,6 +5,8 @@ import com.psehrawa.oppfinder.common.enums.Country;
 import com.psehrawa.oppfinder.discovery.service.DataSourceOrchestrator;
 import com.psehrawa.oppfinder.discovery.service.DiscoverySchedulerService;
 import com.psehrawa.oppfinder.discovery.service.datasource.HealthStatus;
+import com.psehrawa.oppfinder.discovery.service.scoring.ScoringSimulationRequest;
+import com.psehrawa.oppfinder.discovery.service.scoring.ScoringSimulationService;
 import com.psehrawa.oppfinder.discovery.repository.OpportunityRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +32,7 @@ public class DiscoveryController {
     private final DataSourceOrchestrator dataSourceOrchestrator;
     private final DiscoverySchedulerService schedulerService;
     private final OpportunityRepository opportunityRepository;
+    private final ScoringSimulationService scoringSimulationService;
 
     @PostMapping("/trigger")
     public ResponseEntity<Map<String, Object>> triggerDiscovery(
@@ -146,6 +149,24 @@ public class DiscoveryController {
         }
     }
 
+    /**
+     * Score the active corpus under candidate weights or rules without persisting anything
+     */
+    @PostMapping("/scoring/simulate")
+    public ResponseEntity<?> simulateScoring(@RequestBody ScoringSimulationRequest request) {
+        log.info("Scoring simulation requested - weights: {}, rules provided: {}",
+            request.weights(), request.rules() != null);
+
+        try {
+            return ResponseEntity.ok(scoringSimulationService.simulate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> getDiscoveryHealth() {
         log.debug("Getting discovery health status");
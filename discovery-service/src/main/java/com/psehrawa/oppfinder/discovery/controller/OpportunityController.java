@@ -1,7 +1,9 @@
 package com.psehrawa.oppfinder.discovery.controller;
 
+import com.psehrawa.oppfinder.common.dto.CursorPage;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
 import com.psehrawa.oppfinder.common.enums.OpportunityStatus;
 import com.psehrawa.oppfinder.discovery.service.OpportunityService;
 import jakarta.validation.Valid;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/opportunities")
@@ -28,14 +31,54 @@ public class OpportunityController {
     private final OpportunityService opportunityService;
 
     @PostMapping("/search")
-    public ResponseEntity<Page<OpportunityDto>> searchOpportunities(
+    public ResponseEntity<Page<OpportunitySummaryDto>> searchOpportunities(
             @Valid @RequestBody OpportunitySearchCriteria criteria) {
         log.debug("Searching opportunities with criteria: {}", criteria);
         
-        Page<OpportunityDto> opportunities = opportunityService.searchOpportunities(criteria);
+        Page<OpportunitySummaryDto> opportunities = opportunityService.searchOpportunities(criteria);
         return ResponseEntity.ok(opportunities);
     }
 
+    /**
+     * Text search: words must all match, {@code word*} matches a prefix and
+     * {@code "two words"} a phrase; results are ordered by current score, and by
+     * relevance blended with it in {@code /search/scroll}
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<OpportunitySummaryDto>> searchOpportunitiesByText(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Searching opportunities for: {}", query);
+
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .searchTerm(query)
+            .page(page)
+            .size(Math.min(size, 100))
+            .sortBy("score")
+            .sortDirection("DESC")
+            .isActive(true)
+            .build();
+
+        Page<OpportunitySummaryDto> opportunities = opportunityService.searchOpportunities(criteria);
+        return ResponseEntity.ok(opportunities);
+    }
+
+    /**
+     * Text search paged by cursor rather than offset; pass back {@code nextCursor}
+     */
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPage<OpportunitySummaryDto>> scrollOpportunitiesByText(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.debug("Scrolling opportunities for: {}", query);
+
+        return ResponseEntity.ok(
+            opportunityService.scrollSearch(query, cursor, Math.max(1, Math.min(size, 100)), includeTotal));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OpportunityDto> getOpportunityById(@PathVariable Long id) {
         log.debug("Getting opportunity by id: {}", id);
@@ -46,7 +89,7 @@ public class OpportunityController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<OpportunityDto>> getAllOpportunities(
+    public ResponseEntity<Page<OpportunitySummaryDto>> getAllOpportunities(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "discoveredAt") String sortBy,
@@ -62,12 +105,12 @@ public class OpportunityController {
             .isActive(true)
             .build();
             
-        Page<OpportunityDto> opportunities = opportunityService.searchOpportunities(criteria);
+        Page<OpportunitySummaryDto> opportunities = opportunityService.searchOpportunities(criteria);
         return ResponseEntity.ok(opportunities);
     }
 
     @GetMapping("/trending")
-    public ResponseEntity<Page<OpportunityDto>> getTrendingOpportunities(
+    public ResponseEntity<Page<OpportunitySummaryDto>> getTrendingOpportunities(
             @RequestParam(defaultValue = "70.0") BigDecimal minScore,
             @RequestParam(defaultValue = "24") int hoursBack,
             @RequestParam(defaultValue = "0") int page,
@@ -78,10 +121,38 @@ public class OpportunityController {
         LocalDateTime since = LocalDateTime.now().minusHours(hoursBack);
         Pageable pageable = PageRequest.of(page, Math.min(size, 50));
         
-        Page<OpportunityDto> opportunities = opportunityService.findTrendingOpportunities(minScore, since, pageable);
+        Page<OpportunitySummaryDto> opportunities =
+            opportunityService.findTrendingOpportunities(minScore, since, pageable);
         return ResponseEntity.ok(opportunities);
     }
 
+    /**
+     * Active opportunities by score, paged by cursor rather than offset
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<OpportunitySummaryDto>> scrollOpportunities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.debug("Scrolling opportunities - size: {}", size);
+
+        return ResponseEntity.ok(
+            opportunityService.scrollOpportunities(cursor, Math.max(1, Math.min(size, 100)), includeTotal));
+    }
+
+    @GetMapping("/trending/scroll")
+    public ResponseEntity<CursorPage<OpportunitySummaryDto>> scrollTrendingOpportunities(
+            @RequestParam(defaultValue = "70.0") BigDecimal minScore,
+            @RequestParam(defaultValue = "24") int hoursBack,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.debug("Scrolling trending opportunities with minScore: {} from last {} hours", minScore, hoursBack);
+
+        return ResponseEntity.ok(opportunityService.scrollTrendingOpportunities(
+            minScore, hoursBack, cursor, Math.max(1, Math.min(size, 50)), includeTotal));
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<OpportunityDto> updateOpportunityStatus(
             @PathVariable Long id,
@@ -169,6 +240,15 @@ public class OpportunityController {
         return ResponseEntity.ok(opportunities);
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        log.debug("Rejected request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of(
+            "status", "error",
+            "message", e.getMessage()
+        ));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleException(Exception e) {
         log.error("Unexpected error in OpportunityController", e);
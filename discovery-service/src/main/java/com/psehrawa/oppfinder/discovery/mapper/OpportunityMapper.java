@@ -1,10 +1,15 @@
 package com.psehrawa.oppfinder.discovery.mapper;
 
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
 import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.scoring.RecencyDecay;
+import com.psehrawa.oppfinder.discovery.repository.OpportunitySummary;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 
 @Component
 public class OpportunityMapper {
@@ -14,6 +19,10 @@ public class OpportunityMapper {
             return null;
         }
 
+        // Rows scored with the base/peak split decay at read time
+        LocalDateTime now = LocalDateTime.now();
+        boolean decaying = entity.getBaseScore() != null && entity.getPeakScore() != null;
+
         return OpportunityDto.builder()
             .id(entity.getId())
             .externalId(entity.getExternalId())
@@ -27,9 +36,12 @@ public class OpportunityMapper {
             .fundingStage(entity.getFundingStage())
             .fundingAmount(entity.getFundingAmount())
             .companySize(entity.getCompanySize())
-            .score(entity.getScore())
-            .tags(entity.getTags())
-            .metadata(entity.getMetadata())
+            .score(decaying
+                ? RecencyDecay.currentScore(entity.getBaseScore(), entity.getPeakScore(), entity.getDiscoveredAt(), now)
+                : entity.getScore())
+            // Copied out of Hibernate's collections, so a cached DTO outlives the session that loaded it
+            .tags(entity.getTags() != null ? new ArrayList<>(entity.getTags()) : null)
+            .metadata(entity.getMetadata() != null ? new HashMap<>(entity.getMetadata()) : null)
             .discoveredAt(entity.getDiscoveredAt())
             .lastUpdated(entity.getLastUpdated())
             .isActive(entity.getIsActive())
@@ -38,11 +50,50 @@ public class OpportunityMapper {
             .location(entity.getLocation())
             .contactEmail(entity.getContactEmail())
             .confidenceScore(entity.getConfidenceScore())
-            .engagementPotential(entity.getEngagementPotential())
+            .engagementPotential(decaying
+                ? RecencyDecay.currentEngagementPotential(entity.getEngagementPotential(), entity.getDiscoveredAt(), now)
+                : entity.getEngagementPotential())
+            .baseScore(entity.getBaseScore())
+            .peakScore(entity.getPeakScore())
+            .scoringInputHash(entity.getScoringInputHash())
+            .rulesVersion(entity.getRulesVersion())
+            .scoredAt(entity.getScoredAt())
             .version(entity.getVersion())
             .build();
     }
 
+    public OpportunitySummaryDto toSummaryDto(OpportunitySummary summary) {
+        if (summary == null) {
+            return null;
+        }
+
+        boolean decaying = summary.baseScore() != null && summary.peakScore() != null;
+
+        return OpportunitySummaryDto.builder()
+            .id(summary.id())
+            .title(summary.title())
+            .companyName(summary.companyName())
+            .description(summary.excerpt())
+            .source(summary.source())
+            .type(summary.type())
+            .status(summary.status())
+            .country(summary.country())
+            .industry(summary.industry())
+            .fundingStage(summary.fundingStage())
+            .fundingAmount(summary.fundingAmount())
+            .companySize(summary.companySize())
+            .location(summary.location())
+            .url(summary.url())
+            .score(decaying
+                ? RecencyDecay.currentScore(summary.baseScore(), summary.peakScore(), summary.discoveredAt(),
+                    LocalDateTime.now())
+                : summary.score())
+            .confidenceScore(summary.confidenceScore())
+            .discoveredAt(summary.discoveredAt())
+            .isActive(summary.isActive())
+            .build();
+    }
+
     public OpportunityEntity toEntity(OpportunityDto dto) {
         if (dto == null) {
             return null;
@@ -79,6 +130,11 @@ public class OpportunityMapper {
             .contactEmail(dto.getContactEmail())
             .confidenceScore(dto.getConfidenceScore())
             .engagementPotential(dto.getEngagementPotential())
+            .baseScore(dto.getBaseScore())
+            .peakScore(dto.getPeakScore())
+            .scoringInputHash(dto.getScoringInputHash())
+            .rulesVersion(dto.getRulesVersion())
+            .scoredAt(dto.getScoredAt())
             .build();
     }
 
@@ -103,7 +159,16 @@ public class OpportunityMapper {
         entity.setLocation(dto.getLocation());
         entity.setContactEmail(dto.getContactEmail());
         entity.setConfidenceScore(dto.getConfidenceScore());
-        entity.setEngagementPotential(dto.getEngagementPotential());
+        // Score fields are only written when the DTO was scored; otherwise the stored score stands
+        if (dto.getScoredAt() != null) {
+            entity.setScore(dto.getScore());
+            entity.setBaseScore(dto.getBaseScore());
+            entity.setPeakScore(dto.getPeakScore());
+            entity.setEngagementPotential(dto.getEngagementPotential());
+            entity.setScoringInputHash(dto.getScoringInputHash());
+            entity.setRulesVersion(dto.getRulesVersion());
+            entity.setScoredAt(dto.getScoredAt());
+        }
         
         // Update timestamp automatically handled by @PreUpdate
         entity.setLastUpdated(LocalDateTime.now());
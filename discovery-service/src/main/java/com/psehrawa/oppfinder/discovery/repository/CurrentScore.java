@@ -0,0 +1,69 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.scoring.RecencyDecay;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * {@link RecencyDecay#currentScore} as a query expression, the score every read shows:
+ * {@code base + (peak - base) * recency}, with recency a CASE over one
+ * {@code discovered_at} cutoff per step. Rows scored before the base/peak split keep
+ * their stored score.
+ */
+final class CurrentScore {
+
+    /**
+     * JPQL over {@code o}, with the cutoffs as {@code :cutoff<step>} parameters
+     */
+    static final String JPQL = expression("o.baseScore", "o.peakScore", "o.discoveredAt", "o.score");
+
+    /**
+     * The same over table alias {@code o} in native SQL, with the same parameters
+     */
+    static final String SQL = expression("o.base_score", "o.peak_score", "o.discovered_at", "o.score");
+
+    private CurrentScore() {
+    }
+
+    static void bind(Query query, LocalDateTime now) {
+        for (int step = 0; step < RecencyDecay.steps(); step++) {
+            query.setParameter("cutoff" + step, RecencyDecay.cutoff(step, now));
+        }
+    }
+
+    /**
+     * The same expression for a criteria query, evaluated as of {@code now}
+     */
+    static Expression<BigDecimal> of(Root<OpportunityEntity> root, CriteriaBuilder cb, LocalDateTime now) {
+        CriteriaBuilder.Case<BigDecimal> recency = cb.selectCase();
+        for (int step = 0; step < RecencyDecay.steps(); step++) {
+            recency = recency.when(cb.greaterThan(root.<LocalDateTime>get("discoveredAt"), RecencyDecay.cutoff(step, now)),
+                fraction(RecencyDecay.stepScore(step)));
+        }
+        Expression<BigDecimal> baseScore = root.get("baseScore");
+        Expression<BigDecimal> peakScore = root.get("peakScore");
+        return cb.coalesce(
+            cb.sum(baseScore, cb.prod(cb.diff(peakScore, baseScore), recency.otherwise(fraction(RecencyDecay.FLOOR)))),
+            root.<BigDecimal>get("score"));
+    }
+
+    private static String expression(String baseScore, String peakScore, String discoveredAt, String score) {
+        StringBuilder recency = new StringBuilder("CASE");
+        for (int step = 0; step < RecencyDecay.steps(); step++) {
+            recency.append(" WHEN ").append(discoveredAt).append(" > :cutoff").append(step)
+                .append(" THEN ").append(fraction(RecencyDecay.stepScore(step)).toPlainString());
+        }
+        recency.append(" ELSE ").append(fraction(RecencyDecay.FLOOR).toPlainString()).append(" END");
+        return "COALESCE(" + baseScore + " + (" + peakScore + " - " + baseScore + ") * " + recency + ", " + score + ")";
+    }
+
+    private static BigDecimal fraction(double recencyScore) {
+        return BigDecimal.valueOf(recencyScore).movePointLeft(2);
+    }
+}
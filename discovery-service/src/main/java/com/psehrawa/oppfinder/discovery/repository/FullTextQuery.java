@@ -0,0 +1,114 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A user search string split into terms that must all match.
+ *
+ * A bare word matches itself, a word ending in {@code *} matches as a prefix and a
+ * double-quoted run of words matches as a phrase; a word joined by punctuation, like
+ * {@code e-commerce}, is a phrase of its parts. Only letters and digits survive, so
+ * neither rendering can carry query syntax from the input.
+ */
+public final class FullTextQuery {
+
+    private static final Pattern TOKEN = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+
+    private final List<Term> terms;
+
+    private FullTextQuery(List<Term> terms) {
+        this.terms = terms;
+    }
+
+    public static FullTextQuery parse(String input) {
+        List<Term> terms = new ArrayList<>();
+        Matcher token = TOKEN.matcher(input != null ? input : "");
+        while (token.find()) {
+            boolean quoted = token.group(1) != null;
+            String text = quoted ? token.group(1) : token.group(2);
+            List<String> words = words(text);
+            if (!words.isEmpty()) {
+                boolean prefix = !quoted && text.endsWith("*");
+                terms.add(new Term(words, prefix));
+            }
+        }
+        return new FullTextQuery(List.copyOf(terms));
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Input for Postgres {@code to_tsquery}: terms joined by {@code &}, phrase words
+     * by {@code <->}, prefixes marked {@code :*}
+     */
+    public String toTsQuery() {
+        return terms.stream().map(Term::toTsQuery).collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Lower-cased runs of letters and digits, the words terms are made of; a plain loop
+     * rather than a regex, as this tokenizes the whole corpus for the search index
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (isWordCharacter(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            words.add(text.substring(start).toLowerCase(Locale.ROOT));
+        }
+        return words;
+    }
+
+    // Same classes as \p{L} and \p{N}
+    private static boolean isWordCharacter(int codePoint) {
+        if (Character.isLetter(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER
+            || type == Character.OTHER_NUMBER;
+    }
+
+    /**
+     * One word or phrase; {@code prefix} applies to the last word
+     */
+    public record Term(List<String> words, boolean prefix) {
+
+        /**
+         * The words as they appear in text, for substring matching
+         */
+        public String text() {
+            return String.join(" ", words);
+        }
+
+        String toTsQuery() {
+            String query = String.join(" <-> ", words) + (prefix ? ":*" : "");
+            return words.size() > 1 ? "(" + query + ")" : query;
+        }
+    }
+}
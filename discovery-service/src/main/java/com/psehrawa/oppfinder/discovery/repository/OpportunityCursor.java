@@ -0,0 +1,74 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page: the value the rows are ranked by, then
+ * the discovery time and ID that break ties in the same order. {@code asOf} is the clock
+ * of the first page; queries ranking by the time-decayed score keep using it, so the
+ * order does not shift between pages.
+ */
+public record OpportunityCursor(BigDecimal rank, LocalDateTime discoveredAt, long id, LocalDateTime asOf) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    public static OpportunityCursor after(RankedOpportunity last, LocalDateTime asOf) {
+        return new OpportunityCursor(last.rank(), last.discoveredAt(), last.id(), asOf);
+    }
+
+    /**
+     * Opaque URL-safe token
+     */
+    public String encode() {
+        String value = String.join(SEPARATOR, VERSION, rank.toPlainString(), discoveredAt.toString(),
+            Long.toString(id), asOf.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} was not made by {@link #encode}
+     */
+    public static OpportunityCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new OpportunityCursor(new BigDecimal(parts[1]), LocalDateTime.parse(parts[2]),
+                Long.parseLong(parts[3]), LocalDateTime.parse(parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * JPQL predicate for rows after this cursor in {@code rank DESC, discoveredAt DESC, id DESC}
+     * order, for rank expressions no index could serve as a row comparison anyway
+     */
+    static String jpqlBefore(String rank) {
+        return "(" + rank + " < :afterRank OR (" + rank + " = :afterRank AND " +
+               "(o.discoveredAt < :afterDiscoveredAt OR (o.discoveredAt = :afterDiscoveredAt AND o.id < :afterId))))";
+    }
+
+    /**
+     * Row comparison for native SQL, which an index on the same columns serves as a range scan
+     */
+    static String sqlBefore(String rank) {
+        return "(" + rank + ", o.discovered_at, o.id) < (:afterRank, :afterDiscoveredAt, :afterId)";
+    }
+
+    void bind(Query query, Object rankValue) {
+        query.setParameter("afterRank", rankValue);
+        query.setParameter("afterDiscoveredAt", discoveredAt);
+        query.setParameter("afterId", id);
+    }
+}
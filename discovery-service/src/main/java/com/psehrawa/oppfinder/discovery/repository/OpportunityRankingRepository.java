@@ -0,0 +1,31 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queries that rank by the current, time-decayed score rather than the stored one.
+ * They return IDs in rank order; the page's rows are loaded separately, as summaries or
+ * in full.
+ */
+public interface OpportunityRankingRepository {
+
+    // Find trending opportunities (high current score, recent), best first
+    Page<Long> findTrendingOpportunityIds(
+        BigDecimal minScore, LocalDateTime since, LocalDateTime now, Pageable pageable);
+
+    // Find high-scoring opportunities, best first
+    Page<Long> findHighScoringOpportunityIds(
+        BigDecimal minScore, LocalDateTime now, Pageable pageable);
+
+    // Up to limit trending opportunities after the cursor (null for the first page), ranked by current score
+    List<RankedOpportunity> findTrendingOpportunities(
+        BigDecimal minScore, LocalDateTime since, LocalDateTime now, OpportunityCursor after, int limit);
+
+    // Up to limit active opportunities after the cursor (null for the first page), ranked by current score
+    List<RankedOpportunity> findActiveOpportunities(LocalDateTime now, OpportunityCursor after, int limit);
+}
@@ -0,0 +1,128 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.scoring.RecencyDecay;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks by the {@link CurrentScore current score}, evaluating {@link RecencyDecay} in the
+ * query, so lists are ordered by the score they show. Candidates above a minimum score
+ * are narrowed by the indexed peak score, which bounds the current score from above, so
+ * nothing has to be rewritten as opportunities age.
+ *
+ * Keyset pages seek past the cursor instead of counting an offset, with the current
+ * score evaluated at the cursor's {@code asOf}. No index returns rows in current score
+ * order, so each page still sorts the candidates after the cursor; the seek saves
+ * reading and discarding the rows of earlier pages, not the sort.
+ */
+public class OpportunityRankingRepositoryImpl implements OpportunityRankingRepository {
+
+    private static final String CURRENT_SCORE = CurrentScore.JPQL;
+
+    private static final String ACTIVE_ABOVE_MIN_SCORE =
+        "o.isActive = true AND " +
+        "(o.peakScore >= :minScore OR o.peakScore IS NULL) AND " +
+        CURRENT_SCORE + " >= :minScore";
+
+    private static final String ORDER_BY_CURRENT_SCORE =
+        " ORDER BY " + CURRENT_SCORE + " DESC, o.discoveredAt DESC, o.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findTrendingOpportunityIds(
+            BigDecimal minScore, LocalDateTime since, LocalDateTime now, Pageable pageable) {
+        return page(ACTIVE_ABOVE_MIN_SCORE + " AND o.discoveredAt >= :since",
+            Map.of("minScore", minScore, "since", since), now, pageable);
+    }
+
+    @Override
+    public Page<Long> findHighScoringOpportunityIds(
+            BigDecimal minScore, LocalDateTime now, Pageable pageable) {
+        return page(ACTIVE_ABOVE_MIN_SCORE, Map.of("minScore", minScore), now, pageable);
+    }
+
+    @Override
+    public List<RankedOpportunity> findTrendingOpportunities(
+            BigDecimal minScore, LocalDateTime since, LocalDateTime now, OpportunityCursor after, int limit) {
+        String where = ACTIVE_ABOVE_MIN_SCORE + " AND o.discoveredAt >= :since";
+        if (after != null) {
+            where += " AND " + OpportunityCursor.jpqlBefore(CURRENT_SCORE);
+        }
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT o.id, o.discoveredAt, " + CURRENT_SCORE + " FROM OpportunityEntity o WHERE " + where +
+            ORDER_BY_CURRENT_SCORE,
+            Object[].class);
+        bind(query, Map.of("minScore", minScore, "since", since), now);
+        if (after != null) {
+            after.bind(query, after.rank());
+        }
+        query.setMaxResults(limit);
+
+        return query.getResultList().stream().map(OpportunityRankingRepositoryImpl::ranked).toList();
+    }
+
+    @Override
+    public List<RankedOpportunity> findActiveOpportunities(LocalDateTime now, OpportunityCursor after, int limit) {
+        String where = "o.isActive = true" + (after != null ? " AND " + OpportunityCursor.jpqlBefore(CURRENT_SCORE) : "");
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT o.id, o.discoveredAt, " + CURRENT_SCORE + " FROM OpportunityEntity o WHERE " + where +
+            ORDER_BY_CURRENT_SCORE,
+            Object[].class);
+        bind(query, Map.of(), now);
+        if (after != null) {
+            after.bind(query, after.rank());
+        }
+        query.setMaxResults(limit);
+        return query.getResultList().stream().map(OpportunityRankingRepositoryImpl::ranked).toList();
+    }
+
+    /**
+     * A row of ID, discovery time and rank
+     */
+    static RankedOpportunity ranked(Object[] row) {
+        Object discoveredAt = row[1];
+        return new RankedOpportunity(((Number) row[0]).longValue(),
+            discoveredAt instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) discoveredAt,
+            toRank(row[2]));
+    }
+
+    /**
+     * The rank as the database computed it; a double converts through its shortest
+     * decimal form, which compares equal to the decimal expression it was read from
+     */
+    static BigDecimal toRank(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private Page<Long> page(String where, Map<String, Object> parameters, LocalDateTime now, Pageable pageable) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT o.id FROM OpportunityEntity o WHERE " + where + ORDER_BY_CURRENT_SCORE, Long.class);
+        TypedQuery<Long> count = entityManager.createQuery(
+            "SELECT COUNT(o) FROM OpportunityEntity o WHERE " + where, Long.class);
+        bind(query, parameters, now);
+        bind(count, parameters, now);
+
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return new PageImpl<>(query.getResultList(), pageable, count.getSingleResult());
+    }
+
+    private static void bind(TypedQuery<?> query, Map<String, Object> parameters, LocalDateTime now) {
+        parameters.forEach(query::setParameter);
+        CurrentScore.bind(query, now);
+    }
+}
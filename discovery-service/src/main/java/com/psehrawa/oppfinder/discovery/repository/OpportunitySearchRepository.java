@@ -0,0 +1,20 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Text search over opportunities, syntax as in {@link FullTextQuery}
+ */
+public interface OpportunitySearchRepository {
+
+    // Search title, company name and description, filtered as OpportunitySpecifications.matching does: IDs in the pageable's order, or best matches first when unsorted
+    Page<Long> searchOpportunityIds(OpportunitySearchCriteria criteria, Pageable pageable, LocalDateTime now);
+
+    // Up to limit best matches after the cursor (null for the first page), with the current score as of now
+    List<RankedOpportunity> searchOpportunities(String searchTerm, LocalDateTime now, OpportunityCursor after, int limit);
+}
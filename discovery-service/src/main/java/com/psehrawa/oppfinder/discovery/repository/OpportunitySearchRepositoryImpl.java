@@ -0,0 +1,257 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Searches the weighted {@code search_vector} column added by the V5 migration through
+ * its GIN index. Pages apply the same filters as {@link OpportunitySpecifications#matching}
+ * and follow the pageable's sort; unsorted ones, and keyset pages, rank by
+ * {@code ts_rank} blended with the {@link CurrentScore current score}. Where the column
+ * does not exist - H2 in tests, or a schema Flyway has not migrated - each term is
+ * matched with LIKE instead and results are ordered by the current score. Keyset pages
+ * seek past the cursor's rank in either order, with the current score as of the
+ * cursor's {@code asOf}. Only the table in the current schema counts, as that is the one
+ * the queries read.
+ */
+@Slf4j
+public class OpportunitySearchRepositoryImpl implements OpportunitySearchRepository {
+
+    // ts_rank normalised to [0, 1) and the current score / 100 share the ordering
+    private static final double TEXT_RANK_WEIGHT = 0.6;
+    private static final double SCORE_WEIGHT = 0.4;
+
+    private static final String TEXT_MATCHES = "o.search_vector @@ to_tsquery('english', :query)";
+
+    private static final String MATCHES = "FROM opportunities o WHERE o.is_active = true AND " + TEXT_MATCHES;
+
+    private static final String RANK =
+        "ts_rank(o.search_vector, to_tsquery('english', :query), 32) * " + TEXT_RANK_WEIGHT +
+        " + " + CurrentScore.SQL + " / 100 * " + SCORE_WEIGHT;
+
+    private static final String ORDER_BY_RANK = " ORDER BY " + RANK + " DESC, o.discovered_at DESC, o.id DESC";
+
+    private static final String ORDER_BY_SCORE =
+        " ORDER BY " + CurrentScore.JPQL + " DESC, o.discoveredAt DESC, o.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean fullTextAvailable;
+
+    @Override
+    public Page<Long> searchOpportunityIds(OpportunitySearchCriteria criteria, Pageable pageable, LocalDateTime now) {
+        FullTextQuery query = FullTextQuery.parse(criteria.getSearchTerm());
+        if (query.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        boolean fullText = isFullTextAvailable();
+        Filters filters = new Filters(criteria);
+        String from = " FROM opportunities o WHERE " + filters.where + " AND " +
+            (fullText ? TEXT_MATCHES : likeWhere(query, "o.title", "o.description", "o.company_name"));
+        Sort sort = pageable.getSort();
+        String orderBy = sort.isSorted() ? orderBy(sort, CurrentScore.SQL, "o.discovered_at")
+            : fullText ? ORDER_BY_RANK : " ORDER BY " + CurrentScore.SQL + " DESC, o.discovered_at DESC, o.id DESC";
+        boolean ranksByCurrentScore = !sort.isSorted() || sorts(sort, OpportunitySpecifications.CURRENT_SCORE);
+
+        Query ids = entityManager.createNativeQuery("SELECT o.id" + from + orderBy);
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + from);
+        for (Query select : List.of(ids, count)) {
+            if (fullText) {
+                select.setParameter("query", query.toTsQuery());
+            } else {
+                bindTerms(select, query);
+            }
+            filters.parameters.forEach(select::setParameter);
+            if (filters.currentScore || (select == ids && ranksByCurrentScore)) {
+                CurrentScore.bind(select, now);
+            }
+        }
+        if (pageable.isPaged()) {
+            ids.setFirstResult((int) pageable.getOffset());
+            ids.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Long> matchingIds = new ArrayList<>();
+        for (Object id : ids.getResultList()) {
+            matchingIds.add(((Number) id).longValue());
+        }
+        return new PageImpl<>(matchingIds, pageable, ((Number) count.getSingleResult()).longValue());
+    }
+
+    @Override
+    public List<RankedOpportunity> searchOpportunities(String searchTerm, LocalDateTime now, OpportunityCursor after,
+                                                       int limit) {
+        FullTextQuery query = FullTextQuery.parse(searchTerm);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return isFullTextAvailable() ? fullTextSeek(query, now, after, limit) : likeSeek(query, now, after, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RankedOpportunity> fullTextSeek(FullTextQuery query, LocalDateTime now, OpportunityCursor after,
+                                                 int limit) {
+        String sql = "SELECT o.id, o.discovered_at, " + RANK + " " + MATCHES +
+            (after != null ? " AND " + OpportunityCursor.sqlBefore(RANK) : "") + ORDER_BY_RANK;
+        Query ids = entityManager.createNativeQuery(sql)
+            .setParameter("query", query.toTsQuery())
+            .setMaxResults(limit);
+        CurrentScore.bind(ids, now);
+        if (after != null) {
+            // The rank is double precision; compare it as one
+            after.bind(ids, after.rank().doubleValue());
+        }
+        return ((List<Object[]>) ids.getResultList()).stream().map(OpportunityRankingRepositoryImpl::ranked).toList();
+    }
+
+    private List<RankedOpportunity> likeSeek(FullTextQuery query, LocalDateTime now, OpportunityCursor after,
+                                             int limit) {
+        String where = "o.isActive = true AND " + likeWhere(query, "o.title", "o.description", "o.companyName") +
+            (after != null ? " AND " + OpportunityCursor.jpqlBefore(CurrentScore.JPQL) : "");
+        TypedQuery<Object[]> select = entityManager.createQuery(
+            "SELECT o.id, o.discoveredAt, " + CurrentScore.JPQL + " FROM OpportunityEntity o WHERE " + where +
+            ORDER_BY_SCORE,
+            Object[].class);
+        bindTerms(select, query);
+        CurrentScore.bind(select, now);
+        if (after != null) {
+            after.bind(select, after.rank());
+        }
+        select.setMaxResults(limit);
+        return select.getResultList().stream().map(OpportunityRankingRepositoryImpl::ranked).toList();
+    }
+
+    /**
+     * ORDER BY for the sort properties {@link OpportunitySpecifications#sort} produces
+     *
+     * @throws IllegalArgumentException for any other property
+     */
+    private static String orderBy(Sort sort, String currentScore, String discoveredAt) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            String column = switch (order.getProperty()) {
+                case OpportunitySpecifications.CURRENT_SCORE -> currentScore;
+                case "discoveredAt" -> discoveredAt;
+                case "id" -> "o.id";
+                default -> throw new IllegalArgumentException("Text search cannot sort by " + order.getProperty());
+            };
+            if (orderBy.length() > " ORDER BY ".length()) {
+                orderBy.append(", ");
+            }
+            orderBy.append(column).append(order.isAscending() ? " ASC" : " DESC");
+        }
+        return orderBy.toString();
+    }
+
+    private static boolean sorts(Sort sort, String property) {
+        return sort.getOrderFor(property) != null;
+    }
+
+    private static String likeWhere(FullTextQuery query, String title, String description, String companyName) {
+        StringJoiner where = new StringJoiner(" AND ");
+        for (int i = 0; i < query.getTerms().size(); i++) {
+            where.add("(LOWER(" + title + ") LIKE :term" + i + " OR LOWER(" + description + ") LIKE :term" + i +
+                " OR LOWER(" + companyName + ") LIKE :term" + i + ")");
+        }
+        return where.toString();
+    }
+
+    private static void bindTerms(Query select, FullTextQuery query) {
+        List<FullTextQuery.Term> terms = query.getTerms();
+        for (int i = 0; i < terms.size(); i++) {
+            // Terms hold only letters, digits and spaces, so nothing needs escaping
+            select.setParameter("term" + i, "%" + terms.get(i).text() + "%");
+        }
+    }
+
+    /**
+     * Native SQL for every criterion {@link OpportunitySpecifications#matching} applies,
+     * so a text search filters as the listing does
+     */
+    private static final class Filters {
+
+        private final StringJoiner where = new StringJoiner(" AND ");
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+        private boolean currentScore;
+
+        Filters(OpportunitySearchCriteria criteria) {
+            add("o.is_active = :active", "active", !Boolean.FALSE.equals(criteria.getIsActive()));
+            in("o.type", "types", criteria.getTypes());
+            in("o.status", "statuses", criteria.getStatuses());
+            in("o.source", "sources", criteria.getSources());
+            in("o.country", "countries", criteria.getCountries());
+            in("o.industry", "industries", criteria.getIndustries());
+            in("o.funding_stage", "fundingStages", criteria.getFundingStages());
+            in("o.company_size", "companySizes", criteria.getCompanySizes());
+            if (criteria.getMinScore() != null) {
+                add("(o.peak_score >= :minScore OR o.peak_score IS NULL) AND " + CurrentScore.SQL + " >= :minScore",
+                    "minScore", criteria.getMinScore());
+                currentScore = true;
+            }
+            if (criteria.getMaxScore() != null) {
+                add(CurrentScore.SQL + " <= :maxScore", "maxScore", criteria.getMaxScore());
+                currentScore = true;
+            }
+            add("o.funding_amount >= :minFundingAmount", "minFundingAmount", criteria.getMinFundingAmount());
+            add("o.funding_amount <= :maxFundingAmount", "maxFundingAmount", criteria.getMaxFundingAmount());
+            add("o.discovered_at >= :discoveredAfter", "discoveredAfter", criteria.getDiscoveredAfter());
+            add("o.discovered_at <= :discoveredBefore", "discoveredBefore", criteria.getDiscoveredBefore());
+            List<String> tags = OpportunitySpecifications.tags(criteria.getTags());
+            if (!tags.isEmpty()) {
+                add("EXISTS (SELECT 1 FROM opportunity_tags t WHERE t.opportunity_id = o.id AND LOWER(t.tag) IN (:tags))",
+                    "tags", tags);
+            }
+        }
+
+        private void add(String condition, String parameter, Object value) {
+            if (value != null) {
+                where.add(condition);
+                parameters.put(parameter, value);
+            }
+        }
+
+        private void in(String column, String parameter, Collection<? extends Enum<?>> values) {
+            if (values == null) {
+                return;
+            }
+            List<String> names = values.stream().filter(Objects::nonNull).map(Enum::name).distinct().sorted().toList();
+            if (!names.isEmpty()) {
+                add(column + " IN (:" + parameter + ")", parameter, names);
+            }
+        }
+    }
+
+    private boolean isFullTextAvailable() {
+        Boolean available = fullTextAvailable;
+        if (available == null) {
+            Number columns = (Number) entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = CURRENT_SCHEMA " +
+                    "AND LOWER(table_name) = 'opportunities' AND LOWER(column_name) = 'search_vector'")
+                .getSingleResult();
+            available = columns.longValue() > 0;
+            fullTextAvailable = available;
+            if (!available) {
+                log.warn("Column opportunities.search_vector not found, text search falls back to LIKE");
+            }
+        }
+        return available;
+    }
+}
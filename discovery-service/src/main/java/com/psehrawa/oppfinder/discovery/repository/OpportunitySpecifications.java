@@ -0,0 +1,152 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Filters and orderings for {@link OpportunitySearchCriteria}. Only the criteria that are
+ * set become predicates, each a plain comparison on its column, so Postgres can pick the
+ * column's index; an optional-parameter form such as {@code (:types IS NULL OR ...)} hides
+ * every one of them. List values are deduplicated and sorted, and Hibernate pads IN lists
+ * to a power of two, so the same filters always produce the same statement text.
+ */
+public final class OpportunitySpecifications {
+
+    /**
+     * Sort property for the {@link CurrentScore current score}, the score results show;
+     * {@link OpportunitySummaryRepository#findIds} orders by the expression
+     */
+    public static final String CURRENT_SCORE = "currentScore";
+
+    private OpportunitySpecifications() {
+    }
+
+    /**
+     * Opportunities matching every criterion that is set, except the search term; an
+     * unset {@code isActive} means active only. Score bounds apply to the
+     * {@link CurrentScore current score} as of {@code now}, the score results show.
+     */
+    public static Specification<OpportunityEntity> matching(OpportunitySearchCriteria criteria, LocalDateTime now) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("isActive"), !Boolean.FALSE.equals(criteria.getIsActive())));
+
+            in(predicates, cb, root, "type", criteria.getTypes());
+            in(predicates, cb, root, "status", criteria.getStatuses());
+            in(predicates, cb, root, "source", criteria.getSources());
+            in(predicates, cb, root, "country", criteria.getCountries());
+            in(predicates, cb, root, "industry", criteria.getIndustries());
+            in(predicates, cb, root, "fundingStage", criteria.getFundingStages());
+            in(predicates, cb, root, "companySize", criteria.getCompanySizes());
+
+            if (criteria.getMinScore() != null || criteria.getMaxScore() != null) {
+                Expression<BigDecimal> currentScore = CurrentScore.of(root, cb, now);
+                if (criteria.getMinScore() != null) {
+                    // The peak score bounds the current score from above and is indexed
+                    Path<BigDecimal> peakScore = root.get("peakScore");
+                    predicates.add(cb.or(cb.greaterThanOrEqualTo(peakScore, criteria.getMinScore()),
+                        cb.isNull(peakScore)));
+                    predicates.add(cb.greaterThanOrEqualTo(currentScore, criteria.getMinScore()));
+                }
+                if (criteria.getMaxScore() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(currentScore, criteria.getMaxScore()));
+                }
+            }
+            if (criteria.getMinFundingAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<BigDecimal>get("fundingAmount"),
+                    criteria.getMinFundingAmount()));
+            }
+            if (criteria.getMaxFundingAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<BigDecimal>get("fundingAmount"),
+                    criteria.getMaxFundingAmount()));
+            }
+            if (criteria.getDiscoveredAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("discoveredAt"),
+                    criteria.getDiscoveredAfter()));
+            }
+            if (criteria.getDiscoveredBefore() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<LocalDateTime>get("discoveredAt"),
+                    criteria.getDiscoveredBefore()));
+            }
+
+            List<String> tags = tags(criteria.getTags());
+            if (!tags.isEmpty()) {
+                // A semi-join, so an opportunity with several matching tags is returned once
+                // and the count query needs no DISTINCT
+                Subquery<Long> tagged = query.subquery(Long.class);
+                Root<OpportunityEntity> owner = tagged.from(OpportunityEntity.class);
+                Join<OpportunityEntity, String> tag = owner.join("tags");
+                tagged.select(owner.get("id"))
+                    .where(cb.equal(owner.get("id"), root.get("id")), cb.lower(tag).in(tags));
+                predicates.add(cb.exists(tagged));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Ordering for {@code sortBy}, ending in the ID so pages never overlap; {@code score}
+     * orders by the current score, as displayed, rather than the stored one
+     *
+     * @throws IllegalArgumentException for any other {@code sortBy}
+     */
+    public static Sort sort(String sortBy, String sortDirection) {
+        Sort.Direction direction = "DESC".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return switch (sortBy != null ? sortBy : "discoveredAt") {
+            case "score" -> Sort.by(direction, CURRENT_SCORE, "discoveredAt", "id");
+            // idx_opportunity_active_discovered
+            case "discoveredAt" -> Sort.by(direction, "discoveredAt", "id");
+            default -> throw new IllegalArgumentException(
+                "Unsupported sortBy '" + sortBy + "', expected score or discoveredAt");
+        };
+    }
+
+    private static <E extends Comparable<E>> void in(List<Predicate> predicates, CriteriaBuilder cb,
+                                                     Root<OpportunityEntity> root, String attribute,
+                                                     Collection<E> values) {
+        if (values == null) {
+            return;
+        }
+        TreeSet<E> distinct = new TreeSet<>();
+        values.stream().filter(Objects::nonNull).forEach(distinct::add);
+        if (distinct.size() == 1) {
+            predicates.add(cb.equal(root.get(attribute), distinct.first()));
+        } else if (!distinct.isEmpty()) {
+            predicates.add(root.get(attribute).in(distinct));
+        }
+    }
+
+    /**
+     * Tags compare case-insensitively, as in the search index
+     */
+    static List<String> tags(List<String> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        TreeSet<String> distinct = new TreeSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) {
+                distinct.add(tag.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return new ArrayList<>(distinct);
+    }
+}
@@ -0,0 +1,34 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.enums.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns a list shows, read in one query for a whole page: no tags or metadata,
+ * and only the first {@link OpportunitySummaryRepositoryImpl#EXCERPT_LENGTH} characters
+ * of the description
+ */
+public record OpportunitySummary(
+    Long id,
+    String title,
+    String companyName,
+    String excerpt,
+    DataSource source,
+    OpportunityType type,
+    OpportunityStatus status,
+    Country country,
+    Industry industry,
+    FundingStage fundingStage,
+    BigDecimal fundingAmount,
+    CompanySize companySize,
+    String location,
+    String url,
+    BigDecimal score,
+    BigDecimal baseScore,
+    BigDecimal peakScore,
+    BigDecimal confidenceScore,
+    LocalDateTime discoveredAt,
+    Boolean isActive) {
+}
@@ -0,0 +1,22 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pages as IDs and summaries, so a list never loads the description or the collections
+ */
+public interface OpportunitySummaryRepository {
+
+    // Summaries of the given opportunities, in no particular order; missing IDs are skipped
+    List<OpportunitySummary> findSummariesById(Collection<Long> ids);
+
+    // IDs of the opportunities matching spec, in the pageable's order; a current score sort is evaluated as of now
+    Page<Long> findIds(Specification<OpportunityEntity> spec, Pageable pageable, LocalDateTime now);
+}
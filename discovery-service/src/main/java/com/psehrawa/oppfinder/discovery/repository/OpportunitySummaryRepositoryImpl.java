@@ -0,0 +1,89 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads summaries with a constructor expression, so Hibernate builds no entities and
+ * issues no per-row queries for the lazy collections. Specification pages select only
+ * the ID, which the V8 covering indexes can answer without touching the table.
+ */
+public class OpportunitySummaryRepositoryImpl implements OpportunitySummaryRepository {
+
+    static final int EXCERPT_LENGTH = 300;
+
+    private static final String SELECT_SUMMARY =
+        "SELECT new com.psehrawa.oppfinder.discovery.repository.OpportunitySummary(" +
+        "o.id, o.title, o.companyName, SUBSTRING(o.description, 1, " + EXCERPT_LENGTH + "), " +
+        "o.source, o.type, o.status, o.country, o.industry, o.fundingStage, o.fundingAmount, o.companySize, " +
+        "o.location, o.url, o.score, o.baseScore, o.peakScore, o.confidenceScore, o.discoveredAt, o.isActive) " +
+        "FROM OpportunityEntity o";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OpportunitySummary> findSummariesById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(SELECT_SUMMARY + " WHERE o.id IN :ids", OpportunitySummary.class)
+            .setParameter("ids", ids)
+            .getResultList();
+    }
+
+    @Override
+    public Page<Long> findIds(Specification<OpportunityEntity> spec, Pageable pageable, LocalDateTime now) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> select = cb.createQuery(Long.class);
+        Root<OpportunityEntity> root = select.from(OpportunityEntity.class);
+        select.select(root.get("id")).where(spec.toPredicate(root, select, cb));
+        if (pageable.getSort().isSorted()) {
+            select.orderBy(orders(pageable.getSort(), root, cb, now));
+        }
+        TypedQuery<Long> ids = entityManager.createQuery(select);
+        if (pageable.isPaged()) {
+            ids.setFirstResult((int) pageable.getOffset());
+            ids.setMaxResults(pageable.getPageSize());
+        }
+
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<OpportunityEntity> counted = count.from(OpportunityEntity.class);
+        count.select(cb.count(counted)).where(spec.toPredicate(counted, count, cb));
+
+        return new PageImpl<>(ids.getResultList(), pageable, entityManager.createQuery(count).getSingleResult());
+    }
+
+    private static List<Order> orders(Sort sort, Root<OpportunityEntity> root, CriteriaBuilder cb, LocalDateTime now) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (order.getProperty().equals(OpportunitySpecifications.CURRENT_SCORE)) {
+                Expression<BigDecimal> currentScore = CurrentScore.of(root, cb, now);
+                orders.add(order.isAscending() ? cb.asc(currentScore) : cb.desc(currentScore));
+            } else {
+                orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+            }
+        }
+        return orders;
+    }
+}
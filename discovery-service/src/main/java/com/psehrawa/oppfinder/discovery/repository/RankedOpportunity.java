@@ -0,0 +1,11 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An opportunity's position in a ranked query: the value it was ranked by, as read
+ * from the database so a cursor made from it compares exactly, and the tie-breakers
+ */
+public record RankedOpportunity(long id, LocalDateTime discoveredAt, BigDecimal rank) {
+}
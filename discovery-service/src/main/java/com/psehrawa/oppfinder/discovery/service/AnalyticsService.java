@@ -5,6 +5,8 @@ import com.psehrawa.oppfinder.common.enums.Industry;
 import com.psehrawa.oppfinder.common.enums.OpportunityStatus;
 import com.psehrawa.oppfinder.common.enums.OpportunityType;
 import com.psehrawa.oppfinder.discovery.repository.OpportunityRepository;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheRefresher;
+import com.psehrawa.oppfinder.discovery.service.cache.RequestCanonicalizer;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,15 +22,41 @@ import java.util.stream.Collectors;
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class AnalyticsService {
+public class AnalyticsService implements CacheRefresher {
+
+    static final String ANALYTICS = "analytics";
+    private static final String DASHBOARD = "dashboard";
+    private static final String TIME_SERIES = "timeseries-";
 
     private final OpportunityRepository opportunityRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final RequestCanonicalizer requestCanonicalizer;
+
+    @Override
+    public String cacheName() {
+        return ANALYTICS;
+    }
+
+    /**
+     * Recompute a dashboard or time series entry; the cached methods are called on this
+     * instance, so they bypass the cache being refreshed
+     */
+    @Override
+    public Object recompute(Object key) {
+        String name = String.valueOf(key);
+        if (name.equals(DASHBOARD)) {
+            return getDashboardAnalytics();
+        }
+        if (name.startsWith(TIME_SERIES)) {
+            return getOpportunityTimeSeries(Integer.parseInt(name.substring(TIME_SERIES.length())));
+        }
+        throw new IllegalArgumentException("Not an analytics cache key: " + key);
+    }
 
     /**
      * Get overall analytics dashboard
      */
-    @Cacheable(value = "analytics", key = "'dashboard'")
+    @Cacheable(value = ANALYTICS, key = "'dashboard'")
     public DashboardAnalytics getDashboardAnalytics() {
         DashboardAnalytics analytics = new DashboardAnalytics();
         
@@ -80,9 +108,9 @@ public class AnalyticsService {
     /**
      * Get time series data for opportunities
      */
-    @Cacheable(value = "analytics", key = "'timeseries-' + #days")
+    @Cacheable(value = ANALYTICS, key = "'timeseries-' + #days")
     public List<TimeSeriesData> getOpportunityTimeSeries(int days) {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
+        LocalDateTime startDate = asOf().minusDays(days);
         
         String query = """
             SELECT DATE(discovered_at) as date, 
@@ -195,11 +223,17 @@ public class AnalyticsService {
         );
     }
 
+    // Windows end at the start of the analytics time bucket, so a cached figure is the one
+    // any request in that bucket would compute
+    private LocalDateTime asOf() {
+        return requestCanonicalizer.asOf(ANALYTICS);
+    }
+
     private long getRecentHighScoreCount() {
         return jdbcTemplate.queryForObject(
             "SELECT COUNT(*) FROM opportunities WHERE score >= 80 AND discovered_at >= ?",
             Long.class,
-            LocalDateTime.now().minusDays(7)
+            asOf().minusDays(7)
         );
     }
 
@@ -207,8 +241,9 @@ public class AnalyticsService {
         GrowthMetrics metrics = new GrowthMetrics();
         
         // This week vs last week
-        LocalDateTime thisWeekStart = LocalDateTime.now().minusDays(7);
-        LocalDateTime lastWeekStart = LocalDateTime.now().minusDays(14);
+        LocalDateTime asOf = asOf();
+        LocalDateTime thisWeekStart = asOf.minusDays(7);
+        LocalDateTime lastWeekStart = asOf.minusDays(14);
         
         Long thisWeekCount = jdbcTemplate.queryForObject(
             "SELECT COUNT(*) FROM opportunities WHERE discovered_at >= ?",
@@ -227,8 +262,8 @@ public class AnalyticsService {
         );
         
         // Monthly growth
-        LocalDateTime thisMonthStart = LocalDateTime.now().minusDays(30);
-        LocalDateTime lastMonthStart = LocalDateTime.now().minusDays(60);
+        LocalDateTime thisMonthStart = asOf.minusDays(30);
+        LocalDateTime lastMonthStart = asOf.minusDays(60);
         
         Long thisMonthCount = jdbcTemplate.queryForObject(
             "SELECT COUNT(*) FROM opportunities WHERE discovered_at >= ?",
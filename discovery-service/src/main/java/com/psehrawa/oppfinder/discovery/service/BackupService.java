@@ -56,8 +56,10 @@ public class BackupService {
     }
 
     /**
-     * Perform manual backup
+     * Perform manual backup; tags and metadata load in batches while the
+     * transaction is open
      */
+    @Transactional(readOnly = true)
     public String performBackup() throws IOException {
         // Create backup directory if it doesn't exist
         Path backupPath = Paths.get(backupDirectory);
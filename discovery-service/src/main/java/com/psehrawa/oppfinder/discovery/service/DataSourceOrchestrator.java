@@ -2,6 +2,7 @@ package com.psehrawa.oppfinder.discovery.service;
 
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.Country;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
 import com.psehrawa.oppfinder.discovery.service.datasource.DataSourceService;
 import com.psehrawa.oppfinder.discovery.service.datasource.HealthStatus;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ public class DataSourceOrchestrator {
 
     private final List<DataSourceService> dataSourceServices;
     private final OpportunityService opportunityService;
+    private final CacheGenerations cacheGenerations;
 
     /**
      * Discover opportunities from all enabled data sources
@@ -56,7 +58,8 @@ public class DataSourceOrchestrator {
             .thenApply(v -> {
                 int totalDiscovered = 0;
                 for (CompletableFuture<List<OpportunityDto>> future : futures) {
-                    try {
+                    // Cached searches go stale once per source's discoveries, not once per row
+                    try (CacheGenerations.Batch ignored = cacheGenerations.batch()) {
                         List<OpportunityDto> opportunities = future.get();
                         for (OpportunityDto opportunity : opportunities) {
                             // Save each opportunity (will handle duplicates)
@@ -1,14 +1,12 @@
 package com.psehrawa.oppfinder.discovery.service;
 
-import com.psehrawa.oppfinder.common.dto.OpportunityDto;
-import com.psehrawa.oppfinder.discovery.service.scoring.OpportunityScoringService;
+import com.psehrawa.oppfinder.discovery.service.scoring.ScoringBatchJob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Scheduled service for automated discovery and scoring
@@ -20,7 +18,7 @@ public class DiscoverySchedulerService {
 
     private final DataSourceOrchestrator dataSourceOrchestrator;
     private final OpportunityService opportunityService;
-    private final OpportunityScoringService scoringService;
+    private final ScoringBatchJob scoringBatchJob;
 
     /**
      * Scheduled discovery from all data sources
@@ -51,40 +49,16 @@ public class DiscoverySchedulerService {
 
     /**
      * Scheduled scoring of unscored opportunities
-     * Runs every hour
+     * Runs an hour after the previous run finished, so a backlog never stacks up runs
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour
+    @Scheduled(fixedDelay = 3600000) // 1 hour
     public void scheduledScoring() {
         log.info("Starting scheduled opportunity scoring");
 
         try {
-            LocalDateTime since = LocalDateTime.now().minusHours(24);
-            List<OpportunityDto> unscoredOpportunities = opportunityService.findOpportunitiesForScoring(since);
-
-            log.info("Found {} opportunities for scoring", unscoredOpportunities.size());
-
-            for (OpportunityDto opportunity : unscoredOpportunities) {
-                try {
-                    // Calculate comprehensive score
-                    var score = scoringService.calculateOpportunityScore(opportunity);
-                    
-                    // Calculate engagement potential
-                    var engagementPotential = scoringService.calculateEngagementPotential(opportunity);
-                    
-                    // Update opportunity with scores
-                    opportunity.setScore(score);
-                    opportunity.setEngagementPotential(engagementPotential);
-                    
-                    opportunityService.updateOpportunityScore(opportunity.getId(), score);
-                    
-                    log.debug("Updated score for opportunity {}: {}", opportunity.getId(), score);
-
-                } catch (Exception e) {
-                    log.error("Error scoring opportunity {}: {}", opportunity.getId(), e.getMessage());
-                }
-            }
+            int scored = scoringBatchJob.scoreUnscored();
 
-            log.info("Completed scoring {} opportunities", unscoredOpportunities.size());
+            log.info("Completed scoring {} opportunities", scored);
 
         } catch (Exception e) {
             log.error("Error in scheduled scoring: {}", e.getMessage(), e);
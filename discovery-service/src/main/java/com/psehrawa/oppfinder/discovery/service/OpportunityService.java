@@ -1,29 +1,48 @@
 package com.psehrawa.oppfinder.discovery.service;
 
+import com.psehrawa.oppfinder.common.dto.CursorPage;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
 import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
 import com.psehrawa.oppfinder.common.enums.DataSource;
 import com.psehrawa.oppfinder.common.enums.OpportunityStatus;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
 import com.psehrawa.oppfinder.discovery.mapper.OpportunityMapper;
+import com.psehrawa.oppfinder.discovery.repository.OpportunityCursor;
 import com.psehrawa.oppfinder.discovery.repository.OpportunityRepository;
+import com.psehrawa.oppfinder.discovery.repository.OpportunitySpecifications;
+import com.psehrawa.oppfinder.discovery.repository.OpportunitySummary;
+import com.psehrawa.oppfinder.discovery.repository.RankedOpportunity;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheEvictions;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
+import com.psehrawa.oppfinder.discovery.service.cache.OpportunityCacheKeys;
+import com.psehrawa.oppfinder.discovery.service.cache.RequestCanonicalizer;
+import com.psehrawa.oppfinder.discovery.service.scoring.OpportunityScoringService;
+import com.psehrawa.oppfinder.discovery.service.search.OpportunitySearchIndex;
+import com.psehrawa.oppfinder.discovery.service.search.SearchHits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -34,11 +53,17 @@ public class OpportunityService {
     private final OpportunityRepository opportunityRepository;
     private final OpportunityMapper opportunityMapper;
     private final KafkaTemplate<String, Object> kafkaTemplate;
-
-    @Caching(evict = {
-        @CacheEvict(value = "searchResults", allEntries = true),
-        @CacheEvict(value = "trendingOpportunities", allEntries = true)
-    })
+    private final OpportunityScoringService scoringService;
+    private final OpportunitySearchIndex searchIndex;
+    private final CacheGenerations cacheGenerations;
+    private final RequestCanonicalizer requestCanonicalizer;
+    private final CacheEvictions cacheEvictions;
+
+    /**
+     * Save or update by source and external ID; cached searches go stale only in the
+     * source, type and active set the row belongs to, and an updated row's cached
+     * details are evicted
+     */
     public OpportunityDto saveOpportunity(OpportunityDto opportunityDto) {
         log.debug("Saving opportunity: {}", opportunityDto.getTitle());
 
@@ -46,7 +71,21 @@ public class OpportunityService {
         Optional<OpportunityEntity> existing = opportunityRepository
             .findBySourceAndExternalId(opportunityDto.getSource(), opportunityDto.getExternalId());
 
+        // Rank before persisting so a new row never waits for the scoring job;
+        // a rediscovered row whose scoring inputs did not change keeps its score
+        if (existing.isPresent()) {
+            OpportunityEntity stored = existing.get();
+            opportunityDto.setDiscoveredAt(stored.getDiscoveredAt());
+            scoringService.scoreForIngestion(opportunityDto, stored.getScoringInputHash(), stored.getRulesVersion());
+        } else {
+            if (opportunityDto.getDiscoveredAt() == null) {
+                opportunityDto.setDiscoveredAt(LocalDateTime.now());
+            }
+            scoringService.scoreForIngestion(opportunityDto);
+        }
+
         OpportunityEntity entity;
+        Listing before = existing.map(Listing::of).orElse(null);
         if (existing.isPresent()) {
             entity = existing.get();
             // Update existing opportunity
@@ -59,45 +98,59 @@ public class OpportunityService {
         }
 
         entity = opportunityRepository.save(entity);
+        Listing after = Listing.of(entity);
+        if (!after.equals(before)) {
+            if (before != null) {
+                cacheGenerations.changed(before.source(), before.type(), before.active());
+            }
+            changed(entity);
+        }
+        if (existing.isPresent()) {
+            cacheEvictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(entity.getId()));
+        }
         OpportunityDto result = opportunityMapper.toDto(entity);
 
         // Publish event
         String eventType = existing.isPresent() ? "opportunity.updated" : "opportunity.discovered";
-        kafkaTemplate.send(eventType, result);
+        publish(eventType, result);
 
         return result;
     }
 
+    /**
+     * Page of summaries matching the {@link RequestCanonicalizer#canonical canonical} form
+     * of {@code request}, the form it is cached under
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "searchResults", key = "#criteria.hashCode()")
-    public Page<OpportunityDto> searchOpportunities(OpportunitySearchCriteria criteria) {
+    @Cacheable(value = "searchResults", key = "@opportunityCacheKeys.search(#request)")
+    public Page<OpportunitySummaryDto> searchOpportunities(OpportunitySearchCriteria request) {
+        OpportunitySearchCriteria criteria = requestCanonicalizer.canonical(request);
         log.debug("Searching opportunities with criteria: {}", criteria);
 
+        // The index and the database order and filter alike, so either may answer
         Pageable pageable = createPageable(criteria);
-        Page<OpportunityEntity> entities;
+        LocalDateTime asOf = requestCanonicalizer.asOf(RequestCanonicalizer.SEARCH_RESULTS);
+        Optional<SearchHits> hits =
+            searchIndex.search(criteria, asOf, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.isPresent()) {
+            return loadHits(hits.get(), pageable);
+        }
+
+        Page<Long> ids;
 
         if (criteria.getSearchTerm() != null && !criteria.getSearchTerm().trim().isEmpty()) {
-            entities = opportunityRepository.searchOpportunities(criteria.getSearchTerm().trim(), pageable);
+            ids = opportunityRepository.searchOpportunityIds(criteria, pageable, asOf);
         } else {
-            entities = opportunityRepository.findByCriteria(
-                criteria.getTypes(),
-                criteria.getCountries(),
-                criteria.getIndustries(),
-                criteria.getMinScore(),
-                criteria.getMaxScore(),
-                criteria.getStatuses() != null && !criteria.getStatuses().isEmpty() 
-                    ? criteria.getStatuses().get(0) : null,
-                pageable
-            );
+            ids = opportunityRepository.findIds(OpportunitySpecifications.matching(criteria, asOf), pageable, asOf);
         }
 
-        return entities.map(opportunityMapper::toDto);
+        return new PageImpl<>(summaries(ids.getContent()), pageable, ids.getTotalElements());
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "opportunityById", key = "#id")
+    @Cacheable(value = CacheEvictions.OPPORTUNITY_BY_ID, key = "#id")
     public Optional<OpportunityDto> findById(Long id) {
-        return opportunityRepository.findById(id)
+        return opportunityRepository.findWithDetailsById(id)
             .map(opportunityMapper::toDto);
     }
 
@@ -112,7 +165,6 @@ public class OpportunityService {
         return opportunityRepository.existsBySourceAndExternalId(source, externalId);
     }
 
-    @CacheEvict(value = "opportunityById", key = "#id")
     public OpportunityDto updateOpportunityStatus(Long id, OpportunityStatus status) {
         log.debug("Updating opportunity {} status to {}", id, status);
 
@@ -121,25 +173,31 @@ public class OpportunityService {
 
         entity.setStatus(status);
         entity = opportunityRepository.save(entity);
+        changed(entity);
+        cacheEvictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(id));
 
         OpportunityDto result = opportunityMapper.toDto(entity);
-        kafkaTemplate.send("opportunity.updated", result);
+        publish("opportunity.updated", result);
 
         return result;
     }
 
-    @CacheEvict(value = "opportunityById", key = "#id")
     public OpportunityDto updateOpportunityScore(Long id, BigDecimal score) {
         log.debug("Updating opportunity {} score to {}", id, score);
 
         OpportunityEntity entity = opportunityRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Opportunity not found: " + id));
 
+        // A manual score does not decay
         entity.setScore(score);
+        entity.setBaseScore(score);
+        entity.setPeakScore(score);
         entity = opportunityRepository.save(entity);
+        changed(entity);
+        cacheEvictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(id));
 
         OpportunityDto result = opportunityMapper.toDto(entity);
-        kafkaTemplate.send("opportunity.scored", result);
+        publish("opportunity.scored", result);
 
         return result;
     }
@@ -152,11 +210,72 @@ public class OpportunityService {
             .toList();
     }
 
+    /**
+     * Page of trending summaries, ranked as of the start of the current time bucket and
+     * with {@code since} floored to one, so requests within a bucket share the entry
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "trendingOpportunities", key = "#minScore + '-' + #since + '-' + #pageable.getPageNumber()")
-    public Page<OpportunityDto> findTrendingOpportunities(BigDecimal minScore, LocalDateTime since, Pageable pageable) {
-        return opportunityRepository.findTrendingOpportunities(minScore, since, pageable)
-            .map(opportunityMapper::toDto);
+    @Cacheable(value = OpportunityCacheKeys.TRENDING, key = "@opportunityCacheKeys.trending(#minScore, #since, #pageable)")
+    public Page<OpportunitySummaryDto> findTrendingOpportunities(BigDecimal minScore, LocalDateTime since,
+                                                                 Pageable pageable) {
+        Page<Long> ids = opportunityRepository.findTrendingOpportunityIds(minScore,
+            requestCanonicalizer.floor(OpportunityCacheKeys.TRENDING, since),
+            requestCanonicalizer.asOf(OpportunityCacheKeys.TRENDING), pageable);
+        return new PageImpl<>(summaries(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Keyset page of active opportunities by current score; every page ranks as of the
+     * first one
+     *
+     * @throws IllegalArgumentException if {@code cursor} is not one this service issued
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OpportunitySummaryDto> scrollOpportunities(String cursor, int size, boolean includeTotal) {
+        OpportunityCursor after = cursor != null ? OpportunityCursor.decode(cursor) : null;
+        LocalDateTime asOf = after != null ? after.asOf() : LocalDateTime.now();
+        return cursorPage(opportunityRepository.findActiveOpportunities(asOf, after, size + 1), size, asOf,
+            includeTotal && after == null ? opportunityRepository::countByIsActiveTrue : null);
+    }
+
+    /**
+     * Keyset page of trending opportunities; every page ranks and applies
+     * {@code hoursBack} as of the first one
+     *
+     * @throws IllegalArgumentException if {@code cursor} is not one this service issued
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OpportunitySummaryDto> scrollTrendingOpportunities(BigDecimal minScore, int hoursBack,
+                                                                         String cursor, int size,
+                                                                         boolean includeTotal) {
+        OpportunityCursor after = cursor != null ? OpportunityCursor.decode(cursor) : null;
+        LocalDateTime asOf = after != null ? after.asOf() : LocalDateTime.now();
+        LocalDateTime since = asOf.minusHours(hoursBack);
+        List<RankedOpportunity> rows =
+            opportunityRepository.findTrendingOpportunities(minScore, since, asOf, after, size + 1);
+        return cursorPage(rows, size, asOf, includeTotal && after == null
+            ? () -> opportunityRepository.findTrendingOpportunityIds(minScore, since, asOf, PageRequest.of(0, 1))
+                .getTotalElements()
+            : null);
+    }
+
+    /**
+     * Keyset page of text search results, best matches first by relevance blended with
+     * the current score; always answered by the database, as only it ranks by relevance
+     *
+     * @throws IllegalArgumentException if {@code cursor} is not one this service issued
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OpportunitySummaryDto> scrollSearch(String query, String cursor, int size,
+                                                          boolean includeTotal) {
+        OpportunityCursor after = cursor != null ? OpportunityCursor.decode(cursor) : null;
+        LocalDateTime asOf = after != null ? after.asOf() : LocalDateTime.now();
+        return cursorPage(opportunityRepository.searchOpportunities(query, asOf, after, size + 1), size, asOf,
+            includeTotal && after == null
+                ? () -> opportunityRepository.searchOpportunityIds(
+                    OpportunitySearchCriteria.builder().searchTerm(query).build(), PageRequest.of(0, 1), asOf)
+                    .getTotalElements()
+                : null);
     }
 
     public void deactivateOpportunity(Long id) {
@@ -165,8 +284,12 @@ public class OpportunityService {
         OpportunityEntity entity = opportunityRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Opportunity not found: " + id));
 
+        changed(entity);
         entity.setIsActive(false);
         opportunityRepository.save(entity);
+        changed(entity);
+        cacheEvictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(id));
+        searchIndex.remove(List.of(id));
     }
 
     public void cleanupStaleOpportunities(LocalDateTime cutoff) {
@@ -174,27 +297,100 @@ public class OpportunityService {
 
         List<OpportunityEntity> staleOpportunities = opportunityRepository.findStaleOpportunities(cutoff);
         for (OpportunityEntity opportunity : staleOpportunities) {
+            changed(opportunity);
             opportunity.setIsActive(false);
+            changed(opportunity);
         }
 
         if (!staleOpportunities.isEmpty()) {
             opportunityRepository.saveAll(staleOpportunities);
+            List<Long> ids = staleOpportunities.stream().map(OpportunityEntity::getId).toList();
+            cacheEvictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, ids);
+            searchIndex.remove(ids);
             log.info("Deactivated {} stale opportunities", staleOpportunities.size());
         }
     }
 
-    private Pageable createPageable(OpportunitySearchCriteria criteria) {
-        Sort sort = Sort.by(
-            "DESC".equalsIgnoreCase(criteria.getSortDirection()) 
-                ? Sort.Direction.DESC 
-                : Sort.Direction.ASC,
-            criteria.getSortBy()
-        );
+    /**
+     * Load a page the search index ranked by primary key, dropping rows deactivated
+     * since the index last heard of them
+     */
+    private Page<OpportunitySummaryDto> loadHits(SearchHits hits, Pageable pageable) {
+        List<OpportunitySummaryDto> content = inOrder(hits.ids()).stream()
+            .filter(summary -> !Boolean.FALSE.equals(summary.isActive()))
+            .map(opportunityMapper::toSummaryDto)
+            .toList();
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    private List<OpportunitySummaryDto> summaries(List<Long> ids) {
+        return inOrder(ids).stream().map(opportunityMapper::toSummaryDto).toList();
+    }
+
+    /**
+     * Summaries of the given opportunities in one query, in the order of {@code ids};
+     * IDs deleted since they were read are skipped
+     */
+    private List<OpportunitySummary> inOrder(List<Long> ids) {
+        Map<Long, OpportunitySummary> byId = opportunityRepository.findSummariesById(ids).stream()
+            .collect(Collectors.toMap(OpportunitySummary::id, Function.identity()));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Page from up to {@code size + 1} rows, the extra one only telling whether another
+     * page follows
+     */
+    private CursorPage<OpportunitySummaryDto> cursorPage(List<RankedOpportunity> rows, int size, LocalDateTime asOf,
+                                                         Supplier<Long> total) {
+        List<RankedOpportunity> page = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = rows.size() > size
+            ? OpportunityCursor.after(page.get(page.size() - 1), asOf).encode()
+            : null;
+        List<OpportunitySummaryDto> content = summaries(page.stream().map(RankedOpportunity::id).toList());
+        return new CursorPage<>(content, nextCursor, total != null ? total.get() : null);
+    }
 
+    private Pageable createPageable(OpportunitySearchCriteria criteria) {
         return PageRequest.of(
             criteria.getPage(),
             Math.min(criteria.getSize(), 100), // Max 100 items per page
-            sort
+            OpportunitySpecifications.sort(criteria.getSortBy(), criteria.getSortDirection())
         );
     }
-}
\ No newline at end of file
+
+    private void changed(OpportunityEntity entity) {
+        cacheGenerations.changed(entity.getSource(), entity.getType(), entity.getIsActive());
+    }
+
+    /**
+     * What cached queries read of a row, so rediscovering an unchanged opportunity
+     * leaves them valid; decimals compare by value, whatever their scale
+     */
+    private record Listing(DataSource source, OpportunityType type, Boolean active, List<Object> fields) {
+
+        static Listing of(OpportunityEntity entity) {
+            return new Listing(entity.getSource(), entity.getType(), entity.getIsActive(), Arrays.asList(
+                entity.getTitle(), entity.getDescription(), entity.getCompanyName(), entity.getStatus(),
+                entity.getCountry(), entity.getIndustry(), entity.getFundingStage(),
+                decimal(entity.getFundingAmount()), entity.getCompanySize(), entity.getLocation(), entity.getUrl(),
+                decimal(entity.getScore()), decimal(entity.getBaseScore()), decimal(entity.getPeakScore()),
+                decimal(entity.getConfidenceScore()), entity.getDiscoveredAt(),
+                entity.getTags() != null ? new ArrayList<>(entity.getTags()) : null));
+        }
+
+        private static BigDecimal decimal(BigDecimal value) {
+            return value != null ? value.stripTrailingZeros() : null;
+        }
+    }
+
+    /**
+     * Events are keyed by opportunity ID so all events for one opportunity share a partition
+     */
+    private void publish(String topic, OpportunityDto opportunity) {
+        kafkaTemplate.send(topic, String.valueOf(opportunity.getId()), opportunity);
+    }
+}
@@ -0,0 +1,52 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts entries cached by key once the surrounding transaction commits, so a read
+ * racing the write cannot cache the old row again after the eviction; with no
+ * transaction, at once. A {@link TwoTierCache} evicts all of a write's keys with one
+ * broadcast to the other replicas.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheEvictions {
+
+    public static final String OPPORTUNITY_BY_ID = "opportunityById";
+
+    private final CacheManager cacheManager;
+
+    public void evict(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<?> pending = List.copyOf(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(cacheName, pending);
+                }
+            });
+        } else {
+            evictNow(cacheName, pending);
+        }
+    }
+
+    private void evictNow(String cacheName, List<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TwoTierCache twoTier) {
+            twoTier.evictAll(keys);
+        } else if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Generation counters for the partitions of the opportunity table that cached query
+ * results depend on: each source, each type, and the active and inactive sets. A cache
+ * key embeds the generations of the partitions its query reads, so a write makes only
+ * the keys of the partitions it touched unreachable; every other entry stays valid and
+ * ages out by TTL.
+ *
+ * Bumps wait for the surrounding transaction to commit, so a query racing the write
+ * cannot cache the old rows under the new generation, and are coalesced: each partition
+ * is bumped once per transaction, or once per {@link #batch()} open on the thread.
+ *
+ * Replicas caching in a shared store must agree on generations, or one replica's key
+ * could name rows another has since changed: with a {@link Store} {@link #share shared},
+ * bumps are counted there and other replicas' bumps {@link #advance advance} the local
+ * copy, which stamps keep reading without a round trip.
+ */
+@Component
+@Slf4j
+public class CacheGenerations {
+
+    public static final String ACTIVE = "active";
+    public static final String INACTIVE = "inactive";
+    // Bumped when a write's partitions are unknown; part of every stamp
+    static final String ALL = "all";
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final ThreadLocal<Batch> batch = new ThreadLocal<>();
+    private volatile Store store;
+
+    public static String source(DataSource source) {
+        return "source:" + source.name();
+    }
+
+    public static String type(OpportunityType type) {
+        return "type:" + type.name();
+    }
+
+    /**
+     * Record a write to an opportunity in the given state; call once for the state before
+     * the write and once for the state after when they differ
+     */
+    public void changed(DataSource source, OpportunityType type, Boolean active) {
+        Set<String> partitions = new TreeSet<>();
+        if (source == null || type == null) {
+            partitions.add(ALL);
+        } else {
+            partitions.add(source(source));
+            partitions.add(type(type));
+        }
+        partitions.add(Boolean.FALSE.equals(active) ? INACTIVE : ACTIVE);
+        bump(partitions);
+    }
+
+    /**
+     * Defer this thread's bumps until the returned batch closes, then apply each once;
+     * nested batches join the outermost one
+     */
+    public Batch batch() {
+        Batch current = batch.get();
+        if (current != null) {
+            return current.join();
+        }
+        Batch opened = new Batch();
+        batch.set(opened);
+        return opened;
+    }
+
+    /**
+     * The generations of {@code partitions}, to append to a cache key
+     */
+    public String stamp(Collection<String> partitions) {
+        Set<String> sorted = new TreeSet<>(partitions);
+        sorted.add(ALL);
+        return sorted.stream()
+            .map(partition -> partition + "=" + generation(partition))
+            .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Count bumps in {@code store}, which other replicas share
+     */
+    public void share(Store store) {
+        this.store = store;
+    }
+
+    /**
+     * Raise local generations to ones applied elsewhere; generations never go back
+     */
+    public void advance(Map<String, Long> applied) {
+        applied.forEach((partition, generation) ->
+            generations.computeIfAbsent(partition, key -> new AtomicLong()).accumulateAndGet(generation, Math::max));
+    }
+
+    long generation(String partition) {
+        AtomicLong generation = generations.get(partition);
+        return generation != null ? generation.get() : 0;
+    }
+
+    private void bump(Set<String> partitions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionPartitions().addAll(partitions);
+        } else {
+            committed(partitions);
+        }
+    }
+
+    private void committed(Set<String> partitions) {
+        Batch current = batch.get();
+        if (current != null) {
+            current.partitions.addAll(partitions);
+        } else {
+            apply(partitions);
+        }
+    }
+
+    /**
+     * The partitions written in the current transaction, bumped after it commits
+     */
+    private Set<String> transactionPartitions() {
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> created = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheGenerations.this);
+                    if (status == STATUS_COMMITTED) {
+                        committed(created);
+                    }
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void apply(Set<String> partitions) {
+        Store shared = store;
+        if (shared != null) {
+            try {
+                advance(shared.increment(partitions));
+                return;
+            } catch (RuntimeException e) {
+                // Still invalidates this replica's entries; others age out by TTL
+                log.warn("Could not share bumps of {}, counting them locally: {}", partitions, e.getMessage());
+            }
+        }
+        for (String partition : partitions) {
+            generations.computeIfAbsent(partition, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Where replicas count bumps
+     */
+    public interface Store {
+
+        /**
+         * Increment the generation of each partition and return the new values
+         */
+        Map<String, Long> increment(Set<String> partitions);
+    }
+
+    /**
+     * Coalesces a run of writes, such as saving one source's discoveries
+     */
+    public final class Batch implements AutoCloseable {
+
+        private final Set<String> partitions = new TreeSet<>();
+        private int depth = 1;
+
+        private Batch join() {
+            depth++;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (--depth > 0) {
+                return;
+            }
+            batch.remove();
+            bump(partitions);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps replicas' {@link TwoTierCache local caches} and {@link CacheGenerations} in step
+ * over Redis pub/sub: evictions are broadcast so every replica drops its copy, and
+ * generation bumps are counted in a Redis hash and broadcast with their new values.
+ * Replicas ignore their own messages.
+ *
+ * Messages are JSON of names, key strings and counts only, so nothing read from the
+ * channel chooses a class to instantiate. Pub/sub does not redeliver, so a replica that
+ * misses a message, say while reconnecting, serves its copy until the local TTL expires.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener, CacheGenerations.Store {
+
+    public static final String CHANNEL = "oppfinder:cache:invalidations";
+    static final String GENERATIONS_KEY = "oppfinder:cache:generations";
+
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StringRedisTemplate redis;
+    private final CacheGenerations generations;
+
+    public CacheInvalidationBus(StringRedisTemplate redis, CacheGenerations generations) {
+        this.redis = redis;
+        this.generations = generations;
+    }
+
+    public void register(TwoTierCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    /**
+     * Catch up with the generations other replicas have counted and count ours with them
+     */
+    public void start() {
+        try {
+            Map<String, Long> shared = new LinkedHashMap<>();
+            redis.<String, String>opsForHash().entries(GENERATIONS_KEY)
+                .forEach((partition, generation) -> shared.put(partition, Long.parseLong(generation)));
+            generations.advance(shared);
+        } catch (RuntimeException e) {
+            log.warn("Could not load shared cache generations: {}", e.getMessage());
+        }
+        generations.share(this);
+    }
+
+    @Override
+    public Map<String, Long> increment(Set<String> partitions) {
+        Map<String, Long> applied = new LinkedHashMap<>();
+        for (String partition : partitions) {
+            applied.put(partition, redis.opsForHash().increment(GENERATIONS_KEY, partition, 1));
+        }
+        publish(new Invalidation(origin, null, null, false, applied));
+        return applied;
+    }
+
+    void evicted(String cache, Collection<String> keys) {
+        publish(new Invalidation(origin, cache, List.copyOf(keys), false, null));
+    }
+
+    void cleared(String cache) {
+        publish(new Invalidation(origin, cache, null, true, null));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache invalidation: {}", e.getMessage());
+            return;
+        }
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        if (invalidation.generations() != null) {
+            generations.advance(invalidation.generations());
+            return;
+        }
+        TwoTierCache cache = invalidation.cache() != null ? caches.get(invalidation.cache()) : null;
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.clear()) {
+            cache.clearLocal();
+        } else if (invalidation.keys() != null) {
+            cache.evictLocal(invalidation.keys());
+        }
+    }
+
+    private void publish(Invalidation invalidation) {
+        try {
+            redis.convertAndSend(CHANNEL, objectMapper.writeValueAsString(invalidation));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not broadcast cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    /**
+     * An eviction of {@code keys} from {@code cache}, a {@code clear} of it, or new
+     * {@code generations}
+     */
+    record Invalidation(String origin, String cache, List<String> keys, boolean clear,
+                        Map<String, Long> generations) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the query caches, with per-cache overrides under
+ * {@code caches.<name>}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "oppfinder.discovery.cache")
+@Data
+public class CacheProperties {
+
+    /**
+     * Relative time windows snap to multiples of this, so requests made within one
+     * bucket share cache entries
+     */
+    private Duration timeBucket = Duration.ofMinutes(5);
+
+    /**
+     * Whether Redis backs the per-replica caches; off, each replica caches on its own
+     */
+    private boolean l2Enabled = true;
+
+    /**
+     * Entries per replica in each cache
+     */
+    private long l1MaximumSize = 10_000;
+
+    /**
+     * How long a replica keeps an entry; bounds staleness when an invalidation message is
+     * lost, as pub/sub does not redeliver
+     */
+    private Duration l1Ttl = Duration.ofMinutes(1);
+
+    /**
+     * How long Redis keeps an entry
+     */
+    private Duration l2Ttl = Duration.ofMinutes(5);
+
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    public Duration timeBucket(String cache) {
+        CacheSpec spec = caches.get(cache);
+        return spec != null && spec.getTimeBucket() != null ? spec.getTimeBucket() : timeBucket;
+    }
+
+    public long l1MaximumSize(String cache) {
+        CacheSpec spec = caches.get(cache);
+        return spec != null && spec.getL1MaximumSize() != null ? spec.getL1MaximumSize() : l1MaximumSize;
+    }
+
+    public Duration l1Ttl(String cache) {
+        CacheSpec spec = caches.get(cache);
+        return spec != null && spec.getL1Ttl() != null ? spec.getL1Ttl() : l1Ttl;
+    }
+
+    public Duration l2Ttl(String cache) {
+        CacheSpec spec = caches.get(cache);
+        return spec != null && spec.getL2Ttl() != null ? spec.getL2Ttl() : l2Ttl;
+    }
+
+    /**
+     * The replica's memory budget for the cache, in place of an entry count; null when
+     * bounded by {@link #l1MaximumSize(String)}
+     */
+    public DataSize l1MaximumWeight(String cache) {
+        CacheSpec spec = caches.get(cache);
+        return spec != null ? spec.getL1MaximumWeight() : null;
+    }
+
+    /**
+     * How old an entry gets before a read reloads it in the background, still answered
+     * with the old value; null when the cache is not refreshed ahead
+     */
+    public Duration refreshAfterWrite(String cache) {
+        CacheSpec spec = caches.get(cache);
+        return spec != null ? spec.getRefreshAfterWrite() : null;
+    }
+
+    @Data
+    public static class CacheSpec {
+
+        private Duration timeBucket;
+        private Long l1MaximumSize;
+        private Duration l1Ttl;
+        private Duration l2Ttl;
+        private DataSize l1MaximumWeight;
+        private Duration refreshAfterWrite;
+    }
+}
@@ -0,0 +1,18 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+/**
+ * Recomputes the entries of a cache from their keys, so a cache with
+ * {@link CacheProperties#refreshAfterWrite(String) refresh-after-write} reloads them in
+ * the background while reads are still answered with the old value
+ */
+public interface CacheRefresher {
+
+    String cacheName();
+
+    /**
+     * The current value for {@code key}, bypassing the cache
+     *
+     * @throws IllegalArgumentException if {@code key} is not one of this cache's
+     */
+    Object recompute(Object key);
+}
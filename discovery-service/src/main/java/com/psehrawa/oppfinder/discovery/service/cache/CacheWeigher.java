@@ -0,0 +1,75 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Approximate heap bytes of a cache entry, so a cache is bounded by memory rather than
+ * by entry count: a page of 100 summaries weighs about a hundred times one summary.
+ * Estimates follow the shapes cached here, with compact strings, and count anything
+ * else at {@link #OTHER}.
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+
+    static final int OTHER = 512;
+
+    private static final int REFERENCE = 8;
+    private static final int OBJECT = 16;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = OBJECT * 4 + estimate(key) + estimate(value);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (value instanceof BigDecimal) {
+            return 40;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>) {
+            return OBJECT + REFERENCE;
+        }
+        if (value instanceof Page<?> page) {
+            return 96 + estimate(page.getContent());
+        }
+        if (value instanceof Collection<?> collection) {
+            return 40 + collection.stream().mapToLong(element -> REFERENCE + estimate(element)).sum();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return 48 + map.entrySet().stream()
+                .mapToLong(entry -> 32 + estimate(entry.getKey()) + estimate(entry.getValue()))
+                .sum();
+        }
+        if (value instanceof OpportunitySummaryDto summary) {
+            return 480 + strings(summary.getTitle(), summary.getCompanyName(), summary.getExcerpt(),
+                summary.getLocation(), summary.getUrl());
+        }
+        if (value instanceof OpportunityDto opportunity) {
+            return 720 + strings(opportunity.getExternalId(), opportunity.getTitle(), opportunity.getDescription(),
+                opportunity.getUrl(), opportunity.getCompanyName(), opportunity.getLocation(),
+                opportunity.getContactEmail(), opportunity.getRulesVersion())
+                + estimate(opportunity.getTags()) + estimate(opportunity.getMetadata());
+        }
+        return OTHER;
+    }
+
+    private static long strings(String... values) {
+        long bytes = 0;
+        for (String value : values) {
+            bytes += estimate(value);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,191 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary form of cached values in Redis: Smile, Jackson's binary JSON, deflated when
+ * larger than {@link #DEFLATE_THRESHOLD} bytes.
+ *
+ * Only {@link #register registered} types are written and read, each under a tag naming
+ * its schema, so a value is always bound to a concrete class chosen by this replica and
+ * never to a type named in the payload. Pages are written as their content and position.
+ *
+ * Layout: a flag byte (plain or deflated), then the tag's length and UTF-8 bytes, then
+ * the Smile document.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final int DEFLATE_THRESHOLD = 512;
+
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATED = 1;
+    private static final String NULL = "null";
+
+    private final ObjectMapper mapper = new ObjectMapper(new SmileFactory())
+        .registerModule(new JavaTimeModule())
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Map<String, Schema> schemas = new LinkedHashMap<>();
+
+    /**
+     * Allow values of {@code type} under {@code tag}
+     */
+    public CompactCacheSerializer register(String tag, Class<?> type) {
+        return add(new Schema(tag, Kind.VALUE, type, mapper.constructType(type)));
+    }
+
+    /**
+     * Allow lists of {@code elementType} under {@code tag}
+     */
+    public CompactCacheSerializer registerList(String tag, Class<?> elementType) {
+        return add(new Schema(tag, Kind.LIST, elementType,
+            mapper.getTypeFactory().constructCollectionType(List.class, elementType)));
+    }
+
+    /**
+     * Allow pages of {@code elementType} under {@code tag}
+     */
+    public CompactCacheSerializer registerPage(String tag, Class<?> elementType) {
+        return add(new Schema(tag, Kind.PAGE, elementType,
+            mapper.getTypeFactory().constructParametricType(PageDocument.class, elementType)));
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        Schema schema = value instanceof NullValue ? null : schemaOf(value);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(PLAIN);
+        byte[] tag = (schema != null ? schema.tag() : NULL).getBytes(StandardCharsets.UTF_8);
+        bytes.write(tag.length);
+        bytes.writeBytes(tag);
+        try {
+            if (schema != null) {
+                mapper.writeValue(bytes, schema.kind() == Kind.PAGE ? PageDocument.of((Page<?>) value) : value);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize " + value.getClass().getName(), e);
+        }
+        return bytes.size() > DEFLATE_THRESHOLD ? deflate(bytes.toByteArray()) : bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        InputStream body = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+        try (InputStream in = bytes[0] == DEFLATED ? new InflaterInputStream(body) : body) {
+            int length = in.read();
+            String tag = new String(in.readNBytes(Math.max(length, 0)), StandardCharsets.UTF_8);
+            if (tag.equals(NULL)) {
+                return NullValue.INSTANCE;
+            }
+            Schema schema = schemas.get(tag);
+            if (schema == null) {
+                throw new SerializationException("Not a registered cache type: " + tag);
+            }
+            Object value = mapper.readValue(in, schema.javaType());
+            return schema.kind() == Kind.PAGE ? ((PageDocument<?>) value).toPage() : value;
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize cached value", e);
+        }
+    }
+
+    private CompactCacheSerializer add(Schema schema) {
+        if (schema.tag().equals(NULL) || schema.tag().length() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid cache type tag: " + schema.tag());
+        }
+        schemas.put(schema.tag(), schema);
+        return this;
+    }
+
+    private Schema schemaOf(Object value) {
+        for (Schema schema : schemas.values()) {
+            if (schema.matches(value)) {
+                return schema;
+            }
+        }
+        throw new SerializationException("Not a registered cache type: " + value.getClass().getName());
+    }
+
+    private static byte[] deflate(byte[] plain) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(plain.length / 4);
+        bytes.write(DEFLATED);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(plain, 1, plain.length - 1);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deflate cached value", e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private enum Kind { VALUE, LIST, PAGE }
+
+    private record Schema(String tag, Kind kind, Class<?> type, JavaType javaType) {
+
+        boolean matches(Object value) {
+            return switch (kind) {
+                case VALUE -> value.getClass() == type;
+                case LIST -> value instanceof List<?> list && elementsAre(list);
+                case PAGE -> value instanceof Page<?> page && elementsAre(page.getContent());
+            };
+        }
+
+        private boolean elementsAre(List<?> elements) {
+            return elements.stream().allMatch(element -> element != null && element.getClass() == type);
+        }
+    }
+
+    /**
+     * A page as stored: its content, position and sort, as {@code property:direction}
+     */
+    record PageDocument<T>(List<T> content, int page, int size, long total, List<String> sort) {
+
+        static <T> PageDocument<T> of(Page<T> page) {
+            return new PageDocument<>(page.getContent(),
+                page.getPageable().isPaged() ? page.getNumber() : 0,
+                page.getPageable().isPaged() ? page.getSize() : Math.max(page.getContent().size(), 1),
+                page.getTotalElements(),
+                page.getSort().stream().map(order -> order.getProperty() + ":" + order.getDirection()).toList());
+        }
+
+        Page<T> toPage() {
+            Sort order = Sort.by(sort.stream()
+                .map(entry -> {
+                    int separator = entry.lastIndexOf(':');
+                    return new Sort.Order(Sort.Direction.fromString(entry.substring(separator + 1)),
+                        entry.substring(0, separator));
+                })
+                .toList());
+            return new PageImpl<>(content, PageRequest.of(page, size, order), total);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keys for the {@code searchResults} and {@code trendingOpportunities} caches, as
+ * {@code @opportunityCacheKeys} in {@code @Cacheable} expressions. A key spells out every
+ * criterion of the {@link RequestCanonicalizer canonical} request, so equal requests
+ * share an entry and different ones never collide, followed by the
+ * {@link CacheGenerations} stamp of the narrowest partition the query reads.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpportunityCacheKeys {
+
+    public static final String TRENDING = "trendingOpportunities";
+
+    private final CacheGenerations generations;
+    private final RequestCanonicalizer canonicalizer;
+
+    public String search(OpportunitySearchCriteria request) {
+        OpportunitySearchCriteria criteria = canonicalizer.canonical(request);
+        StringJoiner key = new StringJoiner(";");
+        key.add("types=" + joined(criteria.getTypes()));
+        key.add("statuses=" + joined(criteria.getStatuses()));
+        key.add("sources=" + joined(criteria.getSources()));
+        key.add("countries=" + joined(criteria.getCountries()));
+        key.add("industries=" + joined(criteria.getIndustries()));
+        key.add("fundingStages=" + joined(criteria.getFundingStages()));
+        key.add("companySizes=" + joined(criteria.getCompanySizes()));
+        key.add("score=" + decimal(criteria.getMinScore()) + ".." + decimal(criteria.getMaxScore()));
+        key.add("funding=" + decimal(criteria.getMinFundingAmount()) + ".." + decimal(criteria.getMaxFundingAmount()));
+        key.add("discovered=" + criteria.getDiscoveredAfter() + ".." + criteria.getDiscoveredBefore());
+        key.add("q=" + (criteria.getSearchTerm() != null ? criteria.getSearchTerm() : ""));
+        key.add("tags=" + joined(criteria.getTags()));
+        key.add("active=" + criteria.getIsActive());
+        key.add("page=" + criteria.getPage() + "x" + criteria.getSize());
+        key.add("sort=" + criteria.getSortBy() + "," + criteria.getSortDirection());
+        return key + "@" + generations.stamp(partitions(criteria));
+    }
+
+    /**
+     * Key for a trending page; {@code since} is floored to the cache's bucket here and
+     * by the query, and the bucket the query ranks as of is part of the key, so entries
+     * are shared only by requests ranked at the same time whatever the bucket size
+     */
+    public String trending(BigDecimal minScore, LocalDateTime since, Pageable pageable) {
+        return "minScore=" + decimal(minScore) + ";since=" + canonicalizer.floor(TRENDING, since) +
+            ";asOf=" + canonicalizer.asOf(TRENDING) +
+            ";page=" + pageable.getPageNumber() + "x" + pageable.getPageSize() +
+            "@" + generations.stamp(List.of(CacheGenerations.ACTIVE));
+    }
+
+    /**
+     * A partition holding every row that can enter or leave the result: the requested
+     * sources, else the requested types, else the requested active or inactive set. Text
+     * searches match active rows whatever the other filters say.
+     */
+    static Collection<String> partitions(OpportunitySearchCriteria criteria) {
+        if (criteria.getSearchTerm() != null && !criteria.getSearchTerm().isBlank()) {
+            return List.of(CacheGenerations.ACTIVE);
+        }
+        List<String> sources = partitions(criteria.getSources(), CacheGenerations::source);
+        if (!sources.isEmpty()) {
+            return sources;
+        }
+        List<String> types = partitions(criteria.getTypes(), CacheGenerations::type);
+        if (!types.isEmpty()) {
+            return types;
+        }
+        return List.of(Boolean.FALSE.equals(criteria.getIsActive()) ? CacheGenerations.INACTIVE : CacheGenerations.ACTIVE);
+    }
+
+    private static <E> List<String> partitions(Collection<E> values, Function<E, String> partition) {
+        return values == null ? List.of() : values.stream().filter(Objects::nonNull).map(partition).toList();
+    }
+
+    private static String joined(Collection<?> values) {
+        return values == null ? "" : values.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value != null ? RequestCanonicalizer.decimal(value).toPlainString() : "";
+    }
+}
@@ -0,0 +1,106 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Rewrites requests into one form per result, so that requests asking for the same
+ * thing share a cache entry: relative time windows, such as trending's hours back, snap
+ * to the cache's {@link CacheProperties#timeBucket(String) time bucket}, decimals lose
+ * their trailing zeros and lists are deduplicated and sorted. Absolute bounds a caller
+ * sets are kept as given, since snapping them would return rows outside the window.
+ * Callers run the canonical request as well as key by it, so an entry never answers for
+ * a request it does not match.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestCanonicalizer {
+
+    public static final String SEARCH_RESULTS = "searchResults";
+
+    private final CacheProperties properties;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * The current time, floored to the cache's bucket
+     */
+    public LocalDateTime asOf(String cache) {
+        return floor(cache, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Start of the bucket holding {@code time}
+     */
+    public LocalDateTime floor(String cache, LocalDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        long bucket = bucketSeconds(cache);
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(seconds, bucket) * bucket, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * {@code criteria} with the search term trimmed, tags trimmed and lower-cased as they
+     * are matched; the discovery window is left exact
+     */
+    public OpportunitySearchCriteria canonical(OpportunitySearchCriteria criteria) {
+        String searchTerm = criteria.getSearchTerm() != null ? criteria.getSearchTerm().trim() : null;
+        return criteria.toBuilder()
+            .types(sorted(criteria.getTypes()))
+            .statuses(sorted(criteria.getStatuses()))
+            .sources(sorted(criteria.getSources()))
+            .countries(sorted(criteria.getCountries()))
+            .industries(sorted(criteria.getIndustries()))
+            .fundingStages(sorted(criteria.getFundingStages()))
+            .companySizes(sorted(criteria.getCompanySizes()))
+            .minScore(decimal(criteria.getMinScore()))
+            .maxScore(decimal(criteria.getMaxScore()))
+            .minFundingAmount(decimal(criteria.getMinFundingAmount()))
+            .maxFundingAmount(decimal(criteria.getMaxFundingAmount()))
+            .searchTerm(searchTerm == null || searchTerm.isEmpty() ? null : searchTerm)
+            .tags(criteria.getTags() == null ? null : sorted(criteria.getTags().stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .toList()))
+            .isActive(!Boolean.FALSE.equals(criteria.getIsActive()))
+            .build();
+    }
+
+    /**
+     * The same value at its smallest scale, so 70, 70.0 and 70.00 are one key
+     */
+    public static BigDecimal decimal(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros() : null;
+    }
+
+    private long bucketSeconds(String cache) {
+        return Math.max(1, properties.timeBucket(cache).getSeconds());
+    }
+
+    private static <E extends Comparable<E>> List<E> sorted(Collection<E> values) {
+        if (values == null) {
+            return null;
+        }
+        TreeSet<E> distinct = new TreeSet<>();
+        values.stream().filter(Objects::nonNull).forEach(distinct::add);
+        // An empty list filters nothing, as does none
+        return distinct.isEmpty() ? null : List.copyOf(distinct);
+    }
+}
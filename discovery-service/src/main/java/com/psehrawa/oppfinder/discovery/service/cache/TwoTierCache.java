@@ -0,0 +1,170 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * A replica's Caffeine cache in front of one shared by every replica, in Redis. Reads
+ * try the local tier, then the shared one, copying its hit locally; writes go to both.
+ * Evictions remove the shared entry before the local one and then tell the other
+ * replicas, through {@link CacheInvalidationBus}, to drop theirs, so none reloads the
+ * old value from Redis.
+ *
+ * Redis being unreachable degrades this to a per-replica cache rather than failing
+ * the request.
+ *
+ * With a {@link CacheRefresher}, entries past the builder's refresh-after-write are
+ * recomputed in the background on read, while the read gets the old value, and the new
+ * value is shared too.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache shared;
+    private final CacheInvalidationBus bus;
+    private final CacheRefresher refresher;
+
+    public TwoTierCache(String name, Caffeine<Object, Object> local, Cache shared, CacheInvalidationBus bus,
+                        CacheRefresher refresher) {
+        super(true);
+        this.name = name;
+        this.shared = shared;
+        this.bus = bus;
+        this.refresher = refresher;
+        this.local = refresher != null ? local.build(this::recompute) : local.build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String id = id(key);
+        Object stored = local.getIfPresent(id);
+        if (stored != null) {
+            return stored;
+        }
+        stored = sharedLookup(id);
+        if (stored != null) {
+            local.put(id, stored);
+        }
+        return stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(local.get(id(key), id -> {
+            Object stored = sharedLookup(id);
+            if (stored != null) {
+                return stored;
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            sharedPut(id, value);
+            return toStoreValue(value);
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String id = id(key);
+        sharedPut(id, value);
+        local.put(id, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictAll(List.of(key));
+    }
+
+    /**
+     * Evict every key, with one broadcast for all of them
+     */
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> ids = keys.stream().map(TwoTierCache::id).toList();
+        try {
+            ids.forEach(shared::evict);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} keys from shared cache {}: {}", ids.size(), name, e.getMessage());
+        }
+        local.invalidateAll(ids);
+        bus.evicted(name, ids);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            shared.clear();
+        } catch (RuntimeException e) {
+            log.warn("Could not clear shared cache {}: {}", name, e.getMessage());
+        }
+        local.invalidateAll();
+        bus.cleared(name);
+    }
+
+    /**
+     * Drop a replica's copies on another replica's eviction
+     */
+    void evictLocal(Collection<String> ids) {
+        local.invalidateAll(ids);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Entries are held under the key's string form, as Redis holds them and as evictions
+     * are broadcast
+     */
+    static String id(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Object recompute(Object key) {
+        Object value = refresher.recompute(key);
+        sharedPut(key, value);
+        return toStoreValue(value);
+    }
+
+    private Object sharedLookup(Object key) {
+        try {
+            ValueWrapper wrapper = shared.get(key);
+            return wrapper != null ? toStoreValue(wrapper.get()) : null;
+        } catch (RuntimeException e) {
+            log.warn("Could not read {} from shared cache {}: {}", key, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void sharedPut(Object key, Object value) {
+        try {
+            shared.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} to shared cache {}: {}", key, name, e.getMessage());
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.Country;
 import com.psehrawa.oppfinder.common.enums.DataSource;
 import com.psehrawa.oppfinder.discovery.config.RateLimitConfig;
+import com.psehrawa.oppfinder.discovery.service.gazetteer.CompanyEntry;
+import com.psehrawa.oppfinder.discovery.service.gazetteer.CompanyMention;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -241,4 +243,28 @@ public abstract class AbstractDataSourceService implements DataSourceService {
             .isActive(true)
             .build();
     }
+
+    /**
+     * Replace guessed company fields with what the gazetteer knows about a mentioned company
+     */
+    protected void applyKnownCompany(OpportunityDto opportunity, CompanyMention mention) {
+        if (mention == null) {
+            return;
+        }
+
+        CompanyEntry company = mention.company();
+        opportunity.setCompanyName(company.name());
+        if (company.industry() != null) {
+            opportunity.setIndustry(company.industry());
+        }
+        if (company.size() != null) {
+            opportunity.setCompanySize(company.size());
+        }
+        if (company.country() != null && opportunity.getCountry() == null) {
+            opportunity.setCountry(company.country());
+        }
+        if (opportunity.getMetadata() != null) {
+            opportunity.getMetadata().put("company_id", company.id());
+        }
+    }
 }
\ No newline at end of file
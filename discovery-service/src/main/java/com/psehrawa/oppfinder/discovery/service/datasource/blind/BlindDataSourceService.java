@@ -1,9 +1,19 @@
 package com.psehrawa.oppfinder.discovery.service.datasource.blind;
 
+import com.psehrawa.oppfinder.common.classification.Classification;
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.*;
 import com.psehrawa.oppfinder.discovery.config.RateLimitConfig;
 import com.psehrawa.oppfinder.discovery.service.datasource.AbstractDataSourceService;
+import com.psehrawa.oppfinder.discovery.service.gazetteer.CompanyGazetteer;
+import com.psehrawa.oppfinder.discovery.service.gazetteer.CompanyMention;
+import com.psehrawa.oppfinder.discovery.service.text.ExtractionPattern;
+import com.psehrawa.oppfinder.discovery.service.text.ExtractionPatterns;
+import com.psehrawa.oppfinder.discovery.service.text.FundingAmountParser;
+import com.psehrawa.oppfinder.discovery.service.text.KeywordRule;
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatureExtractor;
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatures;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -22,6 +32,8 @@ public class BlindDataSourceService extends AbstractDataSourceService {
 
     private final RateLimitConfig rateLimitConfig;
     private final WebClient webClient;
+    private final CompanyGazetteer companyGazetteer;
+    private final OpportunityClassifier opportunityClassifier;
     
     // Blind is focused on anonymous workplace discussions
     // This implementation simulates data extraction from Blind-style content
@@ -38,24 +50,61 @@ public class BlindDataSourceService extends AbstractDataSourceService {
         "unicorn status", "revenue milestone", "profitability", "new market"
     );
     
-    private static final Map<String, Industry> COMPANY_INDUSTRY_MAP = Map.of(
-        "stripe", Industry.FINTECH,
-        "openai", Industry.ARTIFICIAL_INTELLIGENCE,
-        "databricks", Industry.DATA_ANALYTICS,
-        "snowflake", Industry.CLOUD_COMPUTING,
-        "figma", Industry.ENTERPRISE_SOFTWARE,
-        "canva", Industry.CONSUMER_SOFTWARE,
-        "discord", Industry.CONSUMER_SOFTWARE,
-        "notion", Industry.ENTERPRISE_SOFTWARE
+    private static final List<KeywordRule<CompanySize>> COMPANY_SIZE_RULES = List.of(
+        KeywordRule.of(CompanySize.LARGE, "unicorn", "ipo"),
+        KeywordRule.of(CompanySize.STARTUP, "#15", "founding", "stealth"),
+        KeywordRule.of(CompanySize.MEDIUM, "series c", "series d"),
+        KeywordRule.of(CompanySize.SMALL, "series a", "series b")
     );
 
+    private static final List<KeywordRule<FundingStage>> FUNDING_STAGE_RULES = List.of(
+        KeywordRule.of(FundingStage.SEED, "seed"),
+        KeywordRule.of(FundingStage.SERIES_A, "series a"),
+        KeywordRule.of(FundingStage.SERIES_B, "series b"),
+        KeywordRule.of(FundingStage.SERIES_C, "series c"),
+        KeywordRule.of(FundingStage.SERIES_D_PLUS, "series d", "series e"),
+        KeywordRule.of(FundingStage.IPO, "ipo"),
+        KeywordRule.of(FundingStage.ACQUISITION, "acquired", "acquisition")
+    );
+
+    // Tags are not exclusive, every matching rule contributes its tag
+    private static final List<KeywordRule<String>> TAG_RULES = List.of(
+        KeywordRule.of("hypergrowth", "hypergrowth", "300%"),
+        KeywordRule.of("unicorn", "unicorn"),
+        KeywordRule.of("retention-bonus", "retention"),
+        KeywordRule.of("infrastructure", "infrastructure"),
+        KeywordRule.of("machine-learning", "ml ", "machine learning"),
+        KeywordRule.of("security", "security"),
+        KeywordRule.of("b2b", "b2b"),
+        KeywordRule.of("enterprise", "enterprise"),
+        KeywordRule.of("institutional", "institutional")
+    );
+
+    private static final TextFeatureExtractor EXTRACTOR = new TextFeatureExtractor(
+        OPPORTUNITY_SIGNALS,
+        TextFeatureExtractor.keywordsOf(COMPANY_SIZE_RULES),
+        TextFeatureExtractor.keywordsOf(FUNDING_STAGE_RULES),
+        TextFeatureExtractor.keywordsOf(TAG_RULES)
+    );
+
+    private static final List<ExtractionPattern> COMPANY_PATTERNS = List.of(
+        ExtractionPatterns.COMPANY_AFTER_PREPOSITION,
+        ExtractionPatterns.COMPANY_BEFORE_UPDATE
+    );
+
+    private static final BigDecimal MIN_RELEVANT_SCORE = BigDecimal.valueOf(40);
+
     public BlindDataSourceService(
             @Qualifier("webClient") WebClient webClient,
             RedisTemplate<String, Object> redisTemplate,
-            RateLimitConfig rateLimitConfig) {
+            RateLimitConfig rateLimitConfig,
+            CompanyGazetteer companyGazetteer,
+            OpportunityClassifier opportunityClassifier) {
         super(webClient, redisTemplate);
         this.webClient = webClient;
         this.rateLimitConfig = rateLimitConfig;
+        this.companyGazetteer = companyGazetteer;
+        this.opportunityClassifier = opportunityClassifier;
     }
 
     @Override
@@ -94,7 +143,6 @@ public class BlindDataSourceService extends AbstractDataSourceService {
         opportunities.addAll(generateBlindStyleOpportunities(limit != null ? limit : 15));
         
         return opportunities.stream()
-            .filter(this::isRelevantOpportunity)
             .limit(limit != null ? limit : 15)
             .collect(Collectors.toList());
     }
@@ -107,8 +155,9 @@ public class BlindDataSourceService extends AbstractDataSourceService {
         
         for (int i = 0; i < Math.min(count, posts.size()); i++) {
             BlindPost post = posts.get(i);
-            OpportunityDto opp = createBlindOpportunity(post, i);
-            if (opp != null) {
+            TextFeatures features = EXTRACTOR.extract(post.content, post.title);
+            OpportunityDto opp = createBlindOpportunity(post, features);
+            if (opp != null && isRelevantOpportunity(opp, features)) {
                 opportunities.add(opp);
             }
         }
@@ -116,7 +165,7 @@ public class BlindDataSourceService extends AbstractDataSourceService {
         return opportunities;
     }
 
-    private OpportunityDto createBlindOpportunity(BlindPost post, int index) {
+    private OpportunityDto createBlindOpportunity(BlindPost post, TextFeatures features) {
         try {
             // Use a stable ID based on the content to prevent duplicates
             String externalId = "blind-" + post.title.hashCode() + "-" + post.content.hashCode();
@@ -127,24 +176,25 @@ public class BlindDataSourceService extends AbstractDataSourceService {
                 post.content
             );
 
-            opportunity.setType(determineOpportunityType(post));
+            Classification classification = opportunityClassifier.classify(features.body(), post.title);
+            opportunity.setType(classification.type(OpportunityType.TECHNOLOGY_TREND));
             opportunity.setUrl("https://www.teamblind.com/post/" + externalId);
-            opportunity.setCompanyName(extractCompanyName(post));
-            opportunity.setIndustry(inferIndustry(post));
-            opportunity.setCompanySize(inferCompanySize(post));
+            opportunity.setCompanyName(extractCompanyName(post, features));
+            opportunity.setIndustry(classification.industry(Industry.ENTERPRISE_SOFTWARE));
+            opportunity.setCompanySize(features.firstMatch(COMPANY_SIZE_RULES, CompanySize.SMALL));
             opportunity.setStatus(OpportunityStatus.DISCOVERED);
-            opportunity.setFundingStage(inferFundingStage(post));
+            opportunity.setFundingStage(features.firstMatch(FUNDING_STAGE_RULES, FundingStage.UNKNOWN));
             
             // Calculate score based on Blind metrics and content
-            BigDecimal score = calculateBlindScore(post);
+            BigDecimal score = calculateBlindScore(post, features);
             opportunity.setScore(score);
             opportunity.setConfidenceScore(BigDecimal.valueOf(80.0)); // Higher confidence for insider info
             opportunity.setEngagementPotential(calculateEngagementPotential(post));
 
             // Extract funding amount if mentioned
-            BigDecimal fundingAmount = extractFundingAmount(post.content);
-            if (fundingAmount != null) {
-                opportunity.setFundingAmount(fundingAmount);
+            long fundingAmountCents = features.fundingAmountCents();
+            if (fundingAmountCents != FundingAmountParser.NOT_FOUND) {
+                opportunity.setFundingAmount(FundingAmountParser.toBigDecimal(fundingAmountCents));
             }
 
             // Add metadata
@@ -157,12 +207,16 @@ public class BlindDataSourceService extends AbstractDataSourceService {
             metadata.put("tags", String.join(",", post.tags));
             opportunity.setMetadata(metadata);
 
+            // Known companies, preferring one named in the title
+            CompanyMention company = companyGazetteer.firstMention(post.title);
+            applyKnownCompany(opportunity, company != null ? company : companyGazetteer.firstMention(post.content));
+
             // Add tags
             List<String> tags = new ArrayList<>();
             tags.add("blind");
             tags.add("insider-info");
             tags.addAll(post.tags);
-            tags.addAll(extractAdditionalTags(post.content));
+            tags.addAll(extractAdditionalTags(features));
             opportunity.setTags(tags);
 
             return opportunity;
@@ -173,164 +227,28 @@ public class BlindDataSourceService extends AbstractDataSourceService {
         }
     }
 
-    private boolean isRelevantOpportunity(OpportunityDto opportunity) {
-        String text = (opportunity.getTitle() + " " + opportunity.getDescription()).toLowerCase();
-        
-        // Check for opportunity signals
-        return OPPORTUNITY_SIGNALS.stream().anyMatch(signal -> 
-            text.contains(signal.toLowerCase())
-        ) && opportunity.getScore().compareTo(BigDecimal.valueOf(40)) > 0;
-    }
-
-    private OpportunityType determineOpportunityType(BlindPost post) {
-        String lowerContent = post.content.toLowerCase();
-        
-        if (lowerContent.contains("ipo")) {
-            return OpportunityType.MARKET_EXPANSION;
-        } else if (lowerContent.contains("acquired") || lowerContent.contains("acquisition")) {
-            return OpportunityType.ACQUISITION_TARGET;
-        } else if (lowerContent.contains("raised") || lowerContent.contains("funding") || 
-                   lowerContent.contains("series")) {
-            return OpportunityType.STARTUP_FUNDING;
-        } else if (lowerContent.contains("hiring") || lowerContent.contains("headcount") || 
-                   lowerContent.contains("recruiting")) {
-            return OpportunityType.JOB_POSTING_SIGNAL;
-        } else if (lowerContent.contains("launch") || lowerContent.contains("new product")) {
-            return OpportunityType.PRODUCT_LAUNCH;
-        } else if (lowerContent.contains("revenue") || lowerContent.contains("growth")) {
-            return OpportunityType.MARKET_EXPANSION;
-        }
-        
-        return OpportunityType.TECHNOLOGY_TREND;
-    }
-
-    private String extractCompanyName(BlindPost post) {
-        // Try to extract from title first
-        String[] titleWords = post.title.split(" ");
-        for (String word : titleWords) {
-            if (word.length() > 3 && Character.isUpperCase(word.charAt(0))) {
-                // Check if it's a known company
-                if (COMPANY_INDUSTRY_MAP.containsKey(word.toLowerCase())) {
-                    return word;
-                }
-            }
-        }
-        
-        // Look for company names in content
-        String[] companyPatterns = {
-            "([A-Z][a-zA-Z]+(?:[A-Z][a-zA-Z]+)?)",
-            "(?:joined |at |from )([A-Z][a-zA-Z]+)",
-            "([A-Z][a-zA-Z]+) (?:just|revenue|raised|hit)"
-        };
-        
-        for (String pattern : companyPatterns) {
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher m = p.matcher(post.content);
-            if (m.find()) {
-                String potential = m.group(1);
-                if (!List.of("Series", "IPO", "FDA", "ARR", "YoY").contains(potential)) {
-                    return potential;
-                }
-            }
-        }
-        
-        return "Stealth Startup";
-    }
-
-    private Industry inferIndustry(BlindPost post) {
-        String lowerContent = (post.title + " " + post.content).toLowerCase();
-        
-        // Check known companies first
-        for (Map.Entry<String, Industry> entry : COMPANY_INDUSTRY_MAP.entrySet()) {
-            if (lowerContent.contains(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        
-        // Infer from content
-        if (lowerContent.contains("ai") || lowerContent.contains("ml") || 
-            lowerContent.contains("machine learning")) {
-            return Industry.ARTIFICIAL_INTELLIGENCE;
-        } else if (lowerContent.contains("fintech") || lowerContent.contains("payment") || 
-                   lowerContent.contains("banking")) {
-            return Industry.FINTECH;
-        } else if (lowerContent.contains("health") || lowerContent.contains("medical") || 
-                   lowerContent.contains("diagnostic")) {
-            return Industry.HEALTHTECH;
-        } else if (lowerContent.contains("cloud") || lowerContent.contains("infrastructure")) {
-            return Industry.CLOUD_COMPUTING;
-        } else if (lowerContent.contains("crypto") || lowerContent.contains("blockchain")) {
-            return Industry.BLOCKCHAIN;
-        } else if (lowerContent.contains("data") || lowerContent.contains("analytics")) {
-            return Industry.DATA_ANALYTICS;
-        } else if (lowerContent.contains("devtool") || lowerContent.contains("developer")) {
-            return Industry.DEVOPS;
-        }
-        
-        return Industry.ENTERPRISE_SOFTWARE;
-    }
-
-    private CompanySize inferCompanySize(BlindPost post) {
-        String content = post.content.toLowerCase();
-        
-        if (content.contains("unicorn") || content.contains("ipo")) {
-            return CompanySize.LARGE;
-        } else if (content.contains("#15") || content.contains("founding") || 
-                   content.contains("stealth")) {
-            return CompanySize.STARTUP;
-        } else if (content.contains("series c") || content.contains("series d")) {
-            return CompanySize.MEDIUM;
-        } else if (content.contains("series a") || content.contains("series b")) {
-            return CompanySize.SMALL;
-        }
-        
-        return CompanySize.SMALL;
-    }
-
-    private FundingStage inferFundingStage(BlindPost post) {
-        String content = post.content.toLowerCase();
-        
-        if (content.contains("seed")) return FundingStage.SEED;
-        if (content.contains("series a")) return FundingStage.SERIES_A;
-        if (content.contains("series b")) return FundingStage.SERIES_B;
-        if (content.contains("series c")) return FundingStage.SERIES_C;
-        if (content.contains("series d") || content.contains("series e")) return FundingStage.SERIES_D_PLUS;
-        if (content.contains("ipo")) return FundingStage.IPO;
-        if (content.contains("acquired") || content.contains("acquisition")) return FundingStage.ACQUISITION;
-        
-        return FundingStage.UNKNOWN;
+    private boolean isRelevantOpportunity(OpportunityDto opportunity, TextFeatures features) {
+        // Check for opportunity signals in title or content
+        return features.containsAnyAnywhere(OPPORTUNITY_SIGNALS)
+            && opportunity.getScore().compareTo(MIN_RELEVANT_SCORE) > 0;
     }
 
-    private BigDecimal extractFundingAmount(String content) {
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(
-            "\\$([0-9]+(?:\\.[0-9]+)?)[MBK](?:illion)?", 
-            java.util.regex.Pattern.CASE_INSENSITIVE
-        );
-        java.util.regex.Matcher matcher = pattern.matcher(content);
-        
-        if (matcher.find()) {
-            String amountStr = matcher.group(1);
-            String unit = matcher.group(0).toUpperCase();
-            
-            try {
-                double amount = Double.parseDouble(amountStr);
-                if (unit.contains("B")) {
-                    amount *= 1_000_000_000;
-                } else if (unit.contains("M")) {
-                    amount *= 1_000_000;
-                } else if (unit.contains("K")) {
-                    amount *= 1_000;
-                }
-                return BigDecimal.valueOf(amount);
-            } catch (NumberFormatException e) {
-                log.error("Failed to parse funding amount: {}", amountStr);
+    private String extractCompanyName(BlindPost post, TextFeatures features) {
+        // Look for company names next to typical phrasing in content
+        for (ExtractionPattern pattern : COMPANY_PATTERNS) {
+            String company = pattern.firstGroup(post.content);
+            if (company != null) {
+                return company;
             }
         }
         
-        return null;
+        // Fall back to the first capitalized phrase that is not a common word
+        return features.candidateEntities().stream()
+            .findFirst()
+            .orElse("Stealth Startup");
     }
 
-    private BigDecimal calculateBlindScore(BlindPost post) {
+    private BigDecimal calculateBlindScore(BlindPost post, TextFeatures features) {
         double score = 0.0;
         
         // Engagement factor (0-40 points)
@@ -338,9 +256,7 @@ public class BlindDataSourceService extends AbstractDataSourceService {
         score += engagementScore;
         
         // Content quality factor (0-30 points)
-        long signalCount = OPPORTUNITY_SIGNALS.stream()
-            .filter(signal -> post.content.toLowerCase().contains(signal))
-            .count();
+        long signalCount = features.countHits(OPPORTUNITY_SIGNALS);
         score += Math.min(30.0, signalCount * 10);
         
         // Author credibility (0-20 points)
@@ -371,28 +287,15 @@ public class BlindDataSourceService extends AbstractDataSourceService {
         return BigDecimal.valueOf(Math.min(100.0, potential));
     }
 
-    private List<String> extractAdditionalTags(String content) {
+    private List<String> extractAdditionalTags(TextFeatures features) {
         List<String> tags = new ArrayList<>();
-        String lowerContent = content.toLowerCase();
-        
-        // Growth indicators
-        if (lowerContent.contains("hypergrowth") || lowerContent.contains("300%")) {
-            tags.add("hypergrowth");
-        }
-        if (lowerContent.contains("unicorn")) tags.add("unicorn");
-        if (lowerContent.contains("retention")) tags.add("retention-bonus");
         
-        // Technology tags
-        if (lowerContent.contains("infrastructure")) tags.add("infrastructure");
-        if (lowerContent.contains("ml ") || lowerContent.contains("machine learning")) {
-            tags.add("machine-learning");
+        // Growth, technology and market tags
+        for (KeywordRule<String> rule : TAG_RULES) {
+            if (features.containsAny(rule.keywords())) {
+                tags.add(rule.label());
+            }
         }
-        if (lowerContent.contains("security")) tags.add("security");
-        
-        // Market tags
-        if (lowerContent.contains("b2b")) tags.add("b2b");
-        if (lowerContent.contains("enterprise")) tags.add("enterprise");
-        if (lowerContent.contains("institutional")) tags.add("institutional");
         
         return tags;
     }
@@ -1,5 +1,6 @@
 package com.psehrawa.oppfinder.discovery.service.datasource.github;
 
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.*;
 import com.psehrawa.oppfinder.discovery.config.RateLimitConfig;
@@ -25,14 +26,17 @@ public class GitHubDataSourceService extends AbstractDataSourceService {
 
     private final RateLimitConfig rateLimitConfig;
     private final WebClient githubWebClient;
+    private final OpportunityClassifier opportunityClassifier;
 
     public GitHubDataSourceService(
             @Qualifier("githubWebClient") WebClient githubWebClient,
             RedisTemplate<String, Object> redisTemplate,
-            RateLimitConfig rateLimitConfig) {
+            RateLimitConfig rateLimitConfig,
+            OpportunityClassifier opportunityClassifier) {
         super(githubWebClient, redisTemplate);
         this.githubWebClient = githubWebClient;
         this.rateLimitConfig = rateLimitConfig;
+        this.opportunityClassifier = opportunityClassifier;
     }
 
     @Override
@@ -258,26 +262,10 @@ public class GitHubDataSourceService extends AbstractDataSourceService {
     }
 
     private Industry inferIndustryFromRepository(GitHubRepository repo) {
-        String description = repo.description() != null ? repo.description().toLowerCase() : "";
-        List<String> topics = repo.topics() != null ? 
-            repo.topics().stream().map(String::toLowerCase).toList() : List.of();
-        
-        // Check for fintech keywords
-        if (description.contains("finance") || description.contains("payment") || description.contains("banking") ||
-            topics.stream().anyMatch(t -> t.contains("fintech") || t.contains("finance") || t.contains("payment"))) {
-            return Industry.FINTECH;
-        }
-        
-        // Check for AI/ML keywords
-        if (description.contains("ai") || description.contains("machine learning") || description.contains("artificial intelligence") ||
-            topics.stream().anyMatch(t -> t.contains("ai") || t.contains("ml") || t.contains("machine-learning"))) {
-            return Industry.ARTIFICIAL_INTELLIGENCE;
-        }
-        
-        // Check for DevOps keywords
-        if (description.contains("devops") || description.contains("deployment") || description.contains("ci/cd") ||
-            topics.stream().anyMatch(t -> t.contains("devops") || t.contains("deployment") || t.contains("docker"))) {
-            return Industry.DEVOPS;
+        String topics = repo.topics() != null ? String.join(" ", repo.topics()) : null;
+        Industry industry = opportunityClassifier.classify(repo.description(), topics).industry(null);
+        if (industry != null) {
+            return industry;
         }
         
         // Default based on language
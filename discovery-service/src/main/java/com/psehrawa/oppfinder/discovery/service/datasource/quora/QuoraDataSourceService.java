@@ -1,9 +1,17 @@
 package com.psehrawa.oppfinder.discovery.service.datasource.quora;
 
+import com.psehrawa.oppfinder.common.classification.Classification;
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.*;
 import com.psehrawa.oppfinder.discovery.config.RateLimitConfig;
 import com.psehrawa.oppfinder.discovery.service.datasource.AbstractDataSourceService;
+import com.psehrawa.oppfinder.discovery.service.gazetteer.CompanyGazetteer;
+import com.psehrawa.oppfinder.discovery.service.gazetteer.CompanyMention;
+import com.psehrawa.oppfinder.discovery.service.text.ExtractionPatterns;
+import com.psehrawa.oppfinder.discovery.service.text.KeywordRule;
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatureExtractor;
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatures;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -14,8 +22,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.Collections;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +30,8 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
 
     private final RateLimitConfig rateLimitConfig;
     private final WebClient webClient;
+    private final CompanyGazetteer companyGazetteer;
+    private final OpportunityClassifier opportunityClassifier;
     
     // Quora doesn't have a public API, so we'll simulate by using web scraping patterns
     // In production, you'd need to implement proper web scraping or use unofficial APIs
@@ -35,19 +43,45 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
         "Fintech", "SaaS", "Product-Development"
     );
     
-    private static final List<String> SIGNAL_PATTERNS = List.of(
+    // Lettered rounds ("series b") are detected by the extractor itself
+    private static final List<String> SIGNAL_KEYWORDS = List.of(
         "just raised", "announcing", "we built", "launching", "looking for",
-        "hiring", "seed round", "series [A-Z]", "funding", "acquired",
+        "hiring", "seed round", "funding", "acquired",
         "beta testers", "early access", "feedback on", "validate", "MVP"
     );
 
+    // Tags are not exclusive, every matching rule contributes its tag
+    private static final List<KeywordRule<String>> TAG_RULES = List.of(
+        KeywordRule.of("ai", "ai", "artificial intelligence"),
+        KeywordRule.of("machine-learning", "machine learning"),
+        KeywordRule.of("blockchain", "blockchain"),
+        KeywordRule.of("iot", "iot"),
+        KeywordRule.of("saas", "saas"),
+        KeywordRule.of("mvp", "mvp"),
+        KeywordRule.of("beta", "beta"),
+        KeywordRule.of("seed-stage", "seed"),
+        KeywordRule.of("series-a", "series a"),
+        KeywordRule.of("b2b", "b2b"),
+        KeywordRule.of("b2c", "b2c"),
+        KeywordRule.of("marketplace", "marketplace")
+    );
+
+    private static final TextFeatureExtractor EXTRACTOR = new TextFeatureExtractor(
+        SIGNAL_KEYWORDS,
+        TextFeatureExtractor.keywordsOf(TAG_RULES)
+    );
+
     public QuoraDataSourceService(
             @Qualifier("webClient") WebClient webClient,
             RedisTemplate<String, Object> redisTemplate,
-            RateLimitConfig rateLimitConfig) {
+            RateLimitConfig rateLimitConfig,
+            CompanyGazetteer companyGazetteer,
+            OpportunityClassifier opportunityClassifier) {
         super(webClient, redisTemplate);
         this.webClient = webClient;
         this.rateLimitConfig = rateLimitConfig;
+        this.companyGazetteer = companyGazetteer;
+        this.opportunityClassifier = opportunityClassifier;
     }
 
     @Override
@@ -86,7 +120,6 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
         opportunities.addAll(generateQuoraStyleOpportunities(limit != null ? limit : 20));
         
         return opportunities.stream()
-            .filter(opp -> isRelevantOpportunity(opp))
             .limit(limit != null ? limit : 20)
             .collect(Collectors.toList());
     }
@@ -99,7 +132,11 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
         
         for (int i = 0; i < Math.min(count, samples.size()); i++) {
             QuoraSample sample = samples.get(i);
-            OpportunityDto opp = createQuoraOpportunity(sample, i);
+            TextFeatures features = EXTRACTOR.extract(sample.answer, sample.question);
+            if (!isRelevantOpportunity(features)) {
+                continue;
+            }
+            OpportunityDto opp = createQuoraOpportunity(sample, features);
             if (opp != null) {
                 opportunities.add(opp);
             }
@@ -108,7 +145,7 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
         return opportunities;
     }
 
-    private OpportunityDto createQuoraOpportunity(QuoraSample sample, int index) {
+    private OpportunityDto createQuoraOpportunity(QuoraSample sample, TextFeatures features) {
         try {
             // Use a stable ID based on the content to prevent duplicates
             String externalId = "quora-" + sample.question.hashCode() + "-" + sample.topic.hashCode();
@@ -119,10 +156,11 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
                 sample.answer
             );
 
-            opportunity.setType(determineOpportunityType(sample.answer));
+            Classification classification = opportunityClassifier.classify(features.body(), sample.question);
+            opportunity.setType(classification.type(OpportunityType.TECHNOLOGY_TREND));
             opportunity.setUrl("https://www.quora.com/simulated/" + externalId);
-            opportunity.setCompanyName(extractCompanyName(sample.answer));
-            opportunity.setIndustry(inferIndustry(sample.question + " " + sample.answer));
+            opportunity.setCompanyName(extractCompanyName(features));
+            opportunity.setIndustry(classification.industry(Industry.ENTERPRISE_SOFTWARE));
             opportunity.setCompanySize(CompanySize.STARTUP);
             opportunity.setStatus(OpportunityStatus.DISCOVERED);
             
@@ -141,11 +179,15 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
             metadata.put("source_type", "qa_platform");
             opportunity.setMetadata(metadata);
 
+            // Known companies, preferring one named in the answer
+            CompanyMention company = companyGazetteer.firstMention(sample.answer);
+            applyKnownCompany(opportunity, company != null ? company : companyGazetteer.firstMention(sample.question));
+
             // Add tags
             List<String> tags = new ArrayList<>();
             tags.add("quora");
             tags.add(sample.topic.toLowerCase().replace(" ", "-"));
-            tags.addAll(extractTags(sample.question + " " + sample.answer));
+            tags.addAll(extractTags(features));
             opportunity.setTags(tags);
 
             return opportunity;
@@ -156,87 +198,22 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
         }
     }
 
-    private boolean isRelevantOpportunity(OpportunityDto opportunity) {
-        String text = (opportunity.getTitle() + " " + opportunity.getDescription()).toLowerCase();
-        
-        // Check for startup signals
-        return SIGNAL_PATTERNS.stream().anyMatch(pattern -> 
-            Pattern.compile(pattern.toLowerCase()).matcher(text).find()
-        );
+    private boolean isRelevantOpportunity(TextFeatures features) {
+        // Check for startup signals in question or answer
+        return features.containsAnyAnywhere(SIGNAL_KEYWORDS) || features.hasSeriesRoundMention();
     }
 
-    private OpportunityType determineOpportunityType(String text) {
-        String lowerText = text.toLowerCase();
-        
-        if (lowerText.contains("raised") || lowerText.contains("funding") || 
-            lowerText.contains("series") || lowerText.contains("seed")) {
-            return OpportunityType.STARTUP_FUNDING;
-        } else if (lowerText.contains("launch") || lowerText.contains("beta") || 
-                   lowerText.contains("early access")) {
-            return OpportunityType.PRODUCT_LAUNCH;
-        } else if (lowerText.contains("co-founder") || lowerText.contains("hiring") || 
-                   lowerText.contains("looking for")) {
-            return OpportunityType.JOB_POSTING_SIGNAL;
-        } else if (lowerText.contains("partner") || lowerText.contains("collaboration")) {
-            return OpportunityType.PARTNERSHIP;
-        } else if (lowerText.contains("trend") || lowerText.contains("disrupting")) {
-            return OpportunityType.TECHNOLOGY_TREND;
-        }
-        
-        return OpportunityType.TECHNOLOGY_TREND;
-    }
-
-    private String extractCompanyName(String text) {
+    private String extractCompanyName(TextFeatures features) {
         // Look for company name patterns
-        Pattern companyPattern = Pattern.compile("(?:We're building |I'm working on |launched |building )([A-Z][a-zA-Z]+(?:[A-Z][a-zA-Z]+)?)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = companyPattern.matcher(text);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
+        String company = ExtractionPatterns.COMPANY_BEING_BUILT.firstGroup(features.body());
+        if (company != null) {
+            return company;
         }
         
         // Look for capitalized words that might be company names
-        Pattern capsPattern = Pattern.compile("\\b([A-Z][a-zA-Z]{3,}(?:[A-Z][a-zA-Z]+)?)\\b");
-        matcher = capsPattern.matcher(text);
-        
-        if (matcher.find()) {
-            String potential = matcher.group(1);
-            // Filter out common words
-            if (!List.of("Series", "We're", "The", "This", "That").contains(potential)) {
-                return potential;
-            }
-        }
-        
-        return "Unknown Startup";
-    }
-
-    private Industry inferIndustry(String text) {
-        String lowerText = text.toLowerCase();
-        
-        if (lowerText.contains("ai") || lowerText.contains("artificial intelligence") || 
-            lowerText.contains("machine learning") || lowerText.contains("neural")) {
-            return Industry.ARTIFICIAL_INTELLIGENCE;
-        } else if (lowerText.contains("fintech") || lowerText.contains("payment") || 
-                   lowerText.contains("banking") || lowerText.contains("finance")) {
-            return Industry.FINTECH;
-        } else if (lowerText.contains("health") || lowerText.contains("medical") || 
-                   lowerText.contains("patient")) {
-            return Industry.HEALTHTECH;
-        } else if (lowerText.contains("education") || lowerText.contains("learning") || 
-                   lowerText.contains("edtech")) {
-            return Industry.EDTECH;
-        } else if (lowerText.contains("developer") || lowerText.contains("code") || 
-                   lowerText.contains("devops")) {
-            return Industry.DEVOPS;
-        } else if (lowerText.contains("saas") || lowerText.contains("software")) {
-            return Industry.ENTERPRISE_SOFTWARE;
-        } else if (lowerText.contains("cyber") || lowerText.contains("security")) {
-            return Industry.CYBERSECURITY;
-        } else if (lowerText.contains("data") || lowerText.contains("analytics")) {
-            return Industry.DATA_ANALYTICS;
-        }
-        
-        return Industry.ENTERPRISE_SOFTWARE;
+        return features.candidateEntities().stream()
+            .findFirst()
+            .orElse("Unknown Startup");
     }
 
     private BigDecimal calculateQuoraScore(QuoraSample sample) {
@@ -261,29 +238,15 @@ public class QuoraDataSourceService extends AbstractDataSourceService {
         return BigDecimal.valueOf(Math.min(100.0, score));
     }
 
-    private List<String> extractTags(String text) {
+    private List<String> extractTags(TextFeatures features) {
         List<String> tags = new ArrayList<>();
-        String lowerText = text.toLowerCase();
         
-        // Technology tags
-        if (lowerText.contains("ai") || lowerText.contains("artificial intelligence")) {
-            tags.add("ai");
+        // Technology, stage and type tags
+        for (KeywordRule<String> rule : TAG_RULES) {
+            if (features.containsAnyAnywhere(rule.keywords())) {
+                tags.add(rule.label());
+            }
         }
-        if (lowerText.contains("machine learning")) tags.add("machine-learning");
-        if (lowerText.contains("blockchain")) tags.add("blockchain");
-        if (lowerText.contains("iot")) tags.add("iot");
-        if (lowerText.contains("saas")) tags.add("saas");
-        
-        // Stage tags
-        if (lowerText.contains("mvp")) tags.add("mvp");
-        if (lowerText.contains("beta")) tags.add("beta");
-        if (lowerText.contains("seed")) tags.add("seed-stage");
-        if (lowerText.contains("series a")) tags.add("series-a");
-        
-        // Type tags
-        if (lowerText.contains("b2b")) tags.add("b2b");
-        if (lowerText.contains("b2c")) tags.add("b2c");
-        if (lowerText.contains("marketplace")) tags.add("marketplace");
         
         return tags;
     }
@@ -1,9 +1,15 @@
 package com.psehrawa.oppfinder.discovery.service.datasource.reddit;
 
+import com.psehrawa.oppfinder.common.classification.Classification;
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.*;
 import com.psehrawa.oppfinder.discovery.config.RateLimitConfig;
 import com.psehrawa.oppfinder.discovery.service.datasource.AbstractDataSourceService;
+import com.psehrawa.oppfinder.discovery.service.gazetteer.CompanyGazetteer;
+import com.psehrawa.oppfinder.discovery.service.text.KeywordRule;
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatureExtractor;
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatures;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -18,8 +24,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +32,8 @@ public class RedditDataSourceService extends AbstractDataSourceService {
 
     private final RateLimitConfig rateLimitConfig;
     private final RedditApiClient redditApiClient;
+    private final CompanyGazetteer companyGazetteer;
+    private final OpportunityClassifier opportunityClassifier;
     
     // High-value subreddits for startup opportunities
     private static final List<String> STARTUP_SUBREDDITS = List.of(
@@ -53,24 +59,36 @@ public class RedditDataSourceService extends AbstractDataSourceService {
         "pivot", "expansion", "international", "global", "market entry"
     );
 
-    private static final Pattern FUNDING_PATTERN = Pattern.compile(
-        "(\\$[0-9]+(?:\\.[0-9]+)?[MmBbKk]?|[0-9]+(?:\\.[0-9]+)?\\s*(?:million|billion|thousand|M|B|K))\\s*" +
-        "(?:funding|investment|raised|round|capital|valuation)", Pattern.CASE_INSENSITIVE
+    // Tags are not exclusive, every matching rule contributes its tag
+    private static final List<KeywordRule<String>> TAG_RULES = List.of(
+        KeywordRule.of("ai", "ai", "artificial intelligence"),
+        KeywordRule.of("machine-learning", "machine learning", "ml"),
+        KeywordRule.of("blockchain", "blockchain", "crypto"),
+        KeywordRule.of("saas", "saas"),
+        KeywordRule.of("mobile", "mobile", "app"),
+        KeywordRule.of("web", "web", "website"),
+        KeywordRule.of("seed-funding", "seed"),
+        KeywordRule.of("series-a", "series a"),
+        KeywordRule.of("venture-capital", "venture capital", "vc")
     );
 
-    private static final Pattern COMPANY_PATTERN = Pattern.compile(
-        "(?:^|\\s)([A-Z][a-zA-Z0-9]{2,}(?:\\s+[A-Z][a-zA-Z0-9]{2,}){0,2})\\s*" +
-        "(?:raised|funding|launched|announces|acquires|partners)", Pattern.CASE_INSENSITIVE
+    private static final TextFeatureExtractor EXTRACTOR = new TextFeatureExtractor(
+        OPPORTUNITY_KEYWORDS,
+        TextFeatureExtractor.keywordsOf(TAG_RULES)
     );
 
     public RedditDataSourceService(
             @Qualifier("redditWebClient") WebClient redditWebClient,
             @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
             RateLimitConfig rateLimitConfig,
-            RedditApiClient redditApiClient) {
+            RedditApiClient redditApiClient,
+            CompanyGazetteer companyGazetteer,
+            OpportunityClassifier opportunityClassifier) {
         super(redditWebClient, redisTemplate);
         this.rateLimitConfig = rateLimitConfig;
         this.redditApiClient = redditApiClient;
+        this.companyGazetteer = companyGazetteer;
+        this.opportunityClassifier = opportunityClassifier;
     }
 
     @Override
@@ -146,8 +164,9 @@ public class RedditDataSourceService extends AbstractDataSourceService {
                     }
                     
                     // Check if post contains opportunity indicators
-                    if (isOpportunityPost(post)) {
-                        OpportunityDto opportunity = createOpportunityFromPost(post);
+                    TextFeatures features = extractFeatures(post);
+                    if (isOpportunityPost(post, features)) {
+                        OpportunityDto opportunity = createOpportunityFromPost(post, features);
                         if (opportunity != null) {
                             opportunities.add(opportunity);
                         }
@@ -173,19 +192,24 @@ public class RedditDataSourceService extends AbstractDataSourceService {
         return postTime.isBefore(since);
     }
 
-    private boolean isOpportunityPost(RedditApiClient.RedditPost post) {
-        String content = ((post.getTitle() != null ? post.getTitle() : "") + " " + 
-                         (post.getSelftext() != null ? post.getSelftext() : "")).toLowerCase();
-        
+    /**
+     * Scan the post once; title and body form the document, the subreddit is context
+     */
+    private TextFeatures extractFeatures(RedditApiClient.RedditPost post) {
+        String content = (post.getTitle() != null ? post.getTitle() : "") + " " +
+                         (post.getSelftext() != null ? post.getSelftext() : "");
+        return EXTRACTOR.extract(content, post.getSubreddit());
+    }
+
+    private boolean isOpportunityPost(RedditApiClient.RedditPost post, TextFeatures features) {
         // Check for opportunity keywords
-        boolean hasKeywords = OPPORTUNITY_KEYWORDS.stream()
-            .anyMatch(keyword -> content.contains(keyword.toLowerCase()));
+        boolean hasKeywords = features.containsAny(OPPORTUNITY_KEYWORDS);
         
         // Check for funding patterns
-        boolean hasFunding = FUNDING_PATTERN.matcher(content).find();
+        boolean hasFunding = features.hasFundingMention();
         
         // Check for company mentions
-        boolean hasCompany = COMPANY_PATTERN.matcher(content).find();
+        boolean hasCompany = !features.companyMentions().isEmpty();
         
         // Must have high engagement (score > 10 or comments > 5)
         boolean hasEngagement = (post.getScore() != null && post.getScore() > 10) || 
@@ -205,7 +229,7 @@ public class RedditDataSourceService extends AbstractDataSourceService {
                "[deleted]".equals(post.getAuthor());
     }
 
-    private OpportunityDto createOpportunityFromPost(RedditApiClient.RedditPost post) {
+    private OpportunityDto createOpportunityFromPost(RedditApiClient.RedditPost post, TextFeatures features) {
         try {
             OpportunityDto opportunity = createBaseOpportunity(
                 "reddit-" + post.getId(),
@@ -218,15 +242,15 @@ public class RedditDataSourceService extends AbstractDataSourceService {
             opportunity.setSource(DataSource.REDDIT);
             opportunity.setStatus(OpportunityStatus.DISCOVERED);
             
-            // Determine opportunity type based on content
-            opportunity.setType(determineOpportunityType(post));
+            // Classify type and industry from content and subreddit in one pass
+            Classification classification = opportunityClassifier.classify(features.body(), post.getSubreddit());
+            opportunity.setType(classification.type(OpportunityType.STARTUP_FUNDING));
             
             // Extract company information
-            opportunity.setCompanyName(extractCompanyName(post));
+            opportunity.setCompanyName(extractCompanyName(features));
             opportunity.setCompanySize(CompanySize.STARTUP); // Default for Reddit posts
             
-            // Infer industry from content
-            opportunity.setIndustry(inferIndustry(post));
+            opportunity.setIndustry(classification.industry(Industry.ENTERPRISE_SOFTWARE));
             
             // Set timing information
             if (post.getCreatedUtc() != null) {
@@ -258,11 +282,14 @@ public class RedditDataSourceService extends AbstractDataSourceService {
             }
             opportunity.setMetadata(metadata);
 
+            // Known companies override the guessed name, industry and size
+            applyKnownCompany(opportunity, companyGazetteer.firstMention(features.body()));
+
             // Add tags
             List<String> tags = new ArrayList<>();
             tags.add("reddit");
             tags.add(post.getSubreddit());
-            tags.addAll(extractTags(post));
+            tags.addAll(extractTags(post, features));
             opportunity.setTags(tags);
 
             return opportunity;
@@ -273,84 +300,19 @@ public class RedditDataSourceService extends AbstractDataSourceService {
         }
     }
 
-    private OpportunityType determineOpportunityType(RedditApiClient.RedditPost post) {
-        String content = ((post.getTitle() != null ? post.getTitle() : "") + " " + 
-                         (post.getSelftext() != null ? post.getSelftext() : "")).toLowerCase();
-        
-        if (content.contains("funding") || content.contains("investment") || 
-            content.contains("raised") || content.contains("round")) {
-            return OpportunityType.STARTUP_FUNDING;
-        } else if (content.contains("launch") || content.contains("released") || 
-                   content.contains("announcing")) {
-            return OpportunityType.PRODUCT_LAUNCH;
-        } else if (content.contains("hiring") || content.contains("looking for") || 
-                   content.contains("cofounder")) {
-            return OpportunityType.JOB_POSTING_SIGNAL;
-        } else if (content.contains("partnership") || content.contains("collaboration")) {
-            return OpportunityType.PARTNERSHIP;
-        } else if (content.contains("acquisition") || content.contains("acquired")) {
-            return OpportunityType.ACQUISITION_TARGET;
-        } else if (content.contains("trend") || content.contains("future") || 
-                   content.contains("innovation")) {
-            return OpportunityType.TECHNOLOGY_TREND;
-        } else {
-            return OpportunityType.STARTUP_FUNDING; // Default
-        }
-    }
-
-    private String extractCompanyName(RedditApiClient.RedditPost post) {
-        String content = (post.getTitle() != null ? post.getTitle() : "") + " " + 
-                        (post.getSelftext() != null ? post.getSelftext() : "");
-        
-        Matcher matcher = COMPANY_PATTERN.matcher(content);
-        if (matcher.find()) {
-            return matcher.group(1).trim();
+    /**
+     * A company mentioned with a funding or launch verb, else the first capitalized
+     * phrase that is not a common word such as "The", skipping past any that are
+     */
+    static String extractCompanyName(TextFeatures features) {
+        if (!features.companyMentions().isEmpty()) {
+            return features.companyMentions().get(0);
         }
         
-        // Fallback: look for capitalized words that might be company names
-        Pattern fallbackPattern = Pattern.compile("\\b([A-Z][a-zA-Z]{2,}(?:\\s+[A-Z][a-zA-Z]{2,}){0,1})\\b");
-        matcher = fallbackPattern.matcher(content);
-        if (matcher.find()) {
-            String candidate = matcher.group(1).trim();
-            // Filter out common words
-            if (!List.of("Reddit", "The", "This", "That", "We", "Our", "My").contains(candidate)) {
-                return candidate;
-            }
-        }
-        
-        return "Unknown Company";
-    }
-
-    private Industry inferIndustry(RedditApiClient.RedditPost post) {
-        String content = ((post.getTitle() != null ? post.getTitle() : "") + " " + 
-                         (post.getSelftext() != null ? post.getSelftext() : "") + " " +
-                         (post.getSubreddit() != null ? post.getSubreddit() : "")).toLowerCase();
-        
-        if (content.contains("ai") || content.contains("artificial") || 
-            content.contains("machine learning") || content.contains("ml")) {
-            return Industry.ARTIFICIAL_INTELLIGENCE;
-        } else if (content.contains("fintech") || content.contains("finance") || 
-                   content.contains("banking") || content.contains("payment")) {
-            return Industry.FINTECH;
-        } else if (content.contains("health") || content.contains("medical") || 
-                   content.contains("healthcare")) {
-            return Industry.HEALTHTECH;
-        } else if (content.contains("education") || content.contains("edtech") || 
-                   content.contains("learning")) {
-            return Industry.EDTECH;
-        } else if (content.contains("saas") || content.contains("software") || 
-                   content.contains("app")) {
-            return Industry.ENTERPRISE_SOFTWARE;
-        } else if (content.contains("security") || content.contains("cyber")) {
-            return Industry.CYBERSECURITY;
-        } else if (content.contains("blockchain") || content.contains("crypto")) {
-            return Industry.BLOCKCHAIN;
-        } else if (content.contains("ecommerce") || content.contains("e-commerce") || 
-                   content.contains("retail")) {
-            return Industry.ECOMMERCE;
-        } else {
-            return Industry.ENTERPRISE_SOFTWARE; // Default
-        }
+        // Fallback: capitalized words that might be company names
+        return features.candidateEntities().stream()
+            .findFirst()
+            .orElse("Unknown Company");
     }
 
     private BigDecimal calculateRedditScore(RedditApiClient.RedditPost post) {
@@ -449,41 +411,14 @@ public class RedditDataSourceService extends AbstractDataSourceService {
         return BigDecimal.valueOf(Math.min(100.0, potential));
     }
 
-    private List<String> extractTags(RedditApiClient.RedditPost post) {
+    private List<String> extractTags(RedditApiClient.RedditPost post, TextFeatures features) {
         List<String> tags = new ArrayList<>();
         
-        String content = ((post.getTitle() != null ? post.getTitle() : "") + " " + 
-                         (post.getSelftext() != null ? post.getSelftext() : "")).toLowerCase();
-        
-        // Add technology-related tags
-        if (content.contains("ai") || content.contains("artificial intelligence")) {
-            tags.add("ai");
-        }
-        if (content.contains("machine learning") || content.contains("ml")) {
-            tags.add("machine-learning");
-        }
-        if (content.contains("blockchain") || content.contains("crypto")) {
-            tags.add("blockchain");
-        }
-        if (content.contains("saas")) {
-            tags.add("saas");
-        }
-        if (content.contains("mobile") || content.contains("app")) {
-            tags.add("mobile");
-        }
-        if (content.contains("web") || content.contains("website")) {
-            tags.add("web");
-        }
-        
-        // Add funding-related tags
-        if (content.contains("seed")) {
-            tags.add("seed-funding");
-        }
-        if (content.contains("series a")) {
-            tags.add("series-a");
-        }
-        if (content.contains("venture capital") || content.contains("vc")) {
-            tags.add("venture-capital");
+        // Add technology and funding related tags
+        for (KeywordRule<String> rule : TAG_RULES) {
+            if (features.containsAny(rule.keywords())) {
+                tags.add(rule.label());
+            }
         }
         
         // Add flair as tag if available
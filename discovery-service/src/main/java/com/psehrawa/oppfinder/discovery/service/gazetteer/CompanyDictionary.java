@@ -0,0 +1,254 @@
+package com.psehrawa.oppfinder.discovery.service.gazetteer;
+
+import com.psehrawa.oppfinder.common.enums.CompanySize;
+import com.psehrawa.oppfinder.common.enums.Country;
+import com.psehrawa.oppfinder.common.enums.Industry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable company dictionary compiled into an array-packed trie.
+ *
+ * Every name and alias is normalized (lowercase, single spaces) and inserted into a
+ * trie whose nodes are stored as ranges of one sorted edge array, so a lookup is a
+ * binary search per character and the whole structure is a handful of primitive
+ * arrays. {@link #findMentions} walks the text once, taking the longest name that
+ * starts at each word and ends on a word boundary.
+ */
+public final class CompanyDictionary {
+
+    public static final CompanyDictionary EMPTY = new CompanyDictionary(List.of());
+
+    private static final long NO_MATCH = -1L;
+
+    private final CompanyEntry[] entries;
+    private final Map<String, CompanyEntry> entriesById;
+    private final int duplicateNames;
+
+    // Node n owns edges [edgeStart[n], edgeStart[n + 1]), sorted by label
+    private final int[] edgeStart;
+    private final char[] edgeLabels;
+    private final int[] edgeTargets;
+    // Entry index of the name ending at each node, or -1
+    private final int[] terminals;
+
+    public CompanyDictionary(List<CompanyEntry> companies) {
+        this.entries = companies.toArray(new CompanyEntry[0]);
+        this.entriesById = new HashMap<>();
+
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        children.add(new HashMap<>());
+        values.add(-1);
+        int duplicates = 0;
+
+        for (int e = 0; e < entries.length; e++) {
+            entriesById.putIfAbsent(entries[e].id(), entries[e]);
+            List<String> names = new ArrayList<>();
+            names.add(entries[e].name());
+            names.addAll(entries[e].aliases());
+            for (String name : names) {
+                String key = normalize(name);
+                if (key.isEmpty()) {
+                    continue;
+                }
+                int node = 0;
+                for (int i = 0; i < key.length(); i++) {
+                    Integer next = children.get(node).get(key.charAt(i));
+                    if (next == null) {
+                        next = children.size();
+                        children.add(new HashMap<>());
+                        values.add(-1);
+                        children.get(node).put(key.charAt(i), next);
+                    }
+                    node = next;
+                }
+                // The first entry to claim a name keeps it
+                if (values.get(node) < 0) {
+                    values.set(node, e);
+                } else if (values.get(node) != e) {
+                    duplicates++;
+                }
+            }
+        }
+        this.duplicateNames = duplicates;
+
+        int nodes = children.size();
+        int edges = nodes - 1;
+        this.edgeStart = new int[nodes + 1];
+        this.edgeLabels = new char[edges];
+        this.edgeTargets = new int[edges];
+        this.terminals = new int[nodes];
+        int offset = 0;
+        for (int n = 0; n < nodes; n++) {
+            edgeStart[n] = offset;
+            terminals[n] = values.get(n);
+            Map<Character, Integer> edgeMap = children.get(n);
+            char[] labels = new char[edgeMap.size()];
+            int i = 0;
+            for (Character label : edgeMap.keySet()) {
+                labels[i++] = label;
+            }
+            Arrays.sort(labels);
+            for (char label : labels) {
+                edgeLabels[offset] = label;
+                edgeTargets[offset] = edgeMap.get(label);
+                offset++;
+            }
+        }
+        edgeStart[nodes] = offset;
+    }
+
+    /**
+     * Parse a tab-separated dictionary: id, name, aliases (separated by '|'), industry,
+     * size, country. Blank lines and lines starting with '#' are skipped; empty enum
+     * columns mean unknown.
+     */
+    public static CompanyDictionary parse(BufferedReader reader) throws IOException {
+        List<CompanyEntry> companies = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            if (columns.length < 2 || columns[0].isBlank() || columns[1].isBlank()) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected at least id and name");
+            }
+            try {
+                companies.add(new CompanyEntry(
+                    columns[0].trim(),
+                    columns[1].trim(),
+                    columns.length > 2 ? aliases(columns[2]) : List.of(),
+                    columns.length > 3 ? enumValue(Industry.class, columns[3]) : null,
+                    columns.length > 4 ? enumValue(CompanySize.class, columns[4]) : null,
+                    columns.length > 5 ? enumValue(Country.class, columns[5]) : null
+                ));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return new CompanyDictionary(companies);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Names or aliases shared by more than one entry; only the first entry gets them
+     */
+    public int duplicateNames() {
+        return duplicateNames;
+    }
+
+    public CompanyEntry findById(String id) {
+        return entriesById.get(id);
+    }
+
+    /**
+     * Longest company names in the text, left to right and non-overlapping.
+     * A match must start with a capital letter or digit, so "a notion of" does not
+     * match Notion while "Notion raised" does.
+     */
+    public List<CompanyMention> findMentions(CharSequence text) {
+        List<CompanyMention> mentions = new ArrayList<>();
+        if (text == null) {
+            return mentions;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char first = text.charAt(i);
+            boolean wordStart = Character.isLetterOrDigit(first)
+                && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+            if (!wordStart) {
+                i++;
+                continue;
+            }
+            long match = Character.isLowerCase(first) ? NO_MATCH : longestMatch(text, i);
+            if (match != NO_MATCH) {
+                int matchEnd = (int) (match >>> 32);
+                mentions.add(new CompanyMention(entries[(int) match], i, matchEnd));
+                i = matchEnd;
+            } else {
+                while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        return mentions;
+    }
+
+    /**
+     * First company mentioned in the text, or null
+     */
+    public CompanyMention firstMention(CharSequence text) {
+        List<CompanyMention> mentions = findMentions(text);
+        return mentions.isEmpty() ? null : mentions.get(0);
+    }
+
+    /**
+     * Longest name starting at {@code from}, packed as (end << 32 | entry index)
+     */
+    private long longestMatch(CharSequence text, int from) {
+        int length = text.length();
+        int node = 0;
+        long best = NO_MATCH;
+        int j = from;
+        while (j < length) {
+            char c = text.charAt(j);
+            if (Character.isWhitespace(c)) {
+                // Any whitespace run matches the single space of a normalized name
+                while (j < length && Character.isWhitespace(text.charAt(j))) {
+                    j++;
+                }
+                c = ' ';
+            } else {
+                c = Character.toLowerCase(c);
+                j++;
+            }
+            node = child(node, c);
+            if (node < 0) {
+                break;
+            }
+            if (terminals[node] >= 0 && c != ' ' && (j == length || !Character.isLetterOrDigit(text.charAt(j)))) {
+                best = ((long) j << 32) | terminals[node];
+            }
+        }
+        return best;
+    }
+
+    private int child(int node, char label) {
+        int index = Arrays.binarySearch(edgeLabels, edgeStart[node], edgeStart[node + 1], label);
+        return index >= 0 ? edgeTargets[index] : -1;
+    }
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static List<String> aliases(String column) {
+        List<String> aliases = new ArrayList<>();
+        for (String alias : column.split("\\|")) {
+            if (!alias.isBlank()) {
+                aliases.add(alias.trim());
+            }
+        }
+        return aliases;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String column) {
+        String value = column.trim();
+        return value.isEmpty() ? null : Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+    }
+}
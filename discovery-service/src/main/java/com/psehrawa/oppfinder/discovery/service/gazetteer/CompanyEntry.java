@@ -0,0 +1,21 @@
+package com.psehrawa.oppfinder.discovery.service.gazetteer;
+
+import com.psehrawa.oppfinder.common.enums.CompanySize;
+import com.psehrawa.oppfinder.common.enums.Country;
+import com.psehrawa.oppfinder.common.enums.Industry;
+
+import java.util.List;
+
+/**
+ * A known company with its canonical ID and the names it goes by.
+ * Industry, size and country may be null when the dictionary does not know them.
+ */
+public record CompanyEntry(
+    String id,
+    String name,
+    List<String> aliases,
+    Industry industry,
+    CompanySize size,
+    Country country
+) {
+}
@@ -0,0 +1,109 @@
+package com.psehrawa.oppfinder.discovery.service.gazetteer;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Company gazetteer: finds known companies in text and maps them to canonical entries.
+ *
+ * The compiled dictionary is swapped atomically, so lookups never see a partial
+ * reload. When a dictionary file is configured it is polled for changes; a file that
+ * fails to parse is logged and the previous dictionary stays in use.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CompanyGazetteer {
+
+    static final String BUNDLED_DICTIONARY = "gazetteer/companies.tsv";
+
+    private final GazetteerProperties properties;
+
+    private final AtomicReference<CompanyDictionary> dictionary = new AtomicReference<>(CompanyDictionary.EMPTY);
+    private volatile long loadedModifiedTime = Long.MIN_VALUE;
+
+    @PostConstruct
+    public void load() {
+        if (StringUtils.hasText(properties.getDictionaryPath()) && reloadIfChanged()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(BUNDLED_DICTIONARY).getInputStream(), StandardCharsets.UTF_8))) {
+            install(CompanyDictionary.parse(reader), BUNDLED_DICTIONARY);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to load bundled company dictionary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the configured dictionary file if it changed since the last load
+     *
+     * @return whether a new dictionary was installed
+     */
+    @Scheduled(fixedDelayString = "${oppfinder.discovery.gazetteer.reload-interval-ms:30000}")
+    public boolean reloadIfChanged() {
+        String dictionaryPath = properties.getDictionaryPath();
+        if (!StringUtils.hasText(dictionaryPath)) {
+            return false;
+        }
+
+        Path path = Path.of(dictionaryPath);
+        try {
+            long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+            if (modifiedTime == loadedModifiedTime) {
+                return false;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                install(CompanyDictionary.parse(reader), dictionaryPath);
+            }
+            loadedModifiedTime = modifiedTime;
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to load company dictionary {}, keeping {} loaded companies: {}",
+                    dictionaryPath, dictionary.get().size(), e.getMessage());
+            return false;
+        }
+    }
+
+    public List<CompanyMention> findMentions(CharSequence text) {
+        return dictionary.get().findMentions(text);
+    }
+
+    /**
+     * First known company in the text, or null
+     */
+    public CompanyMention firstMention(CharSequence text) {
+        return dictionary.get().firstMention(text);
+    }
+
+    public CompanyEntry findById(String id) {
+        return dictionary.get().findById(id);
+    }
+
+    public int size() {
+        return dictionary.get().size();
+    }
+
+    private void install(CompanyDictionary loaded, String source) {
+        dictionary.set(loaded);
+        if (loaded.duplicateNames() > 0) {
+            log.warn("Company dictionary {} has {} names claimed by more than one company",
+                    source, loaded.duplicateNames());
+        }
+        log.info("Loaded {} companies from {}", loaded.size(), source);
+    }
+}
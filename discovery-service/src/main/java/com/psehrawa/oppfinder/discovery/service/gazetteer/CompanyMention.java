@@ -0,0 +1,7 @@
+package com.psehrawa.oppfinder.discovery.service.gazetteer;
+
+/**
+ * A company found in a text, covering {@code text[start, end)}
+ */
+public record CompanyMention(CompanyEntry company, int start, int end) {
+}
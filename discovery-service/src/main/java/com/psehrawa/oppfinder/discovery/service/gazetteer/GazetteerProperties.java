@@ -0,0 +1,25 @@
+package com.psehrawa.oppfinder.discovery.service.gazetteer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the company gazetteer
+ */
+@Configuration
+@ConfigurationProperties(prefix = "oppfinder.discovery.gazetteer")
+@Data
+public class GazetteerProperties {
+
+    /**
+     * Local dictionary file; when unset the bundled classpath dictionary is used
+     * and hot reload is off
+     */
+    private String dictionaryPath;
+
+    /**
+     * How often the dictionary file is checked for changes
+     */
+    private long reloadIntervalMs = 30_000;
+}
@@ -0,0 +1,124 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.scoring.MlScoringModel;
+import com.psehrawa.oppfinder.common.scoring.ScoringBatch;
+import com.psehrawa.oppfinder.common.scoring.ScoringFeatures;
+import com.psehrawa.oppfinder.common.scoring.ScoringKernel;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Blends a trained {@link MlScoringModel} into rule-based scores.
+ *
+ * With {@code enableMLScoring} the model at {@code mlModelPath} is loaded at startup; a
+ * missing or invalid model is logged and scoring stays rule-based. The model predicts
+ * the base score, which is blended with the rule-based one by {@code mlBlendWeight};
+ * the recency part is kept from the rules, so stored base and peak scores still decay
+ * at query time as in {@link com.psehrawa.oppfinder.common.scoring.RecencyDecay}.
+ *
+ * ML scoring cannot be combined with {@code scoring.workers.enabled}: the workers score
+ * with the rules alone, so their results and this service's blended scores would keep
+ * replacing each other under different versions. Startup fails on that combination.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MlScoringEngine {
+
+    private final ScoringConfigProperties scoringConfig;
+
+    private volatile MlScoringModel model;
+
+    @PostConstruct
+    public void load() {
+        if (!scoringConfig.isEnableMLScoring()) {
+            return;
+        }
+        if (scoringConfig.getWorkers().isEnabled()) {
+            throw new IllegalStateException(
+                "ML scoring cannot be enabled with scoring workers, which score with the rules only");
+        }
+        double blendWeight = scoringConfig.getMlBlendWeight();
+        if (!(blendWeight >= 0.0 && blendWeight <= 1.0)) {
+            throw new IllegalStateException("ML blend weight must be between 0 and 1, current: " + blendWeight);
+        }
+        String modelPath = scoringConfig.getMlModelPath();
+        if (!StringUtils.hasText(modelPath)) {
+            log.warn("ML scoring is enabled without a model path, scoring with rules only");
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(modelPath), StandardCharsets.UTF_8)) {
+            model = MlScoringModel.parse(reader);
+            log.info("Loaded scoring model version {} from {}, blend weight {}",
+                    model.getVersion(), modelPath, blendWeight);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to load scoring model {}, scoring with rules only: {}", modelPath, e.getMessage());
+        }
+    }
+
+    public boolean isActive() {
+        return model != null;
+    }
+
+    /**
+     * Version stored with scores: the rules version, or a digest of the rules version,
+     * model version and blend weight while a model is active, so switching models
+     * rescores every row like a rule change does
+     */
+    public String version(String rulesVersion) {
+        MlScoringModel active = model;
+        if (active == null) {
+            return rulesVersion;
+        }
+        String key = rulesVersion + "\t" + active.getVersion() + "\t" + scoringConfig.getMlBlendWeight();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Replace the rule-based scores of {@code batch}, as written by {@link ScoringKernel},
+     * with blended ones. Does nothing while no model is active.
+     */
+    public void apply(ScoringBatch batch, ScoringRuleSet rules, long nowNanos,
+                      double[] scores, double[] baseScores, double[] peakScores) {
+        MlScoringModel active = model;
+        if (active == null) {
+            return;
+        }
+        double[] predictions = new double[batch.size()];
+        active.predict(ScoringFeatures.extract(batch, rules, nowNanos), predictions);
+
+        if (scoringConfig.getWorkers().isEnabled()) {
+            throw new IllegalStateException(
+                "ML scoring cannot be enabled with scoring workers, which score with the rules only");
+        }
+        double blendWeight = scoringConfig.getMlBlendWeight();
+        for (int i = 0; i < predictions.length; i++) {
+            // 100 x recency weight x multipliers, the most recency can add
+            double recencyRange = peakScores[i] - baseScores[i];
+            double predicted = Math.max(0.0, Math.min(100.0, predictions[i]));
+            double base = blendWeight * predicted + (1.0 - blendWeight) * baseScores[i];
+            double recency = ScoringKernel.recencyScore(batch.discoveredAt(i), nowNanos);
+            baseScores[i] = base;
+            peakScores[i] = base + recencyRange;
+            scores[i] = Math.max(0.0, Math.min(100.0, base + recencyRange * recency / 100.0));
+        }
+    }
+}
@@ -2,14 +2,24 @@ package com.psehrawa.oppfinder.discovery.service.scoring;
 
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.RecencyDecay;
+import com.psehrawa.oppfinder.common.scoring.ScoringBatch;
+import com.psehrawa.oppfinder.common.scoring.ScoringFactor;
+import com.psehrawa.oppfinder.common.scoring.ScoringInputs;
+import com.psehrawa.oppfinder.common.scoring.ScoringKernel;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,7 +30,19 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class OpportunityScoringService {
 
+    /**
+     * Metadata key holding the score a data source assigned on its own
+     */
+    public static final String SOURCE_SCORE = ScoringInputs.SOURCE_SCORE;
+
     private final ScoringConfigProperties scoringConfig;
+    private final ScoringRuleEngine ruleEngine;
+    private final MlScoringEngine mlEngine;
+    private Clock clock = Clock.systemDefaultZone();
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
 
     /**
      * Calculate comprehensive score for an opportunity
@@ -30,18 +52,19 @@ public class OpportunityScoringService {
 
         try {
             double totalScore = 0.0;
-            ScoringConfigProperties.ScoringWeights weights = scoringConfig.getWeights();
+            ScoringWeights weights = scoringConfig.getWeights();
+            ScoringRuleSet rules = ruleEngine.current();
 
             // 1. Funding Stage Score (0-100)
-            double fundingScore = calculateFundingStageScore(opportunity.getFundingStage());
+            double fundingScore = rules.score(ScoringFactor.FUNDING_STAGE, opportunity);
             totalScore += fundingScore * weights.getFundingStage();
 
             // 2. Company Size Score (0-100)
-            double companySizeScore = calculateCompanySizeScore(opportunity.getCompanySize());
+            double companySizeScore = rules.score(ScoringFactor.COMPANY_SIZE, opportunity);
             totalScore += companySizeScore * weights.getCompanySize();
 
             // 3. Industry Trend Score (0-100)
-            double industryScore = calculateIndustryTrendScore(opportunity.getIndustry());
+            double industryScore = rules.score(ScoringFactor.INDUSTRY_TREND, opportunity);
             totalScore += industryScore * weights.getIndustryTrend();
 
             // 4. Social Signals Score (0-100)
@@ -53,7 +76,7 @@ public class OpportunityScoringService {
             totalScore += recencyScore * weights.getRecency();
 
             // 6. Data Source Reliability Score (0-100)
-            double sourceScore = calculateDataSourceScore(opportunity.getSource());
+            double sourceScore = rules.score(ScoringFactor.DATA_SOURCE, opportunity);
             totalScore += sourceScore * weights.getDataSourceReliability();
 
             // 7. Confidence Score factor
@@ -62,10 +85,10 @@ public class OpportunityScoringService {
             totalScore *= confidenceFactor;
 
             // Apply type-specific multipliers
-            totalScore *= getTypeMultiplier(opportunity.getType());
+            totalScore *= rules.score(ScoringFactor.TYPE_MULTIPLIER, opportunity);
 
             // Apply country-specific adjustments
-            totalScore *= getCountryMultiplier(opportunity.getCountry());
+            totalScore *= rules.score(ScoringFactor.COUNTRY_MULTIPLIER, opportunity);
 
             // Ensure score is within bounds [0, 100]
             double finalScore = Math.max(0.0, Math.min(100.0, totalScore));
@@ -73,7 +96,7 @@ public class OpportunityScoringService {
             log.debug("Calculated score {} for opportunity: {} (funding: {}, company: {}, industry: {}, social: {}, recency: {})", 
                 finalScore, opportunity.getTitle(), fundingScore, companySizeScore, industryScore, socialScore, recencyScore);
 
-            return BigDecimal.valueOf(finalScore).setScale(2, RoundingMode.HALF_UP);
+            return toScore(finalScore);
 
         } catch (Exception e) {
             log.error("Error calculating score for opportunity {}: {}", opportunity.getTitle(), e.getMessage());
@@ -81,69 +104,78 @@ public class OpportunityScoringService {
         }
     }
 
-    private double calculateFundingStageScore(FundingStage fundingStage) {
-        if (fundingStage == null) return 50.0;
-
-        return switch (fundingStage) {
-            case PRE_SEED -> 60.0;
-            case SEED -> 75.0;
-            case SERIES_A -> 85.0;
-            case SERIES_B -> 90.0;
-            case SERIES_C -> 95.0;
-            case SERIES_D_PLUS -> 90.0;
-            case IPO -> 70.0; // Less opportunity for early engagement
-            case ACQUISITION -> 60.0; // Limited opportunity
-            case PRIVATE_EQUITY -> 80.0;
-            case DEBT_FINANCING -> 65.0;
-            case GRANT -> 70.0;
-            case CROWDFUNDING -> 55.0;
-            case REVENUE_BASED -> 75.0;
-            case UNKNOWN -> 50.0;
-        };
+    /**
+     * Time-invariant part of the score: every factor except recency, with the
+     * confidence, type and country multipliers applied. See {@link RecencyDecay}.
+     */
+    public BigDecimal calculateBaseScore(OpportunityDto opportunity) {
+        ScoringRuleSet rules = ruleEngine.current();
+        return toScore(factorsWithoutRecency(opportunity, rules) * multiplier(opportunity, rules));
+    }
+
+    /**
+     * What the opportunity scores while fresh, before the cap at 100
+     */
+    public BigDecimal calculatePeakScore(OpportunityDto opportunity) {
+        ScoringRuleSet rules = ruleEngine.current();
+        double multiplier = multiplier(opportunity, rules);
+        double base = factorsWithoutRecency(opportunity, rules) * multiplier;
+        return toScore(base + 100.0 * scoringConfig.getWeights().getRecency() * multiplier);
+    }
+
+    /**
+     * Score a columnar batch against a single clock reading. Unless an ML model is
+     * active (see {@link MlScoringEngine}), each entry equals the unrounded
+     * {@link #calculateOpportunityScore} result; see {@link #toScore}.
+     */
+    public double[] calculateScores(ScoringBatch batch) {
+        double[] scores = new double[batch.size()];
+        calculateScores(batch, scores, null, null);
+        return scores;
+    }
+
+    /**
+     * Like {@link #calculateScores(ScoringBatch)}, also filling the unrounded base and
+     * peak scores when those arrays are given
+     */
+    public void calculateScores(ScoringBatch batch, double[] scores, double[] baseScores, double[] peakScores) {
+        long now = ScoringBatch.toNanos(LocalDateTime.now(clock));
+        ScoringRuleSet rules = ruleEngine.current();
+        ScoringKernel kernel = ScoringKernel.compile(rules, scoringConfig.getWeights());
+        if (!mlEngine.isActive()) {
+            kernel.score(batch, now, scores, baseScores, peakScores);
+            return;
+        }
+        // Blending needs the base and peak scores even when the caller does not
+        double[] base = baseScores != null ? baseScores : new double[batch.size()];
+        double[] peak = peakScores != null ? peakScores : new double[batch.size()];
+        kernel.score(batch, now, scores, base, peak);
+        mlEngine.apply(batch, rules, now, scores, base, peak);
+    }
+
+    /**
+     * Round a raw score the way it is stored
+     */
+    public static BigDecimal toScore(double score) {
+        return ScoringKernel.toScore(score);
     }
 
-    private double calculateCompanySizeScore(CompanySize companySize) {
-        if (companySize == null) return 50.0;
-
-        return switch (companySize) {
-            case STARTUP -> 85.0; // High opportunity for early engagement
-            case SMALL -> 80.0;
-            case MEDIUM -> 75.0;
-            case LARGE -> 60.0;
-            case ENTERPRISE -> 40.0; // Harder to engage with large enterprises
-            case UNKNOWN -> 50.0;
-        };
+    private double factorsWithoutRecency(OpportunityDto opportunity, ScoringRuleSet rules) {
+        ScoringWeights weights = scoringConfig.getWeights();
+        double total = rules.score(ScoringFactor.FUNDING_STAGE, opportunity) * weights.getFundingStage();
+        total += rules.score(ScoringFactor.COMPANY_SIZE, opportunity) * weights.getCompanySize();
+        total += rules.score(ScoringFactor.INDUSTRY_TREND, opportunity) * weights.getIndustryTrend();
+        total += calculateSocialSignalsScore(opportunity) * weights.getSocialSignals();
+        total += rules.score(ScoringFactor.DATA_SOURCE, opportunity) * weights.getDataSourceReliability();
+        return total;
     }
 
-    private double calculateIndustryTrendScore(Industry industry) {
-        if (industry == null) return 50.0;
-
-        // High-trend industries get higher scores
-        return switch (industry) {
-            case ARTIFICIAL_INTELLIGENCE -> 95.0;
-            case FINTECH -> 90.0;
-            case HEALTHTECH -> 88.0;
-            case CYBERSECURITY -> 85.0;
-            case BLOCKCHAIN -> 82.0;
-            case CLOUD_COMPUTING -> 85.0;
-            case IOT -> 80.0;
-            case EDTECH -> 78.0;
-            case DEVOPS -> 75.0;
-            case DATA_ANALYTICS -> 83.0;
-            case MOBILE_TECHNOLOGY -> 70.0;
-            case WEB_DEVELOPMENT -> 65.0;
-            case ENTERPRISE_SOFTWARE -> 75.0;
-            case CONSUMER_SOFTWARE -> 70.0;
-            case GAMING -> 68.0;
-            case ECOMMERCE -> 72.0;
-            case AUTONOMOUS_VEHICLES -> 88.0;
-            case VIRTUAL_REALITY -> 80.0;
-            case RENEWABLE_ENERGY -> 85.0;
-            case BIOTECHNOLOGY -> 87.0;
-            case ROBOTICS -> 84.0;
-            case AEROSPACE -> 78.0;
-            default -> 60.0;
-        };
+    private static double multiplier(OpportunityDto opportunity, ScoringRuleSet rules) {
+        double multiplier = opportunity.getConfidenceScore() != null
+            ? opportunity.getConfidenceScore().doubleValue() / 100.0 : 0.5;
+        multiplier *= rules.score(ScoringFactor.TYPE_MULTIPLIER, opportunity);
+        multiplier *= rules.score(ScoringFactor.COUNTRY_MULTIPLIER, opportunity);
+        return multiplier;
     }
 
     private double calculateSocialSignalsScore(OpportunityDto opportunity) {
@@ -155,10 +187,17 @@ public class OpportunityScoringService {
         try {
             // GitHub specific signals
             if (opportunity.getSource() == DataSource.GITHUB) {
-                score = calculateGitHubSocialScore(metadata);
+                score = calculateGitHubSocialScore(metadata, opportunity.getDiscoveredAt());
+            } else {
+                // Other sources rank posts by their own engagement signals
+                String sourceScore = metadata.get(SOURCE_SCORE);
+                if (sourceScore != null) {
+                    double value = Double.parseDouble(sourceScore);
+                    if (Double.isFinite(value)) {
+                        score = value;
+                    }
+                }
             }
-            // Add other data source social scoring here
-            
         } catch (Exception e) {
             log.warn("Error calculating social signals score: {}", e.getMessage());
         }
@@ -166,7 +205,11 @@ public class OpportunityScoringService {
         return Math.max(0.0, Math.min(100.0, score));
     }
 
-    private double calculateGitHubSocialScore(Map<String, String> metadata) {
+    /**
+     * Repository activity as of discovery, so the stored base and peak scores do not
+     * depend on when scoring ran; ageing is left to {@link RecencyDecay}
+     */
+    private double calculateGitHubSocialScore(Map<String, String> metadata, LocalDateTime discoveredAt) {
         double score = 0.0;
 
         // Stars factor (0-40 points)
@@ -187,12 +230,13 @@ public class OpportunityScoringService {
             } catch (NumberFormatException ignored) {}
         }
 
-        // Recent activity factor (0-20 points)
+        // Recent activity factor (0-20 points), a push after discovery counting as fresh
         String pushedAtStr = metadata.get("pushed_at");
         if (pushedAtStr != null) {
             try {
                 LocalDateTime pushedAt = LocalDateTime.parse(pushedAtStr);
-                long daysSince = ChronoUnit.DAYS.between(pushedAt, LocalDateTime.now());
+                LocalDateTime asOf = discoveredAt != null ? discoveredAt : LocalDateTime.now(clock);
+                long daysSince = Math.max(0, ChronoUnit.DAYS.between(pushedAt, asOf));
                 score += Math.max(0, 20.0 - (daysSince / 30.0) * 20);
             } catch (Exception ignored) {}
         }
@@ -214,89 +258,76 @@ public class OpportunityScoringService {
     }
 
     private double calculateRecencyScore(LocalDateTime discoveredAt) {
-        if (discoveredAt == null) return 50.0;
-
-        long hoursAgo = ChronoUnit.HOURS.between(discoveredAt, LocalDateTime.now());
-        
-        // Recent discoveries get higher scores
-        if (hoursAgo <= 1) return 100.0;
-        if (hoursAgo <= 6) return 90.0;
-        if (hoursAgo <= 24) return 80.0;
-        if (hoursAgo <= 72) return 70.0;
-        if (hoursAgo <= 168) return 60.0; // 1 week
-        
-        // Gradual decrease after 1 week
-        double weeksAgo = hoursAgo / 168.0;
-        return Math.max(20.0, 60.0 - (weeksAgo * 10.0));
+        return RecencyDecay.score(discoveredAt, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Ingestion stage for a new opportunity, see {@link #scoreForIngestion(OpportunityDto, Long, String)}
+     */
+    public void scoreForIngestion(OpportunityDto opportunity) {
+        scoreForIngestion(opportunity, null, null);
     }
 
-    private double calculateDataSourceScore(DataSource source) {
-        if (source == null) return 50.0;
-
-        // Score based on data source reliability and relevance
-        return switch (source) {
-            case GITHUB -> 85.0;
-            case CRUNCHBASE_PRO -> 95.0;
-            case CRUNCHBASE_BASIC -> 80.0;
-            case SEC_EDGAR -> 90.0;
-            case LINKEDIN_API -> 75.0;
-            case HACKER_NEWS -> 70.0;
-            case PRODUCT_HUNT -> 75.0;
-            case REDDIT -> 60.0;
-            case TWITTER_API -> 65.0;
-            case NEWS_API -> 70.0;
-            case GOOGLE_TRENDS -> 60.0;
-            case USPTO_PATENT -> 85.0;
-            case PITCHBOOK -> 95.0;
-            case OWLER -> 80.0;
-            case ANGELLIST -> 85.0;
-            case YOUTUBE_API -> 55.0;
-            case BLIND -> 80.0;  // High reliability for insider information
-            case QUORA -> 65.0;  // Moderate reliability for Q&A content
-        };
+    /**
+     * Ingestion stage, run before an opportunity is persisted. A score set by the data
+     * source is kept as the {@value #SOURCE_SCORE} feature and replaced by the canonical
+     * score; the base and peak scores, the time-invariant engagement potential, the input
+     * hash, the rule version and the scoring time are filled in as well.
+     *
+     * When the stored row was scored from the same inputs under the active rules nothing
+     * is filled in and {@code scoredAt} stays null, so the stored score is kept.
+     *
+     * @return whether the opportunity was scored
+     */
+    public boolean scoreForIngestion(OpportunityDto opportunity, Long storedInputHash, String storedRulesVersion) {
+        if (opportunity.getScoredAt() == null && opportunity.getScore() != null && opportunity.getScore().signum() > 0) {
+            Map<String, String> metadata = opportunity.getMetadata() != null
+                ? new HashMap<>(opportunity.getMetadata())
+                : new HashMap<>();
+            metadata.put(SOURCE_SCORE, opportunity.getScore().toPlainString());
+            opportunity.setMetadata(metadata);
+        }
+
+        long inputHash = inputHash(opportunity);
+        String rulesVersion = rulesVersion();
+        if (storedInputHash != null && storedInputHash == inputHash && rulesVersion.equals(storedRulesVersion)) {
+            log.debug("Scoring inputs unchanged for opportunity: {}", opportunity.getTitle());
+            return false;
+        }
+
+        if (mlEngine.isActive()) {
+            double[] score = new double[1];
+            double[] baseScore = new double[1];
+            double[] peakScore = new double[1];
+            calculateScores(ScoringBatch.of(List.of(opportunity)), score, baseScore, peakScore);
+            opportunity.setScore(toScore(score[0]));
+            opportunity.setBaseScore(toScore(baseScore[0]));
+            opportunity.setPeakScore(toScore(peakScore[0]));
+        } else {
+            opportunity.setScore(calculateOpportunityScore(opportunity));
+            opportunity.setBaseScore(calculateBaseScore(opportunity));
+            opportunity.setPeakScore(calculatePeakScore(opportunity));
+        }
+        opportunity.setEngagementPotential(calculateBaseEngagementPotential(opportunity));
+        opportunity.setScoringInputHash(inputHash);
+        opportunity.setRulesVersion(rulesVersion);
+        opportunity.setScoredAt(LocalDateTime.now(clock));
+        return true;
     }
 
-    private double getTypeMultiplier(OpportunityType type) {
-        if (type == null) return 1.0;
-
-        return switch (type) {
-            case STARTUP_FUNDING -> 1.2;
-            case ACQUISITION_TARGET -> 1.15;
-            case TECHNOLOGY_TREND -> 1.1;
-            case MARKET_EXPANSION -> 1.1;
-            case PRODUCT_LAUNCH -> 1.05;
-            case PARTNERSHIP -> 1.0;
-            case JOB_POSTING_SIGNAL -> 0.9;
-            case PATENT_FILING -> 0.95;
-            case CONFERENCE_ANNOUNCEMENT -> 0.8;
-            case REGULATORY_CHANGE -> 0.9;
-            case COMPETITOR_ANALYSIS -> 0.85;
-            case TECHNOLOGY_ADOPTION -> 1.0;
-        };
+    /**
+     * Fingerprint of the opportunity's scoring inputs, see {@link ScoringInputs}
+     */
+    public long inputHash(OpportunityDto opportunity) {
+        return ScoringInputs.hash(opportunity, scoringConfig.getWeights());
     }
 
-    private double getCountryMultiplier(Country country) {
-        if (country == null) return 1.0;
-
-        // Adjust based on market size and business opportunity
-        return switch (country) {
-            case US -> 1.1;
-            case GB -> 1.05;
-            case CA -> 1.02;
-            case AU -> 1.0;
-            case DE -> 1.05;
-            case FR -> 1.03;
-            case IN -> 1.08;
-            case SG -> 1.06;
-            case JP -> 1.04;
-            case CN -> 1.08;
-            case IL -> 1.1; // High tech concentration
-            case IE -> 1.05;
-            case NL -> 1.03;
-            case SE -> 1.04;
-            case CH -> 1.06;
-            default -> 1.0;
-        };
+    /**
+     * Version of the rule set scoring uses right now, combined with the ML model's
+     * while one is active
+     */
+    public String rulesVersion() {
+        return mlEngine.version(ruleEngine.current().getVersion());
     }
 
     /**
@@ -311,6 +342,14 @@ public class OpportunityScoringService {
      * Calculate engagement potential score
      */
     public BigDecimal calculateEngagementPotential(OpportunityDto opportunity) {
+        return RecencyDecay.currentEngagementPotential(
+            calculateBaseEngagementPotential(opportunity), opportunity.getDiscoveredAt(), LocalDateTime.now(clock));
+    }
+
+    /**
+     * Engagement potential without the bonus for recent discoveries, as stored
+     */
+    public BigDecimal calculateBaseEngagementPotential(OpportunityDto opportunity) {
         double potential = 50.0; // Base potential
 
         // Higher potential for smaller companies
@@ -323,14 +362,6 @@ public class OpportunityScoringService {
         else if (opportunity.getFundingStage() == FundingStage.SERIES_A) potential += 10.0;
         else if (opportunity.getFundingStage() == FundingStage.PRE_SEED) potential += 20.0;
 
-        // Recent discoveries have higher engagement potential
-        if (opportunity.getDiscoveredAt() != null) {
-            long hoursAgo = ChronoUnit.HOURS.between(opportunity.getDiscoveredAt(), LocalDateTime.now());
-            if (hoursAgo <= 24) potential += 15.0;
-            else if (hoursAgo <= 72) potential += 10.0;
-            else if (hoursAgo <= 168) potential += 5.0;
-        }
-
         return BigDecimal.valueOf(Math.min(100.0, potential)).setScale(2, RoundingMode.HALF_UP);
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheEvictions;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies scores computed by the intelligence-service scoring workers.
+ *
+ * A result carries the row version of the event it was scored from and is applied only
+ * while the row still has that version, so a late result never overwrites a score
+ * written since, inline or by another worker; a row whose result was dropped is still
+ * queued or already scored from newer inputs. A result is also skipped when the row
+ * already holds a score from the same inputs under the same rules, which drops this
+ * service's own scored events. Workers run only the score model, so the engagement
+ * potential is derived here.
+ *
+ * This service's active rules are the only authority, as inline scoring on save uses
+ * them: a result scored under another rules version is dropped, and the row stays
+ * queued until the workers run the same rules. Workers read their rules at startup, so
+ * a rule change rolls out by restarting them on the new file.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "oppfinder.discovery.scoring.workers", name = "enabled", havingValue = "true")
+public class ScoredOpportunityListener {
+
+    private static final String APPLY_SCORES = """
+        UPDATE opportunities
+        SET score = ?, base_score = ?, peak_score = ?, engagement_potential = ?, scoring_input_hash = ?,
+            rules_version = ?, scored_at = ?, last_updated = ?, version = COALESCE(version, 0) + 1
+        WHERE id = ? AND COALESCE(version, 0) = ?
+          AND (scored_at IS NULL OR scoring_input_hash IS NULL OR scoring_input_hash <> ?
+               OR rules_version IS NULL OR rules_version <> ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OpportunityScoringService scoringService;
+    private final CacheEvictions cacheEvictions;
+    private final CacheGenerations cacheGenerations;
+
+    @KafkaListener(topics = "${oppfinder.discovery.kafka.topics.opportunity-scored:opportunity.scored}",
+                   groupId = "discovery-score-writer", batch = "true")
+    public void onScored(List<OpportunityDto> results) {
+        int applied = apply(results);
+        log.debug("Applied {} of {} worker scores", applied, results.size());
+    }
+
+    /**
+     * Write back every result scored under the active rules from the row's current
+     * version that changes the stored score, with one batched update
+     *
+     * @return number of rows updated
+     */
+    int apply(List<OpportunityDto> results) {
+        String rulesVersion = scoringService.rulesVersion();
+        List<OpportunityDto> complete = results.stream()
+            .filter(result -> result.getId() != null && result.getVersion() != null && result.getScoredAt() != null
+                && result.getScoringInputHash() != null && result.getRulesVersion() != null)
+            .toList();
+        List<OpportunityDto> scored = complete.stream()
+            .filter(result -> rulesVersion.equals(result.getRulesVersion()))
+            .toList();
+        if (scored.size() < complete.size()) {
+            log.warn("Dropped {} worker scores under other rules than the active version {}; "
+                    + "restart the scoring workers on the current rules", complete.size() - scored.size(), rulesVersion);
+        }
+        if (scored.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(scored.size());
+        for (OpportunityDto result : scored) {
+            updates.add(new Object[]{result.getScore(), result.getBaseScore(), result.getPeakScore(),
+                scoringService.calculateBaseEngagementPotential(result), result.getScoringInputHash(),
+                result.getRulesVersion(), Timestamp.valueOf(result.getScoredAt()), now, result.getId(),
+                result.getVersion(), result.getScoringInputHash(), result.getRulesVersion()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(APPLY_SCORES, updates);
+
+        List<Long> appliedIds = new ArrayList<>(counts.length);
+        try (CacheGenerations.Batch ignored = cacheGenerations.batch()) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    OpportunityDto result = scored.get(i);
+                    appliedIds.add(result.getId());
+                    cacheGenerations.changed(result.getSource(), result.getType(), result.getIsActive());
+                }
+            }
+        }
+        cacheEvictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, appliedIds);
+        return appliedIds.size();
+    }
+}
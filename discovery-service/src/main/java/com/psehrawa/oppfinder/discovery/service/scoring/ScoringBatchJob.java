@@ -0,0 +1,275 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.ScoringBatch;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheEvictions;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rescores dirty opportunities in ID-ordered chunks.
+ *
+ * A row is dirty while {@code scored_at} is null: it was never scored, or the scoring
+ * rules changed since. New and changed opportunities are scored inline on save, so the
+ * work here tracks rule changes and rows written by other writers, not the table size.
+ * Each chunk is read with one keyset query plus one query each for its tags and
+ * metadata, scored in memory, written back with a single batched update and
+ * announced on the scored topic with one producer flush. A row is only written while it
+ * has the version it was read at; one changed meanwhile stays queued for the next run.
+ *
+ * With {@code scoring.workers.enabled} the chunks are published to the updated topic
+ * instead, keyed by ID, and the intelligence-service scoring workers score them; see
+ * {@link ScoredOpportunityListener}. This service's active rules stay authoritative in
+ * both modes: rows scored under other rules are queued either way, and worker results
+ * under other rules are not applied.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScoringBatchJob {
+
+    static final String SCORED_TOPIC = "opportunity.scored";
+    static final String UPDATED_TOPIC = "opportunity.updated";
+
+    private static final String SELECT_CHUNK = """
+        SELECT id, external_id, title, description, source, type, status, country, industry,
+               funding_stage, funding_amount, company_size, score, discovered_at, last_updated,
+               is_active, url, company_name, location, contact_email, confidence_score,
+               engagement_potential, base_score, peak_score, scoring_input_hash, rules_version,
+               scored_at, version
+        FROM opportunities
+        WHERE scored_at IS NULL AND id > ?
+        ORDER BY id
+        LIMIT ?
+        """;
+
+    private static final String UPDATE_SCORES = """
+        UPDATE opportunities
+        SET score = ?, base_score = ?, peak_score = ?, engagement_potential = ?, scoring_input_hash = ?,
+            rules_version = ?, scored_at = ?, last_updated = ?, version = COALESCE(version, 0) + 1
+        WHERE id = ? AND COALESCE(version, 0) = ?
+        """;
+
+    // Range predicates so the rules_version index only visits stale rows
+    private static final String MARK_STALE_RULES = """
+        UPDATE opportunities
+        SET scored_at = NULL
+        WHERE scored_at IS NOT NULL
+          AND (rules_version IS NULL OR rules_version < ? OR rules_version > ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OpportunityScoringService scoringService;
+    private final ScoringConfigProperties scoringConfig;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final CacheEvictions cacheEvictions;
+    private final CacheGenerations cacheGenerations;
+
+    private final AtomicReference<String> markedRulesVersion = new AtomicReference<>();
+
+    /**
+     * Score every dirty opportunity, first marking rows scored under other rules dirty,
+     * or hand them to the scoring workers when those are enabled
+     *
+     * @return number of opportunities scored or published
+     */
+    public int scoreUnscored() {
+        boolean workers = scoringConfig.getWorkers().isEnabled();
+        markStaleRules();
+
+        int chunkSize = Math.max(1, scoringConfig.getBatch().getChunkSize());
+        long lastId = 0;
+        int scored = 0;
+
+        while (true) {
+            List<OpportunityDto> chunk = jdbcTemplate.query(SELECT_CHUNK, OPPORTUNITY_ROW, lastId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            if (workers) {
+                publishChunk(chunk);
+                scored += chunk.size();
+            } else {
+                scored += scoreChunk(chunk);
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+            log.debug("Scored chunk of {} opportunities up to id {}", chunk.size(), lastId);
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        return scored;
+    }
+
+    /**
+     * Queue rows scored under another rule set; runs once per version this instance sees
+     *
+     * @return number of rows marked dirty
+     */
+    int markStaleRules() {
+        String version = scoringService.rulesVersion();
+        if (version.equals(markedRulesVersion.get())) {
+            return 0;
+        }
+        int marked = jdbcTemplate.update(MARK_STALE_RULES, version, version);
+        markedRulesVersion.set(version);
+        if (marked > 0) {
+            log.info("Queued {} opportunities scored under other rules than version {}", marked, version);
+        }
+        return marked;
+    }
+
+    /**
+     * @return number of rows written, leaving out those changed since they were read
+     */
+    private int scoreChunk(List<OpportunityDto> chunk) {
+        loadCollections(chunk);
+
+        LocalDateTime now = LocalDateTime.now();
+        // Read before scoring, so a concurrent rule swap at worst queues the row again
+        String rulesVersion = scoringService.rulesVersion();
+        double[] scores = new double[chunk.size()];
+        double[] baseScores = new double[chunk.size()];
+        double[] peakScores = new double[chunk.size()];
+        scoringService.calculateScores(ScoringBatch.of(chunk), scores, baseScores, peakScores);
+        List<Object[]> updates = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            OpportunityDto opportunity = chunk.get(i);
+            BigDecimal score = OpportunityScoringService.toScore(scores[i]);
+            BigDecimal baseScore = OpportunityScoringService.toScore(baseScores[i]);
+            BigDecimal peakScore = OpportunityScoringService.toScore(peakScores[i]);
+            // Stored without the recency bonus, published with it
+            BigDecimal basePotential = scoringService.calculateBaseEngagementPotential(opportunity);
+            long inputHash = scoringService.inputHash(opportunity);
+            opportunity.setScore(score);
+            opportunity.setBaseScore(baseScore);
+            opportunity.setPeakScore(peakScore);
+            opportunity.setScoringInputHash(inputHash);
+            opportunity.setRulesVersion(rulesVersion);
+            opportunity.setEngagementPotential(scoringService.calculateEngagementPotential(opportunity));
+            opportunity.setScoredAt(now);
+            opportunity.setLastUpdated(now);
+            long readVersion = opportunity.getVersion() != null ? opportunity.getVersion() : 0L;
+            opportunity.setVersion(readVersion + 1);
+            updates.add(new Object[]{score, baseScore, peakScore, basePotential, inputHash, rulesVersion,
+                Timestamp.valueOf(now), Timestamp.valueOf(now), opportunity.getId(), readVersion});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SCORES, updates);
+
+        List<Long> writtenIds = new ArrayList<>(counts.length);
+        try (CacheGenerations.Batch ignored = cacheGenerations.batch()) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+                OpportunityDto opportunity = chunk.get(i);
+                writtenIds.add(opportunity.getId());
+                cacheGenerations.changed(opportunity.getSource(), opportunity.getType(), opportunity.getIsActive());
+                kafkaTemplate.send(SCORED_TOPIC, String.valueOf(opportunity.getId()), opportunity);
+            }
+        }
+        cacheEvictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, writtenIds);
+        kafkaTemplate.flush();
+        return writtenIds.size();
+    }
+
+    /**
+     * Queue a chunk for the scoring workers; the rows stay dirty until results are applied
+     */
+    private void publishChunk(List<OpportunityDto> chunk) {
+        loadCollections(chunk);
+        for (OpportunityDto opportunity : chunk) {
+            kafkaTemplate.send(UPDATED_TOPIC, String.valueOf(opportunity.getId()), opportunity);
+        }
+        kafkaTemplate.flush();
+    }
+
+    /**
+     * Fill tags and metadata for the whole chunk with one query per collection table
+     */
+    private void loadCollections(List<OpportunityDto> chunk) {
+        Map<Long, OpportunityDto> byId = new LinkedHashMap<>();
+        for (OpportunityDto opportunity : chunk) {
+            opportunity.setTags(new ArrayList<>());
+            opportunity.setMetadata(new HashMap<>());
+            byId.put(opportunity.getId(), opportunity);
+        }
+        String ids = String.join(",", Collections.nCopies(byId.size(), "?"));
+        Object[] params = byId.keySet().toArray();
+
+        jdbcTemplate.query(
+            "SELECT opportunity_id, tag FROM opportunity_tags WHERE opportunity_id IN (" + ids + ")",
+            rs -> {
+                byId.get(rs.getLong("opportunity_id")).getTags().add(rs.getString("tag"));
+            },
+            params);
+        jdbcTemplate.query(
+            "SELECT opportunity_id, metadata_key, metadata_value FROM opportunity_metadata WHERE opportunity_id IN (" + ids + ")",
+            rs -> {
+                byId.get(rs.getLong("opportunity_id")).getMetadata()
+                    .put(rs.getString("metadata_key"), rs.getString("metadata_value"));
+            },
+            params);
+    }
+
+    private static final RowMapper<OpportunityDto> OPPORTUNITY_ROW = (rs, rowNum) -> OpportunityDto.builder()
+        .id(rs.getLong("id"))
+        .externalId(rs.getString("external_id"))
+        .title(rs.getString("title"))
+        .description(rs.getString("description"))
+        .source(enumValue(DataSource.class, rs.getString("source")))
+        .type(enumValue(OpportunityType.class, rs.getString("type")))
+        .status(enumValue(OpportunityStatus.class, rs.getString("status")))
+        .country(enumValue(Country.class, rs.getString("country")))
+        .industry(enumValue(Industry.class, rs.getString("industry")))
+        .fundingStage(enumValue(FundingStage.class, rs.getString("funding_stage")))
+        .fundingAmount(rs.getBigDecimal("funding_amount"))
+        .companySize(enumValue(CompanySize.class, rs.getString("company_size")))
+        .score(rs.getBigDecimal("score"))
+        .discoveredAt(toLocalDateTime(rs, "discovered_at"))
+        .lastUpdated(toLocalDateTime(rs, "last_updated"))
+        .isActive(rs.getBoolean("is_active"))
+        .url(rs.getString("url"))
+        .companyName(rs.getString("company_name"))
+        .location(rs.getString("location"))
+        .contactEmail(rs.getString("contact_email"))
+        .confidenceScore(rs.getBigDecimal("confidence_score"))
+        .engagementPotential(rs.getBigDecimal("engagement_potential"))
+        .baseScore(rs.getBigDecimal("base_score"))
+        .peakScore(rs.getBigDecimal("peak_score"))
+        .scoringInputHash(rs.getObject("scoring_input_hash", Long.class))
+        .rulesVersion(rs.getString("rules_version"))
+        .scoredAt(toLocalDateTime(rs, "scored_at"))
+        .version(rs.getObject("version", Long.class))
+        .build();
+
+    static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.psehrawa.oppfinder.discovery.service.scoring;
 
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -12,28 +13,21 @@ import org.springframework.context.annotation.Configuration;
 @Data
 public class ScoringConfigProperties {
 
+    /**
+     * Shared with the intelligence-service workers through {@code scoring/scoring-weights.yml} in common
+     */
     private ScoringWeights weights = new ScoringWeights();
     private ScoringThresholds thresholds = new ScoringThresholds();
+    private ScoringBatch batch = new ScoringBatch();
+    private RuleSettings rules = new RuleSettings();
+    private Simulation simulation = new Simulation();
+    private Workers workers = new Workers();
     private boolean enableMLScoring = false;
     private String mlModelPath;
-
-    @Data
-    public static class ScoringWeights {
-        private double fundingStage = 0.25;
-        private double companySize = 0.20;
-        private double industryTrend = 0.20;
-        private double socialSignals = 0.15;
-        private double recency = 0.10;
-        private double dataSourceReliability = 0.10;
-
-        // Validate that weights sum to 1.0
-        public void validate() {
-            double sum = fundingStage + companySize + industryTrend + socialSignals + recency + dataSourceReliability;
-            if (Math.abs(sum - 1.0) > 0.01) {
-                throw new IllegalStateException("Scoring weights must sum to 1.0, current sum: " + sum);
-            }
-        }
-    }
+    /**
+     * Share of the model's prediction in the base score, 1 replacing the rule-based base score
+     */
+    private double mlBlendWeight = 0.5;
 
     @Data
     public static class ScoringThresholds {
@@ -42,4 +36,37 @@ public class ScoringConfigProperties {
         private double lowQuality = 40.0;
         private double minimumViable = 20.0;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class ScoringBatch {
+        private int chunkSize = 500;
+    }
+
+    @Data
+    public static class RuleSettings {
+        /**
+         * Local rules file; when unset the bundled rules are used and hot reload is off
+         */
+        private String path;
+        private long reloadIntervalMs = 30_000;
+        private int retainedVersions = 10;
+    }
+
+    @Data
+    public static class Simulation {
+        /**
+         * How often a loaded what-if snapshot is rebuilt from the database
+         */
+        private long refreshIntervalMs = 600_000;
+        private int loadChunkSize = 10_000;
+    }
+
+    @Data
+    public static class Workers {
+        /**
+         * Score dirty rows in the intelligence-service workers and apply their results
+         * from the scored topic instead of scoring them here
+         */
+        private boolean enabled = false;
+    }
+}
@@ -0,0 +1,125 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the active scoring rule set and the last few versions before it.
+ *
+ * Starts on the bundled rules. When a rules file is configured it is polled for
+ * changes and each edit is compiled and swapped in atomically, so a scoring call
+ * always sees one consistent rule set. A file that fails to parse is logged and the
+ * active rules stay in place; {@link #activate(String)} rolls back to a retained version.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScoringRuleEngine {
+
+    private final ScoringConfigProperties scoringConfig;
+
+    private final AtomicReference<ScoringRuleSet> active = new AtomicReference<>(ScoringRuleSet.bundled());
+    private final Deque<ScoringRuleSet> history = new ArrayDeque<>();
+    private volatile long loadedModifiedTime = Long.MIN_VALUE;
+
+    @PostConstruct
+    public void load() {
+        remember(active.get());
+        reloadIfChanged();
+    }
+
+    /**
+     * Reload the configured rules file if it changed since the last load
+     *
+     * @return whether a new rule set was installed
+     */
+    @Scheduled(fixedDelayString = "${oppfinder.discovery.scoring.rules.reload-interval-ms:30000}")
+    public boolean reloadIfChanged() {
+        String rulesPath = scoringConfig.getRules().getPath();
+        if (!StringUtils.hasText(rulesPath)) {
+            return false;
+        }
+
+        Path path = Path.of(rulesPath);
+        try {
+            long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+            if (modifiedTime == loadedModifiedTime) {
+                return false;
+            }
+            ScoringRuleSet loaded;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                loaded = ScoringRuleSet.parse(reader);
+            }
+            loadedModifiedTime = modifiedTime;
+            if (loaded.getVersion().equals(active.get().getVersion())) {
+                return false;
+            }
+            install(loaded, rulesPath);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to load scoring rules {}, keeping version {}: {}",
+                    rulesPath, active.get().getVersion(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The rule set scoring should use right now
+     */
+    public ScoringRuleSet current() {
+        return active.get();
+    }
+
+    /**
+     * Versions retained for rollback, newest first
+     */
+    public synchronized List<String> versions() {
+        return history.stream().map(ScoringRuleSet::getVersion).toList();
+    }
+
+    /**
+     * Make a retained version active again
+     *
+     * @return whether the version was found
+     */
+    public synchronized boolean activate(String version) {
+        for (ScoringRuleSet rules : history) {
+            if (rules.getVersion().equals(version)) {
+                active.set(rules);
+                log.info("Activated scoring rules version {}", version);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void install(ScoringRuleSet rules, String source) {
+        remember(rules);
+        active.set(rules);
+        log.info("Loaded scoring rules version {} from {}", rules.getVersion(), source);
+    }
+
+    private synchronized void remember(ScoringRuleSet rules) {
+        history.removeIf(retained -> retained.getVersion().equals(rules.getVersion()));
+        history.addFirst(rules);
+        while (history.size() > Math.max(1, scoringConfig.getRules().getRetainedVersions())) {
+            history.removeLast();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import java.util.Map;
+
+/**
+ * Candidate scoring setup to evaluate against the active corpus
+ *
+ * @param weights factor weights to change, keyed like {@code oppfinder.discovery.scoring.weights}
+ *                in camel case; unlisted factors keep their configured weight
+ * @param rules   a complete candidate rules file in the scoring rules TSV format, or null for
+ *                the active rules
+ * @param topN    how many top-ranked opportunities to compare
+ */
+public record ScoringSimulationRequest(
+    Map<String, Double> weights,
+    String rules,
+    Integer topN
+) {}
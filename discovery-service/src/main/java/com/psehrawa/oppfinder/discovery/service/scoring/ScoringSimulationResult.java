@@ -0,0 +1,60 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of scoring the corpus snapshot under the current and a candidate setup
+ */
+public record ScoringSimulationResult(
+    LocalDateTime snapshotTakenAt,
+    int opportunities,
+    String currentRulesVersion,
+    String candidateRulesVersion,
+    ScoringWeights candidateWeights,
+    Distribution current,
+    Distribution candidate,
+    List<ThresholdCrossing> thresholdCrossings,
+    List<RankChange> topRankChanges,
+    long elapsedMs
+) {
+
+    /**
+     * Score distribution; {@code histogram[i]} counts scores in [10i, 10i + 10), with 100 in the last bucket
+     */
+    public record Distribution(
+        double mean,
+        double min,
+        double p50,
+        double p90,
+        double p99,
+        double max,
+        int[] histogram
+    ) {}
+
+    /**
+     * Opportunities moving across one {@code ScoringThresholds} value
+     */
+    public record ThresholdCrossing(
+        String threshold,
+        double value,
+        int currentAtOrAbove,
+        int candidateAtOrAbove,
+        int promoted,
+        int demoted
+    ) {}
+
+    /**
+     * Rank of an opportunity in the top N under either setup; a rank is one more than the
+     * number of opportunities scoring strictly higher
+     */
+    public record RankChange(
+        long opportunityId,
+        int currentRank,
+        int candidateRank,
+        double currentScore,
+        double candidateScore
+    ) {}
+}
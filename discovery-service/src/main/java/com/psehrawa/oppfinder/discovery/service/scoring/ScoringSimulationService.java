@@ -0,0 +1,377 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.ScoringBatch;
+import com.psehrawa.oppfinder.common.scoring.ScoringInputs;
+import com.psehrawa.oppfinder.common.scoring.ScoringKernel;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * What-if scoring: scores the active corpus under the current and a candidate set of
+ * weights or rules and reports how the outcome would change.
+ *
+ * Runs against an in-memory columnar snapshot of the active opportunities, so a
+ * simulation never touches the database and never writes. The snapshot is loaded on
+ * the first simulation and rebuilt every {@code simulation.refresh-interval-ms} after
+ * that; instances that never simulate hold no snapshot. Both setups are scored with
+ * {@link ScoringKernel} against one clock reading.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScoringSimulationService {
+
+    static final int DEFAULT_TOP_N = 50;
+    static final int MAX_TOP_N = 1000;
+
+    private static final String SELECT_ACTIVE_CHUNK = """
+        SELECT id, source, type, country, industry, funding_stage, company_size, confidence_score, discovered_at
+        FROM opportunities
+        WHERE is_active = TRUE AND id > ?
+        ORDER BY id
+        LIMIT ?
+        """;
+
+    private static final String SELECT_METADATA_RANGE = """
+        SELECT opportunity_id, metadata_key, metadata_value
+        FROM opportunity_metadata
+        WHERE opportunity_id > ? AND opportunity_id <= ? AND metadata_key IN (%s)
+        """.formatted(String.join(",", Collections.nCopies(ScoringInputs.METADATA_KEYS.size(), "?")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScoringRuleEngine ruleEngine;
+    private final ScoringConfigProperties scoringConfig;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private Clock clock = Clock.systemDefaultZone();
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Score the snapshot under the current setup and under {@code request}
+     *
+     * @throws IllegalArgumentException if the candidate weights or rules are invalid
+     */
+    public ScoringSimulationResult simulate(ScoringSimulationRequest request) {
+        ScoringWeights candidateWeights = candidateWeights(request.weights());
+        ScoringRuleSet currentRules = ruleEngine.current();
+        ScoringRuleSet candidateRules = request.rules() != null ? parseRules(request.rules()) : currentRules;
+        int topN = request.topN() != null ? Math.max(1, Math.min(MAX_TOP_N, request.topN())) : DEFAULT_TOP_N;
+        Snapshot corpus = snapshot();
+
+        long started = System.nanoTime();
+        long nowNanos = ScoringBatch.toNanos(LocalDateTime.now(clock));
+        int size = corpus.batch().size();
+        double[] current = new double[size];
+        double[] candidate = new double[size];
+        ScoringKernel.compile(currentRules, scoringConfig.getWeights()).score(corpus.batch(), nowNanos, current, null, null);
+        ScoringKernel.compile(candidateRules, candidateWeights).score(corpus.batch(), nowNanos, candidate, null, null);
+
+        double[] currentSorted = current.clone();
+        double[] candidateSorted = candidate.clone();
+        Arrays.parallelSort(currentSorted);
+        Arrays.parallelSort(candidateSorted);
+
+        List<ScoringSimulationResult.RankChange> rankChanges = rankChanges(
+            corpus, current, candidate, currentSorted, candidateSorted, topN);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Simulated scoring of {} opportunities with rules {} in {} ms",
+                size, candidateRules.getVersion(), elapsedMs);
+
+        return new ScoringSimulationResult(
+            corpus.takenAt(),
+            size,
+            currentRules.getVersion(),
+            candidateRules.getVersion(),
+            candidateWeights,
+            distribution(current, currentSorted),
+            distribution(candidate, candidateSorted),
+            thresholdCrossings(current, candidate),
+            rankChanges,
+            elapsedMs);
+    }
+
+    /**
+     * Rebuild a loaded snapshot so simulations track the corpus
+     */
+    @Scheduled(fixedDelayString = "${oppfinder.discovery.scoring.simulation.refresh-interval-ms:600000}")
+    public void refreshSnapshot() {
+        if (snapshot.get() != null) {
+            snapshot.set(load());
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot loaded = snapshot.get();
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (snapshot) {
+            if (snapshot.get() == null) {
+                snapshot.set(load());
+            }
+            return snapshot.get();
+        }
+    }
+
+    /**
+     * Read the scoring columns of every active opportunity in ID-ordered chunks
+     */
+    private Snapshot load() {
+        LocalDateTime takenAt = LocalDateTime.now(clock);
+        int chunkSize = Math.max(1, scoringConfig.getSimulation().getLoadChunkSize());
+        List<ScoringBatch> parts = new ArrayList<>();
+        List<long[]> partIds = new ArrayList<>();
+        long lastId = 0;
+
+        while (true) {
+            List<OpportunityDto> chunk = jdbcTemplate.query(SELECT_ACTIVE_CHUNK, SCORING_ROW, lastId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            long firstId = lastId;
+            lastId = chunk.get(chunk.size() - 1).getId();
+            loadMetadata(chunk, firstId, lastId);
+            parts.add(ScoringBatch.of(chunk));
+            partIds.add(chunk.stream().mapToLong(OpportunityDto::getId).toArray());
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        ScoringBatch batch = ScoringBatch.concat(parts);
+        long[] ids = new long[batch.size()];
+        int offset = 0;
+        for (long[] part : partIds) {
+            System.arraycopy(part, 0, ids, offset, part.length);
+            offset += part.length;
+        }
+        log.info("Loaded scoring simulation snapshot of {} active opportunities", ids.length);
+        return new Snapshot(ids, batch, takenAt);
+    }
+
+    /**
+     * Fill the metadata scoring reads for a chunk covering IDs in ({@code afterId}, {@code lastId}]
+     */
+    private void loadMetadata(List<OpportunityDto> chunk, long afterId, long lastId) {
+        Map<Long, OpportunityDto> byId = new HashMap<>();
+        for (OpportunityDto opportunity : chunk) {
+            opportunity.setMetadata(new HashMap<>());
+            byId.put(opportunity.getId(), opportunity);
+        }
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        params.add(lastId);
+        params.addAll(ScoringInputs.METADATA_KEYS);
+        jdbcTemplate.query(SELECT_METADATA_RANGE, rs -> {
+            // Inactive rows in the ID range are not in the chunk
+            OpportunityDto opportunity = byId.get(rs.getLong("opportunity_id"));
+            if (opportunity != null) {
+                opportunity.getMetadata().put(rs.getString("metadata_key"), rs.getString("metadata_value"));
+            }
+        }, params.toArray());
+    }
+
+    private ScoringWeights candidateWeights(Map<String, Double> overrides) {
+        ScoringWeights configured = scoringConfig.getWeights();
+        ScoringWeights weights = new ScoringWeights();
+        weights.setFundingStage(configured.getFundingStage());
+        weights.setCompanySize(configured.getCompanySize());
+        weights.setIndustryTrend(configured.getIndustryTrend());
+        weights.setSocialSignals(configured.getSocialSignals());
+        weights.setRecency(configured.getRecency());
+        weights.setDataSourceReliability(configured.getDataSourceReliability());
+        if (overrides == null) {
+            return weights;
+        }
+
+        for (Map.Entry<String, Double> override : overrides.entrySet()) {
+            Double value = override.getValue();
+            if (value == null || !Double.isFinite(value) || value < 0) {
+                throw new IllegalArgumentException("Weight " + override.getKey() + " must be a non-negative number");
+            }
+            switch (override.getKey()) {
+                case "fundingStage" -> weights.setFundingStage(value);
+                case "companySize" -> weights.setCompanySize(value);
+                case "industryTrend" -> weights.setIndustryTrend(value);
+                case "socialSignals" -> weights.setSocialSignals(value);
+                case "recency" -> weights.setRecency(value);
+                case "dataSourceReliability" -> weights.setDataSourceReliability(value);
+                default -> throw new IllegalArgumentException("Unknown scoring weight: " + override.getKey());
+            }
+        }
+        return weights;
+    }
+
+    private static ScoringRuleSet parseRules(String rules) {
+        try (BufferedReader reader = new BufferedReader(new StringReader(rules))) {
+            return ScoringRuleSet.parse(reader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable scoring rules: " + e.getMessage(), e);
+        }
+    }
+
+    private static ScoringSimulationResult.Distribution distribution(double[] scores, double[] sorted) {
+        int[] histogram = new int[10];
+        if (scores.length == 0) {
+            return new ScoringSimulationResult.Distribution(0, 0, 0, 0, 0, 0, histogram);
+        }
+        double sum = 0;
+        for (double score : scores) {
+            sum += score;
+            histogram[Math.min(9, (int) (score / 10))]++;
+        }
+        return new ScoringSimulationResult.Distribution(
+            rounded(sum / scores.length),
+            rounded(sorted[0]),
+            rounded(percentile(sorted, 0.50)),
+            rounded(percentile(sorted, 0.90)),
+            rounded(percentile(sorted, 0.99)),
+            rounded(sorted[sorted.length - 1]),
+            histogram);
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array
+     */
+    private static double percentile(double[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private List<ScoringSimulationResult.ThresholdCrossing> thresholdCrossings(double[] current, double[] candidate) {
+        ScoringConfigProperties.ScoringThresholds thresholds = scoringConfig.getThresholds();
+        String[] names = {"highQuality", "mediumQuality", "lowQuality", "minimumViable"};
+        double[] values = {thresholds.getHighQuality(), thresholds.getMediumQuality(),
+                           thresholds.getLowQuality(), thresholds.getMinimumViable()};
+        int[] currentAbove = new int[values.length];
+        int[] candidateAbove = new int[values.length];
+        int[] promoted = new int[values.length];
+        int[] demoted = new int[values.length];
+
+        for (int i = 0; i < current.length; i++) {
+            for (int t = 0; t < values.length; t++) {
+                boolean wasAbove = current[i] >= values[t];
+                boolean isAbove = candidate[i] >= values[t];
+                if (wasAbove) currentAbove[t]++;
+                if (isAbove) candidateAbove[t]++;
+                if (isAbove && !wasAbove) promoted[t]++;
+                if (wasAbove && !isAbove) demoted[t]++;
+            }
+        }
+
+        List<ScoringSimulationResult.ThresholdCrossing> crossings = new ArrayList<>(values.length);
+        for (int t = 0; t < values.length; t++) {
+            crossings.add(new ScoringSimulationResult.ThresholdCrossing(
+                names[t], values[t], currentAbove[t], candidateAbove[t], promoted[t], demoted[t]));
+        }
+        return crossings;
+    }
+
+    /**
+     * Ranks under both setups of every opportunity in either top N, ordered by candidate rank
+     */
+    private static List<ScoringSimulationResult.RankChange> rankChanges(Snapshot corpus, double[] current,
+                                                                        double[] candidate, double[] currentSorted,
+                                                                        double[] candidateSorted, int topN) {
+        Set<Integer> rows = new LinkedHashSet<>(top(corpus, candidate, topN));
+        rows.addAll(top(corpus, current, topN));
+
+        List<ScoringSimulationResult.RankChange> changes = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            changes.add(new ScoringSimulationResult.RankChange(
+                corpus.ids()[row],
+                rank(currentSorted, current[row]),
+                rank(candidateSorted, candidate[row]),
+                rounded(current[row]),
+                rounded(candidate[row])));
+        }
+        changes.sort(Comparator.comparingInt(ScoringSimulationResult.RankChange::candidateRank)
+            .thenComparingInt(ScoringSimulationResult.RankChange::currentRank));
+        return changes;
+    }
+
+    /**
+     * Rows of the top N by score, newest discovery and highest ID first, like the ranking queries
+     */
+    private static List<Integer> top(Snapshot corpus, double[] scores, int topN) {
+        Comparator<Integer> ranking = Comparator.<Integer>comparingDouble(row -> scores[row])
+            .thenComparingLong(row -> corpus.batch().discoveredAt(row))
+            .thenComparingLong(row -> corpus.ids()[row]);
+        PriorityQueue<Integer> lowestFirst = new PriorityQueue<>(topN + 1, ranking);
+        for (int row = 0; row < scores.length; row++) {
+            if (lowestFirst.size() < topN) {
+                lowestFirst.add(row);
+            } else if (scores[row] >= scores[lowestFirst.peek()] && ranking.compare(row, lowestFirst.peek()) > 0) {
+                lowestFirst.poll();
+                lowestFirst.add(row);
+            }
+        }
+        List<Integer> top = new ArrayList<>(lowestFirst);
+        top.sort(ranking.reversed());
+        return top;
+    }
+
+    /**
+     * One more than the number of scores in the ascending array strictly above {@code score}
+     */
+    private static int rank(double[] sorted, double score) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= score) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return sorted.length - low + 1;
+    }
+
+    private static double rounded(double score) {
+        return OpportunityScoringService.toScore(score).doubleValue();
+    }
+
+    private record Snapshot(long[] ids, ScoringBatch batch, LocalDateTime takenAt) {
+    }
+
+    private static final RowMapper<OpportunityDto> SCORING_ROW = (rs, rowNum) -> OpportunityDto.builder()
+        .id(rs.getLong("id"))
+        .source(ScoringBatchJob.enumValue(DataSource.class, rs.getString("source")))
+        .type(ScoringBatchJob.enumValue(OpportunityType.class, rs.getString("type")))
+        .country(ScoringBatchJob.enumValue(Country.class, rs.getString("country")))
+        .industry(ScoringBatchJob.enumValue(Industry.class, rs.getString("industry")))
+        .fundingStage(ScoringBatchJob.enumValue(FundingStage.class, rs.getString("funding_stage")))
+        .companySize(ScoringBatchJob.enumValue(CompanySize.class, rs.getString("company_size")))
+        .confidenceScore(rs.getBigDecimal("confidence_score"))
+        .discoveredAt(ScoringBatchJob.toLocalDateTime(rs, "discovered_at"))
+        .build();
+}
@@ -0,0 +1,551 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.scoring.RecencyDecay;
+import com.psehrawa.oppfinder.discovery.repository.FullTextQuery;
+import com.psehrawa.oppfinder.discovery.repository.OpportunitySpecifications;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Postings lists and filter columns for active opportunities, one slot per document.
+ *
+ * Slots are handed out in increasing order, so appending keeps every postings list
+ * sorted and term lists intersect with a linear merge. Replacing or removing a document
+ * tombstones its slot; tombstones are compacted away once they outnumber live slots.
+ * Hits come in the order {@link OpportunitySpecifications#sort} gives the database for
+ * the same criteria: by current, time-decayed score or by discovery time, then the
+ * discovery time and ID, all in the requested direction. Not thread-safe.
+ */
+final class InvertedIndex {
+
+    // Tags are indexed both as words and whole under this prefix, which no word contains
+    private static final String TAG_TERM = "#";
+    private static final long UNKNOWN_TIME = Long.MIN_VALUE;
+    private static final int MIN_COMPACTION = 1024;
+
+    private final int maxTermsPerDocument;
+    private final Map<String, Postings> postings = new HashMap<>();
+    // For prefix terms; only a new term touches it, so indexing pays hash lookups only
+    private final TreeSet<String> sortedTerms = new TreeSet<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private int slots;
+    private int tombstones;
+    private long[] ids = new long[0];
+    private double[] scores = new double[0];
+    private double[] baseScores = new double[0];
+    private double[] peakScores = new double[0];
+    private double[] fundingAmounts = new double[0];
+    private long[] discoveredAt = new long[0];
+    // Ordinal + 1 per facet, 0 when the value is missing
+    private final byte[][] facets = new byte[Facet.values().length][0];
+
+    InvertedIndex(int maxTermsPerDocument) {
+        this.maxTermsPerDocument = maxTermsPerDocument;
+    }
+
+    int size() {
+        return slotById.size();
+    }
+
+    int terms() {
+        return postings.size();
+    }
+
+    /**
+     * Add or replace an opportunity, or drop it when it is inactive
+     */
+    void put(OpportunityDto opportunity) {
+        remove(opportunity.getId());
+        if (Boolean.FALSE.equals(opportunity.getIsActive())) {
+            return;
+        }
+        int slot = slots++;
+        ensureCapacity(slots);
+        ids[slot] = opportunity.getId();
+        scores[slot] = value(opportunity.getScore());
+        baseScores[slot] = value(opportunity.getBaseScore());
+        peakScores[slot] = value(opportunity.getPeakScore());
+        fundingAmounts[slot] = value(opportunity.getFundingAmount());
+        discoveredAt[slot] = epochSecond(opportunity.getDiscoveredAt());
+        for (Facet facet : Facet.values()) {
+            Enum<?> value = facet.value.apply(opportunity);
+            facets[facet.ordinal()][slot] = (byte) (value != null ? value.ordinal() + 1 : 0);
+        }
+        index(opportunity, slot);
+        slotById.put(opportunity.getId(), slot);
+    }
+
+    void remove(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            deleted.set(slot);
+            if (++tombstones > Math.max(MIN_COMPACTION, slotById.size())) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Order the matches of {@code criteria} by its {@code sortBy} and {@code sortDirection},
+     * scores as of {@code now}, and return IDs {@code offset} to {@code offset + limit};
+     * phrase terms are not supported
+     */
+    SearchHits search(OpportunitySearchCriteria criteria, LocalDateTime now, int offset, int limit) {
+        int[] candidates = candidates(criteria);
+        Filter filter = new Filter(criteria);
+        long nowSecond = epochSecond(now);
+        // The same defaults as OpportunitySpecifications.sort
+        boolean byScore = "score".equals(criteria.getSortBy());
+        TopK top = new TopK(offset + limit, "DESC".equalsIgnoreCase(criteria.getSortDirection()));
+        long total = 0;
+
+        int count = candidates != null ? candidates.length : slots;
+        for (int i = 0; i < count; i++) {
+            int slot = candidates != null ? candidates[i] : i;
+            if (deleted.get(slot) || !filter.matchesColumns(slot)) {
+                continue;
+            }
+            double score = currentScore(slot, nowSecond);
+            if (!filter.matchesScore(score)) {
+                continue;
+            }
+            total++;
+            top.offer(slot, byScore ? score : discoveredAt[slot]);
+        }
+
+        int[] ranked = top.ranked();
+        List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, ranked.length - offset)));
+        for (int i = offset; i < ranked.length; i++) {
+            page.add(ids[ranked[i]]);
+        }
+        return new SearchHits(page, total);
+    }
+
+    /**
+     * Sorted slots matching every text term and any of the tags, or null to scan all slots
+     */
+    private int[] candidates(OpportunitySearchCriteria criteria) {
+        List<int[]> lists = new ArrayList<>();
+        FullTextQuery query = FullTextQuery.parse(criteria.getSearchTerm());
+        if (query.isEmpty() && criteria.getSearchTerm() != null && !criteria.getSearchTerm().isBlank()) {
+            // Text without a single word matches nothing, as in the database
+            return new int[0];
+        }
+        for (FullTextQuery.Term term : query.getTerms()) {
+            String word = term.words().get(0);
+            lists.add(term.prefix() ? union(prefixed(word)) : docs(word));
+        }
+        if (criteria.getTags() != null && !criteria.getTags().isEmpty()) {
+            List<Postings> tags = new ArrayList<>();
+            for (String tag : criteria.getTags()) {
+                Postings list = tag != null ? postings.get(tagTerm(tag)) : null;
+                if (list != null) {
+                    tags.add(list);
+                }
+            }
+            lists.add(union(tags));
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private int[] docs(String term) {
+        Postings list = postings.get(term);
+        return list != null ? Arrays.copyOf(list.docs, list.size) : new int[0];
+    }
+
+    private List<Postings> prefixed(String prefix) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : sortedTerms.subSet(prefix, prefix + Character.MAX_VALUE)) {
+            lists.add(postings.get(term));
+        }
+        return lists;
+    }
+
+    private static int[] union(Iterable<Postings> lists) {
+        BitSet union = new BitSet();
+        for (Postings list : lists) {
+            for (int i = 0; i < list.size; i++) {
+                union.set(list.docs[i]);
+            }
+        }
+        return union.stream().toArray();
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * {@link RecencyDecay#currentScore} from the stored columns, or the stored score for rows
+     * scored before the base/peak split. Not rounded for display: four places hold the
+     * exact decimal the database computes, so bounds and ties compare as they do there.
+     */
+    private double currentScore(int slot, long nowSecond) {
+        double base = baseScores[slot];
+        double peak = peakScores[slot];
+        if (Double.isNaN(base) || Double.isNaN(peak)) {
+            return Double.isNaN(scores[slot]) ? 0.0 : scores[slot];
+        }
+        double recency = discoveredAt[slot] == UNKNOWN_TIME
+            ? RecencyDecay.UNKNOWN
+            : RecencyDecay.score((nowSecond - discoveredAt[slot]) / 3600);
+        double score = Math.max(0.0, Math.min(100.0, base + (peak - base) * recency / 100.0));
+        return Math.round(score * 10_000.0) / 10_000.0;
+    }
+
+    /**
+     * Post the distinct terms of an opportunity, title and company first so a long
+     * description is what gets cut at {@code maxTermsPerDocument}
+     */
+    private void index(OpportunityDto opportunity, int slot) {
+        List<String> tags = opportunity.getTags() != null ? opportunity.getTags() : List.of();
+        for (String tag : tags) {
+            if (tag != null) {
+                post(tagTerm(tag), slot);
+            }
+        }
+        List<String> words = new ArrayList<>(FullTextQuery.words(opportunity.getTitle()));
+        words.addAll(FullTextQuery.words(opportunity.getCompanyName()));
+        tags.forEach(tag -> words.addAll(FullTextQuery.words(tag)));
+        words.addAll(FullTextQuery.words(opportunity.getDescription()));
+        int posted = 0;
+        for (int i = 0; i < words.size() && posted < maxTermsPerDocument; i++) {
+            if (post(words.get(i), slot)) {
+                posted++;
+            }
+        }
+    }
+
+    /**
+     * @return false when the slot already has the term
+     */
+    private boolean post(String term, int slot) {
+        Postings list = postings.get(term);
+        if (list == null) {
+            list = new Postings();
+            postings.put(term, list);
+            sortedTerms.add(term);
+        } else if (list.size > 0 && list.docs[list.size - 1] == slot) {
+            // Slots are posted in increasing order, so a repeat can only be the last entry
+            return false;
+        }
+        list.add(slot);
+        return true;
+    }
+
+    private static String tagTerm(String tag) {
+        return TAG_TERM + tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Renumber live slots densely and drop tombstoned postings
+     */
+    private void compact() {
+        int[] remap = new int[slots];
+        int live = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (deleted.get(slot)) {
+                remap[slot] = -1;
+                continue;
+            }
+            remap[slot] = live;
+            ids[live] = ids[slot];
+            scores[live] = scores[slot];
+            baseScores[live] = baseScores[slot];
+            peakScores[live] = peakScores[slot];
+            fundingAmounts[live] = fundingAmounts[slot];
+            discoveredAt[live] = discoveredAt[slot];
+            for (byte[] column : facets) {
+                column[live] = column[slot];
+            }
+            live++;
+        }
+        postings.entrySet().removeIf(entry -> {
+            boolean empty = entry.getValue().remap(remap) == 0;
+            if (empty) {
+                sortedTerms.remove(entry.getKey());
+            }
+            return empty;
+        });
+        slotById.replaceAll((id, slot) -> remap[slot]);
+        deleted.clear();
+        tombstones = 0;
+        slots = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, Math.max(16, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, grown);
+        scores = Arrays.copyOf(scores, grown);
+        baseScores = Arrays.copyOf(baseScores, grown);
+        peakScores = Arrays.copyOf(peakScores, grown);
+        fundingAmounts = Arrays.copyOf(fundingAmounts, grown);
+        discoveredAt = Arrays.copyOf(discoveredAt, grown);
+        for (int f = 0; f < facets.length; f++) {
+            facets[f] = Arrays.copyOf(facets[f], grown);
+        }
+    }
+
+    private static double value(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : UNKNOWN_TIME;
+    }
+
+    /**
+     * Enum columns filtered with {@link OpportunitySearchCriteria} lists
+     */
+    private enum Facet {
+        TYPE(OpportunityDto::getType, OpportunitySearchCriteria::getTypes),
+        STATUS(OpportunityDto::getStatus, OpportunitySearchCriteria::getStatuses),
+        SOURCE(OpportunityDto::getSource, OpportunitySearchCriteria::getSources),
+        COUNTRY(OpportunityDto::getCountry, OpportunitySearchCriteria::getCountries),
+        INDUSTRY(OpportunityDto::getIndustry, OpportunitySearchCriteria::getIndustries),
+        FUNDING_STAGE(OpportunityDto::getFundingStage, OpportunitySearchCriteria::getFundingStages),
+        COMPANY_SIZE(OpportunityDto::getCompanySize, OpportunitySearchCriteria::getCompanySizes);
+
+        private final Function<OpportunityDto, ? extends Enum<?>> value;
+        private final Function<OpportunitySearchCriteria, ? extends List<? extends Enum<?>>> filter;
+
+        Facet(Function<OpportunityDto, ? extends Enum<?>> value,
+              Function<OpportunitySearchCriteria, ? extends List<? extends Enum<?>>> filter) {
+            this.value = value;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * The column predicates of a search; every enum has fewer than 64 constants, so an
+     * accepted set of ordinals + 1 fits a long
+     */
+    private final class Filter {
+
+        private final long[] accepted = new long[Facet.values().length];
+        private final double minScore;
+        private final double maxScore;
+        private final double minFunding;
+        private final double maxFunding;
+        private final long discoveredAfter;
+        private final long discoveredBefore;
+        private final boolean funding;
+        private final boolean discovery;
+
+        Filter(OpportunitySearchCriteria criteria) {
+            for (Facet facet : Facet.values()) {
+                List<? extends Enum<?>> values = facet.filter.apply(criteria);
+                if (values != null && !values.isEmpty()) {
+                    long mask = 0;
+                    for (Enum<?> value : values) {
+                        if (value != null) {
+                            mask |= 1L << (value.ordinal() + 1);
+                        }
+                    }
+                    accepted[facet.ordinal()] = mask;
+                }
+            }
+            minScore = criteria.getMinScore() != null ? criteria.getMinScore().doubleValue() : Double.NEGATIVE_INFINITY;
+            maxScore = criteria.getMaxScore() != null ? criteria.getMaxScore().doubleValue() : Double.POSITIVE_INFINITY;
+            funding = criteria.getMinFundingAmount() != null || criteria.getMaxFundingAmount() != null;
+            minFunding = criteria.getMinFundingAmount() != null
+                ? criteria.getMinFundingAmount().doubleValue() : Double.NEGATIVE_INFINITY;
+            maxFunding = criteria.getMaxFundingAmount() != null
+                ? criteria.getMaxFundingAmount().doubleValue() : Double.POSITIVE_INFINITY;
+            discovery = criteria.getDiscoveredAfter() != null || criteria.getDiscoveredBefore() != null;
+            discoveredAfter = criteria.getDiscoveredAfter() != null
+                ? epochSecond(criteria.getDiscoveredAfter()) : Long.MIN_VALUE;
+            discoveredBefore = criteria.getDiscoveredBefore() != null
+                ? epochSecond(criteria.getDiscoveredBefore()) : Long.MAX_VALUE;
+        }
+
+        boolean matchesColumns(int slot) {
+            for (int f = 0; f < accepted.length; f++) {
+                if (accepted[f] != 0 && (accepted[f] & (1L << facets[f][slot])) == 0) {
+                    return false;
+                }
+            }
+            if (funding) {
+                // A bound excludes missing amounts, as it does in SQL
+                double amount = fundingAmounts[slot];
+                if (Double.isNaN(amount) || amount < minFunding || amount > maxFunding) {
+                    return false;
+                }
+            }
+            if (discovery) {
+                long time = discoveredAt[slot];
+                return time != UNKNOWN_TIME && time >= discoveredAfter && time <= discoveredBefore;
+            }
+            return true;
+        }
+
+        boolean matchesScore(double score) {
+            return score >= minScore && score <= maxScore;
+        }
+    }
+
+    /**
+     * The first {@code capacity} slots seen in sort order, kept in a heap with the last
+     * of them on top; each slot comes with its sort key
+     */
+    private final class TopK {
+
+        private final int[] heapSlots;
+        private final double[] heapScores;
+        private final boolean descending;
+        private int size;
+
+        TopK(int capacity, boolean descending) {
+            heapSlots = new int[Math.max(0, capacity)];
+            heapScores = new double[heapSlots.length];
+            this.descending = descending;
+        }
+
+        void offer(int slot, double score) {
+            if (size < heapSlots.length) {
+                heapSlots[size] = slot;
+                heapScores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && ranksAbove(slot, score, heapSlots[0], heapScores[0])) {
+                heapSlots[0] = slot;
+                heapScores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Slots best first
+         */
+        int[] ranked() {
+            int[] ranked = new int[size];
+            while (size > 0) {
+                ranked[size - 1] = heapSlots[0];
+                swap(0, --size);
+                siftDown(0);
+            }
+            return ranked;
+        }
+
+        private boolean ranksAbove(int slot, double score, int other, double otherScore) {
+            int order = Double.compare(score, otherScore);
+            if (order == 0) {
+                order = Long.compare(discoveredAt[slot], discoveredAt[other]);
+            }
+            if (order == 0) {
+                order = Long.compare(ids[slot], ids[other]);
+            }
+            return descending ? order > 0 : order < 0;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!ranksAbove(heapSlots[parent], heapScores[parent], heapSlots[i], heapScores[i])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int weakest = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (ranksAbove(heapSlots[weakest], heapScores[weakest], heapSlots[child], heapScores[child])) {
+                        weakest = child;
+                    }
+                }
+                if (weakest == i) {
+                    return;
+                }
+                swap(i, weakest);
+                i = weakest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int slot = heapSlots[a];
+            heapSlots[a] = heapSlots[b];
+            heapSlots[b] = slot;
+            double score = heapScores[a];
+            heapScores[a] = heapScores[b];
+            heapScores[b] = score;
+        }
+    }
+
+    /**
+     * Ascending slots of the documents containing one term
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+        private int size;
+
+        void add(int slot) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, docs.length * 2);
+            }
+            docs[size++] = slot;
+        }
+
+        /**
+         * Apply a compaction, trimming the array to fit
+         *
+         * @return remaining size
+         */
+        int remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = remap[docs[i]];
+                if (slot >= 0) {
+                    docs[kept++] = slot;
+                }
+            }
+            size = kept;
+            docs = Arrays.copyOf(docs, Math.max(1, kept));
+            return kept;
+        }
+    }
+}
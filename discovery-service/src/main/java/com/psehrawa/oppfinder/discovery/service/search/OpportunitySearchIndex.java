@@ -0,0 +1,268 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.discovery.repository.FullTextQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers opportunity searches from an in-memory {@link InvertedIndex} of the active
+ * opportunities, so interactive search does not query the database; the database stays
+ * the system of record.
+ *
+ * The index is built at startup and every {@code rebuild-interval-ms} from an ID-ordered
+ * chunked scan, and follows writes through the {@code opportunity.*} events applied by
+ * {@link SearchIndexListener}. Updates arriving during a rebuild are replayed onto the
+ * new index before it replaces the old one. Until the first build, while the corpus is
+ * above {@code max-documents}, and for phrase queries, which need word positions the
+ * index does not keep, {@link #search} returns empty and the caller queries the database.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OpportunitySearchIndex {
+
+    private static final String SELECT_ACTIVE_CHUNK = """
+        SELECT id, title, company_name, description, source, type, status, country, industry,
+               funding_stage, funding_amount, company_size, score, base_score, peak_score, discovered_at
+        FROM opportunities
+        WHERE is_active = TRUE AND id > ?
+        ORDER BY id
+        LIMIT ?
+        """;
+
+    private static final String SELECT_TAGS_RANGE = """
+        SELECT opportunity_id, tag
+        FROM opportunity_tags
+        WHERE opportunity_id > ? AND opportunity_id <= ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchIndexProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; null until built and while over capacity
+    private InvertedIndex index;
+    // Guarded by lock; collects updates while a rebuild runs
+    private List<OpportunityDto> pending;
+
+    /**
+     * One page of matches for {@code criteria}, in its requested order with current scores
+     * as of {@code asOf}, or empty when the database has to answer
+     */
+    public Optional<SearchHits> search(OpportunitySearchCriteria criteria, LocalDateTime asOf, int offset, int limit) {
+        if (!properties.isEnabled() || Boolean.FALSE.equals(criteria.getIsActive())) {
+            return Optional.empty();
+        }
+        boolean phrase = FullTextQuery.parse(criteria.getSearchTerm()).getTerms().stream()
+            .anyMatch(term -> term.words().size() > 1);
+        if (phrase) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            return Optional.of(index.search(criteria, asOf, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace opportunities, dropping inactive ones
+     */
+    public void apply(List<OpportunityDto> opportunities) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (OpportunityDto opportunity : opportunities) {
+                if (opportunity.getId() == null) {
+                    continue;
+                }
+                if (pending != null) {
+                    pending.add(opportunity);
+                }
+                if (index != null) {
+                    index.put(opportunity);
+                }
+            }
+            if (index != null && index.size() > properties.getMaxDocuments()) {
+                log.warn("Search index dropped at {} opportunities, above the limit of {}; searching the database",
+                        index.size(), properties.getMaxDocuments());
+                index = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop deactivated opportunities once the current transaction commits, as no event
+     * announces a deactivation
+     */
+    public void remove(Collection<Long> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return;
+        }
+        List<OpportunityDto> removed = ids.stream()
+            .map(id -> OpportunityDto.builder().id(id).isActive(false).build())
+            .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(removed);
+                }
+            });
+        } else {
+            apply(removed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${oppfinder.discovery.search-index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex built;
+        try {
+            built = load();
+        } catch (RuntimeException e) {
+            log.error("Search index rebuild failed, keeping the current index: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                pending.forEach(built::put);
+            }
+            index = built != null && built.size() <= properties.getMaxDocuments() ? built : null;
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (built != null) {
+            log.info("Built search index of {} opportunities and {} terms in {} ms",
+                    built.size(), built.terms(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Index every active opportunity in ID-ordered chunks
+     *
+     * @return the index, or null when the corpus is above {@code max-documents}
+     */
+    private InvertedIndex load() {
+        InvertedIndex built = new InvertedIndex(properties.getMaxTermsPerDocument());
+        int chunkSize = Math.max(1, properties.getLoadChunkSize());
+        long lastId = 0;
+
+        while (true) {
+            List<OpportunityDto> chunk = jdbcTemplate.query(SELECT_ACTIVE_CHUNK, SEARCH_ROW, lastId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            long firstId = lastId;
+            lastId = chunk.get(chunk.size() - 1).getId();
+            loadTags(chunk, firstId, lastId);
+            chunk.forEach(built::put);
+            if (built.size() > properties.getMaxDocuments()) {
+                log.warn("More than {} active opportunities, searching the database instead of the index",
+                        properties.getMaxDocuments());
+                return null;
+            }
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Fill the tags of a chunk covering IDs in ({@code afterId}, {@code lastId}]
+     */
+    private void loadTags(List<OpportunityDto> chunk, long afterId, long lastId) {
+        Map<Long, OpportunityDto> byId = new HashMap<>();
+        for (OpportunityDto opportunity : chunk) {
+            opportunity.setTags(new ArrayList<>());
+            byId.put(opportunity.getId(), opportunity);
+        }
+        jdbcTemplate.query(SELECT_TAGS_RANGE, rs -> {
+            // Inactive rows in the ID range are not in the chunk
+            OpportunityDto opportunity = byId.get(rs.getLong("opportunity_id"));
+            if (opportunity != null) {
+                opportunity.getTags().add(rs.getString("tag"));
+            }
+        }, afterId, lastId);
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static final RowMapper<OpportunityDto> SEARCH_ROW = (rs, rowNum) -> OpportunityDto.builder()
+        .id(rs.getLong("id"))
+        .title(rs.getString("title"))
+        .companyName(rs.getString("company_name"))
+        .description(rs.getString("description"))
+        .source(enumValue(DataSource.class, rs.getString("source")))
+        .type(enumValue(OpportunityType.class, rs.getString("type")))
+        .status(enumValue(OpportunityStatus.class, rs.getString("status")))
+        .country(enumValue(Country.class, rs.getString("country")))
+        .industry(enumValue(Industry.class, rs.getString("industry")))
+        .fundingStage(enumValue(FundingStage.class, rs.getString("funding_stage")))
+        .fundingAmount(rs.getBigDecimal("funding_amount"))
+        .companySize(enumValue(CompanySize.class, rs.getString("company_size")))
+        .score(rs.getBigDecimal("score"))
+        .baseScore(rs.getBigDecimal("base_score"))
+        .peakScore(rs.getBigDecimal("peak_score"))
+        .discoveredAt(toLocalDateTime(rs, "discovered_at"))
+        .isActive(true)
+        .build();
+}
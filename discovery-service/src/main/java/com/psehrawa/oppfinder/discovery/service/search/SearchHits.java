@@ -0,0 +1,12 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import java.util.List;
+
+/**
+ * One page of a search answered from {@link OpportunitySearchIndex}
+ *
+ * @param ids   opportunity IDs of the page, best first
+ * @param total number of matches over all pages
+ */
+public record SearchHits(List<Long> ids, long total) {
+}
@@ -0,0 +1,37 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Feeds every opportunity event into this instance's {@link OpportunitySearchIndex}.
+ *
+ * Each instance holds its own index, so each consumes under its own group, starting
+ * at the latest offset as the startup rebuild covers everything before. Events are
+ * keyed by opportunity ID, so those for one opportunity are applied in order.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "oppfinder.discovery.search-index", name = "enabled", havingValue = "true")
+public class SearchIndexListener {
+
+    private final OpportunitySearchIndex searchIndex;
+
+    @KafkaListener(topics = {
+                       "${oppfinder.discovery.kafka.topics.opportunity-discovered:opportunity.discovered}",
+                       "${oppfinder.discovery.kafka.topics.opportunity-updated:opportunity.updated}",
+                       "${oppfinder.discovery.kafka.topics.opportunity-scored:opportunity.scored}"},
+                   groupId = "discovery-search-index-#{T(java.util.UUID).randomUUID()}",
+                   properties = "auto.offset.reset=latest", batch = "true")
+    public void onOpportunities(List<OpportunityDto> opportunities) {
+        searchIndex.apply(opportunities);
+        log.debug("Applied {} opportunity events to the search index", opportunities.size());
+    }
+}
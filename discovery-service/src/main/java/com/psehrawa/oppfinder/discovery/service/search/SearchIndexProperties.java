@@ -0,0 +1,38 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the in-memory opportunity search index
+ */
+@Configuration
+@ConfigurationProperties(prefix = "oppfinder.discovery.search-index")
+@Data
+public class SearchIndexProperties {
+
+    /**
+     * Answer searches from memory; needs Kafka to follow writes
+     */
+    private boolean enabled = false;
+
+    /**
+     * Active opportunities the index holds at most; above this searches go to the database.
+     * Postings take 4 bytes per distinct term of each opportunity, at most 1 KB with the
+     * default term limit.
+     */
+    private int maxDocuments = 500_000;
+
+    /**
+     * Distinct terms indexed per opportunity; the end of a long description is cut first
+     */
+    private int maxTermsPerDocument = 256;
+
+    private int loadChunkSize = 10_000;
+
+    /**
+     * How often the index is rebuilt from the database, picking up writes no event announced
+     */
+    private long rebuildIntervalMs = 3_600_000;
+}
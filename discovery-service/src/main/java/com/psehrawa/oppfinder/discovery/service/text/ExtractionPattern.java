@@ -0,0 +1,153 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A precompiled extraction regex with a per-match time budget.
+ *
+ * Matchers are cached per thread and reset for each input, so matching does not
+ * allocate a new {@link Matcher}. A match that exceeds its budget is abandoned and
+ * treated as no match, so one pathological post cannot pin a discovery thread.
+ */
+@Slf4j
+public final class ExtractionPattern {
+
+    private final String name;
+    private final Pattern pattern;
+    private final long timeoutNanos;
+    private final ThreadLocal<Matcher> matchers;
+
+    ExtractionPattern(String name, String regex, int flags, Duration timeout) {
+        this.name = name;
+        this.pattern = Pattern.compile(regex, flags);
+        this.timeoutNanos = timeout.toNanos();
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Pattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * Whether the pattern occurs anywhere in the text
+     */
+    public boolean find(CharSequence text) {
+        return Boolean.TRUE.equals(first(text, match -> Boolean.TRUE));
+    }
+
+    /**
+     * Group 1 of the first match, or null when there is none
+     */
+    public String firstGroup(CharSequence text) {
+        return first(text, match -> match.group(1));
+    }
+
+    /**
+     * Map the first match, or return null when there is none.
+     * The match result is only valid inside the mapper.
+     */
+    public <R> R first(CharSequence text, Function<MatchResult, R> mapper) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = matchers.get();
+        try {
+            matcher.reset(new DeadlineCharSequence(text, System.nanoTime() + timeoutNanos));
+            return matcher.find() ? mapper.apply(matcher) : null;
+        } catch (MatchTimeoutException e) {
+            logTimeout(text);
+            return null;
+        } finally {
+            // Do not keep the document reachable from the thread
+            matcher.reset("");
+        }
+    }
+
+    /**
+     * Group 1 of every match, in order. Matches found before a timeout are kept.
+     */
+    public List<String> allGroups(CharSequence text) {
+        List<String> groups = new ArrayList<>();
+        if (text == null) {
+            return groups;
+        }
+        Matcher matcher = matchers.get();
+        try {
+            matcher.reset(new DeadlineCharSequence(text, System.nanoTime() + timeoutNanos));
+            while (matcher.find()) {
+                groups.add(matcher.group(1));
+            }
+        } catch (MatchTimeoutException e) {
+            logTimeout(text);
+        } finally {
+            matcher.reset("");
+        }
+        return groups;
+    }
+
+    private void logTimeout(CharSequence text) {
+        log.warn("Pattern {} exceeded {}ms on {} chars of input, treating as no match",
+                name, Duration.ofNanos(timeoutNanos).toMillis(), text.length());
+    }
+
+    /**
+     * Character view that fails once its deadline passes. The regex engine reads
+     * input only through charAt, so this bounds the time spent backtracking.
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        // Reading the clock on every character would dominate short matches
+        private static final int CHECK_INTERVAL = 1024;
+
+        private final CharSequence text;
+        private final long deadline;
+        private int reads;
+
+        DeadlineCharSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                throw new MatchTimeoutException();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    private static final class MatchTimeoutException extends RuntimeException {
+
+        MatchTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * The single definition of every extraction regex used by the data sources.
+ * Money amounts are not regex based, see {@link FundingAmountParser}.
+ *
+ * Quantifiers are possessive wherever the following token cannot start with the
+ * repeated characters, so a failed match gives up instead of retrying every split
+ * of a long word or whitespace run.
+ */
+public final class ExtractionPatterns {
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(50);
+
+    /**
+     * Up to three words naming a company, followed by an action verb ("Acme Labs raised").
+     * Group 1 is the company.
+     */
+    public static final ExtractionPattern COMPANY_MENTION = define("company-mention",
+        "(?:^|\\s)([A-Z][a-zA-Z0-9]{2,}+(?:\\s++[A-Z][a-zA-Z0-9]{2,}+){0,2})\\s++" +
+        "(?:raised|funding|launched|announces|acquires|partners)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Capitalized name after "joined", "at" or "from". Group 1 is the company.
+     */
+    public static final ExtractionPattern COMPANY_AFTER_PREPOSITION = define("company-after-preposition",
+        "(?:joined |at |from )([A-Z][a-zA-Z]++)", 0);
+
+    /**
+     * Capitalized name before a status update ("Acme just", "Acme hit"). Group 1 is the company.
+     */
+    public static final ExtractionPattern COMPANY_BEFORE_UPDATE = define("company-before-update",
+        "([A-Z][a-zA-Z]++) (?:just|revenue|raised|hit)", 0);
+
+    /**
+     * Product or company a founder says they are building. Group 1 is the name.
+     */
+    public static final ExtractionPattern COMPANY_BEING_BUILT = define("company-being-built",
+        "(?:We're building |I'm working on |launched |building )([A-Z][a-zA-Z]++)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * A lettered funding round ("Series B")
+     */
+    public static final ExtractionPattern SERIES_ROUND = define("series-round",
+        "series [a-z]", Pattern.CASE_INSENSITIVE);
+
+    private ExtractionPatterns() {
+    }
+
+    private static ExtractionPattern define(String name, String regex, int flags) {
+        return new ExtractionPattern(name, regex, flags, DEFAULT_TIMEOUT);
+    }
+}
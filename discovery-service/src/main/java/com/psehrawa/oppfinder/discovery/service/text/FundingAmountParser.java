@@ -0,0 +1,379 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import java.math.BigDecimal;
+
+/**
+ * Scans text for monetary amounts such as "$12.5M", "3 billion", "500K",
+ * "US$1,500,000" or "$10-15M" and parses them straight into cents.
+ *
+ * A number counts as an amount when it carries a currency marker (a symbol before
+ * it, or an ISO code before or after it) or a magnitude suffix, which must end the
+ * token ("2023 B2B" and "10 K8s" are not amounts). Ranges resolve to their lower
+ * bound, and a suffix on the upper bound applies to both ends. Amounts are in the
+ * minor unit of their {@link #currencyCode currency}; none is converted.
+ *
+ * The parser is a reusable cursor: {@link #reset} it onto a text and call
+ * {@link #find} until it returns false. Nothing is allocated while scanning.
+ * Instances are not thread-safe.
+ */
+public final class FundingAmountParser {
+
+    public static final long NOT_FOUND = -1L;
+
+    // Longer digit runs are identifiers rather than amounts, and could overflow the mantissa
+    private static final int MAX_DIGITS = 15;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+        1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+        10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L
+    };
+
+    // Longest forms first, so "million" wins over "m"; lakh and crore are 10^5 and 10^7
+    private static final String[] MAGNITUDE_WORDS = {
+        "thousand", "trillion", "million", "billion", "crore", "lakh", "bn", "mn", "mm", "k", "m", "b"
+    };
+    private static final int[] MAGNITUDE_EXPONENTS = {3, 12, 6, 9, 7, 5, 9, 6, 6, 3, 6, 9};
+
+    private static final String[] CURRENCY_CODES = {"usd", "eur", "gbp", "inr", "cad", "aud"};
+    private static final String[] ISO_CODES = {"USD", "EUR", "GBP", "INR", "CAD", "AUD"};
+
+    private CharSequence text;
+    private int position;
+    private int limit;
+
+    private long amountCents = NOT_FOUND;
+    private int start;
+    private int end;
+    private boolean currency;
+    private String currencyCode;
+
+    // Scratch results of parseNumber and parseMagnitude
+    private long mantissa;
+    private int fractionDigits;
+    private int numberEnd;
+    private int magnitude;
+
+    /**
+     * Point the parser at a new text; null detaches it
+     */
+    public FundingAmountParser reset(CharSequence text) {
+        this.text = text;
+        this.position = 0;
+        this.limit = text != null ? text.length() : 0;
+        this.amountCents = NOT_FOUND;
+        return this;
+    }
+
+    /**
+     * Advance to the next amount in the text
+     */
+    public boolean find() {
+        while (position < limit) {
+            if (!isDigit(text.charAt(position))) {
+                position++;
+                continue;
+            }
+            boolean standalone = position == 0 || !isNumberContext(text.charAt(position - 1));
+            if (standalone && parseAt(position)) {
+                position = end;
+                return true;
+            }
+            // Skip the rest of a rejected number so its tail is not read as a new one
+            position++;
+            while (position < limit && isNumberContext(text.charAt(position))) {
+                position++;
+            }
+        }
+        amountCents = NOT_FOUND;
+        return false;
+    }
+
+    /**
+     * Amount of the current match in cents
+     */
+    public long amountCents() {
+        return amountCents;
+    }
+
+    /**
+     * Offset of the current match, including any currency symbol
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * Offset just past the current match
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * Whether the current match carries a currency marker
+     */
+    public boolean hasCurrency() {
+        return currency;
+    }
+
+    /**
+     * ISO code of the current match's currency, or null when it has no marker
+     */
+    public String currencyCode() {
+        return currencyCode;
+    }
+
+    /**
+     * Whether the current match is followed, after optional whitespace, by one of the
+     * given lowercase words
+     */
+    public boolean isFollowedByAnyOf(String[] words) {
+        int i = end;
+        while (i < limit && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        for (String word : words) {
+            if (startsWithIgnoreCase(i, word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private boolean parseAt(int numberStart) {
+        int prefixStart = currencyBefore(numberStart);
+        boolean hasCurrency = prefixStart >= 0;
+        String code = hasCurrency ? currencyAt(prefixStart) : null;
+
+        if (!parseNumber(numberStart)) {
+            return false;
+        }
+        long lowMantissa = mantissa;
+        int lowFraction = fractionDigits;
+        int i = parseMagnitude(numberEnd);
+        int lowMagnitude = magnitude;
+        int matchEnd = i;
+
+        // Optional upper bound: "-", en/em dash or "to"
+        int j = skipRangeSeparator(i);
+        if (j > i) {
+            if (j < limit && symbolCurrency(text.charAt(j)) != null) {
+                j++;
+            }
+            if (j < limit && isDigit(text.charAt(j)) && parseNumber(j)) {
+                int upperEnd = parseMagnitude(numberEnd);
+                int upperMagnitude = magnitude;
+                boolean sharesSuffix = lowMagnitude < 0 && upperMagnitude >= 0;
+                boolean bothSuffixed = lowMagnitude >= 0 && upperMagnitude >= 0;
+                boolean bothPlain = lowMagnitude < 0 && upperMagnitude < 0 && hasCurrency;
+                if (sharesSuffix || bothSuffixed || bothPlain) {
+                    if (sharesSuffix) {
+                        lowMagnitude = upperMagnitude;
+                    }
+                    matchEnd = upperEnd;
+                }
+            }
+        }
+
+        int codeEnd = currencyCodeAfter(matchEnd);
+        if (codeEnd > matchEnd) {
+            hasCurrency = true;
+            code = code != null ? code : ISO_CODES[currencyCodeIndex(codeEnd - 3)];
+            matchEnd = codeEnd;
+        }
+        if (!hasCurrency && lowMagnitude < 0) {
+            return false;
+        }
+
+        long cents = toCents(lowMantissa, lowFraction, Math.max(lowMagnitude, 0) + 2);
+        if (cents < 0) {
+            return false;
+        }
+        this.amountCents = cents;
+        this.start = prefixStart >= 0 ? prefixStart : numberStart;
+        this.end = matchEnd;
+        this.currency = hasCurrency;
+        this.currencyCode = code;
+        return true;
+    }
+
+    /**
+     * Digits with optional thousands separators and decimal part; sets mantissa,
+     * fractionDigits and numberEnd
+     */
+    private boolean parseNumber(int from) {
+        long value = 0;
+        int digits = 0;
+        int fraction = 0;
+        boolean inFraction = false;
+        int i = from;
+        while (i < limit) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                if (++digits > MAX_DIGITS) {
+                    return false;
+                }
+                value = value * 10 + (c - '0');
+                if (inFraction) {
+                    fraction++;
+                }
+                i++;
+            } else if (c == ',' && !inFraction && isThousandsGroup(i + 1)) {
+                i++;
+            } else if (c == '.' && !inFraction && i + 1 < limit && isDigit(text.charAt(i + 1))) {
+                inFraction = true;
+                i++;
+            } else {
+                break;
+            }
+        }
+        this.mantissa = value;
+        this.fractionDigits = fraction;
+        this.numberEnd = i;
+        return true;
+    }
+
+    /**
+     * Magnitude suffix ending its token at {@code from}, optionally after one space;
+     * sets magnitude (-1 when absent) and returns the offset past the suffix
+     */
+    private int parseMagnitude(int from) {
+        int i = from < limit && text.charAt(from) == ' ' ? from + 1 : from;
+        for (int w = 0; w < MAGNITUDE_WORDS.length; w++) {
+            String word = MAGNITUDE_WORDS[w];
+            if (startsWithIgnoreCase(i, word) && !isLetterOrDigitAt(i + word.length())) {
+                magnitude = MAGNITUDE_EXPONENTS[w];
+                return i + word.length();
+            }
+        }
+        magnitude = -1;
+        return from;
+    }
+
+    private int skipRangeSeparator(int from) {
+        int i = from;
+        while (i < limit && text.charAt(i) == ' ') i++;
+        if (i < limit && (text.charAt(i) == '-' || text.charAt(i) == '\u2013' || text.charAt(i) == '\u2014')) {
+            i++;
+        } else if (startsWithIgnoreCase(i, "to ")) {
+            i += 3;
+        } else {
+            return from;
+        }
+        while (i < limit && text.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    /**
+     * Offset of a currency symbol or code right before the number, or -1
+     */
+    private int currencyBefore(int numberStart) {
+        int i = numberStart - 1;
+        if (i >= 0 && text.charAt(i) == ' ') {
+            i--;
+        }
+        if (i < 0) {
+            return -1;
+        }
+        if (symbolCurrency(text.charAt(i)) != null) {
+            return i;
+        }
+        int codeStart = i - 2;
+        if (codeStart >= 0 && !isLetterAt(codeStart - 1) && currencyCodeIndex(codeStart) >= 0) {
+            return codeStart;
+        }
+        return -1;
+    }
+
+    /**
+     * Offset past a currency code following the amount after one space, or {@code from}
+     */
+    private int currencyCodeAfter(int from) {
+        int i = from < limit && text.charAt(from) == ' ' ? from + 1 : from;
+        if (i + 3 <= limit && currencyCodeIndex(i) >= 0 && !isLetterAt(i + 3)) {
+            return i + 3;
+        }
+        return from;
+    }
+
+    /**
+     * ISO code of the currency symbol or code at {@code at}, which currencyBefore found
+     */
+    private String currencyAt(int at) {
+        String symbol = symbolCurrency(text.charAt(at));
+        return symbol != null ? symbol : ISO_CODES[currencyCodeIndex(at)];
+    }
+
+    private int currencyCodeIndex(int at) {
+        for (int c = 0; c < CURRENCY_CODES.length; c++) {
+            if (startsWithIgnoreCase(at, CURRENCY_CODES[c])) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isThousandsGroup(int at) {
+        return at + 3 <= limit
+            && isDigit(text.charAt(at)) && isDigit(text.charAt(at + 1)) && isDigit(text.charAt(at + 2))
+            && (at + 3 == limit || !isDigit(text.charAt(at + 3)));
+    }
+
+    private boolean startsWithIgnoreCase(int at, String lowercaseWord) {
+        if (at < 0 || at + lowercaseWord.length() > limit) {
+            return false;
+        }
+        for (int k = 0; k < lowercaseWord.length(); k++) {
+            if (Character.toLowerCase(text.charAt(at + k)) != lowercaseWord.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isLetterAt(int at) {
+        return at >= 0 && at < limit && Character.isLetter(text.charAt(at));
+    }
+
+    private boolean isLetterOrDigitAt(int at) {
+        return at >= 0 && at < limit && Character.isLetterOrDigit(text.charAt(at));
+    }
+
+    /**
+     * mantissa / 10^fraction * 10^exponent, truncated to whole cents; -1 on overflow
+     */
+    private static long toCents(long mantissa, int fraction, int exponent) {
+        if (fraction > exponent) {
+            int shift = fraction - exponent;
+            return shift < POWERS_OF_TEN.length ? mantissa / POWERS_OF_TEN[shift] : 0;
+        }
+        long factor = POWERS_OF_TEN[exponent - fraction];
+        return mantissa > Long.MAX_VALUE / factor ? -1 : mantissa * factor;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Dollar, euro, pound, yen, rupee; null for any other character
+    private static String symbolCurrency(char c) {
+        return switch (c) {
+            case '$' -> "USD";
+            case '\u20ac' -> "EUR";
+            case '\u00a3' -> "GBP";
+            case '\u00a5' -> "JPY";
+            case '\u20b9' -> "INR";
+            default -> null;
+        };
+    }
+
+    // Characters that make a digit part of a larger token ("A320", "v2.5", "1,5")
+    private static boolean isNumberContext(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == ',' || c == '_';
+    }
+}
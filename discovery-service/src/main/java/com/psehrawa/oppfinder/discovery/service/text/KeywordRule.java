@@ -0,0 +1,14 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import java.util.List;
+
+/**
+ * A label that applies when any of its keywords occurs in a document.
+ * Rule lists are evaluated in order and the first matching rule wins.
+ */
+public record KeywordRule<T>(T label, List<String> keywords) {
+
+    public static <T> KeywordRule<T> of(T label, String... keywords) {
+        return new KeywordRule<>(label, List.of(keywords));
+    }
+}
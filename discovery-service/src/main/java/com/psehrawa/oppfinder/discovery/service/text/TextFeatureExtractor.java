@@ -0,0 +1,182 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import com.psehrawa.oppfinder.common.text.KeywordMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Normalizes and scans a document once, producing {@link TextFeatures}.
+ *
+ * Each data source builds one extractor over the keywords its rules refer to.
+ * Extraction is thread-safe; the extractor holds no per-document state.
+ */
+public final class TextFeatureExtractor {
+
+    // Capitalized words that start sentences far more often than they name companies
+    private static final Set<String> ENTITY_STOPWORDS = Set.of(
+        "The", "This", "That", "These", "Those", "We", "We're", "Our", "My", "Just", "And", "But",
+        "For", "With", "From", "Into", "After", "Before", "When", "What", "Which", "How", "Why",
+        "Who", "Has", "Have", "Had", "Are", "Was", "Were", "Its", "Their", "They", "You", "Your",
+        "Reddit", "Series", "IPO", "FDA", "ARR", "YoY", "CONFIRMED"
+    );
+
+    private static final int MAX_ENTITY_WORDS = 3;
+
+    // Words that turn an amount into a funding mention ("$15M raised", "3 million round")
+    private static final String[] FUNDING_WORDS = {
+        "funding", "investment", "raised", "round", "capital", "valuation"
+    };
+
+    private static final String USD = "USD";
+
+    private static final ThreadLocal<FundingAmountParser> AMOUNT_PARSERS =
+        ThreadLocal.withInitial(FundingAmountParser::new);
+
+    private final KeywordMatcher vocabulary;
+
+    @SafeVarargs
+    public TextFeatureExtractor(Collection<String>... vocabularies) {
+        List<String> keywords = new ArrayList<>();
+        for (Collection<String> vocabulary : vocabularies) {
+            keywords.addAll(vocabulary);
+        }
+        this.vocabulary = new KeywordMatcher(keywords);
+    }
+
+    /**
+     * Keywords referenced by a rule table, for building an extractor vocabulary
+     */
+    public static <T> List<String> keywordsOf(List<KeywordRule<T>> rules) {
+        List<String> keywords = new ArrayList<>();
+        for (KeywordRule<T> rule : rules) {
+            keywords.addAll(rule.keywords());
+        }
+        return keywords;
+    }
+
+    /**
+     * Extract features from a body and optional context fields (null fields are ignored)
+     */
+    public TextFeatures extract(String body, String... context) {
+        String text = body != null ? body : "";
+
+        BitSet bodyHits = new BitSet(vocabulary.size());
+        vocabulary.match(text, 0, text.length(), bodyHits);
+        BitSet anyHits = (BitSet) bodyHits.clone();
+        boolean seriesRound = ExtractionPatterns.SERIES_ROUND.find(text);
+        for (String field : context) {
+            if (field != null) {
+                vocabulary.match(field, 0, field.length(), anyHits);
+                seriesRound = seriesRound || ExtractionPatterns.SERIES_ROUND.find(field);
+            }
+        }
+
+        int[] tokenOffsets = tokenize(text);
+
+        // Prefer the first amount with a currency marker over bare "500K"-style numbers.
+        // Funding amounts are stored in dollars, so amounts in other currencies are skipped
+        FundingAmountParser amounts = AMOUNT_PARSERS.get().reset(text);
+        long fundingAmountCents = FundingAmountParser.NOT_FOUND;
+        boolean currencyAmount = false;
+        boolean fundingMention = false;
+        while (amounts.find()) {
+            boolean dollars = amounts.currencyCode() == null || USD.equals(amounts.currencyCode());
+            if (dollars && !currencyAmount
+                && (fundingAmountCents == FundingAmountParser.NOT_FOUND || amounts.hasCurrency())) {
+                fundingAmountCents = amounts.amountCents();
+                currencyAmount = amounts.hasCurrency();
+            }
+            fundingMention = fundingMention || amounts.isFollowedByAnyOf(FUNDING_WORDS);
+        }
+        amounts.reset(null);
+
+        return new TextFeatures(
+            text,
+            vocabulary,
+            bodyHits,
+            anyHits,
+            tokenOffsets,
+            candidateEntities(text, tokenOffsets),
+            companyMentions(text),
+            fundingMention,
+            fundingAmountCents,
+            seriesRound
+        );
+    }
+
+    /**
+     * Start/end offsets of maximal letter-or-digit runs, flattened into one array
+     */
+    private static int[] tokenize(String text) {
+        int[] offsets = new int[Math.max(8, text.length() / 3)];
+        int count = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            if (i >= length) break;
+            int start = i;
+            while (i < length && isWordChar(text.charAt(i))) i++;
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[count++] = start;
+            offsets[count++] = i;
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    private static boolean isWordChar(char c) {
+        // Keep contractions such as "We're" together
+        return Character.isLetterOrDigit(c) || c == '\'';
+    }
+
+    private static List<String> candidateEntities(String text, int[] tokenOffsets) {
+        LinkedHashSet<String> entities = new LinkedHashSet<>();
+        int runStart = -1;
+        int runEnd = -1;
+        int runWords = 0;
+        for (int t = 0; t < tokenOffsets.length; t += 2) {
+            int start = tokenOffsets[t];
+            int end = tokenOffsets[t + 1];
+            boolean capitalized = end - start >= 3
+                && Character.isUpperCase(text.charAt(start))
+                && !ENTITY_STOPWORDS.contains(text.substring(start, end));
+            boolean adjacent = runStart >= 0 && start == runEnd + 1 && text.charAt(runEnd) == ' '
+                && runWords < MAX_ENTITY_WORDS;
+
+            if (capitalized && adjacent) {
+                runEnd = end;
+                runWords++;
+                continue;
+            }
+            if (runStart >= 0) {
+                entities.add(text.substring(runStart, runEnd));
+                runStart = -1;
+            }
+            if (capitalized) {
+                runStart = start;
+                runEnd = end;
+                runWords = 1;
+            }
+        }
+        if (runStart >= 0) {
+            entities.add(text.substring(runStart, runEnd));
+        }
+        return List.copyOf(entities);
+    }
+
+    private static List<String> companyMentions(String text) {
+        List<String> mentions = new ArrayList<>();
+        for (String mention : ExtractionPatterns.COMPANY_MENTION.allGroups(text)) {
+            mentions.add(mention.trim());
+        }
+        return mentions;
+    }
+}
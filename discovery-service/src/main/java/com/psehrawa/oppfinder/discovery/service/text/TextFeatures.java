@@ -0,0 +1,165 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import com.psehrawa.oppfinder.common.text.KeywordMatcher;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Everything the classifiers, taggers and scorers need to know about a document,
+ * computed once by {@link TextFeatureExtractor}.
+ *
+ * A document has a body (the text being classified) and optional context fields
+ * such as a subreddit name or a question title. Keyword lookups default to the
+ * body; the {@code *Anywhere} variants also consider the context fields.
+ */
+public final class TextFeatures {
+
+    private final String body;
+    private final KeywordMatcher vocabulary;
+    private final BitSet bodyHits;
+    private final BitSet anyHits;
+    private final int[] tokenOffsets;
+    private final List<String> candidateEntities;
+    private final List<String> companyMentions;
+    private final boolean fundingMention;
+    private final long fundingAmountCents;
+    private final boolean seriesRoundMention;
+
+    TextFeatures(String body,
+                 KeywordMatcher vocabulary,
+                 BitSet bodyHits,
+                 BitSet anyHits,
+                 int[] tokenOffsets,
+                 List<String> candidateEntities,
+                 List<String> companyMentions,
+                 boolean fundingMention,
+                 long fundingAmountCents,
+                 boolean seriesRoundMention) {
+        this.body = body;
+        this.vocabulary = vocabulary;
+        this.bodyHits = bodyHits;
+        this.anyHits = anyHits;
+        this.tokenOffsets = tokenOffsets;
+        this.candidateEntities = candidateEntities;
+        this.companyMentions = companyMentions;
+        this.fundingMention = fundingMention;
+        this.fundingAmountCents = fundingAmountCents;
+        this.seriesRoundMention = seriesRoundMention;
+    }
+
+    /**
+     * Original (non-normalized) body text
+     */
+    public String body() {
+        return body;
+    }
+
+    /**
+     * Whether the keyword occurs in the body
+     */
+    public boolean contains(String keyword) {
+        return bodyHits.get(index(keyword));
+    }
+
+    /**
+     * Whether the keyword occurs in the body or any context field
+     */
+    public boolean containsAnywhere(String keyword) {
+        return anyHits.get(index(keyword));
+    }
+
+    public boolean containsAny(Collection<String> keywords) {
+        for (String keyword : keywords) {
+            if (contains(keyword)) return true;
+        }
+        return false;
+    }
+
+    public boolean containsAnyAnywhere(Collection<String> keywords) {
+        for (String keyword : keywords) {
+            if (containsAnywhere(keyword)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Number of the given keywords that occur in the body
+     */
+    public long countHits(Collection<String> keywords) {
+        long count = 0;
+        for (String keyword : keywords) {
+            if (contains(keyword)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Label of the first rule with a keyword in the body
+     */
+    public <T> T firstMatch(List<KeywordRule<T>> rules, T defaultLabel) {
+        for (KeywordRule<T> rule : rules) {
+            if (containsAny(rule.keywords())) return rule.label();
+        }
+        return defaultLabel;
+    }
+
+    /**
+     * Number of word tokens in the body
+     */
+    public int tokenCount() {
+        return tokenOffsets.length / 2;
+    }
+
+    /**
+     * The i-th word token of the body, in its original case
+     */
+    public String token(int i) {
+        return body.substring(tokenOffsets[2 * i], tokenOffsets[2 * i + 1]);
+    }
+
+    /**
+     * Runs of capitalized words that may name a company, in order of appearance
+     */
+    public List<String> candidateEntities() {
+        return candidateEntities;
+    }
+
+    /**
+     * Company names found next to an action verb ("Acme raised", "Acme launched")
+     */
+    public List<String> companyMentions() {
+        return companyMentions;
+    }
+
+    /**
+     * Whether the body mentions a monetary amount in a funding context
+     */
+    public boolean hasFundingMention() {
+        return fundingMention;
+    }
+
+    /**
+     * First dollar amount in the body in cents, or {@link FundingAmountParser#NOT_FOUND};
+     * amounts without a currency marker count as dollars
+     */
+    public long fundingAmountCents() {
+        return fundingAmountCents;
+    }
+
+    /**
+     * Whether any field mentions a lettered funding round ("series b")
+     */
+    public boolean hasSeriesRoundMention() {
+        return seriesRoundMention;
+    }
+
+    private int index(String keyword) {
+        int index = vocabulary.indexOf(keyword);
+        if (index < 0) {
+            throw new IllegalArgumentException("Keyword not in extractor vocabulary: " + keyword);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,49 @@
+-- Schema as Hibernate generated it before migrations were introduced.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS opportunities (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    version              BIGINT,
+    external_id          VARCHAR(255)  NOT NULL,
+    title                VARCHAR(500)  NOT NULL,
+    description          TEXT,
+    source               VARCHAR(255)  NOT NULL,
+    type                 VARCHAR(255)  NOT NULL,
+    status               VARCHAR(255)  NOT NULL,
+    country              VARCHAR(255),
+    industry             VARCHAR(255),
+    funding_stage        VARCHAR(255),
+    funding_amount       NUMERIC(15, 2),
+    company_size         VARCHAR(255),
+    score                NUMERIC(5, 2) NOT NULL,
+    discovered_at        TIMESTAMP(6)  NOT NULL,
+    last_updated         TIMESTAMP(6)  NOT NULL,
+    is_active            BOOLEAN       NOT NULL,
+    url                  VARCHAR(2000),
+    company_name         VARCHAR(255),
+    location             VARCHAR(255),
+    contact_email        VARCHAR(255),
+    confidence_score     NUMERIC(5, 2),
+    engagement_potential NUMERIC(5, 2)
+);
+
+CREATE TABLE IF NOT EXISTS opportunity_tags (
+    opportunity_id BIGINT NOT NULL REFERENCES opportunities (id),
+    tag            VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS opportunity_metadata (
+    opportunity_id BIGINT       NOT NULL REFERENCES opportunities (id),
+    metadata_key   VARCHAR(255) NOT NULL,
+    metadata_value TEXT,
+    PRIMARY KEY (opportunity_id, metadata_key)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_opportunity_source_external_id ON opportunities (source, external_id);
+CREATE INDEX IF NOT EXISTS idx_opportunity_type ON opportunities (type);
+CREATE INDEX IF NOT EXISTS idx_opportunity_country ON opportunities (country);
+CREATE INDEX IF NOT EXISTS idx_opportunity_industry ON opportunities (industry);
+CREATE INDEX IF NOT EXISTS idx_opportunity_score ON opportunities (score);
+CREATE INDEX IF NOT EXISTS idx_opportunity_discovered_at ON opportunities (discovered_at);
+CREATE INDEX IF NOT EXISTS idx_opportunity_status ON opportunities (status);
+CREATE INDEX IF NOT EXISTS idx_opportunity_active ON opportunities (is_active);
@@ -0,0 +1,6 @@
+-- Opportunities are scored on write; scored_at stays NULL only for rows the
+-- scoring job still has to pick up, so the partial index stays tiny.
+
+ALTER TABLE opportunities ADD COLUMN IF NOT EXISTS scored_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_opportunity_unscored ON opportunities (id) WHERE scored_at IS NULL;
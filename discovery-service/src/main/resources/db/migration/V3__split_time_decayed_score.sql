@@ -0,0 +1,14 @@
+-- The stored score is split into time-invariant parts and recency is applied when
+-- ranking. Active rows scored before the split are queued for the scoring job again;
+-- until it reaches them they rank by their stored score. Rows already queued, and
+-- inactive ones, which no listing ranks, are left untouched rather than rewritten.
+
+ALTER TABLE opportunities
+    ADD COLUMN IF NOT EXISTS base_score NUMERIC(5, 2),
+    ADD COLUMN IF NOT EXISTS peak_score NUMERIC(5, 2);
+
+UPDATE opportunities
+SET scored_at = NULL
+WHERE base_score IS NULL AND scored_at IS NOT NULL AND is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_opportunity_peak_score ON opportunities (peak_score, discovered_at);
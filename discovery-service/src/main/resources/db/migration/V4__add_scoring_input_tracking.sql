@@ -0,0 +1,8 @@
+-- What each stored score was computed from. Saves skip rescoring when neither changed,
+-- and the scoring job queues rows scored under older rules by clearing scored_at.
+
+ALTER TABLE opportunities
+    ADD COLUMN IF NOT EXISTS scoring_input_hash BIGINT,
+    ADD COLUMN IF NOT EXISTS rules_version VARCHAR(12);
+
+CREATE INDEX IF NOT EXISTS idx_opportunity_rules_version ON opportunities (rules_version);
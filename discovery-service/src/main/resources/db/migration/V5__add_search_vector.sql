@@ -0,0 +1,54 @@
+-- Weighted full-text document for opportunity search: title A, company B, description C,
+-- indexed with GIN so a search reads only matching rows instead of scanning and
+-- detoasting every description.
+--
+-- A stored generated column would rewrite the whole table under an exclusive lock.
+-- Instead the column is added empty, which only changes the catalog, a trigger fills it
+-- on every write from here on, existing rows are filled in committed batches and the
+-- index is built concurrently. None of that can run in one transaction, hence the .conf
+-- next to this file; every step is safe to rerun. A failed concurrent build leaves an
+-- INVALID index, which IF NOT EXISTS would keep: drop it by hand before rerunning.
+
+ALTER TABLE opportunities ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION opportunity_search_vector(title TEXT, company_name TEXT, description TEXT)
+    RETURNS tsvector
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+           setweight(to_tsvector('english', coalesce(company_name, '')), 'B') ||
+           setweight(to_tsvector('english', coalesce(description, '')), 'C')
+$$;
+
+CREATE OR REPLACE FUNCTION opportunities_search_vector_trigger()
+    RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector := opportunity_search_vector(NEW.title, NEW.company_name, NEW.description);
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS opportunities_search_vector ON opportunities;
+CREATE TRIGGER opportunities_search_vector
+    BEFORE INSERT OR UPDATE OF title, company_name, description ON opportunities
+    FOR EACH ROW EXECUTE FUNCTION opportunities_search_vector_trigger();
+
+-- Rows written before the trigger, 10,000 IDs per transaction so no lock is held long;
+-- rows added meanwhile already have their vector from the trigger
+DO $$
+DECLARE
+    batch_start BIGINT := 0;
+    last_id BIGINT;
+BEGIN
+    SELECT COALESCE(MAX(id), 0) INTO last_id FROM opportunities;
+    WHILE batch_start < last_id LOOP
+        UPDATE opportunities
+        SET search_vector = opportunity_search_vector(title, company_name, description)
+        WHERE id > batch_start AND id <= batch_start + 10000 AND search_vector IS NULL;
+        batch_start := batch_start + 10000;
+        COMMIT;
+    END LOOP;
+END
+$$;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_opportunity_search_vector ON opportunities USING GIN (search_vector);
@@ -0,0 +1,5 @@
+-- Keyset pages of the listing seek with (score, discovered_at, id) < (cursor) in the
+-- reverse of this order, which the index answers as one range scan instead of
+-- sorting and skipping every row before an offset.
+
+CREATE INDEX IF NOT EXISTS idx_opportunity_score_seek ON opportunities (score DESC, discovered_at DESC, id DESC);
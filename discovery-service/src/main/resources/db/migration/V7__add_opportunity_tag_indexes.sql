@@ -0,0 +1,5 @@
+-- Tag filters test each candidate for a matching tag and read the tags of each page;
+-- both scanned the whole table, which had no index.
+
+CREATE INDEX IF NOT EXISTS idx_opportunity_tags_opportunity ON opportunity_tags (opportunity_id);
+CREATE INDEX IF NOT EXISTS idx_opportunity_tags_tag ON opportunity_tags (LOWER(tag), opportunity_id);
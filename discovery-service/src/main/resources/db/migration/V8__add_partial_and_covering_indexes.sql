@@ -0,0 +1,45 @@
+-- Nearly every read filters on is_active = true and orders by current score or
+-- discovery time. Partial composites keep inactive rows out and return rows already in
+-- order, so a page is a short range scan rather than a sort of every active row. They
+-- replace the boolean index and the bare score index, which no plan used.
+--
+-- Every statement builds or drops CONCURRENTLY, so writes to opportunities continue
+-- meanwhile; such statements cannot run in a transaction, hence the .conf next to this
+-- file. A build that fails leaves an INVALID index, which IF NOT EXISTS would keep:
+-- drop it by hand before rerunning.
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_opportunity_active;
+DROP INDEX CONCURRENTLY IF EXISTS idx_opportunity_score;
+
+-- Listings order and seek by the current score, a CASE over discovered_at that no index
+-- on the stored score can return in order, so the V6 seek index serves no query. Score
+-- keyset pages sort the active rows above the cursor instead; those above a minimum
+-- score are narrowed through the peak score index below.
+DROP INDEX CONCURRENTLY IF EXISTS idx_opportunity_score_seek;
+
+-- Criteria searches by discovery time, and the trending window
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_opportunity_active_discovered
+    ON opportunities (discovered_at DESC, id DESC)
+    WHERE is_active = true;
+
+-- High-scoring opportunities; the peak score bounds the current score
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_opportunity_active_peak_score
+    ON opportunities (peak_score, discovered_at)
+    WHERE is_active = true;
+DROP INDEX CONCURRENTLY IF EXISTS idx_opportunity_peak_score;
+
+-- Stale cleanup
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_opportunity_active_last_updated
+    ON opportunities (last_updated)
+    WHERE is_active = true;
+
+-- Scoring selection by discovery time; idx_opportunity_unscored serves the ID-ordered job
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_opportunity_unscored_discovered
+    ON opportunities (discovered_at)
+    WHERE scored_at IS NULL;
+
+-- Rows are appended in discovery order, so a BRIN of block ranges answers the remaining
+-- discovery-time filters at a fraction of the B-tree's size
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_opportunity_discovered_brin
+    ON opportunities USING BRIN (discovered_at);
+DROP INDEX CONCURRENTLY IF EXISTS idx_opportunity_discovered_at;
@@ -7,6 +7,7 @@ import com.psehrawa.oppfinder.discovery.config.TestConfig;
 import com.psehrawa.oppfinder.discovery.service.DataSourceOrchestrator;
 import com.psehrawa.oppfinder.discovery.service.DiscoverySchedulerService;
 import com.psehrawa.oppfinder.discovery.service.datasource.HealthStatus;
+import com.psehrawa.oppfinder.discovery.service.scoring.ScoringSimulationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -48,6 +49,9 @@ class DiscoveryControllerTest {
     @MockBean
     private DiscoverySchedulerService schedulerService;
 
+    @MockBean
+    private ScoringSimulationService scoringSimulationService;
+
     @Test
     void triggerDiscovery_ValidRequest_ShouldReturnSuccess() throws Exception {
         // Given
@@ -95,6 +99,20 @@ class DiscoveryControllerTest {
             .andExpect(jsonPath("$.message").value("Scoring process started"));
     }
 
+    @Test
+    void simulateScoring_InvalidWeights_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(scoringSimulationService.simulate(any()))
+            .thenThrow(new IllegalArgumentException("Unknown scoring weight: popularity"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/discovery/scoring/simulate")
+                .contentType("application/json")
+                .content("{\"weights\": {\"popularity\": 0.5}}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Unknown scoring weight: popularity"));
+    }
+
     @Test
     void getDiscoveryHealth_AllHealthy_ShouldReturnUp() throws Exception {
         // Given
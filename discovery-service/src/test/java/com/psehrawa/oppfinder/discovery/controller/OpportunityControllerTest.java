@@ -1,8 +1,10 @@
 package com.psehrawa.oppfinder.discovery.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psehrawa.oppfinder.common.dto.CursorPage;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
 import com.psehrawa.oppfinder.common.enums.*;
 import com.psehrawa.oppfinder.discovery.config.TestConfig;
 import com.psehrawa.oppfinder.discovery.service.OpportunityService;
@@ -24,6 +26,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -52,6 +55,7 @@ class OpportunityControllerTest {
     private OpportunityService opportunityService;
 
     private OpportunityDto testOpportunity;
+    private OpportunitySummaryDto testSummary;
 
     @BeforeEach
     void setUp() {
@@ -69,6 +73,18 @@ class OpportunityControllerTest {
             .discoveredAt(LocalDateTime.now())
             .isActive(true)
             .build();
+
+        testSummary = OpportunitySummaryDto.builder()
+            .id(1L)
+            .title("Test Opportunity")
+            .description("Test Description")
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.TECHNOLOGY_TREND)
+            .status(OpportunityStatus.DISCOVERED)
+            .score(BigDecimal.valueOf(75.0))
+            .discoveredAt(LocalDateTime.now())
+            .isActive(true)
+            .build();
     }
 
     @Test
@@ -81,7 +97,7 @@ class OpportunityControllerTest {
             .sortDirection("DESC")
             .build();
 
-        Page<OpportunityDto> mockPage = new PageImpl<>(List.of(testOpportunity));
+        Page<OpportunitySummaryDto> mockPage = new PageImpl<>(List.of(testSummary));
         when(opportunityService.searchOpportunities(any(OpportunitySearchCriteria.class)))
             .thenReturn(mockPage);
 
@@ -121,7 +137,7 @@ class OpportunityControllerTest {
     @Test
     void getAllOpportunities_DefaultParameters_ShouldReturnPageOfOpportunities() throws Exception {
         // Given
-        Page<OpportunityDto> mockPage = new PageImpl<>(List.of(testOpportunity));
+        Page<OpportunitySummaryDto> mockPage = new PageImpl<>(List.of(testSummary));
         when(opportunityService.searchOpportunities(any(OpportunitySearchCriteria.class)))
             .thenReturn(mockPage);
 
@@ -132,6 +148,51 @@ class OpportunityControllerTest {
             .andExpect(jsonPath("$.content[0].id").value(1));
     }
 
+    @Test
+    void searchOpportunitiesByText_ShouldPassQueryAsSearchTerm() throws Exception {
+        // Given
+        Page<OpportunitySummaryDto> mockPage = new PageImpl<>(List.of(testSummary));
+        when(opportunityService.searchOpportunities(argThat(criteria ->
+                "\"machine learning\" fin*".equals(criteria.getSearchTerm()) && criteria.getSize() == 100)))
+            .thenReturn(mockPage);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/opportunities/search")
+                .param("q", "\"machine learning\" fin*")
+                .param("size", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(1));
+    }
+
+    @Test
+    void scrollOpportunities_ShouldReturnNextCursor() throws Exception {
+        // Given
+        when(opportunityService.scrollOpportunities("abc", 100, true))
+            .thenReturn(new CursorPage<>(List.of(testSummary), "def", null));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/opportunities/scroll")
+                .param("cursor", "abc")
+                .param("size", "500")
+                .param("includeTotal", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(1))
+            .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void scrollTrendingOpportunities_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(opportunityService.scrollTrendingOpportunities(any(BigDecimal.class), eq(24), eq("bogus"), eq(10), eq(false)))
+            .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/opportunities/trending/scroll")
+                .param("cursor", "bogus"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
     @Test
     void updateOpportunityStatus_ValidRequest_ShouldReturnUpdatedOpportunity() throws Exception {
         // Given
@@ -236,7 +297,7 @@ class OpportunityControllerTest {
     @Test
     void getTrendingOpportunities_ValidRequest_ShouldReturnPageOfOpportunities() throws Exception {
         // Given
-        Page<OpportunityDto> mockPage = new PageImpl<>(List.of(testOpportunity));
+        Page<OpportunitySummaryDto> mockPage = new PageImpl<>(List.of(testSummary));
         when(opportunityService.findTrendingOpportunities(any(BigDecimal.class), any(LocalDateTime.class), any()))
             .thenReturn(mockPage);
 
@@ -0,0 +1,49 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextQueryTest {
+
+    @Test
+    void parse_WordsPrefixAndPhrase_ShouldBuildTsQuery() {
+        // When
+        FullTextQuery query = FullTextQuery.parse("Payments  \"machine learning\" fin*");
+
+        // Then
+        assertThat(query.getTerms()).containsExactly(
+            new FullTextQuery.Term(List.of("payments"), false),
+            new FullTextQuery.Term(List.of("machine", "learning"), false),
+            new FullTextQuery.Term(List.of("fin"), true));
+        assertThat(query.toTsQuery()).isEqualTo("payments & (machine <-> learning) & fin:*");
+    }
+
+    @Test
+    void parse_PunctuatedWord_ShouldBecomePhraseOfParts() {
+        // When
+        FullTextQuery query = FullTextQuery.parse("e-commerce");
+
+        // Then
+        assertThat(query.toTsQuery()).isEqualTo("(e <-> commerce)");
+        assertThat(query.getTerms().get(0).text()).isEqualTo("e commerce");
+    }
+
+    @Test
+    void parse_QuerySyntaxInInput_ShouldBeDropped() {
+        // When
+        FullTextQuery query = FullTextQuery.parse("a|b & !c ) ' :* \"unclosed phrase");
+
+        // Then
+        assertThat(query.toTsQuery()).isEqualTo("(a <-> b) & c & (unclosed <-> phrase)");
+    }
+
+    @Test
+    void parse_NoWords_ShouldBeEmpty() {
+        // When / Then
+        assertThat(FullTextQuery.parse("  \"\" * & ").isEmpty()).isTrue();
+        assertThat(FullTextQuery.parse(null).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,118 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import com.psehrawa.oppfinder.discovery.config.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued per operation over more rows than a page, so a query per row
+ * for tags or metadata shows up as a failure rather than as a slow backup
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class OpportunityCollectionFetchTest {
+
+    private static final int ROWS = 30;
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long firstId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            OpportunityEntity entity = entityManager.persist(OpportunityEntity.builder()
+                .externalId("opp-" + i)
+                .title("Opportunity " + i)
+                .source(DataSource.GITHUB)
+                .type(OpportunityType.STARTUP_FUNDING)
+                .score(new BigDecimal(i))
+                .tags(new ArrayList<>(List.of("ai", "tag-" + i)))
+                .metadata(Map.of("stars", String.valueOf(i), "language", "java"))
+                .isActive(true)
+                .build());
+            if (firstId == null) {
+                firstId = entity.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void findAll_TouchingCollections_ShouldLoadThemInBatches() {
+        // When
+        List<OpportunityEntity> all = opportunityRepository.findAll();
+        all.forEach(OpportunityCollectionFetchTest::touchCollections);
+
+        // Then: the rows, then one query per collection
+        assertThat(all).hasSize(ROWS);
+        assertThat(SqlStatementCounter.statements()).hasSize(3);
+    }
+
+    @Test
+    void findOpportunitiesForScoring_TouchingCollections_ShouldLoadThemInBatches() {
+        // When
+        List<OpportunityEntity> unscored =
+            opportunityRepository.findOpportunitiesForScoring(LocalDateTime.now().minusDays(1));
+        unscored.forEach(OpportunityCollectionFetchTest::touchCollections);
+
+        // Then
+        assertThat(unscored).hasSize(ROWS);
+        assertThat(SqlStatementCounter.statements()).hasSize(3);
+    }
+
+    @Test
+    void findWithDetailsById_ShouldLoadCollectionsWithTheRow() {
+        // When
+        OpportunityEntity entity = opportunityRepository.findWithDetailsById(firstId).orElseThrow();
+        touchCollections(entity);
+
+        // Then
+        assertThat(entity.getTags()).hasSize(2);
+        assertThat(entity.getMetadata()).hasSize(2);
+        assertThat(SqlStatementCounter.statements()).hasSize(1);
+    }
+
+    @Test
+    void summaryPage_ShouldNotReadCollections() {
+        // When
+        Page<Long> ids = opportunityRepository.findIds(
+            OpportunitySpecifications.matching(OpportunitySearchCriteria.builder().build(), LocalDateTime.now()),
+            PageRequest.of(0, 20, OpportunitySpecifications.sort("score", "DESC")), LocalDateTime.now());
+        List<OpportunitySummary> summaries = opportunityRepository.findSummariesById(ids.getContent());
+
+        // Then: IDs, count and summaries
+        assertThat(summaries).hasSize(20);
+        assertThat(SqlStatementCounter.statements()).hasSize(3)
+            .noneMatch(sql -> sql.contains("opportunity_tags") || sql.contains("opportunity_metadata"));
+    }
+
+    private static void touchCollections(OpportunityEntity entity) {
+        entity.getTags().size();
+        entity.getMetadata().size();
+    }
+}
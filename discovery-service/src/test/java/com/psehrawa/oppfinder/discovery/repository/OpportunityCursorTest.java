@@ -0,0 +1,36 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpportunityCursorTest {
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        // Given
+        OpportunityCursor cursor = new OpportunityCursor(new BigDecimal("72.3456"),
+            LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000), 42L, LocalDateTime.of(2024, 3, 2, 12, 0));
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(OpportunityCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_ForeignToken_ShouldBeRejected() {
+        // When / Then
+        assertThatThrownBy(() -> OpportunityCursor.decode("not a cursor"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OpportunityCursor.decode("MXxhYmN8eHx5fHo"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,163 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OpportunityRankingRepositoryTest {
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findHighScoringOpportunities_ShouldRankByDecayedScore() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        // Fresh: 40 + (60 - 40) * 1.0 = 60
+        save("fresh", "60", "40", "60", now.minusMinutes(30), true);
+        // A month old: 50 + (70 - 50) * 0.2 = 54
+        save("old", "70", "50", "70", now.minusDays(30), true);
+        // Scored before the split, ranks by its stored score
+        save("legacy", "57", null, null, now.minusDays(2), true);
+        save("inactive", "95", "90", "95", now, false);
+
+        // When
+        Page<Long> page = opportunityRepository.findHighScoringOpportunityIds(
+            new BigDecimal("55"), now, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("fresh", "legacy");
+    }
+
+    @Test
+    void findTrendingOpportunities_ShouldApplyDecayAndWindow() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        // 30 + (80 - 30) * 0.8 = 70
+        save("today", "80", "30", "80", now.minusHours(12), true);
+        // 45 + (75 - 45) * 0.9 = 72
+        save("this-morning", "75", "45", "75", now.minusHours(5), true);
+        save("last-week", "90", "60", "90", now.minusDays(6), true);
+
+        // When
+        Page<Long> page = opportunityRepository.findTrendingOpportunityIds(
+            new BigDecimal("65"), now.minusHours(24), now, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("this-morning", "today");
+    }
+
+    @Test
+    void findActiveOpportunities_ShouldSeekPastTiesWithoutGapsOrRepeats() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        save("top", "80", null, null, now.minusHours(1), true);
+        // Same score and discovery time, so only the ID orders them
+        save("tied-first", "70", null, null, now.minusHours(2), true);
+        save("tied-second", "70", null, null, now.minusHours(2), true);
+        save("older", "70", null, null, now.minusHours(3), true);
+        save("low", "60", null, null, now, true);
+        save("inactive", "90", null, null, now, false);
+
+        // When
+        List<List<String>> pages = new ArrayList<>();
+        OpportunityCursor after = null;
+        do {
+            List<RankedOpportunity> page = opportunityRepository.findActiveOpportunities(now, after, 2);
+            pages.add(page.stream().map(row -> externalId(row.id())).toList());
+            after = page.size() == 2 ? OpportunityCursor.after(page.get(1), now) : null;
+        } while (after != null);
+
+        // Then
+        assertThat(pages).containsExactly(
+            List.of("top", "tied-second"),
+            List.of("tied-first", "older"),
+            List.of("low"));
+    }
+
+    @Test
+    void findActiveOpportunities_ShouldRankByDecayedScore() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        // Stored 90, but a month old: 50 + (90 - 50) * 0.2 = 58
+        save("old", "90", "50", "90", now.minusDays(30), true);
+        // Stored 70 and fresh: 40 + (70 - 40) * 1.0 = 70
+        save("fresh", "70", "40", "70", now.minusMinutes(30), true);
+
+        // When
+        List<RankedOpportunity> page = opportunityRepository.findActiveOpportunities(now, null, 10);
+
+        // Then
+        assertThat(page).extracting(row -> externalId(row.id())).containsExactly("fresh", "old");
+        assertThat(page.get(1).rank()).isEqualByComparingTo("58");
+    }
+
+    @Test
+    void findTrendingOpportunities_AfterCursor_ShouldContinueByDecayedScore() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        // 45 + (75 - 45) * 0.9 = 72
+        save("this-morning", "75", "45", "75", now.minusHours(5), true);
+        // 30 + (80 - 30) * 0.8 = 70
+        save("today", "80", "30", "80", now.minusHours(12), true);
+        save("legacy", "68", null, null, now.minusHours(2), true);
+
+        // When
+        List<RankedOpportunity> first = opportunityRepository.findTrendingOpportunities(
+            new BigDecimal("65"), now.minusHours(24), now, null, 1);
+        List<RankedOpportunity> rest = opportunityRepository.findTrendingOpportunities(
+            new BigDecimal("65"), now.minusHours(24), now, OpportunityCursor.after(first.get(0), now), 10);
+
+        // Then
+        assertThat(first).extracting(row -> externalId(row.id())).containsExactly("this-morning");
+        assertThat(first.get(0).rank()).isEqualByComparingTo("72");
+        assertThat(rest).extracting(row -> externalId(row.id())).containsExactly("today", "legacy");
+    }
+
+    private String externalId(long id) {
+        return opportunityRepository.findById(id).orElseThrow().getExternalId();
+    }
+
+    private void save(String externalId, String score, String baseScore, String peakScore,
+                      LocalDateTime discoveredAt, boolean active) {
+        OpportunityEntity entity = entityManager.persistAndFlush(OpportunityEntity.builder()
+            .externalId(externalId)
+            .title("Opportunity " + externalId)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .score(new BigDecimal(score))
+            .baseScore(baseScore != null ? new BigDecimal(baseScore) : null)
+            .peakScore(peakScore != null ? new BigDecimal(peakScore) : null)
+            .isActive(active)
+            .build());
+        // discovered_at is stamped on insert, so age the row afterwards
+        entityManager.getEntityManager()
+            .createQuery("UPDATE OpportunityEntity o SET o.discoveredAt = :discoveredAt WHERE o.id = :id")
+            .setParameter("discoveredAt", discoveredAt)
+            .setParameter("id", entity.getId())
+            .executeUpdate();
+        entityManager.clear();
+    }
+}
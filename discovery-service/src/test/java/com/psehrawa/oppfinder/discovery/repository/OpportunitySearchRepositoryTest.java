@@ -0,0 +1,182 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs on H2, which has no search_vector column, so this covers the LIKE fallback
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class OpportunitySearchRepositoryTest {
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        save("ml-fintech", "Machine learning for payments", "Fraud models", "Acme", "70", true);
+        save("ml-health", "Learning machines in healthcare", "Clinical machine vision", "Medix", "90", true);
+        save("fintech", "Payments platform", "Cross-border machine learning", "Finlo", "80", true);
+        save("inactive", "Machine learning payments", null, "Gone", "95", false);
+    }
+
+    @Test
+    void searchOpportunities_Phrase_ShouldMatchWordsInOrderByScore() {
+        // When
+        Page<Long> page = opportunityRepository.searchOpportunityIds(
+            search("\"machine learning\""), PageRequest.of(0, 10), LocalDateTime.now());
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("fintech", "ml-fintech");
+    }
+
+    @Test
+    void searchOpportunities_PrefixAndCompany_ShouldRequireEveryTerm() {
+        // When
+        Page<Long> page = opportunityRepository.searchOpportunityIds(
+            search("pay* acme"), PageRequest.of(0, 10), LocalDateTime.now());
+
+        // Then
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("ml-fintech");
+    }
+
+    @Test
+    void searchOpportunities_Paged_ShouldCountAllMatches() {
+        // When
+        Page<Long> page = opportunityRepository.searchOpportunityIds(
+            search("machine"), PageRequest.of(1, 2), LocalDateTime.now());
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("ml-fintech");
+    }
+
+    @Test
+    void searchOpportunities_AfterCursor_ShouldContinueInScoreOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<RankedOpportunity> first = opportunityRepository.searchOpportunities("machine", now, null, 2);
+
+        // When
+        List<RankedOpportunity> rest = opportunityRepository.searchOpportunities(
+            "machine", now, OpportunityCursor.after(first.get(1), now), 2);
+
+        // Then
+        assertThat(first).extracting(row -> externalId(row.id()))
+            .containsExactly("ml-health", "fintech");
+        assertThat(rest).extracting(row -> externalId(row.id()))
+            .containsExactly("ml-fintech");
+    }
+
+    @Test
+    void searchOpportunities_DecayedMatch_ShouldRankByItsCurrentScore() {
+        // Given: stored at 99 but decayed to 40 + (60 - 40) * 0.20 = 44 a month on
+        entityManager.persistAndFlush(OpportunityEntity.builder()
+            .externalId("ml-old")
+            .title("Machine learning archive")
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .score(new BigDecimal("99"))
+            .baseScore(new BigDecimal("40"))
+            .peakScore(new BigDecimal("60"))
+            .discoveredAt(LocalDateTime.now().minusDays(30))
+            .isActive(true)
+            .build());
+
+        // When
+        List<RankedOpportunity> ranked = opportunityRepository.searchOpportunities(
+            "machine", LocalDateTime.now(), null, 10);
+        Page<Long> page = opportunityRepository.searchOpportunityIds(
+            search("machine"), PageRequest.of(0, 10), LocalDateTime.now());
+
+        // Then
+        assertThat(ranked).extracting(row -> externalId(row.id()))
+            .containsExactly("ml-health", "fintech", "ml-fintech", "ml-old");
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("ml-health", "fintech", "ml-fintech", "ml-old");
+    }
+
+    @Test
+    void searchOpportunities_NoWords_ShouldReturnEmptyPage() {
+        // When
+        Page<Long> page = opportunityRepository.searchOpportunityIds(
+            search("%_*"), PageRequest.of(0, 10), LocalDateTime.now());
+
+        // Then
+        assertThat(page.getTotalElements()).isZero();
+    }
+
+    @Test
+    void searchOpportunities_FilteredAndSorted_ShouldFollowTheCriteria() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .searchTerm("machine")
+            .minScore(new BigDecimal("75"))
+            .build();
+
+        // When
+        Page<Long> page = opportunityRepository.searchOpportunityIds(criteria,
+            PageRequest.of(0, 10, OpportunitySpecifications.sort("discoveredAt", "DESC")), LocalDateTime.now());
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("fintech", "ml-health");
+    }
+
+    @Test
+    void searchOpportunities_UnknownSortProperty_ShouldBeRejected() {
+        // When / Then
+        assertThatThrownBy(() -> opportunityRepository.searchOpportunityIds(search("machine"),
+            PageRequest.of(0, 10, Sort.by("title")), LocalDateTime.now()))
+            .hasMessageContaining("cannot sort by title");
+    }
+
+    private static OpportunitySearchCriteria search(String searchTerm) {
+        return OpportunitySearchCriteria.builder().searchTerm(searchTerm).build();
+    }
+
+    private String externalId(long id) {
+        return opportunityRepository.findById(id).orElseThrow().getExternalId();
+    }
+
+    private void save(String externalId, String title, String description, String companyName,
+                      String score, boolean active) {
+        entityManager.persistAndFlush(OpportunityEntity.builder()
+            .externalId(externalId)
+            .title(title)
+            .description(description)
+            .companyName(companyName)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .score(new BigDecimal(score))
+            .isActive(active)
+            .build());
+    }
+}
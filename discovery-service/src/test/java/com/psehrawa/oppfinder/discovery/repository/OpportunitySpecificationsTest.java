@@ -0,0 +1,174 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityStatus;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OpportunitySpecificationsTest {
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        save("seed", DataSource.GITHUB, OpportunityStatus.DISCOVERED, "2000000", "80", true, "AI", "Fintech");
+        save("series-a", DataSource.SEC_EDGAR, OpportunityStatus.ANALYZED, "15000000", "70", true, "fintech");
+        save("engaged", DataSource.GITHUB, OpportunityStatus.ENGAGED, null, "90", true, "ai");
+        save("retired", DataSource.GITHUB, OpportunityStatus.DISCOVERED, "2000000", "60", false, "ai");
+    }
+
+    @Test
+    void matching_EveryStatusSourceAndFundingRange_ShouldApply() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .statuses(List.of(OpportunityStatus.ANALYZED, OpportunityStatus.DISCOVERED))
+            .sources(List.of(DataSource.GITHUB, DataSource.SEC_EDGAR))
+            .minFundingAmount(new BigDecimal("1000000"))
+            .maxFundingAmount(new BigDecimal("20000000"))
+            .build();
+
+        // When
+        Page<Long> page = find(criteria, "score", "DESC");
+
+        // Then
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("seed", "series-a");
+    }
+
+    @Test
+    void matching_Tags_ShouldMatchAnyIgnoringCaseAndCountOnce() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .tags(List.of("FINTECH", "ai"))
+            .build();
+
+        // When
+        Page<Long> page = find(criteria, "score", "ASC");
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("series-a", "seed", "engaged");
+    }
+
+    @Test
+    void matching_InactiveRequested_ShouldReturnOnlyInactive() {
+        // When
+        Page<Long> page = find(OpportunitySearchCriteria.builder().isActive(false).build(),
+            "discoveredAt", "DESC");
+
+        // Then
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("retired");
+    }
+
+    @Test
+    void matching_ScoreBounds_ShouldApplyToDecayedScore() {
+        // Given
+        saveDecayed();
+        OpportunitySearchCriteria above = OpportunitySearchCriteria.builder().minScore(new BigDecimal("70")).build();
+        OpportunitySearchCriteria below = OpportunitySearchCriteria.builder().maxScore(new BigDecimal("60")).build();
+
+        // When
+        Page<Long> high = find(above, "score", "DESC");
+        Page<Long> low = find(below, "score", "DESC");
+
+        // Then
+        assertThat(high.getContent()).extracting(this::externalId)
+            .containsExactly("engaged", "seed", "series-a");
+        assertThat(low.getContent()).extracting(this::externalId)
+            .containsExactly("decayed");
+    }
+
+    @Test
+    void sort_Score_ShouldOrderByDecayedScore() {
+        // Given
+        saveDecayed();
+
+        // When
+        Page<Long> page = find(OpportunitySearchCriteria.builder().build(), "score", "DESC");
+
+        // Then
+        assertThat(page.getContent()).extracting(this::externalId)
+            .containsExactly("engaged", "seed", "series-a", "decayed");
+    }
+
+    @Test
+    void sort_UnindexedKey_ShouldBeRejected() {
+        // When / Then
+        assertThatThrownBy(() -> OpportunitySpecifications.sort("description", "ASC"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("description");
+    }
+
+    private Page<Long> find(OpportunitySearchCriteria criteria, String sortBy, String sortDirection) {
+        LocalDateTime now = LocalDateTime.now();
+        return opportunityRepository.findIds(OpportunitySpecifications.matching(criteria, now),
+            PageRequest.of(0, 10, OpportunitySpecifications.sort(sortBy, sortDirection)), now);
+    }
+
+    /**
+     * Stored 95, but a month old: 50 + (95 - 50) * 0.2 = 59
+     */
+    private void saveDecayed() {
+        OpportunityEntity decayed = entityManager.persistAndFlush(OpportunityEntity.builder()
+            .externalId("decayed")
+            .title("Opportunity decayed")
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .status(OpportunityStatus.DISCOVERED)
+            .score(new BigDecimal("95"))
+            .baseScore(new BigDecimal("50"))
+            .peakScore(new BigDecimal("95"))
+            .isActive(true)
+            .build());
+        entityManager.getEntityManager()
+            .createQuery("UPDATE OpportunityEntity o SET o.discoveredAt = :discoveredAt WHERE o.id = :id")
+            .setParameter("discoveredAt", LocalDateTime.now().minusDays(30))
+            .setParameter("id", decayed.getId())
+            .executeUpdate();
+        entityManager.clear();
+    }
+
+    private String externalId(long id) {
+        return opportunityRepository.findById(id).orElseThrow().getExternalId();
+    }
+
+    private void save(String externalId, DataSource source, OpportunityStatus status, String fundingAmount,
+                      String score, boolean active, String... tags) {
+        entityManager.persistAndFlush(OpportunityEntity.builder()
+            .externalId(externalId)
+            .title("Opportunity " + externalId)
+            .source(source)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .status(status)
+            .fundingAmount(fundingAmount != null ? new BigDecimal(fundingAmount) : null)
+            .score(new BigDecimal(score))
+            .isActive(active)
+            .tags(new ArrayList<>(List.of(tags)))
+            .build());
+    }
+}
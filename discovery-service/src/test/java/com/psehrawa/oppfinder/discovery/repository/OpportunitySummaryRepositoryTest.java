@@ -0,0 +1,84 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OpportunitySummaryRepositoryTest {
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findSummariesById_ShouldCutTheDescriptionToAnExcerpt() {
+        // Given
+        long id = save("long", "x".repeat(1000));
+        long shortId = save("short", "Brief");
+
+        // When
+        List<OpportunitySummary> summaries = opportunityRepository.findSummariesById(List.of(id, shortId, -1L));
+
+        // Then
+        assertThat(summaries).hasSize(2);
+        assertThat(summaries).filteredOn(summary -> summary.id() == id)
+            .singleElement()
+            .satisfies(summary -> assertThat(summary.excerpt())
+                .hasSize(OpportunitySummaryRepositoryImpl.EXCERPT_LENGTH));
+        assertThat(summaries).filteredOn(summary -> summary.id() == shortId)
+            .singleElement()
+            .satisfies(summary -> assertThat(summary.excerpt()).isEqualTo("Brief"));
+    }
+
+    @Test
+    void findSummariesById_ShouldNotLoadEntities() {
+        // Given
+        long id = save("tagged", "Description");
+
+        // When
+        opportunityRepository.findSummariesById(List.of(id));
+
+        // Then: no entity was put in the persistence context, so none can lazy-load its collections
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+            .isZero();
+    }
+
+    @Test
+    void findSummariesById_NoIds_ShouldReturnEmpty() {
+        // When / Then
+        assertThat(opportunityRepository.findSummariesById(List.of())).isEmpty();
+    }
+
+    private long save(String externalId, String description) {
+        OpportunityEntity entity = entityManager.persistAndFlush(OpportunityEntity.builder()
+            .externalId(externalId)
+            .title("Opportunity " + externalId)
+            .description(description)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .score(new BigDecimal("50"))
+            .tags(new ArrayList<>(List.of("ai")))
+            .metadata(Map.of("stars", "10"))
+            .isActive(true)
+            .build());
+        entityManager.clear();
+        return entity.getId();
+    }
+}
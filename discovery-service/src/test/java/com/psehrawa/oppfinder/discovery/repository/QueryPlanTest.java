@@ -0,0 +1,202 @@
+package com.psehrawa.oppfinder.discovery.repository;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.enums.OpportunityStatus;
+import com.psehrawa.oppfinder.discovery.service.AnalyticsService;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheProperties;
+import com.psehrawa.oppfinder.discovery.service.cache.RequestCanonicalizer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans of the hot queries on a migrated Postgres schema with a seeded, analyzed
+ * dataset: each should be a range scan of the index made for it, not a sort or a
+ * sequential scan of the table. The statements are the ones the repositories send,
+ * with their real parameters, as auto_explain logs them, so a change to a query is
+ * checked against the indexes without copying its SQL here.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    // 100,000 rows five minutes apart up to this point, every tenth inactive and every
+    // hundredth unscored
+    private static final LocalDateTime LAST_DISCOVERY = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    private static final LocalDateTime FIRST_DISCOVERY = LAST_DISCOVERY.minusMinutes(500_000);
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        JdbcTemplate seed = new JdbcTemplate(dataSource);
+        seed.update("""
+            INSERT INTO opportunities (external_id, title, company_name, description, source, type, status,
+                                       country, industry, score, base_score, peak_score,
+                                       discovered_at, last_updated, scored_at, is_active)
+            SELECT 'ext-' || i, 'Opportunity ' || i, 'Company ' || mod(i, 5000), repeat('lorem ipsum ', 40),
+                   'GITHUB', 'STARTUP_FUNDING', CASE WHEN mod(i, 3) = 0 THEN 'ANALYZED' ELSE 'DISCOVERED' END,
+                   'US', 'FINTECH', s.score, s.score * 0.6, LEAST(s.score * 1.2, 100),
+                   d.at, d.at, CASE WHEN mod(i, 100) = 0 THEN NULL ELSE d.at END, mod(i, 10) <> 0
+            FROM generate_series(1, 100000) AS i,
+                 LATERAL (SELECT mod(i * 7919, 10001) / 100.0 AS score) AS s,
+                 LATERAL (SELECT CAST(? AS timestamp) + i * INTERVAL '5 minutes' AS at) AS d
+            """, Timestamp.valueOf(FIRST_DISCOVERY));
+        seed.execute("VACUUM ANALYZE opportunities");
+    }
+
+    @Test
+    void criteriaByDiscoveryTime_ShouldScanInOrder() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .statuses(List.of(OpportunityStatus.ANALYZED, OpportunityStatus.DISCOVERED))
+            .build();
+
+        // When
+        String plan = planOf(() -> opportunityRepository.findIds(
+            OpportunitySpecifications.matching(criteria, LAST_DISCOVERY),
+            PageRequest.of(0, 20, OpportunitySpecifications.sort("discoveredAt", "DESC")), LAST_DISCOVERY),
+            query -> query.contains("order by"));
+
+        // Then
+        assertThat(plan).contains("idx_opportunity_active_discovered")
+            .doesNotContain("Sort").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void trendingWindow_ShouldBeRangeScan() {
+        // When
+        String plan = planOf(() -> opportunityRepository.findTrendingOpportunityIds(
+            new BigDecimal("70"), LAST_DISCOVERY.minusHours(24), LAST_DISCOVERY, PageRequest.of(0, 10)),
+            query -> query.contains("order by"));
+
+        // Then: only the window is sorted
+        assertThat(plan).contains("idx_opportunity_active_discovered").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void scoringSelection_ShouldReadUnscoredRowsOnly() {
+        // When
+        String plan = planOf(() -> opportunityRepository.findOpportunitiesForScoring(LAST_DISCOVERY.minusDays(7)),
+            query -> query.contains("scored_at is null"));
+
+        // Then: either partial index of the unscored rows
+        assertThat(plan).contains("idx_opportunity_unscored").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void staleCleanup_ShouldBeRangeScan() {
+        // When
+        String plan = planOf(() -> opportunityRepository.findStaleOpportunities(FIRST_DISCOVERY.plusDays(1)),
+            query -> query.contains("last_updated<"));
+
+        // Then
+        assertThat(plan).contains("idx_opportunity_active_last_updated").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void discoveryTimeSeries_ShouldUseBlockRangeIndex() {
+        // Given
+        AnalyticsService analyticsService = new AnalyticsService(opportunityRepository, jdbcTemplate,
+            new RequestCanonicalizer(new CacheProperties()));
+
+        // When
+        String plan = planOf(() -> analyticsService.getOpportunityTimeSeries(7),
+            query -> query.contains("GROUP BY DATE(discovered_at)"));
+
+        // Then
+        assertThat(plan).contains("idx_opportunity_discovered_brin").doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Text and plan of the one statement {@code call} sends that {@code statement} picks,
+     * logged by auto_explain on the test transaction's connection, which the repositories
+     * share
+     */
+    private String planOf(Runnable call, Predicate<String> statement) {
+        jdbcTemplate.execute("LOAD 'auto_explain'");
+        jdbcTemplate.execute("SET auto_explain.log_min_duration = 0");
+        int start = postgres.getLogs().length();
+        call.run();
+        String marker = "plans-end-" + UUID.randomUUID();
+        jdbcTemplate.queryForObject("SELECT '" + marker + "'", String.class);
+        jdbcTemplate.execute("SET auto_explain.log_min_duration = -1");
+
+        // Each entry is a statement's text followed by its plan
+        String logs = logsUpTo(marker);
+        List<String> plans = Arrays.stream(logs.substring(start, logs.indexOf(marker)).split("Query Text: "))
+            .skip(1)
+            .filter(statement)
+            .toList();
+        assertThat(plans).as("statements matching the filter").hasSize(1);
+        return plans.get(0);
+    }
+
+    /**
+     * The container log once Postgres has written {@code marker} to it
+     */
+    private static String logsUpTo(String marker) {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String logs = postgres.getLogs();
+            if (logs.contains(marker)) {
+                return logs;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("auto_explain did not log " + marker);
+    }
+}
@@ -1,20 +1,35 @@
 package com.psehrawa.oppfinder.discovery.service;
 
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
 import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
 import com.psehrawa.oppfinder.common.enums.*;
 import com.psehrawa.oppfinder.discovery.mapper.OpportunityMapper;
 import com.psehrawa.oppfinder.discovery.repository.OpportunityRepository;
+import com.psehrawa.oppfinder.discovery.repository.OpportunitySpecifications;
+import com.psehrawa.oppfinder.discovery.repository.OpportunitySummary;
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheEvictions;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheProperties;
+import com.psehrawa.oppfinder.discovery.service.cache.RequestCanonicalizer;
+import com.psehrawa.oppfinder.discovery.service.scoring.OpportunityScoringService;
+import com.psehrawa.oppfinder.discovery.service.search.OpportunitySearchIndex;
+import com.psehrawa.oppfinder.discovery.service.search.SearchHits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.core.KafkaTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,6 +50,21 @@ class OpportunityServiceTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private OpportunityScoringService scoringService;
+
+    @Mock
+    private OpportunitySearchIndex searchIndex;
+
+    @Mock
+    private CacheGenerations cacheGenerations;
+
+    @Mock
+    private CacheEvictions cacheEvictions;
+
+    @Spy
+    private RequestCanonicalizer requestCanonicalizer = new RequestCanonicalizer(new CacheProperties());
+
     @InjectMocks
     private OpportunityService opportunityService;
 
@@ -92,7 +122,8 @@ class OpportunityServiceTest {
         // Then
         assertThat(result).isEqualTo(testOpportunityDto);
         verify(opportunityRepository).save(testOpportunityEntity);
-        verify(kafkaTemplate).send("opportunity.discovered", testOpportunityDto);
+        verify(kafkaTemplate).send("opportunity.discovered", "1", testOpportunityDto);
+        verify(cacheGenerations).changed(DataSource.GITHUB, OpportunityType.TECHNOLOGY_TREND, true);
     }
 
     @Test
@@ -110,13 +141,49 @@ class OpportunityServiceTest {
         assertThat(result).isEqualTo(testOpportunityDto);
         verify(opportunityMapper).updateEntityFromDto(testOpportunityDto, testOpportunityEntity);
         verify(opportunityRepository).save(testOpportunityEntity);
-        verify(kafkaTemplate).send("opportunity.updated", testOpportunityDto);
+        verify(kafkaTemplate).send("opportunity.updated", "1", testOpportunityDto);
+        verify(cacheEvictions).evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(1L));
+    }
+
+    @Test
+    void saveOpportunity_UnchangedRediscovery_ShouldKeepCachedSearches() {
+        // Given: the mapper leaves the stored row as it was
+        when(opportunityRepository.findBySourceAndExternalId(DataSource.GITHUB, "test-123"))
+            .thenReturn(Optional.of(testOpportunityEntity));
+        when(opportunityRepository.save(testOpportunityEntity)).thenReturn(testOpportunityEntity);
+        when(opportunityMapper.toDto(testOpportunityEntity)).thenReturn(testOpportunityDto);
+
+        // When
+        opportunityService.saveOpportunity(testOpportunityDto);
+
+        // Then
+        verify(cacheGenerations, never()).changed(any(), any(), any());
+    }
+
+    @Test
+    void saveOpportunity_TypeChanged_ShouldInvalidateOldAndNewType() {
+        // Given
+        when(opportunityRepository.findBySourceAndExternalId(DataSource.GITHUB, "test-123"))
+            .thenReturn(Optional.of(testOpportunityEntity));
+        doAnswer(invocation -> {
+            testOpportunityEntity.setType(OpportunityType.STARTUP_FUNDING);
+            return null;
+        }).when(opportunityMapper).updateEntityFromDto(testOpportunityDto, testOpportunityEntity);
+        when(opportunityRepository.save(testOpportunityEntity)).thenReturn(testOpportunityEntity);
+        when(opportunityMapper.toDto(testOpportunityEntity)).thenReturn(testOpportunityDto);
+
+        // When
+        opportunityService.saveOpportunity(testOpportunityDto);
+
+        // Then
+        verify(cacheGenerations).changed(DataSource.GITHUB, OpportunityType.TECHNOLOGY_TREND, true);
+        verify(cacheGenerations).changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, true);
     }
 
     @Test
     void findById_ExistingOpportunity_ShouldReturnDto() {
         // Given
-        when(opportunityRepository.findById(1L)).thenReturn(Optional.of(testOpportunityEntity));
+        when(opportunityRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testOpportunityEntity));
         when(opportunityMapper.toDto(testOpportunityEntity)).thenReturn(testOpportunityDto);
 
         // When
@@ -130,7 +197,7 @@ class OpportunityServiceTest {
     @Test
     void findById_NonExistingOpportunity_ShouldReturnEmpty() {
         // Given
-        when(opportunityRepository.findById(1L)).thenReturn(Optional.empty());
+        when(opportunityRepository.findWithDetailsById(1L)).thenReturn(Optional.empty());
 
         // When
         Optional<OpportunityDto> result = opportunityService.findById(1L);
@@ -153,7 +220,7 @@ class OpportunityServiceTest {
         assertThat(result).isEqualTo(testOpportunityDto);
         assertThat(testOpportunityEntity.getStatus()).isEqualTo(OpportunityStatus.ENGAGED);
         verify(opportunityRepository).save(testOpportunityEntity);
-        verify(kafkaTemplate).send("opportunity.updated", testOpportunityDto);
+        verify(kafkaTemplate).send("opportunity.updated", "1", testOpportunityDto);
     }
 
     @Test
@@ -182,7 +249,7 @@ class OpportunityServiceTest {
         assertThat(result).isEqualTo(testOpportunityDto);
         assertThat(testOpportunityEntity.getScore()).isEqualTo(newScore);
         verify(opportunityRepository).save(testOpportunityEntity);
-        verify(kafkaTemplate).send("opportunity.scored", testOpportunityDto);
+        verify(kafkaTemplate).send("opportunity.scored", "1", testOpportunityDto);
     }
 
     @Test
@@ -210,4 +277,90 @@ class OpportunityServiceTest {
         assertThat(testOpportunityEntity.getIsActive()).isFalse();
         verify(opportunityRepository).save(testOpportunityEntity);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deactivateOpportunity_ShouldDropFromSearchIndex() {
+        // Given
+        when(opportunityRepository.findById(1L)).thenReturn(Optional.of(testOpportunityEntity));
+
+        // When
+        opportunityService.deactivateOpportunity(1L);
+
+        // Then
+        verify(searchIndex).remove(List.of(1L));
+        verify(cacheEvictions).evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(1L));
+    }
+
+    @Test
+    void cleanupStaleOpportunities_ShouldEvictEveryDeactivatedRowAtOnce() {
+        // Given
+        OpportunityEntity other = OpportunityEntity.builder()
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.TECHNOLOGY_TREND)
+            .isActive(true)
+            .build();
+        other.setId(2L);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        when(opportunityRepository.findStaleOpportunities(cutoff)).thenReturn(List.of(testOpportunityEntity, other));
+
+        // When
+        opportunityService.cleanupStaleOpportunities(cutoff);
+
+        // Then
+        assertThat(other.getIsActive()).isFalse();
+        verify(cacheEvictions).evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(1L, 2L));
+        verify(searchIndex).remove(List.of(1L, 2L));
+    }
+
+    @Test
+    void searchOpportunities_AnsweredByIndex_ShouldLoadSummariesInRankOrder() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder().searchTerm(" payments ").build();
+        OpportunitySearchCriteria canonical = OpportunitySearchCriteria.builder().searchTerm("payments").isActive(true).build();
+        OpportunitySummary first = summary(1L, true);
+        OpportunitySummary second = summary(2L, true);
+        OpportunitySummary deactivated = summary(3L, false);
+        OpportunitySummaryDto firstDto = OpportunitySummaryDto.builder().id(1L).build();
+        OpportunitySummaryDto secondDto = OpportunitySummaryDto.builder().id(2L).build();
+        when(searchIndex.search(eq(canonical), any(LocalDateTime.class), eq(0), eq(20))).thenReturn(Optional.of(new SearchHits(List.of(2L, 3L, 1L), 7)));
+        when(opportunityRepository.findSummariesById(List.of(2L, 3L, 1L)))
+            .thenReturn(List.of(first, deactivated, second));
+        when(opportunityMapper.toSummaryDto(first)).thenReturn(firstDto);
+        when(opportunityMapper.toSummaryDto(second)).thenReturn(secondDto);
+
+        // When
+        Page<OpportunitySummaryDto> page = opportunityService.searchOpportunities(criteria);
+
+        // Then
+        assertThat(page.getContent()).containsExactly(secondDto, firstDto);
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        verify(opportunityRepository, never()).searchOpportunityIds(any(), any(), any());
+        verify(opportunityRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchOpportunities_TextInDatabase_ShouldFilterAndSortAsRequested() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .searchTerm("payments").minScore(new BigDecimal("75")).sortBy("score").sortDirection("ASC").build();
+        OpportunitySearchCriteria canonical = OpportunitySearchCriteria.builder()
+            .searchTerm("payments").minScore(new BigDecimal("75")).sortBy("score").sortDirection("ASC").isActive(true).build();
+        PageRequest pageable = PageRequest.of(0, 20, OpportunitySpecifications.sort("score", "ASC"));
+        when(searchIndex.search(eq(canonical), any(LocalDateTime.class), eq(0), eq(20))).thenReturn(Optional.empty());
+        when(opportunityRepository.searchOpportunityIds(eq(canonical), eq(pageable), any(LocalDateTime.class)))
+            .thenReturn(Page.empty(pageable));
+
+        // When
+        Page<OpportunitySummaryDto> page = opportunityService.searchOpportunities(criteria);
+
+        // Then
+        assertThat(page.getContent()).isEmpty();
+        verify(opportunityRepository).searchOpportunityIds(eq(canonical), eq(pageable), any(LocalDateTime.class));
+    }
+
+    private static OpportunitySummary summary(Long id, boolean active) {
+        return new OpportunitySummary(id, "Opportunity " + id, null, null, DataSource.GITHUB,
+            OpportunityType.STARTUP_FUNDING, OpportunityStatus.DISCOVERED, null, null, null, null, null,
+            null, null, BigDecimal.TEN, null, null, null, LocalDateTime.now(), active);
+    }
+}
@@ -0,0 +1,69 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CacheEvictionsTest {
+
+    private final CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+    private final TwoTierCache byId = new TwoTierCache(CacheEvictions.OPPORTUNITY_BY_ID, Caffeine.newBuilder(),
+        new ConcurrentMapCache(CacheEvictions.OPPORTUNITY_BY_ID), bus, null);
+    private CacheEvictions evictions;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(byId));
+        cacheManager.afterPropertiesSet();
+        evictions = new CacheEvictions(cacheManager);
+        byId.put(1L, "first");
+        byId.put(2L, "second");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evict_InTransaction_ShouldWaitForCommitAndBroadcastOnce() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        evictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(1L, 2L));
+
+        // Then
+        assertThat(byId.get(1L)).isNotNull();
+        verifyNoInteractions(bus);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(byId.get(1L)).isNull();
+        assertThat(byId.get(2L)).isNull();
+        verify(bus).evicted(CacheEvictions.OPPORTUNITY_BY_ID, List.of("1", "2"));
+    }
+
+    @Test
+    void evict_WithoutTransaction_ShouldEvictAtOnce() {
+        // When
+        evictions.evict(CacheEvictions.OPPORTUNITY_BY_ID, List.of(1L));
+
+        // Then
+        assertThat(byId.get(1L)).isNull();
+        assertThat(byId.get(2L)).isNotNull();
+    }
+}
@@ -0,0 +1,116 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheGenerationsTest {
+
+    private final CacheGenerations generations = new CacheGenerations();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void changed_ShouldBumpOnlyTheRowsPartitions() {
+        // Given
+        String github = stamp(CacheGenerations.source(DataSource.GITHUB));
+        String hackerNews = stamp(CacheGenerations.source(DataSource.HACKER_NEWS));
+
+        // When
+        generations.changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, true);
+
+        // Then
+        assertThat(stamp(CacheGenerations.source(DataSource.GITHUB))).isNotEqualTo(github);
+        assertThat(stamp(CacheGenerations.source(DataSource.HACKER_NEWS))).isEqualTo(hackerNews);
+        assertThat(generations.generation(CacheGenerations.type(OpportunityType.STARTUP_FUNDING))).isEqualTo(1);
+        assertThat(generations.generation(CacheGenerations.ACTIVE)).isEqualTo(1);
+        assertThat(generations.generation(CacheGenerations.INACTIVE)).isZero();
+    }
+
+    @Test
+    void batch_ShouldBumpEachPartitionOnceWhenTheOutermostCloses() {
+        // When
+        try (CacheGenerations.Batch outer = generations.batch()) {
+            for (int i = 0; i < 50; i++) {
+                generations.changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, true);
+            }
+            try (CacheGenerations.Batch inner = generations.batch()) {
+                generations.changed(DataSource.GITHUB, OpportunityType.TECHNOLOGY_TREND, true);
+            }
+            assertThat(generations.generation(CacheGenerations.source(DataSource.GITHUB))).isZero();
+        }
+
+        // Then
+        assertThat(generations.generation(CacheGenerations.source(DataSource.GITHUB))).isEqualTo(1);
+        assertThat(generations.generation(CacheGenerations.type(OpportunityType.TECHNOLOGY_TREND))).isEqualTo(1);
+    }
+
+    @Test
+    void changed_InTransaction_ShouldBumpAfterCommitOnly() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        generations.changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, false);
+        generations.changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, false);
+        long beforeCommit = generations.generation(CacheGenerations.INACTIVE);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertThat(beforeCommit).isZero();
+        assertThat(generations.generation(CacheGenerations.INACTIVE)).isEqualTo(1);
+    }
+
+    @Test
+    void changed_RolledBack_ShouldNotBump() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        generations.changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, true);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertThat(generations.generation(CacheGenerations.ACTIVE)).isZero();
+    }
+
+    @Test
+    void changed_WithSharedStore_ShouldTakeItsCounts() {
+        // Given: other replicas have bumped every partition twice
+        generations.share(partitions -> partitions.stream()
+            .collect(Collectors.toMap(Function.identity(), partition -> 3L)));
+
+        // When
+        generations.changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, true);
+        generations.advance(Map.of(CacheGenerations.ACTIVE, 2L)); // a late message
+
+        // Then
+        assertThat(generations.generation(CacheGenerations.ACTIVE)).isEqualTo(3);
+        assertThat(generations.generation(CacheGenerations.source(DataSource.GITHUB))).isEqualTo(3);
+    }
+
+    private String stamp(String partition) {
+        return generations.stamp(List.of(partition));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
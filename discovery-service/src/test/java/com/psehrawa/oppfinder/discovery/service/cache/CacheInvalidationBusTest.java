@@ -0,0 +1,52 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CacheInvalidationBusTest {
+
+    private final CacheGenerations generations = new CacheGenerations();
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(mock(StringRedisTemplate.class), generations);
+
+    @Test
+    void onMessage_EvictionFromAnotherReplica_ShouldDropTheLocalCopies() {
+        // Given
+        TwoTierCache cache = new TwoTierCache("opportunityById", Caffeine.newBuilder(),
+            new ConcurrentMapCache("opportunityById"), bus, null);
+        bus.register(cache);
+        cache.put(1L, "first");
+        cache.put(2L, "second");
+
+        // When
+        bus.onMessage(message("""
+            {"origin":"other","cache":"opportunityById","keys":["1"],"clear":false}"""), null);
+
+        // Then
+        assertThat(cache.getNativeCache().getIfPresent("1")).isNull();
+        assertThat(cache.getNativeCache().getIfPresent("2")).isNotNull();
+    }
+
+    @Test
+    void onMessage_Generations_ShouldAdvanceAndIgnoreUnreadableMessages() {
+        // When
+        bus.onMessage(message("""
+            {"origin":"other","generations":{"active":4}}"""), null);
+        bus.onMessage(message("¬í not json"), null);
+
+        // Then
+        assertThat(generations.generation(CacheGenerations.ACTIVE)).isEqualTo(4);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
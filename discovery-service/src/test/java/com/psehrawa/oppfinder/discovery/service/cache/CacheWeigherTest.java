@@ -0,0 +1,41 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheWeigherTest {
+
+    private final CacheWeigher weigher = new CacheWeigher();
+
+    @Test
+    void weigh_Page_ShouldScaleWithItsContent() {
+        // Given
+        OpportunitySummaryDto summary = OpportunitySummaryDto.builder()
+            .id(1L)
+            .title("Series A for a payments startup")
+            .excerpt("x".repeat(300))
+            .build();
+        List<OpportunitySummaryDto> hundred = Collections.nCopies(100, summary);
+
+        // When
+        int one = weigher.weigh(1L, summary);
+        int page = weigher.weigh("q=payments", new PageImpl<>(hundred, PageRequest.of(0, 100), 100));
+
+        // Then
+        assertThat(page).isBetween(90 * one, 110 * one);
+    }
+
+    @Test
+    void weigh_UnknownValue_ShouldCountAFixedEstimate() {
+        // When / Then
+        assertThat(CacheWeigher.estimate(new Object())).isEqualTo(CacheWeigher.OTHER);
+        assertThat(weigher.weigh("key", null)).isPositive();
+    }
+}
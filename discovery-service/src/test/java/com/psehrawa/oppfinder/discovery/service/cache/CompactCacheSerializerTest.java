@@ -0,0 +1,76 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySummaryDto;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactCacheSerializerTest {
+
+    private final CompactCacheSerializer serializer = new CompactCacheSerializer()
+        .register("opportunity", OpportunityDto.class)
+        .registerPage("summaries", OpportunitySummaryDto.class);
+
+    @Test
+    void serialize_PageOfSummaries_ShouldRoundTripSmallerThanJson() throws Exception {
+        // Given
+        List<OpportunitySummaryDto> summaries = LongStream.rangeClosed(1, 100)
+            .mapToObj(id -> OpportunitySummaryDto.builder()
+                .id(id)
+                .title("Opportunity " + id)
+                .source(DataSource.GITHUB)
+                .type(OpportunityType.STARTUP_FUNDING)
+                .score(new BigDecimal("71.50"))
+                .discoveredAt(LocalDateTime.of(2024, 3, 1, 10, 15))
+                .build())
+            .toList();
+        Page<OpportunitySummaryDto> page = new PageImpl<>(summaries,
+            PageRequest.of(2, 100, Sort.by(Sort.Direction.DESC, "score")), 1000);
+        int json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(summaries).length;
+
+        // When
+        byte[] bytes = serializer.serialize(page);
+
+        // Then
+        assertThat(bytes.length).isLessThan(json / 2);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(page);
+    }
+
+    @Test
+    void serialize_UnregisteredType_ShouldBeRefused() {
+        // When / Then
+        assertThatThrownBy(() -> serializer.serialize(List.of("not", "cacheable")))
+            .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void deserialize_UnknownTag_ShouldBeRejected() {
+        // Given: a payload naming a class rather than a registered tag
+        byte[] tag = "java.util.HashMap".getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[2 + tag.length];
+        bytes[1] = (byte) tag.length;
+        System.arraycopy(tag, 0, bytes, 2, tag.length);
+
+        // When / Then
+        assertThatThrownBy(() -> serializer.deserialize(bytes))
+            .isInstanceOf(SerializationException.class)
+            .hasMessageContaining("java.util.HashMap");
+    }
+}
@@ -0,0 +1,109 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityStatus;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpportunityCacheKeysTest {
+
+    private final CacheGenerations generations = new CacheGenerations();
+    private final CacheProperties properties = new CacheProperties();
+    private final RequestCanonicalizer canonicalizer = new RequestCanonicalizer(properties);
+    private final OpportunityCacheKeys keys = new OpportunityCacheKeys(generations, canonicalizer);
+
+    @Test
+    void search_SameFiltersInAnyOrder_ShouldShareAKey() {
+        // Given
+        OpportunitySearchCriteria first = OpportunitySearchCriteria.builder()
+            .statuses(List.of(OpportunityStatus.ANALYZED, OpportunityStatus.DISCOVERED))
+            .tags(List.of("AI", "fintech"))
+            .build();
+        OpportunitySearchCriteria second = OpportunitySearchCriteria.builder()
+            .statuses(List.of(OpportunityStatus.DISCOVERED, OpportunityStatus.ANALYZED, OpportunityStatus.DISCOVERED))
+            .tags(List.of("fintech", " ai "))
+            .build();
+
+        // When / Then
+        assertThat(keys.search(first)).isEqualTo(keys.search(second));
+    }
+
+    @Test
+    void search_DifferentPages_ShouldNotCollide() {
+        // When / Then
+        assertThat(keys.search(OpportunitySearchCriteria.builder().page(0).size(20).build()))
+            .isNotEqualTo(keys.search(OpportunitySearchCriteria.builder().page(0).size(50).build()));
+    }
+
+    @Test
+    void search_WriteToAnotherSource_ShouldKeepTheKey() {
+        // Given
+        OpportunitySearchCriteria githubOnly = OpportunitySearchCriteria.builder()
+            .sources(List.of(DataSource.GITHUB))
+            .build();
+        String before = keys.search(githubOnly);
+
+        // When
+        generations.changed(DataSource.HACKER_NEWS, OpportunityType.STARTUP_FUNDING, true);
+
+        // Then
+        assertThat(keys.search(githubOnly)).isEqualTo(before);
+    }
+
+    @Test
+    void search_WriteToTheSource_ShouldChangeTheKey() {
+        // Given
+        OpportunitySearchCriteria githubOnly = OpportunitySearchCriteria.builder()
+            .sources(List.of(DataSource.GITHUB))
+            .build();
+        String before = keys.search(githubOnly);
+
+        // When
+        generations.changed(DataSource.GITHUB, OpportunityType.STARTUP_FUNDING, false);
+
+        // Then
+        assertThat(keys.search(githubOnly)).isNotEqualTo(before);
+    }
+
+    @Test
+    void trending_SameSinceRankedInAnotherBucket_ShouldNotCollide() {
+        // Given: a bucket that does not divide an hour, so since and now floor apart
+        CacheProperties.CacheSpec trending = new CacheProperties.CacheSpec();
+        trending.setTimeBucket(Duration.ofMinutes(7));
+        properties.getCaches().put(OpportunityCacheKeys.TRENDING, trending);
+        LocalDateTime since = LocalDateTime.of(2024, 3, 1, 9, 0);
+        canonicalizer.setClock(Clock.fixed(Instant.parse("2024-03-01T10:01:00Z"), ZoneOffset.UTC));
+        String first = keys.trending(new BigDecimal("60"), since, PageRequest.of(0, 20));
+
+        // When
+        canonicalizer.setClock(Clock.fixed(Instant.parse("2024-03-01T10:06:00Z"), ZoneOffset.UTC));
+        String second = keys.trending(new BigDecimal("60"), since, PageRequest.of(0, 20));
+
+        // Then
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test
+    void partitions_TextSearch_ShouldDependOnTheActiveSetWhateverTheFilters() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .searchTerm("payments")
+            .sources(List.of(DataSource.GITHUB))
+            .build();
+
+        // When / Then
+        assertThat(OpportunityCacheKeys.partitions(criteria)).containsExactly(CacheGenerations.ACTIVE);
+    }
+}
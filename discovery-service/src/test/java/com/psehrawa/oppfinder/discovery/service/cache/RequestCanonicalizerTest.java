@@ -0,0 +1,90 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCanonicalizerTest {
+
+    private final CacheProperties properties = new CacheProperties();
+    private final RequestCanonicalizer canonicalizer = new RequestCanonicalizer(properties);
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties.CacheSpec analytics = new CacheProperties.CacheSpec();
+        analytics.setTimeBucket(Duration.ofHours(1));
+        properties.getCaches().put("analytics", analytics);
+        canonicalizer.setClock(Clock.fixed(Instant.parse("2024-03-01T10:17:42Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void asOf_ShouldFloorToTheCachesBucket() {
+        // When / Then
+        assertThat(canonicalizer.asOf("trendingOpportunities")).isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 15));
+        assertThat(canonicalizer.asOf("analytics")).isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 0));
+    }
+
+    @Test
+    void canonical_EquivalentRequests_ShouldBeEqual() {
+        // Given
+        OpportunitySearchCriteria first = OpportunitySearchCriteria.builder()
+            .types(List.of(OpportunityType.STARTUP_FUNDING, OpportunityType.TECHNOLOGY_TREND))
+            .minScore(new BigDecimal("70"))
+            .build();
+        OpportunitySearchCriteria second = OpportunitySearchCriteria.builder()
+            .types(List.of(OpportunityType.TECHNOLOGY_TREND, OpportunityType.STARTUP_FUNDING))
+            .minScore(new BigDecimal("70.00"))
+            .isActive(true)
+            .build();
+
+        // When / Then
+        assertThat(canonicalizer.canonical(first)).isEqualTo(canonicalizer.canonical(second));
+    }
+
+    @Test
+    void canonical_DiscoveryWindow_ShouldKeepExactBounds() {
+        // Given
+        LocalDateTime after = LocalDateTime.of(2024, 2, 29, 10, 16, 3);
+        LocalDateTime before = LocalDateTime.of(2024, 3, 1, 9, 59, 58);
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .discoveredAfter(after)
+            .discoveredBefore(before)
+            .build();
+
+        // When
+        OpportunitySearchCriteria canonical = canonicalizer.canonical(criteria);
+
+        // Then
+        assertThat(canonical.getDiscoveredAfter()).isEqualTo(after);
+        assertThat(canonical.getDiscoveredBefore()).isEqualTo(before);
+    }
+
+    @Test
+    void canonical_EmptyFilters_ShouldBeUnset() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .types(List.of())
+            .tags(List.of(" "))
+            .searchTerm("  ")
+            .build();
+
+        // When
+        OpportunitySearchCriteria canonical = canonicalizer.canonical(criteria);
+
+        // Then
+        assertThat(canonical.getTypes()).isNull();
+        assertThat(canonical.getTags()).isNull();
+        assertThat(canonical.getSearchTerm()).isNull();
+    }
+}
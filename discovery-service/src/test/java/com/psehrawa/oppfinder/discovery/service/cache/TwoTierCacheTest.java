@@ -0,0 +1,101 @@
+package com.psehrawa.oppfinder.discovery.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TwoTierCacheTest {
+
+    private final Cache shared = new ConcurrentMapCache("opportunityById");
+    private final CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+    private final TwoTierCache replica = replica();
+    private final TwoTierCache otherReplica = replica();
+
+    @Test
+    void get_MissedLocally_ShouldReadTheSharedEntryAndKeepIt() {
+        // Given
+        otherReplica.put(1L, "opportunity");
+
+        // When
+        Cache.ValueWrapper value = replica.get(1L);
+
+        // Then
+        assertThat(value).isNotNull();
+        assertThat(value.get()).isEqualTo("opportunity");
+        assertThat(replica.getNativeCache().getIfPresent("1")).isEqualTo("opportunity");
+    }
+
+    @Test
+    void evict_ShouldDropTheSharedEntryAndBroadcast() {
+        // Given
+        replica.put(1L, "opportunity");
+        otherReplica.get(1L);
+
+        // When
+        replica.evict(1L);
+
+        // Then: the other replica keeps its copy until the broadcast arrives
+        assertThat(shared.get(1L)).isNull();
+        verify(bus).evicted("opportunityById", List.of("1"));
+        assertThat(otherReplica.get(1L)).isNotNull();
+        otherReplica.evictLocal(List.of("1"));
+        assertThat(otherReplica.get(1L)).isNull();
+    }
+
+    @Test
+    void get_WithLoader_ShouldShareTheLoadedValueIncludingNull() {
+        // When
+        Object loaded = replica.get(2L, () -> null);
+
+        // Then
+        assertThat(loaded).isNull();
+        assertThat(otherReplica.get(2L)).isNotNull();
+        assertThat(otherReplica.get(2L).get()).isNull();
+    }
+
+    @Test
+    void get_PastRefreshAfterWrite_ShouldAnswerStaleAndShareTheReload() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        AtomicInteger computations = new AtomicInteger();
+        CacheRefresher refresher = new CacheRefresher() {
+            @Override
+            public String cacheName() {
+                return "analytics";
+            }
+
+            @Override
+            public Object recompute(Object key) {
+                return "figures " + computations.incrementAndGet();
+            }
+        };
+        TwoTierCache analytics = new TwoTierCache("analytics", Caffeine.newBuilder()
+            .ticker(nanos::get)
+            .executor(Runnable::run)
+            .refreshAfterWrite(Duration.ofMinutes(5)), shared, bus, refresher);
+        analytics.put("dashboard", "figures 0");
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        // When
+        Cache.ValueWrapper stale = analytics.get("dashboard");
+
+        // Then
+        assertThat(stale.get()).isEqualTo("figures 0");
+        assertThat(analytics.get("dashboard").get()).isEqualTo("figures 1");
+        assertThat(shared.get("dashboard").get()).isEqualTo("figures 1");
+    }
+
+    private TwoTierCache replica() {
+        return new TwoTierCache("opportunityById", Caffeine.newBuilder(), shared, bus, null);
+    }
+}
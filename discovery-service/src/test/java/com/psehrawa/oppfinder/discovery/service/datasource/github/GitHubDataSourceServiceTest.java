@@ -1,5 +1,6 @@
 package com.psehrawa.oppfinder.discovery.service.datasource.github;
 
+import com.psehrawa.oppfinder.common.classification.OpportunityClassifier;
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.Country;
 import com.psehrawa.oppfinder.common.enums.DataSource;
@@ -65,7 +66,8 @@ class GitHubDataSourceServiceTest {
         when(rateLimitConfig2.getRequestsPerHour()).thenReturn(5000);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
-        gitHubService = new GitHubDataSourceService(githubWebClient, redisTemplate, rateLimitConfig);
+        gitHubService = new GitHubDataSourceService(githubWebClient, redisTemplate, rateLimitConfig,
+            OpportunityClassifier.defaults());
     }
 
     @Test
@@ -0,0 +1,38 @@
+package com.psehrawa.oppfinder.discovery.service.datasource.reddit;
+
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatureExtractor;
+import com.psehrawa.oppfinder.discovery.service.text.TextFeatures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedditDataSourceServiceTest {
+
+    private final TextFeatureExtractor extractor = new TextFeatureExtractor(List.of());
+
+    @Test
+    void extractCompanyName_CommonWordFirst_ShouldSkipToTheNextPhrase() {
+        // Given
+        TextFeatures features = extractor.extract("The team at Brightloop is hiring engineers");
+
+        // When
+        String company = RedditDataSourceService.extractCompanyName(features);
+
+        // Then
+        assertThat(company).isEqualTo("Brightloop");
+    }
+
+    @Test
+    void extractCompanyName_NoCapitalizedPhrase_ShouldBeUnknown() {
+        // Given
+        TextFeatures features = extractor.extract("we are hiring engineers");
+
+        // When
+        String company = RedditDataSourceService.extractCompanyName(features);
+
+        // Then
+        assertThat(company).isEqualTo("Unknown Company");
+    }
+}
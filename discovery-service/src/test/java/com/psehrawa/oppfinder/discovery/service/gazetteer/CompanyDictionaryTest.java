@@ -0,0 +1,96 @@
+package com.psehrawa.oppfinder.discovery.service.gazetteer;
+
+import com.psehrawa.oppfinder.common.enums.CompanySize;
+import com.psehrawa.oppfinder.common.enums.Country;
+import com.psehrawa.oppfinder.common.enums.Industry;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompanyDictionaryTest {
+
+    private static final String DICTIONARY = """
+        # id\tname\taliases\tindustry\tsize\tcountry
+        google\tGoogle\tAlphabet|GOOGL\tCLOUD_COMPUTING\tENTERPRISE\tUS
+        google-cloud\tGoogle Cloud\tGCP\tCLOUD_COMPUTING\tENTERPRISE\tUS
+        notion\tNotion\t\tENTERPRISE_SOFTWARE\tMEDIUM\tUS
+        stripe\tStripe
+        """;
+
+    @Test
+    void parse_ShouldReadEntriesAndSkipComments() throws IOException {
+        // When
+        CompanyDictionary dictionary = parse(DICTIONARY);
+
+        // Then
+        assertThat(dictionary.size()).isEqualTo(4);
+        assertThat(dictionary.findById("google").aliases()).containsExactly("Alphabet", "GOOGL");
+        assertThat(dictionary.findById("notion").industry()).isEqualTo(Industry.ENTERPRISE_SOFTWARE);
+        assertThat(dictionary.findById("notion").size()).isEqualTo(CompanySize.MEDIUM);
+        assertThat(dictionary.findById("notion").country()).isEqualTo(Country.US);
+        assertThat(dictionary.findById("stripe").industry()).isNull();
+    }
+
+    @Test
+    void parse_ShouldReportLineOfInvalidEntry() {
+        assertThatThrownBy(() -> parse("acme\tAcme\t\tNOT_AN_INDUSTRY"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Line 1:");
+        assertThatThrownBy(() -> parse("# header\n\tNameless"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Line 2:");
+    }
+
+    @Test
+    void findMentions_ShouldPreferLongestName() throws IOException {
+        // Given
+        CompanyDictionary dictionary = parse(DICTIONARY);
+
+        // When
+        List<CompanyMention> mentions = dictionary.findMentions("Moved from Google Cloud to Google,\nthen   GCP");
+
+        // Then
+        assertThat(mentions).extracting(mention -> mention.company().id())
+            .containsExactly("google-cloud", "google", "google-cloud");
+        assertThat(mentions.get(0).start()).isEqualTo(11);
+        assertThat(mentions.get(0).end()).isEqualTo(23);
+    }
+
+    @Test
+    void findMentions_ShouldMatchWholeWordsIgnoringCase() throws IOException {
+        // Given
+        CompanyDictionary dictionary = parse(DICTIONARY);
+
+        // Then
+        assertThat(dictionary.firstMention("STRIPE's checkout").company().id()).isEqualTo("stripe");
+        assertThat(dictionary.firstMention("Google  cloud outage").company().id()).isEqualTo("google-cloud");
+        assertThat(dictionary.firstMention("Googlers and Stripes")).isNull();
+        assertThat(dictionary.firstMention("I had a notion")).isNull();
+        assertThat(dictionary.firstMention(null)).isNull();
+    }
+
+    @Test
+    void duplicateNames_ShouldKeepFirstEntry() {
+        // Given
+        CompanyEntry first = new CompanyEntry("meta", "Meta", List.of(), null, null, null);
+        CompanyEntry second = new CompanyEntry("meta-ai", "Meta AI", List.of("Meta"), null, null, null);
+
+        // When
+        CompanyDictionary dictionary = new CompanyDictionary(List.of(first, second));
+
+        // Then
+        assertThat(dictionary.duplicateNames()).isEqualTo(1);
+        assertThat(dictionary.firstMention("Meta is hiring").company()).isEqualTo(first);
+        assertThat(dictionary.firstMention("Meta AI is hiring").company()).isEqualTo(second);
+    }
+
+    private static CompanyDictionary parse(String tsv) throws IOException {
+        return CompanyDictionary.parse(new BufferedReader(new StringReader(tsv)));
+    }
+}
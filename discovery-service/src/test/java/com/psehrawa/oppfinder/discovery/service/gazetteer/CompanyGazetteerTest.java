@@ -0,0 +1,79 @@
+package com.psehrawa.oppfinder.discovery.service.gazetteer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompanyGazetteerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_WithoutConfiguredPath_ShouldUseBundledDictionary() {
+        // Given
+        CompanyGazetteer gazetteer = new CompanyGazetteer(new GazetteerProperties());
+
+        // When
+        gazetteer.load();
+
+        // Then
+        assertThat(gazetteer.size()).isGreaterThan(0);
+        assertThat(gazetteer.firstMention("Just joined Stripe as a PM").company().id()).isEqualTo("stripe");
+        assertThat(gazetteer.reloadIfChanged()).isFalse();
+    }
+
+    @Test
+    void reloadIfChanged_ShouldSwapInEditedDictionary() throws IOException {
+        // Given
+        Path file = tempDir.resolve("companies.tsv");
+        Files.writeString(file, "acme\tAcme Corp\n");
+        CompanyGazetteer gazetteer = new CompanyGazetteer(properties(file));
+        gazetteer.load();
+        assertThat(gazetteer.findById("acme")).isNotNull();
+
+        // When
+        Files.writeString(file, "acme\tAcme Corp\nglobex\tGlobex\n");
+        touch(file);
+
+        // Then
+        assertThat(gazetteer.reloadIfChanged()).isTrue();
+        assertThat(gazetteer.size()).isEqualTo(2);
+        assertThat(gazetteer.reloadIfChanged()).isFalse();
+    }
+
+    @Test
+    void reloadIfChanged_WithInvalidFile_ShouldKeepPreviousDictionary() throws IOException {
+        // Given
+        Path file = tempDir.resolve("companies.tsv");
+        Files.writeString(file, "acme\tAcme Corp\n");
+        CompanyGazetteer gazetteer = new CompanyGazetteer(properties(file));
+        gazetteer.load();
+
+        // When
+        Files.writeString(file, "acme\tAcme Corp\tAcme\tNOT_AN_INDUSTRY\n");
+        touch(file);
+
+        // Then
+        assertThat(gazetteer.reloadIfChanged()).isFalse();
+        assertThat(gazetteer.firstMention("Acme Corp raised").company().id()).isEqualTo("acme");
+    }
+
+    private static GazetteerProperties properties(Path file) {
+        GazetteerProperties properties = new GazetteerProperties();
+        properties.setDictionaryPath(file.toString());
+        return properties;
+    }
+
+    private static void touch(Path file) throws IOException {
+        // Filesystem timestamps can be coarse, so move the clock forward explicitly
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2_000));
+    }
+}
@@ -0,0 +1,157 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.RecencyDecay;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MlScoringEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    // Predicts a base score of 60 for every opportunity
+    private static final String CONSTANT_MODEL = """
+        model\tlinear
+        intercept\t60.0
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private ScoringConfigProperties scoringConfig;
+    private MlScoringEngine mlEngine;
+    private OpportunityScoringService scoringService;
+
+    @BeforeEach
+    void setUp() {
+        scoringConfig = new ScoringConfigProperties();
+        mlEngine = new MlScoringEngine(scoringConfig);
+        scoringService = new OpportunityScoringService(scoringConfig, new ScoringRuleEngine(scoringConfig), mlEngine);
+        scoringService.setClock(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneId.of("UTC")));
+    }
+
+    @Test
+    void load_WhenDisabled_ShouldKeepRuleScores() throws IOException {
+        // Given
+        scoringConfig.setMlModelPath(writeModel(CONSTANT_MODEL).toString());
+        OpportunityDto opportunity = opportunity();
+        BigDecimal ruleScore = scoringService.calculateOpportunityScore(opportunity);
+
+        // When
+        mlEngine.load();
+        scoringService.scoreForIngestion(opportunity);
+
+        // Then
+        assertThat(mlEngine.isActive()).isFalse();
+        assertThat(opportunity.getScore()).isEqualByComparingTo(ruleScore);
+        assertThat(opportunity.getRulesVersion()).isEqualTo(ScoringRuleSet.bundled().getVersion());
+    }
+
+    @Test
+    void load_WithScoringWorkers_ShouldFailFast() throws IOException {
+        // Given
+        scoringConfig.setEnableMLScoring(true);
+        scoringConfig.setMlModelPath(writeModel(CONSTANT_MODEL).toString());
+        scoringConfig.getWorkers().setEnabled(true);
+
+        // When / Then
+        assertThatThrownBy(mlEngine::load)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("scoring workers");
+        assertThat(mlEngine.isActive()).isFalse();
+    }
+
+    @Test
+    void scoreForIngestion_ReplacingRules_ShouldStoreModelBaseScoreAndKeepRecency() throws IOException {
+        // Given
+        enable(writeModel(CONSTANT_MODEL), 1.0);
+        OpportunityDto opportunity = opportunity();
+
+        // When
+        scoringService.scoreForIngestion(opportunity);
+
+        // Then
+        assertThat(mlEngine.isActive()).isTrue();
+        assertThat(opportunity.getBaseScore()).isEqualByComparingTo("60.00");
+        assertThat(opportunity.getPeakScore()).isGreaterThan(opportunity.getBaseScore());
+        // The stored scores still decay at query time
+        assertThat(opportunity.getScore().doubleValue()).isCloseTo(RecencyDecay.currentScore(
+            opportunity.getBaseScore(), opportunity.getPeakScore(), opportunity.getDiscoveredAt(), NOW).doubleValue(),
+            within(0.02));
+        assertThat(opportunity.getRulesVersion()).hasSize(12)
+            .isNotEqualTo(ScoringRuleSet.bundled().getVersion());
+    }
+
+    @Test
+    void scoreForIngestion_Blending_ShouldMixModelAndRuleBaseScores() throws IOException {
+        // Given
+        OpportunityDto ruleScored = opportunity();
+        scoringService.scoreForIngestion(ruleScored);
+        enable(writeModel(CONSTANT_MODEL), 0.25);
+        OpportunityDto blended = opportunity();
+
+        // When
+        scoringService.scoreForIngestion(blended);
+
+        // Then
+        double expected = 0.25 * 60.0 + 0.75 * ruleScored.getBaseScore().doubleValue();
+        assertThat(blended.getBaseScore().doubleValue()).isCloseTo(expected, within(0.01));
+        assertThat(blended.getPeakScore().subtract(blended.getBaseScore()).doubleValue())
+            .isCloseTo(ruleScored.getPeakScore().subtract(ruleScored.getBaseScore()).doubleValue(), within(0.02));
+    }
+
+    @Test
+    void load_InvalidModel_ShouldKeepRuleScores() throws IOException {
+        // When
+        enable(writeModel("model\ttrees\nintercept\t1.0\n"), 1.0);
+
+        // Then
+        assertThat(mlEngine.isActive()).isFalse();
+        assertThat(scoringService.rulesVersion()).isEqualTo(ScoringRuleSet.bundled().getVersion());
+    }
+
+    private void enable(Path model, double blendWeight) {
+        scoringConfig.setEnableMLScoring(true);
+        scoringConfig.setMlModelPath(model.toString());
+        scoringConfig.setMlBlendWeight(blendWeight);
+        mlEngine.load();
+    }
+
+    private Path writeModel(String model) throws IOException {
+        Path file = tempDir.resolve("scoring-model.tsv");
+        Files.writeString(file, model);
+        return file;
+    }
+
+    private static OpportunityDto opportunity() {
+        return OpportunityDto.builder()
+            .title("Payments startup")
+            .source(DataSource.CRUNCHBASE_BASIC)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .country(Country.US)
+            .industry(Industry.FINTECH)
+            .fundingStage(FundingStage.SEED)
+            .companySize(CompanySize.STARTUP)
+            .confidenceScore(BigDecimal.valueOf(80))
+            .discoveredAt(NOW.minusHours(30))
+            .metadata(new HashMap<>())
+            .build();
+    }
+}
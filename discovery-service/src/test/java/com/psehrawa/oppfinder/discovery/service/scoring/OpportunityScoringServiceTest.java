@@ -2,19 +2,29 @@ package com.psehrawa.oppfinder.discovery.service.scoring;
 
 import com.psehrawa.oppfinder.common.dto.OpportunityDto;
 import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.RecencyDecay;
+import com.psehrawa.oppfinder.common.scoring.ScoringBatch;
+import com.psehrawa.oppfinder.common.scoring.ScoringKernel;
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,14 +33,15 @@ class OpportunityScoringServiceTest {
     @Mock
     private ScoringConfigProperties scoringConfig;
 
-    @InjectMocks
     private OpportunityScoringService scoringService;
 
-    private ScoringConfigProperties.ScoringWeights weights;
+    private ScoringWeights weights;
 
     @BeforeEach
     void setUp() {
-        weights = new ScoringConfigProperties.ScoringWeights();
+        scoringService = new OpportunityScoringService(scoringConfig,
+            new ScoringRuleEngine(new ScoringConfigProperties()), new MlScoringEngine(new ScoringConfigProperties()));
+        weights = new ScoringWeights();
         weights.setFundingStage(0.25);
         weights.setCompanySize(0.20);
         weights.setIndustryTrend(0.20);
@@ -184,6 +195,31 @@ class OpportunityScoringServiceTest {
         assertThat(potential).isLessThan(BigDecimal.valueOf(70.0));
     }
 
+    @Test
+    void calculateBaseScore_GitHubActivity_ShouldNotDependOnWhenScoringRuns() {
+        // Given: pushed a week before discovery
+        setupScoringConfig();
+        LocalDateTime discoveredAt = LocalDateTime.of(2026, 3, 1, 9, 0);
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("stars", "1200");
+        metadata.put("pushed_at", discoveredAt.minusDays(7).toString());
+        OpportunityDto opportunity = OpportunityDto.builder()
+            .source(DataSource.GITHUB)
+            .discoveredAt(discoveredAt)
+            .confidenceScore(BigDecimal.valueOf(80.0))
+            .metadata(metadata)
+            .build();
+
+        // When
+        scoringService.setClock(Clock.fixed(discoveredAt.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        BigDecimal atDiscovery = scoringService.calculateBaseScore(opportunity);
+        scoringService.setClock(Clock.fixed(discoveredAt.plusDays(90).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        BigDecimal monthsLater = scoringService.calculateBaseScore(opportunity);
+
+        // Then
+        assertThat(monthsLater).isEqualByComparingTo(atDiscovery);
+    }
+
     @Test
     void calculateOpportunityScore_WithGitHubMetadata_ShouldConsiderSocialSignals() {
         // Given
@@ -224,6 +260,55 @@ class OpportunityScoringServiceTest {
         assertThat(highSocialScore).isGreaterThan(lowSocialScore);
     }
 
+    @Test
+    void scoreForIngestion_SourceScore_ShouldBecomeFeatureAndDriveSocialSignals() {
+        // Given
+        setupScoringConfig();
+        OpportunityDto popular = redditPost(BigDecimal.valueOf(95));
+        OpportunityDto ignored = redditPost(BigDecimal.valueOf(5));
+
+        // When
+        scoringService.scoreForIngestion(popular);
+        scoringService.scoreForIngestion(ignored);
+
+        // Then
+        assertThat(popular.getMetadata()).containsEntry(OpportunityScoringService.SOURCE_SCORE, "95");
+        assertThat(popular.getScore()).isGreaterThan(ignored.getScore());
+        assertThat(popular.getScoredAt()).isNotNull();
+        assertThat(popular.getEngagementPotential()).isPositive();
+
+        // Rescoring keeps the original source score as the feature
+        BigDecimal score = popular.getScore();
+        scoringService.scoreForIngestion(popular);
+        assertThat(popular.getMetadata()).containsEntry(OpportunityScoringService.SOURCE_SCORE, "95");
+        assertThat(popular.getScore()).isEqualByComparingTo(score);
+    }
+
+    @Test
+    void scoreForIngestion_UnchangedInputs_ShouldKeepStoredScore() {
+        // Given
+        setupScoringConfig();
+        OpportunityDto stored = redditPost(BigDecimal.valueOf(60));
+        scoringService.scoreForIngestion(stored);
+        OpportunityDto rediscovered = redditPost(BigDecimal.valueOf(60));
+        OpportunityDto moreUpvotes = redditPost(BigDecimal.valueOf(80));
+
+        // When
+        boolean unchangedScored = scoringService.scoreForIngestion(
+            rediscovered, stored.getScoringInputHash(), stored.getRulesVersion());
+        boolean changedScored = scoringService.scoreForIngestion(
+            moreUpvotes, stored.getScoringInputHash(), stored.getRulesVersion());
+        boolean otherRulesScored = scoringService.scoreForIngestion(
+            redditPost(BigDecimal.valueOf(60)), stored.getScoringInputHash(), "000000000000");
+
+        // Then
+        assertThat(unchangedScored).isFalse();
+        assertThat(rediscovered.getScoredAt()).isNull();
+        assertThat(changedScored).isTrue();
+        assertThat(moreUpvotes.getScoringInputHash()).isNotEqualTo(stored.getScoringInputHash());
+        assertThat(otherRulesScored).isTrue();
+    }
+
     @Test
     void calculateOpportunityScore_NullValues_ShouldHandleGracefully() {
         // Given
@@ -241,4 +326,120 @@ class OpportunityScoringServiceTest {
         assertThat(score).isGreaterThanOrEqualTo(BigDecimal.ZERO);
         assertThat(score).isLessThanOrEqualTo(BigDecimal.valueOf(100.0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void calculateScores_ShouldMatchScalarPathExactly() {
+        // Given
+        setupScoringConfig();
+        Instant instant = Instant.parse("2026-10-18T10:15:30.123456789Z");
+        scoringService.setClock(Clock.fixed(instant, ZoneOffset.UTC));
+        LocalDateTime now = LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+        Random random = new Random(42);
+        List<OpportunityDto> opportunities = new ArrayList<>();
+        for (int i = 0; i < 3 * ScoringKernel.PARALLEL_THRESHOLD; i++) {
+            Map<String, String> metadata = null;
+            if (random.nextInt(4) > 0) {
+                metadata = new HashMap<>();
+                metadata.put("stars", random.nextInt(10) == 0 ? "n/a" : String.valueOf(random.nextInt(20_000)));
+                metadata.put("forks", String.valueOf(random.nextInt(3_000)));
+                metadata.put("open_issues", String.valueOf(random.nextInt(4) == 0 ? 0 : random.nextInt(300)));
+                metadata.put("pushed_at", now.minusSeconds(random.nextInt(200 * 86_400)).withNano(0).toString());
+                if (random.nextBoolean()) {
+                    metadata.put(OpportunityScoringService.SOURCE_SCORE, random.nextInt(20) == 0
+                        ? "n/a"
+                        : String.valueOf(random.nextInt(12_000) / 100.0));
+                }
+            }
+            opportunities.add(OpportunityDto.builder()
+                .source(pick(random, DataSource.values()))
+                .type(pick(random, OpportunityType.values()))
+                .country(pick(random, Country.values()))
+                .industry(pick(random, Industry.values()))
+                .fundingStage(pick(random, FundingStage.values()))
+                .companySize(pick(random, CompanySize.values()))
+                .confidenceScore(random.nextInt(5) > 0 ? BigDecimal.valueOf(random.nextInt(10_001), 2) : null)
+                // Exact hour boundaries and their neighbours exercise the recency truncation
+                .discoveredAt(random.nextInt(6) > 0
+                    ? now.minusHours(random.nextInt(400)).plusNanos(random.nextInt(3) - 1)
+                    : null)
+                .metadata(metadata)
+                .build());
+        }
+
+        // When
+        double[] scores = new double[opportunities.size()];
+        double[] baseScores = new double[opportunities.size()];
+        double[] peakScores = new double[opportunities.size()];
+        scoringService.calculateScores(ScoringBatch.of(opportunities), scores, baseScores, peakScores);
+
+        // Then
+        for (int i = 0; i < opportunities.size(); i++) {
+            assertThat(OpportunityScoringService.toScore(scores[i]))
+                .as("opportunity %d", i)
+                .isEqualTo(scoringService.calculateOpportunityScore(opportunities.get(i)));
+            assertThat(OpportunityScoringService.toScore(baseScores[i]))
+                .as("base of opportunity %d", i)
+                .isEqualTo(scoringService.calculateBaseScore(opportunities.get(i)));
+            assertThat(OpportunityScoringService.toScore(peakScores[i]))
+                .as("peak of opportunity %d", i)
+                .isEqualTo(scoringService.calculatePeakScore(opportunities.get(i)));
+        }
+    }
+
+    @Test
+    void currentScore_ShouldMatchRescoringAsTheOpportunityAges() {
+        // Given
+        setupScoringConfig();
+        LocalDateTime discoveredAt = LocalDateTime.of(2026, 10, 1, 9, 0);
+        OpportunityDto opportunity = OpportunityDto.builder()
+            .title("Aging opportunity")
+            .source(DataSource.CRUNCHBASE_BASIC)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .fundingStage(FundingStage.SEED)
+            .companySize(CompanySize.STARTUP)
+            .industry(Industry.ARTIFICIAL_INTELLIGENCE)
+            .discoveredAt(discoveredAt)
+            .confidenceScore(BigDecimal.valueOf(80.0))
+            .build();
+        BigDecimal baseScore = scoringService.calculateBaseScore(opportunity);
+        BigDecimal peakScore = scoringService.calculatePeakScore(opportunity);
+
+        for (long hours : new long[]{0, 1, 2, 7, 25, 73, 169, 337, 505, 673, 2000}) {
+            // When
+            LocalDateTime now = discoveredAt.plusHours(hours);
+            scoringService.setClock(Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+            // Then
+            assertThat(RecencyDecay.currentScore(baseScore, peakScore, discoveredAt, now))
+                .as("%d hours after discovery", hours)
+                .isCloseTo(scoringService.calculateOpportunityScore(opportunity), within(new BigDecimal("0.02")));
+        }
+    }
+
+    @Test
+    void recencyCutoff_ShouldMatchWholeHoursSinceDiscovery() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+        for (int step = 0; step < RecencyDecay.steps(); step++) {
+            LocalDateTime cutoff = RecencyDecay.cutoff(step, now);
+            assertThat(RecencyDecay.score(cutoff.plusNanos(1), now)).isEqualTo(RecencyDecay.stepScore(step));
+            assertThat(RecencyDecay.score(cutoff, now)).isLessThan(RecencyDecay.stepScore(step));
+        }
+    }
+
+    private static <E> E pick(Random random, E[] values) {
+        int i = random.nextInt(values.length + 1);
+        return i < values.length ? values[i] : null;
+    }
+
+    private static OpportunityDto redditPost(BigDecimal sourceScore) {
+        return OpportunityDto.builder()
+            .title("Reddit post")
+            .source(DataSource.REDDIT)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .score(sourceScore)
+            .metadata(Map.of("subreddit", "startups"))
+            .discoveredAt(LocalDateTime.now())
+            .confidenceScore(BigDecimal.valueOf(70.0))
+            .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheEvictions;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoredOpportunityListenerTest {
+
+    private static final String CURRENT_RULES = ScoringRuleSet.bundled().getVersion();
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ConcurrentMapCacheManager cacheManager;
+    private ScoredOpportunityListener listener;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            CREATE TABLE opportunities (
+                id BIGINT PRIMARY KEY, version BIGINT, score DECIMAL(5, 2), base_score DECIMAL(5, 2),
+                peak_score DECIMAL(5, 2), engagement_potential DECIMAL(5, 2), scoring_input_hash BIGINT,
+                rules_version VARCHAR(12), scored_at TIMESTAMP, last_updated TIMESTAMP)
+            """);
+        // Scored inline from the inputs with hash 2, after the worker read version 3
+        jdbcTemplate.update("""
+            INSERT INTO opportunities (id, version, score, base_score, peak_score, scoring_input_hash,
+                rules_version, scored_at)
+            VALUES (1, 4, 80.00, 80.00, 80.00, 2, ?, CURRENT_TIMESTAMP)
+            """, CURRENT_RULES);
+
+        ScoringConfigProperties scoringConfig = new ScoringConfigProperties();
+        OpportunityScoringService scoringService =
+            new OpportunityScoringService(scoringConfig, new ScoringRuleEngine(scoringConfig), new MlScoringEngine(scoringConfig));
+        cacheManager = new ConcurrentMapCacheManager("opportunityById");
+        listener = new ScoredOpportunityListener(jdbcTemplate, scoringService, new CacheEvictions(cacheManager),
+            new CacheGenerations());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void apply_ResultFromAnOlderVersion_ShouldBeDropped() {
+        // Given
+        cacheManager.getCache("opportunityById").put(1L, "cached");
+
+        // When
+        int applied = listener.apply(List.of(result(3L, 1L, "55.00")));
+
+        // Then
+        assertThat(applied).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT score FROM opportunities WHERE id = 1", BigDecimal.class))
+            .isEqualByComparingTo("80.00");
+        assertThat(cacheManager.getCache("opportunityById").get(1L)).isNotNull();
+    }
+
+    @Test
+    void apply_ResultFromTheCurrentVersion_ShouldBeWrittenAndEvicted() {
+        // Given
+        cacheManager.getCache("opportunityById").put(1L, "cached");
+
+        // When
+        int applied = listener.apply(List.of(result(4L, 3L, "65.00")));
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForMap("SELECT score, version FROM opportunities WHERE id = 1"))
+            .satisfies(row -> {
+                assertThat((BigDecimal) row.get("SCORE")).isEqualByComparingTo("65.00");
+                assertThat(row.get("VERSION")).isEqualTo(5L);
+            });
+        assertThat(cacheManager.getCache("opportunityById").get(1L)).isNull();
+    }
+
+    @Test
+    void apply_ResultUnderOtherRules_ShouldBeDropped() {
+        // Given: a worker still on rules this service no longer runs
+        OpportunityDto otherRules = result(4L, 3L, "65.00");
+        otherRules.setRulesVersion("000000000000");
+
+        // When
+        int applied = listener.apply(List.of(otherRules));
+
+        // Then
+        assertThat(applied).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT rules_version FROM opportunities WHERE id = 1", String.class))
+            .isEqualTo(CURRENT_RULES);
+    }
+
+    private static OpportunityDto result(Long version, long inputHash, String score) {
+        return OpportunityDto.builder()
+            .id(1L)
+            .version(version)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.TECHNOLOGY_TREND)
+            .isActive(true)
+            .score(new BigDecimal(score))
+            .baseScore(new BigDecimal(score))
+            .peakScore(new BigDecimal(score))
+            .scoringInputHash(inputHash)
+            .rulesVersion(CURRENT_RULES)
+            .scoredAt(LocalDateTime.now())
+            .build();
+    }
+}
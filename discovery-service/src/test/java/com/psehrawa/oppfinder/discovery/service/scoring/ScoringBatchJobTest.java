@@ -0,0 +1,234 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheEvictions;
+import com.psehrawa.oppfinder.discovery.service.cache.CacheGenerations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ScoringBatchJobTest {
+
+    private static final String CURRENT_RULES = ScoringRuleSet.bundled().getVersion();
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ConcurrentMapCacheManager cacheManager;
+    private ScoringBatchJob job;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            CREATE TABLE opportunities (
+                id BIGINT PRIMARY KEY, version BIGINT, external_id VARCHAR(255), title VARCHAR(500),
+                description TEXT, source VARCHAR(50), type VARCHAR(50), status VARCHAR(50),
+                country VARCHAR(10), industry VARCHAR(50), funding_stage VARCHAR(50),
+                funding_amount DECIMAL(15, 2), company_size VARCHAR(50), score DECIMAL(5, 2),
+                discovered_at TIMESTAMP, last_updated TIMESTAMP, is_active BOOLEAN, url VARCHAR(2000),
+                company_name VARCHAR(255), location VARCHAR(255), contact_email VARCHAR(255),
+                confidence_score DECIMAL(5, 2), engagement_potential DECIMAL(5, 2), base_score DECIMAL(5, 2), peak_score DECIMAL(5, 2),
+                scoring_input_hash BIGINT, rules_version VARCHAR(12), scored_at TIMESTAMP)
+            """);
+        jdbcTemplate.execute("CREATE TABLE opportunity_tags (opportunity_id BIGINT, tag VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE opportunity_metadata (opportunity_id BIGINT, metadata_key VARCHAR(255), metadata_value TEXT)");
+
+        ScoringConfigProperties scoringConfig = new ScoringConfigProperties();
+        scoringConfig.getBatch().setChunkSize(2);
+        cacheManager = new ConcurrentMapCacheManager("opportunityById");
+        OpportunityScoringService scoringService =
+            new OpportunityScoringService(scoringConfig, new ScoringRuleEngine(scoringConfig), new MlScoringEngine(scoringConfig));
+        job = new ScoringBatchJob(jdbcTemplate, scoringService, scoringConfig, kafkaTemplate,
+            new CacheEvictions(cacheManager), new CacheGenerations());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void scoreUnscored_ShouldScoreAllChunksAndPersistEngagementPotential() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 4; id++) {
+            insert(id, "GITHUB", BigDecimal.ZERO, now.minusHours(id), null, null);
+        }
+        insert(5, "GITHUB", BigDecimal.ZERO, now.minusDays(30), null, null);
+        insert(6, "REDDIT", BigDecimal.valueOf(42), now.minusHours(1), now.minusHours(1), CURRENT_RULES);
+        insert(7, "REDDIT", BigDecimal.ZERO, now.minusDays(3), now.minusDays(3), CURRENT_RULES);
+        jdbcTemplate.update("INSERT INTO opportunity_metadata VALUES (1, 'stars', '5000')");
+        jdbcTemplate.update("INSERT INTO opportunity_tags VALUES (1, 'fintech')");
+        cacheManager.getCache("opportunityById").put(1L, "stale");
+
+        // When
+        int scored = job.scoreUnscored();
+
+        // Then
+        assertThat(scored).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM opportunities WHERE score > 0 AND engagement_potential > 0 AND id <= 5", Integer.class))
+            .isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM opportunities WHERE scored_at IS NULL", Integer.class))
+            .isZero();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM opportunities WHERE peak_score > base_score AND id <= 5", Integer.class))
+            .isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT score FROM opportunities WHERE id = 6", BigDecimal.class))
+            .isEqualByComparingTo("42");
+        assertThat(jdbcTemplate.queryForObject("SELECT score FROM opportunities WHERE id = 7", BigDecimal.class))
+            .isEqualByComparingTo("0");
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM opportunities WHERE id = 1", Long.class))
+            .isEqualTo(1L);
+        assertThat(cacheManager.getCache("opportunityById").get(1L)).isNull();
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, times(5)).send(eq(ScoringBatchJob.SCORED_TOPIC), anyString(), events.capture());
+        verify(kafkaTemplate, times(3)).flush();
+        assertThat(ids(events.getAllValues())).containsExactly(1L, 2L, 3L, 4L, 5L);
+        OpportunityDto first = (OpportunityDto) events.getAllValues().get(0);
+        assertThat(first.getTags()).containsExactly("fintech");
+        assertThat(first.getMetadata()).containsEntry("stars", "5000");
+        assertThat(first.getEngagementPotential()).isPositive();
+        assertThat(first.getScoredAt()).isNotNull();
+        assertThat(first.getRulesVersion()).isEqualTo(CURRENT_RULES);
+        assertThat(first.getScoringInputHash()).isNotNull();
+
+        // A second run finds nothing left
+        assertThat(job.scoreUnscored()).isZero();
+    }
+
+    @Test
+    void scoreUnscored_RulesChanged_ShouldRescoreOnlyRowsScoredUnderOtherRules() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        insert(1, "GITHUB", BigDecimal.valueOf(33), now.minusHours(2), now.minusHours(2), "000000000000");
+        insert(2, "GITHUB", BigDecimal.valueOf(44), now.minusHours(2), now.minusHours(2), CURRENT_RULES);
+        insert(3, "GITHUB", BigDecimal.valueOf(55), now.minusHours(2), now.minusHours(2), null);
+
+        // When
+        int scored = job.scoreUnscored();
+
+        // Then
+        assertThat(scored).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT rules_version FROM opportunities", String.class))
+            .containsExactly(CURRENT_RULES);
+        assertThat(jdbcTemplate.queryForObject("SELECT score FROM opportunities WHERE id = 2", BigDecimal.class))
+            .isEqualByComparingTo("44");
+
+        // The rule version was already queued, so the next run does no marking pass
+        assertThat(job.markStaleRules()).isZero();
+    }
+
+    @Test
+    void scoreUnscored_WorkersEnabled_ShouldQueueRowsScoredUnderOtherRulesForThem() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        insert(1, "GITHUB", BigDecimal.valueOf(33), now.minusHours(2), now.minusHours(2), "000000000000");
+        insert(2, "GITHUB", BigDecimal.valueOf(44), now.minusHours(2), now.minusHours(2), CURRENT_RULES);
+        ScoringConfigProperties scoringConfig = new ScoringConfigProperties();
+        scoringConfig.getWorkers().setEnabled(true);
+        ScoringBatchJob workerJob = new ScoringBatchJob(jdbcTemplate, new OpportunityScoringService(scoringConfig,
+            new ScoringRuleEngine(scoringConfig), new MlScoringEngine(scoringConfig)), scoringConfig, kafkaTemplate,
+            new CacheEvictions(cacheManager), new CacheGenerations());
+
+        // When
+        int published = workerJob.scoreUnscored();
+
+        // Then: row 1 waits for a worker result under the current rules
+        assertThat(published).isEqualTo(1);
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(ScoringBatchJob.UPDATED_TOPIC), anyString(), events.capture());
+        assertThat(ids(events.getAllValues())).containsExactly(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT score FROM opportunities WHERE id = 1", BigDecimal.class))
+            .isEqualByComparingTo("33");
+    }
+
+    @Test
+    void scoreUnscored_RowChangedWhileScoring_ShouldStayQueued() {
+        // Given: another writer updates row 2 between the chunk read and the write back
+        LocalDateTime now = LocalDateTime.now();
+        insert(1, "GITHUB", BigDecimal.ZERO, now.minusHours(1), null, null);
+        insert(2, "GITHUB", BigDecimal.ZERO, now.minusHours(1), null, null);
+        JdbcTemplate racing = new JdbcTemplate(database) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                update("UPDATE opportunities SET version = version + 1 WHERE id = 2");
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+        ScoringConfigProperties scoringConfig = new ScoringConfigProperties();
+        ScoringBatchJob racingJob = new ScoringBatchJob(racing, new OpportunityScoringService(scoringConfig,
+            new ScoringRuleEngine(scoringConfig), new MlScoringEngine(scoringConfig)), scoringConfig, kafkaTemplate,
+            new CacheEvictions(cacheManager), new CacheGenerations());
+
+        // When
+        int scored = racingJob.scoreUnscored();
+
+        // Then
+        assertThat(scored).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM opportunities WHERE scored_at IS NULL", Long.class))
+            .containsExactly(2L);
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(ScoringBatchJob.SCORED_TOPIC), anyString(), events.capture());
+        assertThat(ids(events.getAllValues())).containsExactly(1L);
+    }
+
+    @Test
+    void scoreUnscored_NothingToScore_ShouldNotPublish() {
+        // When
+        int scored = job.scoreUnscored();
+
+        // Then
+        assertThat(scored).isZero();
+        verify(kafkaTemplate, times(0)).flush();
+    }
+
+    private void insert(long id, String source, BigDecimal score, LocalDateTime discoveredAt,
+                        LocalDateTime scoredAt, String rulesVersion) {
+        jdbcTemplate.update("""
+            INSERT INTO opportunities (id, version, external_id, title, source, type, status, score,
+                discovered_at, last_updated, is_active, company_size, funding_stage, confidence_score,
+                scored_at, rules_version)
+            VALUES (?, 0, ?, ?, ?, 'STARTUP_FUNDING', 'DISCOVERED', ?, ?, ?, TRUE, 'STARTUP', 'SEED', 80, ?, ?)
+            """,
+            id, "ext-" + id, "Opportunity " + id, source, score,
+            Timestamp.valueOf(discoveredAt), Timestamp.valueOf(discoveredAt),
+            scoredAt != null ? Timestamp.valueOf(scoredAt) : null, rulesVersion);
+    }
+
+    private static List<Long> ids(List<Object> events) {
+        return events.stream().map(event -> ((OpportunityDto) event).getId()).toList();
+    }
+}
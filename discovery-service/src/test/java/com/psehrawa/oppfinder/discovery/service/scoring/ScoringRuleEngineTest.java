@@ -0,0 +1,143 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.ScoringFactor;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoringRuleEngineTest {
+
+    private static final String RULES = """
+        funding_stage\tnull\t50
+        funding_stage\t*\t70
+        company_size\tnull\t50
+        company_size\t*\t60
+        industry_trend\tnull\t50
+        industry_trend\tFINTECH\t90
+        industry_trend\t*\t60
+        data_source\tnull\t50
+        data_source\t*\t80
+        type_multiplier\tnull\t1.0
+        type_multiplier\t*\t1.0
+        country_multiplier\tnull\t1.0
+        country_multiplier\t*\t1.0
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void bundledRules_ShouldCarryTheScoringTables() {
+        // Given
+        ScoringRuleSet rules = ScoringRuleSet.bundled();
+
+        // Then
+        assertThat(rules.value(ScoringFactor.FUNDING_STAGE, FundingStage.SERIES_A)).isEqualTo(85.0);
+        assertThat(rules.value(ScoringFactor.FUNDING_STAGE, null)).isEqualTo(50.0);
+        assertThat(rules.value(ScoringFactor.INDUSTRY_TREND, Industry.ARTIFICIAL_INTELLIGENCE)).isEqualTo(95.0);
+        assertThat(rules.value(ScoringFactor.INDUSTRY_TREND, null)).isEqualTo(50.0);
+        assertThat(rules.value(ScoringFactor.DATA_SOURCE, DataSource.BLIND)).isEqualTo(80.0);
+        assertThat(rules.value(ScoringFactor.TYPE_MULTIPLIER, OpportunityType.STARTUP_FUNDING)).isEqualTo(1.2);
+        assertThat(rules.value(ScoringFactor.COUNTRY_MULTIPLIER, Country.IL)).isEqualTo(1.1);
+        assertThat(rules.getVersion()).hasSize(12);
+    }
+
+    @Test
+    void parse_ShouldCompileDefaultsAndConstantFactors() throws IOException {
+        // Given
+        ScoringRuleSet rules = parse(RULES);
+        OpportunityDto opportunity = OpportunityDto.builder()
+            .industry(Industry.GAMING)
+            .type(OpportunityType.PARTNERSHIP)
+            .build();
+
+        // Then
+        assertThat(rules.score(ScoringFactor.INDUSTRY_TREND, opportunity)).isEqualTo(60.0);
+        assertThat(rules.score(ScoringFactor.FUNDING_STAGE, opportunity)).isEqualTo(50.0);
+        assertThat(rules.score(ScoringFactor.TYPE_MULTIPLIER, opportunity)).isEqualTo(1.0);
+        assertThat(rules.value(ScoringFactor.INDUSTRY_TREND, Industry.FINTECH)).isEqualTo(90.0);
+        assertThat(parse("# comment\n" + RULES).getVersion()).isEqualTo(rules.getVersion());
+    }
+
+    @Test
+    void parse_ShouldReportInvalidRules() {
+        assertThatThrownBy(() -> parse(RULES + "industry_trend\tNOT_AN_INDUSTRY\t10\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Line 14:");
+        assertThatThrownBy(() -> parse(RULES + "data_source\tREDDIT\t-1\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Line 14:");
+        assertThatThrownBy(() -> parse(RULES.replace("industry_trend\t*\t60\n", "")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("No industry_trend value for");
+    }
+
+    @Test
+    void reloadIfChanged_ShouldSwapRulesAndKeepVersionsForRollback() throws IOException {
+        // Given
+        Path file = tempDir.resolve("scoring-rules.tsv");
+        Files.writeString(file, RULES);
+        ScoringRuleEngine engine = new ScoringRuleEngine(properties(file));
+        engine.load();
+        String first = engine.current().getVersion();
+        assertThat(engine.current().value(ScoringFactor.INDUSTRY_TREND, Industry.FINTECH)).isEqualTo(90.0);
+
+        // When
+        Files.writeString(file, RULES.replace("FINTECH\t90", "FINTECH\t99"));
+        touch(file);
+
+        // Then
+        assertThat(engine.reloadIfChanged()).isTrue();
+        assertThat(engine.current().value(ScoringFactor.INDUSTRY_TREND, Industry.FINTECH)).isEqualTo(99.0);
+        assertThat(engine.versions()).containsExactly(engine.current().getVersion(), first, ScoringRuleSet.bundled().getVersion());
+        assertThat(engine.activate(first)).isTrue();
+        assertThat(engine.current().value(ScoringFactor.INDUSTRY_TREND, Industry.FINTECH)).isEqualTo(90.0);
+        assertThat(engine.activate("unknown")).isFalse();
+    }
+
+    @Test
+    void reloadIfChanged_WithInvalidFile_ShouldKeepActiveRules() throws IOException {
+        // Given
+        Path file = tempDir.resolve("scoring-rules.tsv");
+        Files.writeString(file, RULES);
+        ScoringRuleEngine engine = new ScoringRuleEngine(properties(file));
+        engine.load();
+        String version = engine.current().getVersion();
+
+        // When
+        Files.writeString(file, RULES + "country_multiplier\tUS\tlots\n");
+        touch(file);
+
+        // Then
+        assertThat(engine.reloadIfChanged()).isFalse();
+        assertThat(engine.current().getVersion()).isEqualTo(version);
+    }
+
+    private static ScoringRuleSet parse(String rules) throws IOException {
+        return ScoringRuleSet.parse(new BufferedReader(new StringReader(rules)));
+    }
+
+    private static ScoringConfigProperties properties(Path file) {
+        ScoringConfigProperties properties = new ScoringConfigProperties();
+        properties.getRules().setPath(file.toString());
+        return properties;
+    }
+
+    private static void touch(Path file) throws IOException {
+        // Filesystem timestamps can be coarse, so move the clock forward explicitly
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2_000));
+    }
+}
@@ -0,0 +1,148 @@
+package com.psehrawa.oppfinder.discovery.service.scoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoringSimulationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ScoringSimulationService simulationService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            CREATE TABLE opportunities (
+                id BIGINT PRIMARY KEY, source VARCHAR(50), type VARCHAR(50), country VARCHAR(10),
+                industry VARCHAR(50), funding_stage VARCHAR(50), company_size VARCHAR(50),
+                confidence_score DECIMAL(5, 2), score DECIMAL(5, 2), discovered_at TIMESTAMP,
+                is_active BOOLEAN, scored_at TIMESTAMP)
+            """);
+        jdbcTemplate.execute("CREATE TABLE opportunity_metadata (opportunity_id BIGINT, metadata_key VARCHAR(255), metadata_value TEXT)");
+
+        ScoringConfigProperties scoringConfig = new ScoringConfigProperties();
+        scoringConfig.getSimulation().setLoadChunkSize(2);
+        simulationService = new ScoringSimulationService(jdbcTemplate, new ScoringRuleEngine(scoringConfig), scoringConfig);
+        simulationService.setClock(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneId.of("UTC")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void simulate_CurrentSetup_ShouldReportNoChangesAndWriteNothing() {
+        // Given
+        for (long id = 1; id <= 5; id++) {
+            insert(id, "GITHUB", "SEED", NOW.minusDays(id), true);
+        }
+        insert(6, "REDDIT", "SERIES_A", NOW.minusHours(2), false);
+        jdbcTemplate.update("INSERT INTO opportunity_metadata VALUES (1, 'stars', '5000')");
+
+        // When
+        ScoringSimulationResult result = simulationService.simulate(new ScoringSimulationRequest(null, null, 3));
+
+        // Then
+        assertThat(result.opportunities()).isEqualTo(5);
+        assertThat(result.candidateRulesVersion()).isEqualTo(result.currentRulesVersion());
+        assertThat(result.candidate()).usingRecursiveComparison().isEqualTo(result.current());
+        assertThat(result.thresholdCrossings()).hasSize(4)
+            .allSatisfy(crossing -> {
+                assertThat(crossing.promoted()).isZero();
+                assertThat(crossing.demoted()).isZero();
+            });
+        assertThat(result.topRankChanges()).hasSize(3)
+            .allSatisfy(change -> assertThat(change.candidateRank()).isEqualTo(change.currentRank()));
+        // The starred repository leads
+        assertThat(result.topRankChanges().get(0).opportunityId()).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM opportunities WHERE score = 0 AND scored_at IS NULL", Integer.class))
+            .isEqualTo(6);
+    }
+
+    @Test
+    void simulate_CandidateWeights_ShouldReportCrossingsAndRankChanges() {
+        // Given
+        insert(1, "GITHUB", "SERIES_C", NOW.minusDays(60), true);
+        insert(2, "GITHUB", "SERIES_C", NOW.minusDays(30), true);
+        insert(3, "GITHUB", null, NOW.minusMinutes(30), true);
+        Map<String, Double> recencyOnly = Map.of(
+            "fundingStage", 0.0, "companySize", 0.0, "industryTrend", 0.0,
+            "socialSignals", 0.0, "dataSourceReliability", 0.0, "recency", 1.0);
+
+        // When
+        ScoringSimulationResult result = simulationService.simulate(new ScoringSimulationRequest(recencyOnly, null, 2));
+
+        // Then
+        assertThat(result.candidateWeights().getRecency()).isEqualTo(1.0);
+        assertThat(result.topRankChanges().get(0).opportunityId()).isEqualTo(3L);
+        assertThat(result.topRankChanges().get(0).candidateRank()).isEqualTo(1);
+        assertThat(result.topRankChanges()).extracting(ScoringSimulationResult.RankChange::opportunityId)
+            .containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(result.thresholdCrossings()).allSatisfy(crossing -> assertThat(
+            crossing.candidateAtOrAbove() - crossing.currentAtOrAbove())
+            .isEqualTo(crossing.promoted() - crossing.demoted()));
+        assertThat(result.candidate().mean()).isNotEqualTo(result.current().mean());
+    }
+
+    @Test
+    void simulate_ShouldReuseSnapshotUntilRefreshed() {
+        // Given
+        insert(1, "GITHUB", "SEED", NOW.minusDays(1), true);
+        simulationService.simulate(new ScoringSimulationRequest(null, null, null));
+        insert(2, "GITHUB", "SEED", NOW.minusDays(1), true);
+
+        // When
+        int beforeRefresh = simulationService.simulate(new ScoringSimulationRequest(null, null, null)).opportunities();
+        simulationService.refreshSnapshot();
+        int afterRefresh = simulationService.simulate(new ScoringSimulationRequest(null, null, null)).opportunities();
+
+        // Then
+        assertThat(beforeRefresh).isEqualTo(1);
+        assertThat(afterRefresh).isEqualTo(2);
+    }
+
+    @Test
+    void simulate_InvalidCandidate_ShouldThrow() {
+        // When & Then
+        assertThatThrownBy(() -> simulationService.simulate(
+            new ScoringSimulationRequest(Map.of("popularity", 0.5), null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("popularity");
+        assertThatThrownBy(() -> simulationService.simulate(
+            new ScoringSimulationRequest(null, "funding_stage\tSEED", null)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void insert(long id, String source, String fundingStage, LocalDateTime discoveredAt, boolean active) {
+        jdbcTemplate.update("""
+            INSERT INTO opportunities (id, source, type, country, industry, funding_stage, company_size,
+                confidence_score, score, discovered_at, is_active)
+            VALUES (?, ?, 'STARTUP_FUNDING', 'US', 'FINTECH', ?, 'STARTUP', 80, 0, ?, ?)
+            """,
+            id, source, fundingStage, Timestamp.valueOf(discoveredAt), active);
+    }
+}
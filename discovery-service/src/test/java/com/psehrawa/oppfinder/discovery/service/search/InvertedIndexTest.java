@@ -0,0 +1,175 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.enums.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex(256);
+        index.put(opportunity(1L, "Payments API for fintech startups", "Stripe", Industry.FINTECH, "70", List.of("payments")));
+        index.put(opportunity(2L, "Clinical data platform", "Medix", Industry.HEALTHTECH, "90", List.of("health-tech")));
+        index.put(opportunity(3L, "Payroll and payment rails", "Finlo", Industry.FINTECH, "80", List.of()));
+    }
+
+    @Test
+    void search_WordsAndPrefix_ShouldIntersectAndRankByScore() {
+        // When
+        SearchHits words = index.search(criteria("payments stripe"), NOW, 0, 10);
+        SearchHits prefix = index.search(criteria("pay*"), NOW, 0, 10);
+
+        // Then
+        assertThat(words.ids()).containsExactly(1L);
+        assertThat(prefix.ids()).containsExactly(3L, 1L);
+        assertThat(prefix.total()).isEqualTo(2);
+    }
+
+    @Test
+    void search_EnumFiltersWithoutText_ShouldScanAndPage() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .industries(List.of(Industry.FINTECH, Industry.HEALTHTECH))
+            .minScore(new BigDecimal("75"))
+            .sortBy("score")
+            .sortDirection("DESC")
+            .build();
+
+        // When
+        SearchHits first = index.search(criteria, NOW, 0, 1);
+        SearchHits second = index.search(criteria, NOW, 1, 1);
+
+        // Then
+        assertThat(first.ids()).containsExactly(2L);
+        assertThat(second.ids()).containsExactly(3L);
+        assertThat(second.total()).isEqualTo(2);
+    }
+
+    @Test
+    void search_ByDiscoveredAt_ShouldFollowSortDirection() {
+        // Given
+        OpportunitySearchCriteria newest = OpportunitySearchCriteria.builder()
+            .searchTerm("pay*")
+            .sortBy("discoveredAt")
+            .sortDirection("DESC")
+            .build();
+        OpportunitySearchCriteria oldest = OpportunitySearchCriteria.builder()
+            .industries(List.of(Industry.FINTECH, Industry.HEALTHTECH))
+            .sortBy("discoveredAt")
+            .sortDirection("ASC")
+            .build();
+
+        // When / Then
+        assertThat(index.search(newest, NOW, 0, 10).ids()).containsExactly(1L, 3L);
+        assertThat(index.search(oldest, NOW, 0, 10).ids()).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void search_Tags_ShouldMatchWholeTagsAndTagWords() {
+        // Given
+        OpportunitySearchCriteria criteria = OpportunitySearchCriteria.builder()
+            .tags(List.of("Health-Tech", "unknown"))
+            .build();
+
+        // When / Then
+        assertThat(index.search(criteria, NOW, 0, 10).ids()).containsExactly(2L);
+        assertThat(index.search(criteria("tech"), NOW, 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    void search_DecayingScores_ShouldRankByCurrentScore() {
+        // Given
+        OpportunityDto fresh = opportunity(4L, "Fresh payments idea", null, Industry.FINTECH, "60", List.of());
+        fresh.setBaseScore(new BigDecimal("40"));
+        fresh.setPeakScore(new BigDecimal("95"));
+        fresh.setDiscoveredAt(NOW.minusMinutes(30));
+        OpportunityDto stale = opportunity(5L, "Stale payments idea", null, Industry.FINTECH, "95", List.of());
+        stale.setBaseScore(new BigDecimal("40"));
+        stale.setPeakScore(new BigDecimal("95"));
+        stale.setDiscoveredAt(NOW.minusDays(60));
+        index.put(fresh);
+        index.put(stale);
+
+        // When
+        SearchHits hits = index.search(criteria("idea"), NOW, 0, 10);
+
+        // Then: 40 + 55 * 1.0 = 95 against 40 + 55 * 0.2 = 51
+        assertThat(hits.ids()).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void put_ReplacedAndDeactivated_ShouldFollowLatestVersion() {
+        // Given
+        index.put(opportunity(1L, "Lending marketplace", "Stripe", Industry.FINTECH, "70", List.of()));
+        OpportunityDto deactivated = opportunity(3L, "Payroll and payment rails", "Finlo", Industry.FINTECH, "80", List.of());
+        deactivated.setIsActive(false);
+        index.put(deactivated);
+
+        // When / Then
+        assertThat(index.search(criteria("payments"), NOW, 0, 10).total()).isZero();
+        assertThat(index.search(criteria("lending"), NOW, 0, 10).ids()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void remove_ManyDocuments_ShouldCompactAndKeepResults() {
+        // Given
+        for (long id = 100; id < 3100; id++) {
+            index.put(opportunity(id, "Bulk listing " + id, null, Industry.GAMING, "10", List.of()));
+        }
+        for (long id = 100; id < 3100; id++) {
+            index.remove(id);
+        }
+
+        // When
+        SearchHits hits = index.search(criteria("pay*"), NOW, 0, 10);
+
+        // Then
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search(criteria("bulk"), NOW, 0, 10).total()).isZero();
+        assertThat(hits.ids()).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void search_NoWordsInText_ShouldMatchNothing() {
+        // When / Then
+        assertThat(index.search(criteria("%_"), NOW, 0, 10).total()).isZero();
+    }
+
+    private static OpportunitySearchCriteria criteria(String searchTerm) {
+        return OpportunitySearchCriteria.builder()
+            .searchTerm(searchTerm)
+            .sortBy("score")
+            .sortDirection("DESC")
+            .build();
+    }
+
+    private static OpportunityDto opportunity(long id, String title, String companyName, Industry industry,
+                                              String score, List<String> tags) {
+        return OpportunityDto.builder()
+            .id(id)
+            .title(title)
+            .companyName(companyName)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .industry(industry)
+            .score(new BigDecimal(score))
+            .discoveredAt(NOW.minusHours(id))
+            .tags(tags)
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.entity.OpportunityEntity;
+import com.psehrawa.oppfinder.common.enums.DataSource;
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import com.psehrawa.oppfinder.discovery.repository.OpportunityRepository;
+import com.psehrawa.oppfinder.discovery.repository.OpportunitySpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The same searches with the index built and with it off must return the same page
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class OpportunitySearchIndexConsistencyTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private javax.sql.DataSource dataSource;
+
+    private OpportunitySearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        // Given: current scores 76, 58 and 70, so score order and discovery order differ
+        save("Payments API", "60", "40", "80", NOW.minusHours(2), true);
+        save("Payments ledger", "90", "50", "90", NOW.minusDays(30), true);
+        save("Payments rails", "70", null, null, NOW.minusHours(1), true);
+        save("Crypto wallet", "85", null, null, NOW.minusDays(1), true);
+        save("Payments archive", "99", null, null, NOW.minusHours(3), false);
+
+        SearchIndexProperties properties = new SearchIndexProperties();
+        properties.setEnabled(true);
+        searchIndex = new OpportunitySearchIndex(new JdbcTemplate(dataSource), properties);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void search_TextByDiscoveredAt_ShouldMatchTheDatabase() {
+        assertSameResults(criteria("payments", "discoveredAt", "DESC").build());
+    }
+
+    @Test
+    void search_TextByScoreAboveMinimum_ShouldMatchTheDatabase() {
+        assertSameResults(criteria("payments", "score", "DESC").minScore(new BigDecimal("60")).build());
+    }
+
+    @Test
+    void search_ListingByDiscoveredAt_ShouldMatchTheDatabase() {
+        assertSameResults(criteria(null, "discoveredAt", "ASC").build());
+    }
+
+    @Test
+    void search_ListingByScoreWithinBounds_ShouldMatchTheDatabase() {
+        assertSameResults(criteria(null, "score", "ASC")
+            .minScore(new BigDecimal("60"))
+            .maxScore(new BigDecimal("80"))
+            .build());
+    }
+
+    private void assertSameResults(OpportunitySearchCriteria criteria) {
+        // When
+        PageRequest pageable = PageRequest.of(0, 10,
+            OpportunitySpecifications.sort(criteria.getSortBy(), criteria.getSortDirection()));
+        List<Long> fromIndex = searchIndex.search(criteria, NOW, 0, 10).orElseThrow().ids();
+        List<Long> fromDatabase = (criteria.getSearchTerm() != null
+            ? opportunityRepository.searchOpportunityIds(criteria, pageable, NOW)
+            : opportunityRepository.findIds(OpportunitySpecifications.matching(criteria, NOW), pageable, NOW))
+            .getContent();
+
+        // Then
+        assertThat(fromIndex).isNotEmpty().isEqualTo(fromDatabase);
+    }
+
+    private static OpportunitySearchCriteria.OpportunitySearchCriteriaBuilder criteria(String searchTerm, String sortBy,
+                                                                                       String sortDirection) {
+        return OpportunitySearchCriteria.builder()
+            .searchTerm(searchTerm)
+            .sortBy(sortBy)
+            .sortDirection(sortDirection);
+    }
+
+    private void save(String title, String score, String baseScore, String peakScore, LocalDateTime discoveredAt,
+                      boolean active) {
+        entityManager.persistAndFlush(OpportunityEntity.builder()
+            .externalId(title)
+            .title(title)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .score(new BigDecimal(score))
+            .baseScore(baseScore != null ? new BigDecimal(baseScore) : null)
+            .peakScore(peakScore != null ? new BigDecimal(peakScore) : null)
+            .discoveredAt(discoveredAt)
+            .isActive(active)
+            .build());
+    }
+}
@@ -0,0 +1,175 @@
+package com.psehrawa.oppfinder.discovery.service.search;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.dto.OpportunitySearchCriteria;
+import com.psehrawa.oppfinder.common.enums.Industry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpportunitySearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SearchIndexProperties properties;
+    private OpportunitySearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            CREATE TABLE opportunities (
+                id BIGINT PRIMARY KEY, title VARCHAR(500), company_name VARCHAR(255), description TEXT,
+                source VARCHAR(50), type VARCHAR(50), status VARCHAR(50), country VARCHAR(10),
+                industry VARCHAR(50), funding_stage VARCHAR(50), funding_amount DECIMAL(15, 2),
+                company_size VARCHAR(50), score DECIMAL(5, 2), base_score DECIMAL(5, 2),
+                peak_score DECIMAL(5, 2), discovered_at TIMESTAMP, is_active BOOLEAN)
+            """);
+        jdbcTemplate.execute("CREATE TABLE opportunity_tags (opportunity_id BIGINT, tag VARCHAR(255))");
+
+        properties = new SearchIndexProperties();
+        properties.setEnabled(true);
+        properties.setLoadChunkSize(2);
+        searchIndex = new OpportunitySearchIndex(jdbcTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void search_BeforeFirstBuild_ShouldDeferToDatabase() {
+        // When / Then
+        assertThat(searchIndex.search(criteria("payments"), NOW, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void rebuild_ShouldIndexActiveRowsWithTagsInChunks() {
+        // Given
+        insert(1, "Payments API", "FINTECH", "70", true);
+        insert(2, "Clinical payments", "HEALTHTECH", "90", true);
+        insert(3, "Payments archive", "FINTECH", "99", false);
+        insert(4, "Crypto wallet", "FINTECH", "60", true);
+        insert(5, "Ledger tooling", "FINTECH", "50", true);
+        jdbcTemplate.update("INSERT INTO opportunity_tags VALUES (5, 'payments'), (3, 'payments')");
+
+        // When
+        searchIndex.rebuild();
+
+        // Then
+        assertThat(searchIndex.search(criteria("payments"), NOW, 0, 10))
+            .hasValueSatisfying(hits -> assertThat(hits.ids()).containsExactly(2L, 1L, 5L));
+        OpportunitySearchCriteria fintech = OpportunitySearchCriteria.builder()
+            .industries(List.of(Industry.FINTECH))
+            .sortBy("score")
+            .sortDirection("DESC")
+            .build();
+        assertThat(searchIndex.search(fintech, NOW, 0, 2))
+            .hasValueSatisfying(hits -> {
+                assertThat(hits.ids()).containsExactly(1L, 4L);
+                assertThat(hits.total()).isEqualTo(3);
+            });
+    }
+
+    @Test
+    void search_ByDiscoveredAt_ShouldOrderByDiscoveryTime() {
+        // Given
+        insert(1, "Payments API", "FINTECH", "70", true);
+        insert(2, "Clinical payments", "HEALTHTECH", "90", true);
+        insert(3, "Payments ledger", "FINTECH", "80", true);
+        searchIndex.rebuild();
+        OpportunitySearchCriteria newest = OpportunitySearchCriteria.builder()
+            .searchTerm("payments")
+            .sortBy("discoveredAt")
+            .sortDirection("DESC")
+            .build();
+        OpportunitySearchCriteria oldest = OpportunitySearchCriteria.builder()
+            .searchTerm("payments")
+            .sortBy("discoveredAt")
+            .sortDirection("ASC")
+            .build();
+
+        // When / Then
+        assertThat(searchIndex.search(newest, NOW, 0, 10))
+            .hasValueSatisfying(hits -> assertThat(hits.ids()).containsExactly(1L, 2L, 3L));
+        assertThat(searchIndex.search(oldest, NOW, 0, 2))
+            .hasValueSatisfying(hits -> assertThat(hits.ids()).containsExactly(3L, 2L));
+    }
+
+    @Test
+    void apply_AfterBuild_ShouldFollowEventsAndRemovals() {
+        // Given
+        insert(1, "Payments API", "FINTECH", "70", true);
+        searchIndex.rebuild();
+
+        // When
+        searchIndex.apply(List.of(OpportunityDto.builder()
+            .id(7L).title("Payments for marketplaces").score(new BigDecimal("85")).isActive(true).build()));
+        searchIndex.remove(List.of(1L));
+
+        // Then
+        assertThat(searchIndex.search(criteria("payments"), NOW, 0, 10))
+            .hasValueSatisfying(hits -> assertThat(hits.ids()).containsExactly(7L));
+    }
+
+    @Test
+    void search_PhraseOrInactiveCriteria_ShouldDeferToDatabase() {
+        // Given
+        insert(1, "Machine learning payments", "FINTECH", "70", true);
+        searchIndex.rebuild();
+
+        // When / Then
+        assertThat(searchIndex.search(criteria("\"machine learning\""), NOW, 0, 10)).isEmpty();
+        assertThat(searchIndex.search(OpportunitySearchCriteria.builder().isActive(false).build(), NOW, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void rebuild_AboveMaxDocuments_ShouldDeferToDatabase() {
+        // Given
+        properties.setMaxDocuments(2);
+        for (long id = 1; id <= 3; id++) {
+            insert(id, "Payments " + id, "FINTECH", "70", true);
+        }
+
+        // When
+        searchIndex.rebuild();
+
+        // Then
+        assertThat(searchIndex.search(criteria("payments"), NOW, 0, 10)).isEmpty();
+    }
+
+    private static OpportunitySearchCriteria criteria(String searchTerm) {
+        return OpportunitySearchCriteria.builder()
+            .searchTerm(searchTerm)
+            .sortBy("score")
+            .sortDirection("DESC")
+            .build();
+    }
+
+    private void insert(long id, String title, String industry, String score, boolean active) {
+        jdbcTemplate.update("""
+            INSERT INTO opportunities (id, title, source, type, status, country, industry, score,
+                discovered_at, is_active)
+            VALUES (?, ?, 'GITHUB', 'STARTUP_FUNDING', 'DISCOVERED', 'US', ?, ?, ?, ?)
+            """,
+            id, title, industry, new BigDecimal(score), Timestamp.valueOf(NOW.minusHours(id)), active);
+    }
+}
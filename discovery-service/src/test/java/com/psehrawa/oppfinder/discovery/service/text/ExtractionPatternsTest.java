@@ -0,0 +1,58 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtractionPatternsTest {
+
+    @Test
+    void companyPatterns_ShouldExtractNames() {
+        assertThat(ExtractionPatterns.COMPANY_MENTION.allGroups("Acme Labs raised $5M.\nGlobex announces a merger"))
+            .containsExactly("Acme Labs", "Globex");
+        assertThat(ExtractionPatterns.COMPANY_AFTER_PREPOSITION.firstGroup("Just joined Stripe as a PM"))
+            .isEqualTo("Stripe");
+        assertThat(ExtractionPatterns.COMPANY_BEFORE_UPDATE.firstGroup("CloudNative revenue just crossed $100M"))
+            .isEqualTo("CloudNative");
+        assertThat(ExtractionPatterns.COMPANY_BEING_BUILT.firstGroup("We launched DataSync last month"))
+            .isEqualTo("DataSync");
+    }
+
+    @Test
+    void companyMention_ShouldRequireWordBoundaryBeforeVerb() {
+        assertThat(ExtractionPatterns.COMPANY_MENTION.find("Acmeraised nothing")).isFalse();
+    }
+
+    @Test
+    void seriesRound_ShouldIgnoreCase() {
+        assertThat(ExtractionPatterns.SERIES_ROUND.find("raising a SERIES C soon")).isTrue();
+        assertThat(ExtractionPatterns.SERIES_ROUND.find("a TV series")).isFalse();
+    }
+
+    @Test
+    void noMatchOrNullInput_ShouldReturnNull() {
+        assertThat(ExtractionPatterns.COMPANY_BEING_BUILT.firstGroup("nothing to see")).isNull();
+        assertThat(ExtractionPatterns.COMPANY_BEING_BUILT.firstGroup(null)).isNull();
+        assertThat(ExtractionPatterns.COMPANY_MENTION.allGroups(null)).isEmpty();
+    }
+
+    @Test
+    void slowMatch_ShouldTimeOutAsNoMatch() {
+        // Given
+        ExtractionPattern pattern = new ExtractionPattern("test", "^(\\w+\\s?)*$", 0, Duration.ofMillis(10));
+        // Quadratic backtracking, runs for seconds without a budget
+        String pathological = "a".repeat(20_000) + "!";
+
+        // When
+        long start = System.nanoTime();
+        boolean found = pattern.find(pathological);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertThat(found).isFalse();
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(pattern.find("ok words")).isTrue();
+    }
+}
@@ -0,0 +1,62 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FundingAmountParserTest {
+
+    private final FundingAmountParser parser = new FundingAmountParser();
+
+    @ParameterizedTest(name = "{0}")
+    @CsvFileSource(resources = "/text/funding-amounts.csv", delimiter = '|', numLinesToSkip = 1)
+    void find_ShouldParseCorpus(String text, Long expectedCents, String expectedCurrency) {
+        // When
+        boolean found = parser.reset(text).find();
+
+        // Then
+        if (expectedCents == null) {
+            assertThat(found).isFalse();
+            assertThat(parser.amountCents()).isEqualTo(FundingAmountParser.NOT_FOUND);
+        } else {
+            assertThat(found).isTrue();
+            assertThat(parser.amountCents()).isEqualTo(expectedCents);
+            assertThat(parser.currencyCode()).isEqualTo(expectedCurrency);
+        }
+    }
+
+    @Test
+    void find_ShouldIterateAmountsWithOffsets() {
+        // Given
+        String text = "Raised $25M, now at 2 billion valuation";
+
+        // When & Then
+        parser.reset(text);
+        assertThat(parser.find()).isTrue();
+        assertThat(text.substring(parser.start(), parser.end())).isEqualTo("$25M");
+        assertThat(parser.hasCurrency()).isTrue();
+
+        assertThat(parser.find()).isTrue();
+        assertThat(text.substring(parser.start(), parser.end())).isEqualTo("2 billion");
+        assertThat(parser.hasCurrency()).isFalse();
+        assertThat(parser.isFollowedByAnyOf(new String[]{"valuation"})).isTrue();
+
+        assertThat(parser.find()).isFalse();
+    }
+
+    @Test
+    void reset_ShouldAllowReuse() {
+        assertThat(parser.reset("$1M").find()).isTrue();
+        assertThat(parser.reset("nothing").find()).isFalse();
+        assertThat(parser.reset(null).find()).isFalse();
+    }
+
+    @Test
+    void toBigDecimal_ShouldKeepCents() {
+        assertThat(FundingAmountParser.toBigDecimal(1_250_000_050L)).isEqualTo(new BigDecimal("12500000.50"));
+    }
+}
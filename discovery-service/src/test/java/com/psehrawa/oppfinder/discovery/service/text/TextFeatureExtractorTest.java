@@ -0,0 +1,121 @@
+package com.psehrawa.oppfinder.discovery.service.text;
+
+import com.psehrawa.oppfinder.common.enums.OpportunityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextFeatureExtractorTest {
+
+    private static final List<KeywordRule<OpportunityType>> TYPE_RULES = List.of(
+        KeywordRule.of(OpportunityType.STARTUP_FUNDING, "funding", "raised"),
+        KeywordRule.of(OpportunityType.PRODUCT_LAUNCH, "launch"),
+        KeywordRule.of(OpportunityType.JOB_POSTING_SIGNAL, "hiring")
+    );
+
+    private static final List<String> SIGNALS = List.of("series a", "ml", "machine learning", "fintech");
+
+    private final TextFeatureExtractor extractor =
+        new TextFeatureExtractor(SIGNALS, TextFeatureExtractor.keywordsOf(TYPE_RULES));
+
+    @Test
+    void keywordLookups_ShouldMatchLowercaseContains() {
+        // Given
+        List<String> documents = List.of(
+            "Acme RAISED a Series A for its ML platform",
+            "Launching our HTML tooling next week",
+            "We are hiring engineers",
+            "",
+            "machine learnin"
+        );
+
+        for (String document : documents) {
+            // When
+            TextFeatures features = extractor.extract(document);
+
+            // Then
+            String lower = document.toLowerCase();
+            for (String keyword : List.of("series a", "ml", "machine learning", "fintech",
+                                          "funding", "raised", "launch", "hiring")) {
+                assertThat(features.contains(keyword))
+                    .as("'%s' in '%s'", keyword, document)
+                    .isEqualTo(lower.contains(keyword));
+            }
+        }
+    }
+
+    @Test
+    void firstMatch_ShouldRespectRuleOrder() {
+        // When
+        TextFeatures features = extractor.extract("We launch today and are hiring, after we raised funding");
+
+        // Then
+        assertThat(features.firstMatch(TYPE_RULES, OpportunityType.TECHNOLOGY_TREND))
+            .isEqualTo(OpportunityType.STARTUP_FUNDING);
+        assertThat(extractor.extract("Nothing relevant").firstMatch(TYPE_RULES, OpportunityType.TECHNOLOGY_TREND))
+            .isEqualTo(OpportunityType.TECHNOLOGY_TREND);
+    }
+
+    @Test
+    void contextFields_ShouldOnlyAffectAnywhereLookups() {
+        // When
+        TextFeatures features = extractor.extract("Payments made simple", "fintech");
+
+        // Then
+        assertThat(features.contains("fintech")).isFalse();
+        assertThat(features.containsAnywhere("fintech")).isTrue();
+    }
+
+    @Test
+    void extract_ShouldCaptureCompanyAndFundingDetails() {
+        // When
+        TextFeatures features =
+            extractor.extract("Neural Flow raised $15M in a Series B round led by Sequoia Capital");
+
+        // Then
+        assertThat(features.companyMentions()).containsExactly("Neural Flow");
+        assertThat(features.candidateEntities()).containsExactly("Neural Flow", "Sequoia Capital");
+        assertThat(features.fundingAmountCents()).isEqualTo(1_500_000_000L);
+        assertThat(features.hasFundingMention()).isFalse();
+        assertThat(features.hasSeriesRoundMention()).isTrue();
+        assertThat(features.tokenCount()).isEqualTo(13);
+        assertThat(features.token(0)).isEqualTo("Neural");
+    }
+
+    @Test
+    void extract_ShouldPreferCurrencyAmountsAndDetectFundingMentions() {
+        // When
+        TextFeatures features =
+            extractor.extract("CodeStream reached 50k developers. Just raised $25M funding round");
+
+        // Then
+        assertThat(features.fundingAmountCents()).isEqualTo(2_500_000_000L);
+        assertThat(features.hasFundingMention()).isTrue();
+        assertThat(extractor.extract("No money talk").fundingAmountCents())
+            .isEqualTo(FundingAmountParser.NOT_FOUND);
+    }
+
+    @Test
+    void extract_ShouldSkipAmountsInOtherCurrencies() {
+        // When
+        TextFeatures features = extractor.extract("Raised \u20b9100 crore, about $12M, in a Series C round");
+
+        // Then
+        assertThat(features.fundingAmountCents()).isEqualTo(1_200_000_000L);
+        assertThat(extractor.extract("Raised \u20ac30M in Berlin").fundingAmountCents())
+            .isEqualTo(FundingAmountParser.NOT_FOUND);
+    }
+
+    @Test
+    void contains_UnknownKeyword_ShouldThrow() {
+        // Given
+        TextFeatures features = extractor.extract("anything");
+
+        // When & Then
+        assertThatThrownBy(() -> features.contains("blockchain"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -55,8 +55,12 @@ const OpportunityList: React.FC = () => {
   };
 
   const handleOpportunityClick = (opportunity: Opportunity) => {
+    // List items are summaries; show one at once, then swap in the full record
     setSelectedOpportunity(opportunity);
     setIsModalOpen(true);
+    ApiService.getOpportunityById(opportunity.id)
+      .then((details) => setSelectedOpportunity((current) => (current?.id === details.id ? details : current)))
+      .catch((error) => console.error('Failed to load opportunity details:', error));
   };
 
   const handleCloseModal = () => {
@@ -0,0 +1,20 @@
+package com.psehrawa.oppfinder.intelligence;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.kafka.annotation.EnableKafka;
+
+// Scoring workers are stateless: opportunities arrive and leave over Kafka
+@SpringBootApplication(exclude = {
+    DataSourceAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class
+})
+@EnableKafka
+public class IntelligenceServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(IntelligenceServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,109 @@
+package com.psehrawa.oppfinder.intelligence.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.scoring.ScoringBatch;
+import com.psehrawa.oppfinder.common.scoring.ScoringInputs;
+import com.psehrawa.oppfinder.common.scoring.ScoringKernel;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The opportunity score model the workers run: the shared {@link ScoringKernel} compiled
+ * once from the configured rules and weights.
+ *
+ * Rules and weights are read at startup, so a change rolls out by restarting the workers.
+ * discovery-service only applies results under its own active rules version, so until
+ * the workers run the same rules their results are dropped and the rows stay queued.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ScoringModel {
+
+    private final ScoringWorkerProperties properties;
+
+    private volatile Compiled compiled;
+    private Clock clock = Clock.systemDefaultZone();
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        ScoringRuleSet rules;
+        String rulesPath = properties.getRulesPath();
+        if (StringUtils.hasText(rulesPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(Path.of(rulesPath), StandardCharsets.UTF_8)) {
+                rules = ScoringRuleSet.parse(reader);
+            }
+        } else {
+            rules = ScoringRuleSet.bundled();
+        }
+        ScoringWeights weights = properties.getWeights();
+        compiled = new Compiled(rules, weights, ScoringKernel.compile(rules, weights));
+        log.info("Scoring model ready with rules version {}", rules.getVersion());
+    }
+
+    public String rulesVersion() {
+        return compiled.rules().getVersion();
+    }
+
+    /**
+     * Score every opportunity not already scored from the same inputs under this model,
+     * filling the score, base and peak scores, input hash, rule version and scoring time
+     *
+     * @return the opportunities scored, in input order
+     */
+    public List<OpportunityDto> scoreStale(List<OpportunityDto> opportunities) {
+        Compiled model = compiled;
+        String version = model.rules().getVersion();
+        List<OpportunityDto> stale = new ArrayList<>(opportunities.size());
+        for (OpportunityDto opportunity : opportunities) {
+            long inputHash = ScoringInputs.hash(opportunity, model.weights());
+            boolean current = opportunity.getScoredAt() != null
+                && version.equals(opportunity.getRulesVersion())
+                && Long.valueOf(inputHash).equals(opportunity.getScoringInputHash());
+            if (!current) {
+                opportunity.setScoringInputHash(inputHash);
+                stale.add(opportunity);
+            }
+        }
+        if (stale.isEmpty()) {
+            return stale;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        double[] scores = new double[stale.size()];
+        double[] baseScores = new double[stale.size()];
+        double[] peakScores = new double[stale.size()];
+        model.kernel().score(ScoringBatch.of(stale), ScoringBatch.toNanos(now), scores, baseScores, peakScores);
+        for (int i = 0; i < stale.size(); i++) {
+            OpportunityDto opportunity = stale.get(i);
+            opportunity.setScore(ScoringKernel.toScore(scores[i]));
+            opportunity.setBaseScore(ScoringKernel.toScore(baseScores[i]));
+            opportunity.setPeakScore(ScoringKernel.toScore(peakScores[i]));
+            opportunity.setRulesVersion(version);
+            opportunity.setScoredAt(now);
+        }
+        return stale;
+    }
+
+    private record Compiled(ScoringRuleSet rules, ScoringWeights weights, ScoringKernel kernel) {
+    }
+}
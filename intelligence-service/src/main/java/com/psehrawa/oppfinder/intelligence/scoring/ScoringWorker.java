@@ -0,0 +1,118 @@
+package com.psehrawa.oppfinder.intelligence.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scoring consumer group member.
+ *
+ * Each poll hands the listener a batch of discovered and updated opportunities; the
+ * stale ones are scored in one kernel pass and published to the scored topic keyed by
+ * opportunity ID. The listener returns once every send is acknowledged, so offsets are
+ * only committed for published results and a failed batch is redelivered. Scoring scales
+ * out by adding workers up to the topics' partition count.
+ *
+ * Per-partition lag is exported as {@code scoring.worker.lag}, next to the
+ * {@code scoring.worker.records} counter and the {@code scoring.worker.batch} timer.
+ */
+@Service
+@Slf4j
+public class ScoringWorker {
+
+    private final ScoringModel model;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ScoringWorkerProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter scored;
+    private final Counter skipped;
+    private final Timer batchTimer;
+    private final Map<TopicPartition, AtomicLong> lag = new ConcurrentHashMap<>();
+
+    public ScoringWorker(ScoringModel model, KafkaTemplate<String, Object> kafkaTemplate,
+                         ScoringWorkerProperties properties, MeterRegistry meterRegistry) {
+        this.model = model;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.scored = meterRegistry.counter("scoring.worker.records", "outcome", "scored");
+        this.skipped = meterRegistry.counter("scoring.worker.records", "outcome", "skipped");
+        this.batchTimer = meterRegistry.timer("scoring.worker.batch");
+    }
+
+    @KafkaListener(
+        topics = {"${oppfinder.intelligence.scoring.topics.discovered:opportunity.discovered}",
+                  "${oppfinder.intelligence.scoring.topics.updated:opportunity.updated}"},
+        groupId = "${spring.kafka.consumer.group-id:opportunity-scoring}",
+        batch = "true")
+    public void onOpportunities(List<ConsumerRecord<String, OpportunityDto>> records, Consumer<?, ?> consumer) {
+        batchTimer.record(() -> process(records));
+        recordLag(consumer);
+    }
+
+    /**
+     * Score a batch and publish the results
+     *
+     * @return number of opportunities scored
+     */
+    int process(List<ConsumerRecord<String, OpportunityDto>> records) {
+        // Records that failed to deserialize arrive with a null value
+        List<OpportunityDto> opportunities = records.stream()
+            .map(ConsumerRecord::value)
+            .filter(Objects::nonNull)
+            .toList();
+        List<OpportunityDto> results = model.scoreStale(opportunities);
+
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            OpportunityDto result = results.get(i);
+            sends[i] = kafkaTemplate.send(properties.getTopics().getScored(), String.valueOf(result.getId()), result);
+        }
+        CompletableFuture.allOf(sends).join();
+
+        scored.increment(results.size());
+        skipped.increment(records.size() - results.size());
+        log.debug("Scored {} of {} opportunities", results.size(), records.size());
+        return results.size();
+    }
+
+    /**
+     * Publish the records left behind the consumer position on each assigned partition
+     */
+    private void recordLag(Consumer<?, ?> consumer) {
+        for (TopicPartition partition : consumer.assignment()) {
+            OptionalLong current = consumer.currentLag(partition);
+            if (current.isPresent()) {
+                lag.computeIfAbsent(partition, this::registerLagGauge).set(current.getAsLong());
+            }
+        }
+    }
+
+    private AtomicLong registerLagGauge(TopicPartition partition) {
+        AtomicLong value = new AtomicLong();
+        Gauge.builder("scoring.worker.lag", value, AtomicLong::get)
+            .tag("topic", partition.topic())
+            .tag("partition", String.valueOf(partition.partition()))
+            .description("Records behind the scoring worker's position")
+            .register(meterRegistry);
+        return value;
+    }
+}
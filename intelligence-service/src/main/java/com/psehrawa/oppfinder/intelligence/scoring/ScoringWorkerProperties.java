@@ -0,0 +1,35 @@
+package com.psehrawa.oppfinder.intelligence.scoring;
+
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the scoring workers
+ */
+@Configuration
+@ConfigurationProperties(prefix = "oppfinder.intelligence.scoring")
+@Data
+public class ScoringWorkerProperties {
+
+    /**
+     * Shared with discovery-service through {@code scoring/scoring-weights.yml} in common;
+     * opportunities it already scored with the same weights and rules are skipped
+     */
+    private ScoringWeights weights = new ScoringWeights();
+
+    /**
+     * Local rules file; when unset the bundled rules are used
+     */
+    private String rulesPath;
+
+    private Topics topics = new Topics();
+
+    @Data
+    public static class Topics {
+        private String discovered = "opportunity.discovered";
+        private String updated = "opportunity.updated";
+        private String scored = "opportunity.scored";
+    }
+}
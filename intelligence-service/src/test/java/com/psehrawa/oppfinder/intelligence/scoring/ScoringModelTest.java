@@ -0,0 +1,96 @@
+package com.psehrawa.oppfinder.intelligence.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import com.psehrawa.oppfinder.common.scoring.ScoringInputs;
+import com.psehrawa.oppfinder.common.scoring.ScoringRuleSet;
+import com.psehrawa.oppfinder.common.scoring.ScoringWeights;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringModelTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private ScoringWorkerProperties properties;
+    private ScoringModel model;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ScoringWorkerProperties();
+        model = new ScoringModel(properties);
+        model.setClock(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneId.of("UTC")));
+        model.load();
+    }
+
+    @Test
+    void scoreStale_ShouldScoreOnlyOpportunitiesNotScoredUnderThisModel() {
+        // Given
+        OpportunityDto unscored = opportunity(1L);
+        OpportunityDto otherRules = opportunity(2L);
+        otherRules.setScoredAt(NOW.minusDays(1));
+        otherRules.setRulesVersion("000000000000");
+        otherRules.setScoringInputHash(ScoringInputs.hash(otherRules, properties.getWeights()));
+        OpportunityDto current = opportunity(3L);
+        current.setScoredAt(NOW.minusDays(1));
+        current.setRulesVersion(ScoringRuleSet.bundled().getVersion());
+        current.setScoringInputHash(ScoringInputs.hash(current, properties.getWeights()));
+        current.setScore(BigDecimal.valueOf(42));
+
+        // When
+        List<OpportunityDto> scored = model.scoreStale(List.of(unscored, otherRules, current));
+
+        // Then
+        assertThat(scored).containsExactly(unscored, otherRules);
+        assertThat(scored).allSatisfy(opportunity -> {
+            assertThat(opportunity.getScore()).isPositive();
+            assertThat(opportunity.getPeakScore()).isGreaterThan(opportunity.getBaseScore());
+            assertThat(opportunity.getRulesVersion()).isEqualTo(model.rulesVersion());
+            assertThat(opportunity.getScoredAt()).isEqualTo(NOW);
+        });
+        assertThat(unscored.getScoringInputHash()).isEqualTo(ScoringInputs.hash(unscored, properties.getWeights()));
+        assertThat(current.getScore()).isEqualByComparingTo("42");
+    }
+
+    @Test
+    void scoreStale_WeightChange_ShouldRescore() throws Exception {
+        // Given
+        OpportunityDto opportunity = opportunity(1L);
+        model.scoreStale(List.of(opportunity));
+        ScoringWeights weights = new ScoringWeights();
+        weights.setRecency(0.5);
+        properties.setWeights(weights);
+        model.load();
+
+        // When
+        List<OpportunityDto> scored = model.scoreStale(List.of(opportunity));
+
+        // Then
+        assertThat(scored).containsExactly(opportunity);
+    }
+
+    private static OpportunityDto opportunity(Long id) {
+        return OpportunityDto.builder()
+            .id(id)
+            .title("Opportunity " + id)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .country(Country.US)
+            .fundingStage(FundingStage.SEED)
+            .companySize(CompanySize.STARTUP)
+            .confidenceScore(BigDecimal.valueOf(80))
+            .discoveredAt(NOW.minusHours(3))
+            .metadata(new HashMap<>())
+            .build();
+    }
+}
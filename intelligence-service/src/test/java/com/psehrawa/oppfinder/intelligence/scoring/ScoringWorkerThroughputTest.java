@@ -0,0 +1,106 @@
+package com.psehrawa.oppfinder.intelligence.scoring;
+
+import com.psehrawa.oppfinder.common.dto.OpportunityDto;
+import com.psehrawa.oppfinder.common.enums.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the workers against an embedded broker: every published opportunity comes back
+ * scored exactly once, on the partition its key maps to, at no less than a minimum rate.
+ */
+@SpringBootTest(properties = "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}")
+@EmbeddedKafka(partitions = ScoringWorkerThroughputTest.PARTITIONS,
+               topics = {"opportunity.discovered", "opportunity.updated", "opportunity.scored"})
+class ScoringWorkerThroughputTest {
+
+    static final int PARTITIONS = 4;
+    private static final int OPPORTUNITIES = 20_000;
+    // A floor, not a benchmark: low enough for a loaded CI host, high enough to fail
+    // when the workers stall between polls or stop spreading over the partitions
+    private static final double MIN_PER_SECOND = 500;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void workers_ShouldScoreEveryOpportunityOnItsKeyPartition() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[OPPORTUNITIES];
+        for (int i = 0; i < OPPORTUNITIES; i++) {
+            long id = i + 1;
+            String topic = i % 2 == 0 ? "opportunity.discovered" : "opportunity.updated";
+            sends[i] = kafkaTemplate.send(topic, String.valueOf(id), opportunity(id, now));
+        }
+        CompletableFuture.allOf(sends).join();
+
+        // When
+        Map<String, Integer> partitionByKey = new HashMap<>();
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("throughput-check", "false", broker);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, String> consumer =
+                 new KafkaConsumer<>(consumerProps, new StringDeserializer(), new StringDeserializer())) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "opportunity.scored");
+            long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+            while (partitionByKey.size() < OPPORTUNITIES && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, String> record : KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(1))) {
+                    partitionByKey.put(record.key(), record.partition());
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        // Then
+        assertThat(partitionByKey).hasSize(OPPORTUNITIES);
+        assertThat(OPPORTUNITIES / seconds).as("opportunities scored per second").isGreaterThan(MIN_PER_SECOND);
+        assertThat(partitionByKey).allSatisfy((key, partition) ->
+            assertThat(partition).isEqualTo(Utils.toPositive(Utils.murmur2(key.getBytes())) % PARTITIONS));
+        assertThat(meterRegistry.get("scoring.worker.records").tag("outcome", "scored").counter().count())
+            .isEqualTo(OPPORTUNITIES);
+        assertThat(meterRegistry.find("scoring.worker.lag").gauges()).isNotEmpty();
+    }
+
+    private static OpportunityDto opportunity(long id, LocalDateTime now) {
+        return OpportunityDto.builder()
+            .id(id)
+            .title("Opportunity " + id)
+            .source(DataSource.GITHUB)
+            .type(OpportunityType.STARTUP_FUNDING)
+            .country(Country.US)
+            .fundingStage(FundingStage.SEED)
+            .companySize(CompanySize.STARTUP)
+            .confidenceScore(BigDecimal.valueOf(80))
+            .discoveredAt(now.minusMinutes(id % 1_000))
+            .metadata(new HashMap<>())
+            .build();
+    }
+}